@@ -84,6 +84,7 @@ CREATE TABLE IF NOT EXISTS vf_problem (
   view_count BIGINT DEFAULT 0,
   favorite_count BIGINT DEFAULT 0,
   like_count BIGINT DEFAULT 0,
+  comment_count BIGINT DEFAULT 0 COMMENT '未删除评论数（含回复）',
   created_at DATETIME,
   updated_at DATETIME,
   deleted TINYINT DEFAULT 0,
@@ -91,6 +92,9 @@ CREATE TABLE IF NOT EXISTS vf_problem (
   KEY idx_problem_subject (subject),
   KEY idx_problem_status_visibility (status, visibility),
   KEY idx_problem_published_at (published_at),
+  KEY idx_problem_public_latest (status, visibility, deleted, published_at, id),
+  KEY idx_problem_public_hot (status, visibility, deleted, favorite_count, published_at, id),
+  KEY idx_problem_public_difficulty (status, visibility, deleted, difficulty, published_at, id),
   UNIQUE KEY uk_problem_share_key (share_key)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
@@ -190,7 +194,7 @@ CREATE TABLE IF NOT EXISTS vf_collection_item (
   created_at DATETIME,
   updated_at DATETIME,
   deleted TINYINT DEFAULT 0,
-  KEY idx_collection_item_collection (collection_id),
+  KEY idx_collection_item_order (collection_id, deleted, sort_order, id),
   KEY idx_collection_item_problem (problem_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
@@ -254,6 +258,16 @@ CREATE TABLE IF NOT EXISTS vf_user_like_problem (
   KEY idx_user_like_problem_deleted (deleted)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- 题目计数发件箱（点赞/收藏事件，与关系变更同事务写入，投影后物理删除）
+CREATE TABLE IF NOT EXISTS vf_problem_counter_outbox (
+  id BIGINT NOT NULL PRIMARY KEY,
+  problem_id BIGINT UNSIGNED NOT NULL COMMENT '题目ID',
+  counter_type VARCHAR(16) NOT NULL COMMENT '计数类型：LIKE/FAVORITE',
+  delta INT NOT NULL COMMENT '增量：+1/-1',
+  created_at DATETIME,
+  KEY idx_problem_counter_outbox_problem (problem_id, counter_type)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- 题目评论（扁平结构，MVP/V1.1）
 CREATE TABLE IF NOT EXISTS vf_problem_comment (
   id BIGINT NOT NULL PRIMARY KEY,
@@ -263,11 +277,12 @@ CREATE TABLE IF NOT EXISTS vf_problem_comment (
   reply_to_comment_id BIGINT UNSIGNED NULL COMMENT '回复的评论ID（可选）',
   content VARCHAR(2000) NOT NULL COMMENT '评论内容',
   like_count BIGINT DEFAULT 0 COMMENT '点赞数',
+  reply_count BIGINT DEFAULT 0 COMMENT '未删除回复数（顶层评论）',
   created_at DATETIME,
   updated_at DATETIME,
   deleted TINYINT DEFAULT 0,
-  KEY idx_problem_comment_problem (problem_id),
-  KEY idx_problem_comment_parent (parent_id),
+  KEY idx_problem_comment_thread (problem_id, parent_id, created_at, id),
+  KEY idx_problem_comment_parent (parent_id, deleted, created_at, id),
   KEY idx_problem_comment_user (user_id),
   KEY idx_problem_comment_deleted (deleted)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
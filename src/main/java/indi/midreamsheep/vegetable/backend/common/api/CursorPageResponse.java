@@ -0,0 +1,18 @@
+package indi.midreamsheep.vegetable.backend.common.api;
+
+import java.util.List;
+
+/**
+ * 通用游标分页响应体（不返回总数，适用于深翻页/无限滚动）。
+ *
+ * @param items 数据列表
+ * @param pageSize 每页大小
+ * @param nextCursor 下一页游标（为 null 表示没有更多数据）
+ * @param <T> 数据类型
+ */
+public record CursorPageResponse<T>(
+        List<T> items,
+        int pageSize,
+        String nextCursor
+) {
+}
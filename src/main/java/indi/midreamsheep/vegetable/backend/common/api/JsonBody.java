@@ -0,0 +1,67 @@
+package indi.midreamsheep.vegetable.backend.common.api;
+
+import java.util.Objects;
+
+/**
+ * JSON 响应体：持有待序列化的对象，或已按同一结构序列化好的 JSON 字节（如响应缓存命中时）。
+ * <p>
+ * 类型参数声明接口契约（OpenAPI 按 T 生成文档），两种形式输出的 JSON 结构相同，由对应的消息转换器写出。
+ *
+ * @param <T> 响应体类型
+ */
+public final class JsonBody<T> {
+
+    private final T value;
+    private final byte[] serialized;
+
+    /**
+     * 构造 JSON 响应体。
+     *
+     * @param value 待序列化的对象
+     * @param serialized 已序列化的 JSON 字节
+     */
+    private JsonBody(T value, byte[] serialized) {
+        this.value = value;
+        this.serialized = serialized;
+    }
+
+    /**
+     * 由待序列化的对象构造。
+     *
+     * @param value 响应体
+     * @return JSON 响应体
+     * @param <T> 响应体类型
+     */
+    public static <T> JsonBody<T> of(T value) {
+        return new JsonBody<>(value, null);
+    }
+
+    /**
+     * 由已序列化的 JSON 字节构造（调用方保证结构与 T 一致）。
+     *
+     * @param json JSON 字节
+     * @return JSON 响应体
+     * @param <T> 响应体类型
+     */
+    public static <T> JsonBody<T> serialized(byte[] json) {
+        return new JsonBody<>(null, Objects.requireNonNull(json, "json"));
+    }
+
+    /**
+     * 待序列化的对象（已序列化时为空）。
+     *
+     * @return 响应体
+     */
+    public T value() {
+        return value;
+    }
+
+    /**
+     * 已序列化的 JSON 字节（未序列化时为空）。
+     *
+     * @return JSON 字节
+     */
+    public byte[] serialized() {
+        return serialized;
+    }
+}
@@ -0,0 +1,43 @@
+package indi.midreamsheep.vegetable.backend.common.api;
+
+import indi.midreamsheep.vegetable.backend.common.error.BizException;
+import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
+import org.springframework.util.StringUtils;
+
+/**
+ * 分页列表的总数计算方式（对应请求参数 {@code totalMode}）。
+ */
+public enum TotalMode {
+
+    /**
+     * 精确总数（默认）：优先命中总数缓存，未命中时执行 count 查询。
+     */
+    EXACT,
+
+    /**
+     * 估算总数：允许返回稍旧的缓存值；无缓存时按当前页推算下界，不执行 count 查询。
+     */
+    ESTIMATE,
+
+    /**
+     * 不计算总数：{@link PageResponse#total()} 固定返回 -1。
+     */
+    NONE;
+
+    /**
+     * 解析请求参数（大小写不敏感，为空时返回 EXACT）。
+     *
+     * @param raw 原始参数
+     * @return 总数计算方式
+     */
+    public static TotalMode parse(String raw) {
+        if (!StringUtils.hasText(raw)) {
+            return EXACT;
+        }
+        try {
+            return TotalMode.valueOf(raw.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "totalMode 不合法");
+        }
+    }
+}
@@ -2,25 +2,36 @@ package indi.midreamsheep.vegetable.backend.features.collection.data;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.CollectionStatus;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionCreateCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionUpdateCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionDetailData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemBatchResult;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemPage;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionSummaryData;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.port.CollectionRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.query.CollectionItemCursor;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.PageTotalCache;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.CollectionEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.CollectionItemEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.CollectionItemMapper;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.CollectionMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 题单仓储适配器：通过 MyBatis-Plus 完成持久化。
@@ -30,19 +41,27 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
 
     private final CollectionMapper collectionMapper;
     private final CollectionItemMapper collectionItemMapper;
+    private final PageTotalCache pageTotalCache;
+    private final IdentifierGenerator identifierGenerator;
 
     /**
      * 构造题单仓储适配器。
      *
      * @param collectionMapper 题单 Mapper
      * @param collectionItemMapper 题单条目 Mapper
+     * @param pageTotalCache 分页总数缓存
+     * @param identifierGenerator ID 生成器（批量插入时预分配主键）
      */
     public CollectionRepositoryAdapter(
             CollectionMapper collectionMapper,
-            CollectionItemMapper collectionItemMapper
+            CollectionItemMapper collectionItemMapper,
+            PageTotalCache pageTotalCache,
+            IdentifierGenerator identifierGenerator
     ) {
         this.collectionMapper = collectionMapper;
         this.collectionItemMapper = collectionItemMapper;
+        this.pageTotalCache = pageTotalCache;
+        this.identifierGenerator = identifierGenerator;
     }
 
     @Override
@@ -60,6 +79,7 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
         entity.setCreatedAt(now);
         entity.setUpdatedAt(now);
         collectionMapper.insert(entity);
+        pageTotalCache.invalidate(PageTotalCache.NS_COLLECTION_PUBLIC);
         return entity.getId();
     }
 
@@ -72,8 +92,7 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
         if (entity == null) {
             return Optional.empty();
         }
-        List<CollectionItemData> items = listItems(id);
-        return Optional.of(toDetailData(entity, items));
+        return Optional.of(toDetailData(entity));
     }
 
     @Override
@@ -85,15 +104,36 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
         if (entity == null) {
             return Optional.empty();
         }
-        List<CollectionItemData> items = listItems(entity.getId());
-        return Optional.of(toDetailData(entity, items));
+        return Optional.of(toDetailData(entity));
     }
 
     @Override
-    public PageResponse<CollectionSummaryData> listPublic(int page, int pageSize) {
-        QueryWrapper<CollectionEntity> countWrapper = buildPublicListWrapper();
-        long total = collectionMapper.selectCount(countWrapper);
+    public CollectionItemPage listItems(long collectionId, CollectionItemCursor cursor, int pageSize) {
+        QueryWrapper<CollectionItemEntity> wrapper = new QueryWrapper<>();
+        wrapper.eq("collection_id", collectionId)
+                .eq("deleted", 0);
+        if (cursor != null) {
+            wrapper.and(w -> w.gt("sort_order", cursor.sortOrder())
+                    .or(x -> x.eq("sort_order", cursor.sortOrder()).gt("id", cursor.id())));
+        }
+        wrapper.orderByAsc("sort_order").orderByAsc("id");
+        // 多取一行用于判断是否还有下一页。
+        wrapper.last("limit " + (pageSize + 1));
+        List<CollectionItemEntity> entities = collectionItemMapper.selectList(wrapper);
+        CollectionItemCursor nextCursor = null;
+        if (entities.size() > pageSize) {
+            entities = entities.subList(0, pageSize);
+            CollectionItemEntity last = entities.get(entities.size() - 1);
+            nextCursor = new CollectionItemCursor(last.getSortOrder() == null ? 0 : last.getSortOrder(), last.getId());
+        }
+        List<CollectionItemData> items = entities.stream()
+                .map(CollectionRepositoryAdapter::toItemData)
+                .toList();
+        return new CollectionItemPage(items, nextCursor);
+    }
 
+    @Override
+    public PageResponse<CollectionSummaryData> listPublic(int page, int pageSize, TotalMode totalMode) {
         QueryWrapper<CollectionEntity> listWrapper = buildPublicListWrapper();
         listWrapper.orderByDesc("created_at");
         int offset = Math.max(0, (page - 1) * pageSize);
@@ -101,6 +141,13 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
         List<CollectionSummaryData> items = collectionMapper.selectList(listWrapper).stream()
                 .map(CollectionRepositoryAdapter::toSummaryData)
                 .toList();
+        long total = pageTotalCache.resolve(
+                PageTotalCache.NS_COLLECTION_PUBLIC,
+                "",
+                totalMode,
+                () -> collectionMapper.selectCount(buildPublicListWrapper()),
+                PageTotalCache.lowerBound(offset, items.size(), pageSize)
+        );
         return new PageResponse<>(items, page, pageSize, total);
     }
 
@@ -150,6 +197,7 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
                 .set("share_key", command.shareKey())
                 .set("updated_at", now);
         collectionMapper.update(null, wrapper);
+        pageTotalCache.invalidate(PageTotalCache.NS_COLLECTION_PUBLIC);
         return findDetailById(command.id()).orElseThrow(() -> new IllegalStateException("题单更新失败"));
     }
 
@@ -168,6 +216,7 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
                 .set("deleted", 1)
                 .set("updated_at", now);
         collectionItemMapper.update(null, itemWrapper);
+        pageTotalCache.invalidate(PageTotalCache.NS_COLLECTION_PUBLIC);
     }
 
     @Override
@@ -179,6 +228,69 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
         return collectionItemMapper.selectCount(wrapper) > 0;
     }
 
+    @Override
+    public Set<Long> findItemProblemIds(long collectionId, Collection<Long> problemIds) {
+        if (problemIds == null || problemIds.isEmpty()) {
+            return Set.of();
+        }
+        QueryWrapper<CollectionItemEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("problem_id")
+                .eq("collection_id", collectionId)
+                .in("problem_id", problemIds)
+                .eq("deleted", 0);
+        return collectionItemMapper.selectList(wrapper).stream()
+                .map(CollectionItemEntity::getProblemId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public CollectionItemBatchResult applyItemBatch(
+            long collectionId,
+            List<CollectionItemData> add,
+            List<Long> remove,
+            List<CollectionItemData> reorder
+    ) {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        if (!remove.isEmpty()) {
+            UpdateWrapper<CollectionItemEntity> removeWrapper = new UpdateWrapper<>();
+            removeWrapper.eq("collection_id", collectionId)
+                    .in("problem_id", remove)
+                    .eq("deleted", 0)
+                    .set("deleted", 1)
+                    .set("updated_at", now);
+            removed = collectionItemMapper.update(null, removeWrapper);
+        }
+        int added = 0;
+        if (!add.isEmpty()) {
+            List<CollectionItemEntity> rows = new ArrayList<>(add.size());
+            for (CollectionItemData item : add) {
+                CollectionItemEntity entity = new CollectionItemEntity();
+                entity.setId(identifierGenerator.nextId(entity).longValue());
+                entity.setCollectionId(collectionId);
+                entity.setProblemId(item.problemId());
+                entity.setSortOrder(item.sortOrder());
+                entity.setAddedAt(now);
+                entity.setCreatedAt(now);
+                entity.setUpdatedAt(now);
+                rows.add(entity);
+            }
+            added = collectionItemMapper.insertBatch(rows);
+        }
+        int reordered = applyItemOrders(collectionId, reorder, now);
+
+        UpdateWrapper<CollectionEntity> collectionWrapper = new UpdateWrapper<>();
+        collectionWrapper.eq("id", collectionId)
+                .set("updated_at", now);
+        int delta = added - removed;
+        if (delta != 0) {
+            collectionWrapper.setSql("item_count = GREATEST(item_count + (" + delta + "), 0)");
+        }
+        collectionMapper.update(null, collectionWrapper);
+        return new CollectionItemBatchResult(added, removed, reordered);
+    }
+
     @Override
     public void addItem(long collectionId, long problemId, int sortOrder) {
         LocalDateTime now = LocalDateTime.now();
@@ -202,14 +314,7 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
     @Override
     public void updateItemOrders(long collectionId, List<CollectionItemData> items) {
         LocalDateTime now = LocalDateTime.now();
-        for (CollectionItemData item : items) {
-            UpdateWrapper<CollectionItemEntity> wrapper = new UpdateWrapper<>();
-            wrapper.eq("collection_id", collectionId)
-                    .eq("problem_id", item.problemId())
-                    .set("sort_order", item.sortOrder())
-                    .set("updated_at", now);
-            collectionItemMapper.update(null, wrapper);
-        }
+        applyItemOrders(collectionId, items, now);
         UpdateWrapper<CollectionEntity> collectionWrapper = new UpdateWrapper<>();
         collectionWrapper.eq("id", collectionId)
                 .set("updated_at", now);
@@ -239,20 +344,33 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
     }
 
     /**
-     * 查询题单条目。
+     * 用一条 {@code UPDATE ... SET sort_order = CASE problem_id ... END} 批量调整条目排序。
+     * <p>
+     * 题目ID与排序值均为数值，直接拼入 SQL 不存在注入风险。
      *
      * @param collectionId 题单ID
-     * @return 条目列表
+     * @param items 排序项
+     * @param now 当前时间
+     * @return 更新的行数
      */
-    private List<CollectionItemData> listItems(long collectionId) {
-        QueryWrapper<CollectionItemEntity> wrapper = new QueryWrapper<>();
+    private int applyItemOrders(long collectionId, List<CollectionItemData> items, LocalDateTime now) {
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
+        StringBuilder cases = new StringBuilder("sort_order = CASE problem_id");
+        List<Long> problemIds = new ArrayList<>(items.size());
+        for (CollectionItemData item : items) {
+            cases.append(" WHEN ").append(item.problemId()).append(" THEN ").append(item.sortOrder());
+            problemIds.add(item.problemId());
+        }
+        cases.append(" ELSE sort_order END");
+        UpdateWrapper<CollectionItemEntity> wrapper = new UpdateWrapper<>();
         wrapper.eq("collection_id", collectionId)
+                .in("problem_id", problemIds)
                 .eq("deleted", 0)
-                .orderByAsc("sort_order")
-                .orderByAsc("id");
-        return collectionItemMapper.selectList(wrapper).stream()
-                .map(CollectionRepositoryAdapter::toItemData)
-                .toList();
+                .setSql(cases.toString())
+                .set("updated_at", now);
+        return collectionItemMapper.update(null, wrapper);
     }
 
     /**
@@ -272,10 +390,9 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
      * 将题单实体转换为详情数据。
      *
      * @param entity 题单实体
-     * @param items 条目列表
      * @return 题单详情
      */
-    private static CollectionDetailData toDetailData(CollectionEntity entity, List<CollectionItemData> items) {
+    private static CollectionDetailData toDetailData(CollectionEntity entity) {
         Visibility visibility = entity.getVisibility() == null ? null : Visibility.valueOf(entity.getVisibility());
         CollectionStatus status = entity.getStatus() == null ? null : CollectionStatus.valueOf(entity.getStatus());
         return new CollectionDetailData(
@@ -286,7 +403,7 @@ public class CollectionRepositoryAdapter implements CollectionRepositoryPort {
                 visibility,
                 entity.getShareKey(),
                 status,
-                items
+                entity.getItemCount() == null ? 0 : entity.getItemCount()
         );
     }
 
@@ -1,22 +1,34 @@
 package indi.midreamsheep.vegetable.backend.features.collection.domain;
 
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionAddItemCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionCreateCommand;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionItemBatchCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionRemoveItemCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionReorderCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionUpdateCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionDetailData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionDetailPage;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemBatchResult;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemPage;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionProblemItem;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionSummaryData;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.port.CollectionRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.query.CollectionItemCursor;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
 import org.springframework.util.StringUtils;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -25,6 +37,11 @@ import java.util.UUID;
  */
 public class CollectionDomainService {
 
+    /**
+     * 批量编辑时每类操作（添加/移除/排序）最多携带的条目数。
+     */
+    public static final int MAX_BATCH_ITEMS = 500;
+
     private final CollectionRepositoryPort collectionRepositoryPort;
     private final ProblemRepositoryPort problemRepositoryPort;
 
@@ -68,10 +85,11 @@ public class CollectionDomainService {
      *
      * @param page 页码
      * @param pageSize 每页大小
+     * @param totalMode 总数计算方式
      * @return 分页结果
      */
-    public PageResponse<CollectionSummaryData> listPublic(int page, int pageSize) {
-        return collectionRepositoryPort.listPublic(page, pageSize);
+    public PageResponse<CollectionSummaryData> listPublic(int page, int pageSize, TotalMode totalMode) {
+        return collectionRepositoryPort.listPublic(page, pageSize, totalMode);
     }
 
     /**
@@ -130,6 +148,43 @@ public class CollectionDomainService {
         return detail;
     }
 
+    /**
+     * 按游标读取一页题单条目，并用一次批量查询补全题目摘要。
+     * <p>
+     * 已删除或访问者无权查看的题目仍保留条目位置，{@link CollectionProblemItem#problem()} 为 null。
+     *
+     * @param detail 已通过可见性校验的题单详情
+     * @param requesterId 访问者ID（可为空）
+     * @param cursor 游标（为空表示第一页）
+     * @param pageSize 每页大小（1-100）
+     * @return 题单详情与一页条目
+     */
+    public CollectionDetailPage pageItems(
+            CollectionDetailData detail,
+            Long requesterId,
+            CollectionItemCursor cursor,
+            int pageSize
+    ) {
+        if (pageSize < 1 || pageSize > 100) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "pageSize 必须在 1-100 范围内");
+        }
+        CollectionItemPage page = collectionRepositoryPort.listItems(detail.id(), cursor, pageSize);
+        if (page.items().isEmpty()) {
+            return new CollectionDetailPage(detail, List.of(), page.nextCursor());
+        }
+        List<Long> problemIds = page.items().stream().map(CollectionItemData::problemId).toList();
+        Map<Long, ProblemSummaryData> problems = new HashMap<>();
+        for (ProblemSummaryData summary : problemRepositoryPort.listSummariesByIds(problemIds)) {
+            if (canAccessProblem(summary, requesterId)) {
+                problems.put(summary.id(), summary);
+            }
+        }
+        List<CollectionProblemItem> items = page.items().stream()
+                .map(item -> new CollectionProblemItem(item.problemId(), item.sortOrder(), problems.get(item.problemId())))
+                .toList();
+        return new CollectionDetailPage(detail, items, page.nextCursor());
+    }
+
     /**
      * 更新题单信息（作者）。
      *
@@ -197,11 +252,45 @@ public class CollectionDomainService {
         if (collectionRepositoryPort.existsItem(command.collectionId(), command.problemId())) {
             throw new BizException(ErrorCode.BAD_REQUEST, "题目已存在于题单中");
         }
-        problemRepositoryPort.findById(command.problemId())
-                .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题目不存在"));
+        if (problemRepositoryPort.findExistingIds(List.of(command.problemId())).isEmpty()) {
+            throw new BizException(ErrorCode.NOT_FOUND, "题目不存在");
+        }
         collectionRepositoryPort.addItem(command.collectionId(), command.problemId(), command.sortOrder());
     }
 
+    /**
+     * 批量编辑题单条目（作者）：一次请求内移除、添加并调整顺序。
+     * <p>
+     * 校验阶段固定三次查询（题单、题目存在性、已有条目），写入阶段在一个事务内完成。
+     *
+     * @param command 批量编辑命令
+     * @return 批量编辑结果
+     */
+    public CollectionItemBatchResult applyItemBatch(CollectionItemBatchCommand command) {
+        validate(command);
+        List<CollectionItemData> add = command.add() == null ? List.of() : command.add();
+        List<Long> remove = command.remove() == null ? List.of() : command.remove();
+        List<CollectionItemData> reorder = command.reorder() == null ? List.of() : command.reorder();
+        CollectionDetailData detail = collectionRepositoryPort.findDetailById(command.collectionId())
+                .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题单不存在"));
+        if (detail.authorId() != command.authorId()) {
+            throw new BizException(ErrorCode.FORBIDDEN, "无权限编辑该题单");
+        }
+        if (!add.isEmpty()) {
+            List<Long> addIds = add.stream().map(CollectionItemData::problemId).toList();
+            Set<Long> existing = problemRepositoryPort.findExistingIds(addIds);
+            List<Long> missing = addIds.stream().filter(id -> !existing.contains(id)).toList();
+            if (!missing.isEmpty()) {
+                throw new BizException(ErrorCode.NOT_FOUND, "题目不存在：" + missing);
+            }
+            Set<Long> duplicated = collectionRepositoryPort.findItemProblemIds(command.collectionId(), addIds);
+            if (!duplicated.isEmpty()) {
+                throw new BizException(ErrorCode.BAD_REQUEST, "题目已存在于题单中：" + duplicated);
+            }
+        }
+        return collectionRepositoryPort.applyItemBatch(command.collectionId(), add, remove, reorder);
+    }
+
     /**
      * 调整题单条目顺序。
      *
@@ -232,6 +321,20 @@ public class CollectionDomainService {
         collectionRepositoryPort.removeItem(command.collectionId(), command.problemId());
     }
 
+    /**
+     * 判断访问者能否在题单中看到该题目（作者本人或已发布的公开题目）。
+     *
+     * @param summary 题目摘要
+     * @param requesterId 访问者ID（可为空）
+     * @return 是否可见
+     */
+    private static boolean canAccessProblem(ProblemSummaryData summary, Long requesterId) {
+        if (requesterId != null && requesterId == summary.authorId()) {
+            return true;
+        }
+        return summary.status() == ProblemStatus.PUBLISHED && summary.visibility() == Visibility.PUBLIC;
+    }
+
     /**
      * 生成分享 key。
      *
@@ -321,6 +424,72 @@ public class CollectionDomainService {
         }
     }
 
+    /**
+     * 校验批量编辑命令。
+     *
+     * @param command 批量编辑命令
+     */
+    private static void validate(CollectionItemBatchCommand command) {
+        if (command == null) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "请求不能为空");
+        }
+        if (command.collectionId() <= 0) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "collectionId 不合法");
+        }
+        if (command.authorId() <= 0) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "authorId 不合法");
+        }
+        int addSize = command.add() == null ? 0 : command.add().size();
+        int removeSize = command.remove() == null ? 0 : command.remove().size();
+        int reorderSize = command.reorder() == null ? 0 : command.reorder().size();
+        if (addSize + removeSize + reorderSize == 0) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "add、remove、reorder 不能同时为空");
+        }
+        if (addSize > MAX_BATCH_ITEMS || removeSize > MAX_BATCH_ITEMS || reorderSize > MAX_BATCH_ITEMS) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "add、remove、reorder 各自最多 " + MAX_BATCH_ITEMS + " 项");
+        }
+        Set<Long> addIds = new HashSet<>();
+        validateItems(command.add(), addIds);
+        validateItems(command.reorder(), new HashSet<>());
+        if (command.remove() != null) {
+            Set<Long> removeIds = new HashSet<>();
+            for (Long problemId : command.remove()) {
+                if (problemId == null || problemId <= 0) {
+                    throw new BizException(ErrorCode.BAD_REQUEST, "problemId 不合法");
+                }
+                if (!removeIds.add(problemId)) {
+                    throw new BizException(ErrorCode.BAD_REQUEST, "remove 存在重复 problemId");
+                }
+                if (addIds.contains(problemId)) {
+                    throw new BizException(ErrorCode.BAD_REQUEST, "同一题目不能同时添加和移除");
+                }
+            }
+        }
+    }
+
+    /**
+     * 校验条目列表：problemId 合法且不重复，sortOrder 非负。
+     *
+     * @param items 条目列表（可为空）
+     * @param seen 已出现的题目ID（校验后包含本列表的全部ID）
+     */
+    private static void validateItems(List<CollectionItemData> items, Set<Long> seen) {
+        if (items == null) {
+            return;
+        }
+        for (CollectionItemData item : items) {
+            if (item == null || item.problemId() <= 0) {
+                throw new BizException(ErrorCode.BAD_REQUEST, "problemId 不合法");
+            }
+            if (item.sortOrder() < 0) {
+                throw new BizException(ErrorCode.BAD_REQUEST, "sortOrder 不能小于 0");
+            }
+            if (!seen.add(item.problemId())) {
+                throw new BizException(ErrorCode.BAD_REQUEST, "items 存在重复 problemId");
+            }
+        }
+    }
+
     /**
      * 校验更新命令。
      *
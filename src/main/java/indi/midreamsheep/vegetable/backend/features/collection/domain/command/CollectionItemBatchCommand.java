@@ -0,0 +1,23 @@
+package indi.midreamsheep.vegetable.backend.features.collection.domain.command;
+
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemData;
+
+import java.util.List;
+
+/**
+ * 题单条目批量编辑命令：依次移除、添加、调整顺序。
+ *
+ * @param collectionId 题单ID
+ * @param authorId 作者ID
+ * @param add 待添加的条目（可为空）
+ * @param remove 待移除的题目ID（可为空）
+ * @param reorder 排序项（可为空；可包含本次新添加的题目）
+ */
+public record CollectionItemBatchCommand(
+        long collectionId,
+        long authorId,
+        List<CollectionItemData> add,
+        List<Long> remove,
+        List<CollectionItemData> reorder
+) {
+}
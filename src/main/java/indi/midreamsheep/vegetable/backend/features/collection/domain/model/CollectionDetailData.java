@@ -3,10 +3,8 @@ package indi.midreamsheep.vegetable.backend.features.collection.domain.model;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.CollectionStatus;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
 
-import java.util.List;
-
 /**
- * 题单详情数据。
+ * 题单详情数据（不含条目，条目通过游标分页读取）。
  *
  * @param id 题单ID
  * @param authorId 作者ID
@@ -15,7 +13,7 @@ import java.util.List;
  * @param visibility 可见性
  * @param shareKey 分享 key
  * @param status 状态
- * @param items 题单条目
+ * @param itemCount 条目数量
  */
 public record CollectionDetailData(
         long id,
@@ -25,6 +23,6 @@ public record CollectionDetailData(
         Visibility visibility,
         String shareKey,
         CollectionStatus status,
-        List<CollectionItemData> items
+        int itemCount
 ) {
 }
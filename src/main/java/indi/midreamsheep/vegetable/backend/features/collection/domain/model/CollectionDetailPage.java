@@ -0,0 +1,19 @@
+package indi.midreamsheep.vegetable.backend.features.collection.domain.model;
+
+import indi.midreamsheep.vegetable.backend.features.collection.domain.query.CollectionItemCursor;
+
+import java.util.List;
+
+/**
+ * 题单详情与一页条目。
+ *
+ * @param detail 题单详情
+ * @param items 当前页条目（按 sort_order、id 升序）
+ * @param nextCursor 下一页游标（没有更多数据时为 null）
+ */
+public record CollectionDetailPage(
+        CollectionDetailData detail,
+        List<CollectionProblemItem> items,
+        CollectionItemCursor nextCursor
+) {
+}
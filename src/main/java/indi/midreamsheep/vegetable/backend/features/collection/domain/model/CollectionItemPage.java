@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.features.collection.domain.model;
+
+import indi.midreamsheep.vegetable.backend.features.collection.domain.query.CollectionItemCursor;
+
+import java.util.List;
+
+/**
+ * 游标分页的题单条目结果（仅条目本身，不含题目摘要）。
+ *
+ * @param items 条目列表
+ * @param nextCursor 下一页游标（没有更多数据时为 null）
+ */
+public record CollectionItemPage(
+        List<CollectionItemData> items,
+        CollectionItemCursor nextCursor
+) {
+}
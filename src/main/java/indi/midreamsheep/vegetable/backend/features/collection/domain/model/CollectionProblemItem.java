@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.features.collection.domain.model;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+
+/**
+ * 附带题目摘要的题单条目。
+ *
+ * @param problemId 题目ID
+ * @param sortOrder 排序
+ * @param problem 题目摘要（题目已删除或访问者无权查看时为 null）
+ */
+public record CollectionProblemItem(
+        long problemId,
+        int sortOrder,
+        ProblemSummaryData problem
+) {
+}
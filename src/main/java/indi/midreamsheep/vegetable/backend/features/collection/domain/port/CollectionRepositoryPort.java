@@ -1,15 +1,21 @@
 package indi.midreamsheep.vegetable.backend.features.collection.domain.port;
 
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.CollectionStatus;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionCreateCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionUpdateCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionDetailData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemBatchResult;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemPage;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionSummaryData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.query.CollectionItemCursor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 题单仓储端口。
@@ -25,7 +31,7 @@ public interface CollectionRepositoryPort {
     long create(CollectionCreateCommand command);
 
     /**
-     * 获取题单详情（含条目）。
+     * 获取题单详情（不含条目）。
      *
      * @param id 题单ID
      * @return 题单详情
@@ -40,14 +46,25 @@ public interface CollectionRepositoryPort {
      */
     Optional<CollectionDetailData> findDetailByShareKey(String shareKey);
 
+    /**
+     * 按 {@code (sort_order, id)} 游标分页查询题单条目。
+     *
+     * @param collectionId 题单ID
+     * @param cursor 游标（为空表示第一页）
+     * @param pageSize 每页大小
+     * @return 条目分页结果
+     */
+    CollectionItemPage listItems(long collectionId, CollectionItemCursor cursor, int pageSize);
+
     /**
      * 查询公开题单列表（分页）。
      *
      * @param page 页码
      * @param pageSize 每页大小
+     * @param totalMode 总数计算方式
      * @return 分页结果
      */
-    PageResponse<CollectionSummaryData> listPublic(int page, int pageSize);
+    PageResponse<CollectionSummaryData> listPublic(int page, int pageSize, TotalMode totalMode);
 
     /**
      * 查询作者的题单列表（分页）。
@@ -92,6 +109,15 @@ public interface CollectionRepositoryPort {
      */
     boolean existsItem(long collectionId, long problemId);
 
+    /**
+     * 从一组题目ID中筛出已在题单中（未删除）的ID。
+     *
+     * @param collectionId 题单ID
+     * @param problemIds 题目ID集合
+     * @return 已存在的题目ID集合
+     */
+    Set<Long> findItemProblemIds(long collectionId, Collection<Long> problemIds);
+
     /**
      * 添加题单条目。
      *
@@ -102,7 +128,24 @@ public interface CollectionRepositoryPort {
     void addItem(long collectionId, long problemId, int sortOrder);
 
     /**
-     * 更新题单条目排序。
+     * 在一个事务内批量编辑题单条目：一条 UPDATE 软删除待移除条目、一条多行 INSERT 添加新条目、
+     * 一条 {@code CASE} UPDATE 调整排序，最后一次性调整 item_count。
+     *
+     * @param collectionId 题单ID
+     * @param add 待添加的条目（调用方已确认不在题单中）
+     * @param remove 待移除的题目ID
+     * @param reorder 排序项
+     * @return 批量编辑结果
+     */
+    CollectionItemBatchResult applyItemBatch(
+            long collectionId,
+            List<CollectionItemData> add,
+            List<Long> remove,
+            List<CollectionItemData> reorder
+    );
+
+    /**
+     * 更新题单条目排序（单条 {@code CASE} UPDATE）。
      *
      * @param collectionId 题单ID
      * @param items 排序项
@@ -2,21 +2,29 @@ package indi.midreamsheep.vegetable.backend.features.collection.presentation;
 
 import indi.midreamsheep.vegetable.backend.common.api.ApiResponse;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.CollectionDomainService;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.CollectionStatus;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionAddItemCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionCreateCommand;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionItemBatchCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionRemoveItemCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionReorderCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.command.CollectionUpdateCommand;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionDetailData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionDetailPage;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemBatchResult;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionItemData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionProblemItem;
 import indi.midreamsheep.vegetable.backend.features.collection.domain.model.CollectionSummaryData;
+import indi.midreamsheep.vegetable.backend.features.collection.domain.query.CollectionItemCursor;
 import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionCreateRequest;
 import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionCreateResponse;
 import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionDetailResponse;
+import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionItemBatchRequest;
+import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionItemBatchResponse;
 import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionItemRequest;
 import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionItemResponse;
 import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionReorderRequest;
@@ -24,6 +32,13 @@ import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.
 import indi.midreamsheep.vegetable.backend.features.collection.presentation.dto.CollectionUpdateRequest;
 import indi.midreamsheep.vegetable.backend.features.favorite.domain.FavoriteDomainService;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.ProblemResponseMapper;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemTagResponse;
+import indi.midreamsheep.vegetable.backend.features.tag.domain.model.TagData;
+import indi.midreamsheep.vegetable.backend.features.tag.domain.port.TagRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserProfileData;
+import indi.midreamsheep.vegetable.backend.features.user.presentation.UserProfileBatchLoader;
 import jakarta.validation.Valid;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -40,6 +55,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 题单接口。
@@ -48,20 +68,34 @@ import java.util.List;
 @RequestMapping("/api/v1/collections")
 public class CollectionController {
 
+    /**
+     * 更新题单后随响应返回的首页条目数。
+     */
+    private static final int DEFAULT_ITEM_PAGE_SIZE = 20;
+
     private final CollectionDomainService collectionDomainService;
     private final FavoriteDomainService favoriteDomainService;
+    private final UserProfileBatchLoader userProfileBatchLoader;
+    private final TagRepositoryPort tagRepositoryPort;
 
     /**
      * 构造题单控制器。
      *
      * @param collectionDomainService 题单领域服务
+     * @param favoriteDomainService 收藏领域服务
+     * @param userProfileBatchLoader 请求级用户资料批量加载器
+     * @param tagRepositoryPort 标签仓储端口
      */
     public CollectionController(
             CollectionDomainService collectionDomainService,
-            FavoriteDomainService favoriteDomainService
+            FavoriteDomainService favoriteDomainService,
+            UserProfileBatchLoader userProfileBatchLoader,
+            TagRepositoryPort tagRepositoryPort
     ) {
         this.collectionDomainService = collectionDomainService;
         this.favoriteDomainService = favoriteDomainService;
+        this.userProfileBatchLoader = userProfileBatchLoader;
+        this.tagRepositoryPort = tagRepositoryPort;
     }
 
     /**
@@ -94,16 +128,22 @@ public class CollectionController {
      *
      * @param page 页码
      * @param pageSize 每页大小
+     * @param totalMode 总数计算方式（exact/estimate/none，默认 exact）
      * @return 统一响应体（分页）
      */
     @GetMapping
     public ApiResponse<PageResponse<CollectionSummaryResponse>> list(
             @RequestParam(value = "page", required = false, defaultValue = "1") Integer page,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize
+            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize,
+            @RequestParam(value = "totalMode", required = false) String totalMode
     ) {
         int finalPage = normalizePage(page);
         int finalPageSize = normalizePageSize(pageSize);
-        PageResponse<CollectionSummaryData> result = collectionDomainService.listPublic(finalPage, finalPageSize);
+        PageResponse<CollectionSummaryData> result = collectionDomainService.listPublic(
+                finalPage,
+                finalPageSize,
+                TotalMode.parse(totalMode)
+        );
         List<CollectionSummaryResponse> items = result.items().stream()
                 .map(CollectionController::toSummaryResponse)
                 .toList();
@@ -111,31 +151,53 @@ public class CollectionController {
     }
 
     /**
-     * 获取题单详情。
+     * 获取题单详情（条目按游标分页，并附带题目摘要）。
+     * <p>
+     * 首次不传 {@code cursor}，之后传上一页返回的 {@code nextCursor}；{@code nextCursor} 为 null 表示没有更多条目。
      *
      * @param id 题单ID
+     * @param cursor 条目游标
+     * @param pageSize 每页条目数
      * @return 统一响应体（题单详情）
      */
     @GetMapping("/{id}")
-    public ApiResponse<CollectionDetailResponse> detail(@PathVariable("id") long id) {
+    public ApiResponse<CollectionDetailResponse> detail(
+            @PathVariable("id") long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize
+    ) {
         Long requesterId = currentUserIdOrNull();
+        int finalPageSize = normalizePageSize(pageSize);
+        CollectionItemCursor itemCursor = CollectionItemCursor.decode(cursor);
         CollectionDetailData detail = collectionDomainService.getDetail(id, requesterId);
-        return ApiResponse.ok(toDetailResponse(detail));
+        return ApiResponse.ok(toDetailResponse(
+                collectionDomainService.pageItems(detail, requesterId, itemCursor, finalPageSize)
+        ));
     }
 
     /**
-     * 通过分享 key 获取题单详情。
+     * 通过分享 key 获取题单详情（条目分页方式同 {@link #detail}）。
      *
      * @param shareKey 分享 key
+     * @param cursor 条目游标
+     * @param pageSize 每页条目数
      * @return 统一响应体（题单详情）
      */
     @GetMapping("/share/{shareKey}")
-    public ApiResponse<CollectionDetailResponse> detailByShareKey(@PathVariable("shareKey") String shareKey) {
+    public ApiResponse<CollectionDetailResponse> detailByShareKey(
+            @PathVariable("shareKey") String shareKey,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize
+    ) {
         if (!StringUtils.hasText(shareKey)) {
             throw new BizException(ErrorCode.BAD_REQUEST, "shareKey 不能为空");
         }
+        int finalPageSize = normalizePageSize(pageSize);
+        CollectionItemCursor itemCursor = CollectionItemCursor.decode(cursor);
         CollectionDetailData detail = collectionDomainService.getDetailByShareKey(shareKey);
-        return ApiResponse.ok(toDetailResponse(detail));
+        return ApiResponse.ok(toDetailResponse(
+                collectionDomainService.pageItems(detail, currentUserIdOrNull(), itemCursor, finalPageSize)
+        ));
     }
 
     /**
@@ -160,7 +222,9 @@ public class CollectionController {
                 null
         );
         CollectionDetailData updated = collectionDomainService.update(command);
-        return ApiResponse.ok(toDetailResponse(updated));
+        return ApiResponse.ok(toDetailResponse(
+                collectionDomainService.pageItems(updated, authorId, null, DEFAULT_ITEM_PAGE_SIZE)
+        ));
     }
 
     /**
@@ -199,6 +263,30 @@ public class CollectionController {
         return ApiResponse.ok();
     }
 
+    /**
+     * 批量编辑题单条目（仅作者）：依次移除、添加、调整顺序，在一个事务内完成。
+     *
+     * @param id 题单ID
+     * @param request 批量编辑请求
+     * @return 统一响应体（各操作实际影响的条目数）
+     */
+    @PostMapping("/{id}/items/batch")
+    public ApiResponse<CollectionItemBatchResponse> batchItems(
+            @PathVariable("id") long id,
+            @Valid @RequestBody CollectionItemBatchRequest request
+    ) {
+        long authorId = requireCurrentUserId();
+        CollectionItemBatchCommand command = new CollectionItemBatchCommand(
+                id,
+                authorId,
+                toItemData(request.add()),
+                request.remove(),
+                toItemData(request.reorder())
+        );
+        CollectionItemBatchResult result = collectionDomainService.applyItemBatch(command);
+        return ApiResponse.ok(new CollectionItemBatchResponse(result.added(), result.removed(), result.reordered()));
+    }
+
     /**
      * 调整题单条目顺序。
      *
@@ -264,15 +352,43 @@ public class CollectionController {
     }
 
     /**
-     * 将领域数据转换为响应 DTO。
+     * 将条目请求转换为领域模型。
+     *
+     * @param items 条目请求（可为空）
+     * @return 条目列表（请求为空时返回 null）
+     */
+    private static List<CollectionItemData> toItemData(List<CollectionItemRequest> items) {
+        if (items == null) {
+            return null;
+        }
+        return items.stream()
+                .map(item -> new CollectionItemData(item.problemId(), item.sortOrder()))
+                .toList();
+    }
+
+    /**
+     * 将题单详情与一页条目转换为响应 DTO（作者与标签各一次批量查询）。
      *
-     * @param data 题单详情
+     * @param page 题单详情与条目
      * @return 响应 DTO
      */
-    private static CollectionDetailResponse toDetailResponse(CollectionDetailData data) {
-        List<CollectionItemResponse> items = data.items().stream()
-                .map(item -> new CollectionItemResponse(item.problemId(), item.sortOrder()))
+    private CollectionDetailResponse toDetailResponse(CollectionDetailPage page) {
+        List<ProblemSummaryData> problems = page.items().stream()
+                .map(CollectionProblemItem::problem)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, ProblemTagResponse> tagMap = buildTagMap(problems);
+        Map<Long, UserProfileData> authors = problems.isEmpty()
+                ? Map.of()
+                : userProfileBatchLoader.loadMany(problems.stream().map(ProblemSummaryData::authorId).toList());
+        List<CollectionItemResponse> items = page.items().stream()
+                .map(item -> new CollectionItemResponse(
+                        item.problemId(),
+                        item.sortOrder(),
+                        item.problem() == null ? null : ProblemResponseMapper.toSummary(item.problem(), tagMap, authors)
+                ))
                 .toList();
+        CollectionDetailData data = page.detail();
         return new CollectionDetailResponse(
                 data.id(),
                 data.name(),
@@ -280,10 +396,33 @@ public class CollectionController {
                 data.visibility(),
                 data.shareKey(),
                 data.status(),
-                items
+                data.itemCount(),
+                items,
+                page.nextCursor() == null ? null : page.nextCursor().encode()
         );
     }
 
+    /**
+     * 构造标签ID -> 标签对象的映射（用于列表批量组装 tags）。
+     *
+     * @param items 题目摘要列表
+     * @return 映射
+     */
+    private Map<Long, ProblemTagResponse> buildTagMap(List<ProblemSummaryData> items) {
+        if (items == null || items.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> ids = items.stream()
+                .flatMap(it -> it.tagIds() == null ? Stream.<Long>empty() : it.tagIds().stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<TagData> tags = tagRepositoryPort.findByIds(ids.stream().toList());
+        return tags.stream().collect(Collectors.toMap(TagData::id, t -> new ProblemTagResponse(t.id(), t.name())));
+    }
+
     /**
      * 将领域数据转换为摘要响应 DTO。
      *
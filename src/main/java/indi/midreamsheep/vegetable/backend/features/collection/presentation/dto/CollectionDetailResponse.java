@@ -14,7 +14,9 @@ import java.util.List;
  * @param visibility 可见性
  * @param shareKey 分享 key
  * @param status 状态
- * @param items 题单条目
+ * @param itemCount 条目总数
+ * @param items 当前页条目（按 sortOrder、条目创建顺序升序）
+ * @param nextCursor 下一页游标（没有更多条目时为 null）
  */
 public record CollectionDetailResponse(
         long id,
@@ -23,6 +25,8 @@ public record CollectionDetailResponse(
         Visibility visibility,
         String shareKey,
         CollectionStatus status,
-        List<CollectionItemResponse> items
+        int itemCount,
+        List<CollectionItemResponse> items,
+        String nextCursor
 ) {
 }
@@ -0,0 +1,19 @@
+package indi.midreamsheep.vegetable.backend.features.collection.presentation.dto;
+
+import jakarta.validation.Valid;
+
+import java.util.List;
+
+/**
+ * 题单条目批量编辑请求 DTO（三项均可为空，但不能同时为空）。
+ *
+ * @param add 待添加的条目
+ * @param remove 待移除的题目ID
+ * @param reorder 排序项（可包含本次新添加的题目）
+ */
+public record CollectionItemBatchRequest(
+        @Valid List<CollectionItemRequest> add,
+        List<Long> remove,
+        @Valid List<CollectionItemRequest> reorder
+) {
+}
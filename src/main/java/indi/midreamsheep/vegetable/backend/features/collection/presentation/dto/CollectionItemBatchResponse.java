@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.features.collection.presentation.dto;
+
+/**
+ * 题单条目批量编辑响应 DTO。
+ *
+ * @param added 新增条目数
+ * @param removed 实际移除的条目数
+ * @param reordered 实际更新排序的条目数
+ */
+public record CollectionItemBatchResponse(
+        int added,
+        int removed,
+        int reordered
+) {
+}
@@ -1,13 +1,17 @@
 package indi.midreamsheep.vegetable.backend.features.collection.presentation.dto;
 
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemSummaryResponse;
+
 /**
  * 题单条目响应 DTO。
  *
  * @param problemId 题目ID
  * @param sortOrder 排序
+ * @param problem 题目摘要（题目已删除或无权查看时为 null）
  */
 public record CollectionItemResponse(
         long problemId,
-        int sortOrder
+        int sortOrder,
+        ProblemSummaryResponse problem
 ) {
 }
@@ -0,0 +1,111 @@
+package indi.midreamsheep.vegetable.backend.features.comment.data;
+
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentCounterPort;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.counter.WriteBehindCounter;
+import indi.midreamsheep.vegetable.backend.infrastructure.counter.WriteBehindCounterProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 评论计数适配器：题目评论数与顶层评论回复数先在内存中聚合，再以单条批量 UPDATE 落库。
+ * <p>
+ * 关闭 {@code counter.write-behind.enabled} 时退化为每次创建/删除同步更新。
+ */
+@Component
+public class ProblemCommentCounterAdapter implements ProblemCommentCounterPort, DisposableBean {
+
+    private final ProblemRepositoryPort problemRepositoryPort;
+    private final ProblemCommentRepositoryPort problemCommentRepositoryPort;
+    private final WriteBehindCounter commentCounter;
+    private final WriteBehindCounter replyCounter;
+
+    /**
+     * 构造评论计数适配器。
+     *
+     * @param problemRepositoryPort 题目仓储端口
+     * @param problemCommentRepositoryPort 评论仓储端口
+     * @param properties 写后计数器配置
+     */
+    public ProblemCommentCounterAdapter(
+            ProblemRepositoryPort problemRepositoryPort,
+            ProblemCommentRepositoryPort problemCommentRepositoryPort,
+            WriteBehindCounterProperties properties
+    ) {
+        properties.validate();
+        this.problemRepositoryPort = problemRepositoryPort;
+        this.problemCommentRepositoryPort = problemCommentRepositoryPort;
+        if (properties.enabled()) {
+            this.commentCounter = new WriteBehindCounter(
+                    "problem-comment",
+                    properties.flushIntervalMillis(),
+                    properties.maxPendingEvents(),
+                    problemRepositoryPort::addCommentCounts
+            );
+            this.replyCounter = new WriteBehindCounter(
+                    "comment-reply",
+                    properties.flushIntervalMillis(),
+                    properties.maxPendingEvents(),
+                    problemCommentRepositoryPort::addReplyCounts
+            );
+        } else {
+            this.commentCounter = null;
+            this.replyCounter = null;
+        }
+    }
+
+    @Override
+    public void commentCreated(long problemId, Long parentId) {
+        record(problemId, parentId, 1);
+    }
+
+    @Override
+    public void commentDeleted(long problemId, Long parentId) {
+        record(problemId, parentId, -1);
+    }
+
+    /**
+     * 立即落库所有未刷盘的计数。
+     */
+    public void flush() {
+        if (commentCounter != null) {
+            commentCounter.flush();
+            replyCounter.flush();
+        }
+    }
+
+    /**
+     * 应用关闭时刷盘剩余计数。
+     */
+    @Override
+    public void destroy() {
+        if (commentCounter != null) {
+            commentCounter.close();
+            replyCounter.close();
+        }
+    }
+
+    /**
+     * 记录一次计数变化。
+     *
+     * @param problemId 题目ID
+     * @param parentId 父评论ID（顶层评论为 null）
+     * @param delta 增量
+     */
+    private void record(long problemId, Long parentId, long delta) {
+        if (commentCounter == null) {
+            problemRepositoryPort.addCommentCounts(Map.of(problemId, delta));
+            if (parentId != null) {
+                problemCommentRepositoryPort.addReplyCounts(Map.of(parentId, delta));
+            }
+            return;
+        }
+        commentCounter.add(problemId, delta);
+        if (parentId != null) {
+            replyCounter.add(parentId, delta);
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package indi.midreamsheep.vegetable.backend.features.comment.data;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.CommentHotScore;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRankingPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemCommentEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemCommentMapper;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 评论热度排行（进程内）：每道题一份有界的有序集合，只保留热度最高的前若干条顶层评论。
+ * <p>
+ * 首次按 HOT 读取某题时从数据库按热度分加载该题最多 capacity + 1 条顶层评论（多出的一条只用于判断是否截断），
+ * 同一题同时只由一个请求构建，并发请求等待同一结果；
+ * 之后点赞/取消点赞/发表/删除评论经 {@link CacheInvalidationBus} 通知各节点，节点按主键重读该评论并更新排行。
+ * 加载期间收到的事件先记下，新排行装入后再逐条重放，避免加载查询之后的变化丢失。回复数由写后计数器延迟落库，
+ * 因此单题排行在 {@code rebuild-interval-seconds} 后整体重建；排行被截断后又有条目移出时也会在下次读取时重建。
+ */
+public class ProblemCommentHotRanking implements ProblemCommentRankingPort {
+
+    /**
+     * 缓存失效总线主题（负载为 {@code problemId:commentId}）。
+     */
+    public static final String TOPIC = "comment.hot";
+
+    /**
+     * 热度分 SQL 中时间起点的写法。
+     */
+    private static final DateTimeFormatter EPOCH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ProblemCommentMapper problemCommentMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CommentHotScore hotScore;
+    private final int maxEntriesPerProblem;
+    private final long rebuildIntervalNanos;
+    private final Map<Long, Ranking> rankings;
+    private final Map<Long, Set<Long>> changedDuringBuild = new HashMap<>();
+    private final Map<Long, CompletableFuture<Ranking>> inFlight = new ConcurrentHashMap<>();
+    private final String scoreSql;
+
+    /**
+     * 构造评论热度排行。
+     *
+     * @param problemCommentMapper 评论 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param hotScore 热度分公式
+     * @param maxProblems 最多缓存排行的题目数
+     * @param maxEntriesPerProblem 每道题最多保留的排行条数
+     * @param rebuildIntervalSeconds 单题排行的最长使用时间（秒）
+     */
+    public ProblemCommentHotRanking(
+            ProblemCommentMapper problemCommentMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            CommentHotScore hotScore,
+            int maxProblems,
+            int maxEntriesPerProblem,
+            long rebuildIntervalSeconds
+    ) {
+        this.problemCommentMapper = problemCommentMapper;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.hotScore = hotScore;
+        this.maxEntriesPerProblem = maxEntriesPerProblem;
+        this.rebuildIntervalNanos = rebuildIntervalSeconds * 1_000_000_000L;
+        this.rankings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Ranking> eldest) {
+                return size() > maxProblems;
+            }
+        };
+        this.scoreSql = scoreSql(hotScore);
+        cacheInvalidationBus.subscribe(TOPIC, this::onCommentChanged);
+    }
+
+    @Override
+    public PageResponse<Long> listHotCommentIds(long problemId, int page, int pageSize) {
+        Ranking ranking;
+        synchronized (rankings) {
+            ranking = rankings.get(problemId);
+        }
+        if (ranking == null || ranking.needsRebuild(System.nanoTime())) {
+            ranking = buildAndInstall(problemId);
+        }
+        return ranking.page(page, pageSize);
+    }
+
+    @Override
+    public void commentChanged(long problemId, long commentId) {
+        cacheInvalidationBus.publish(TOPIC, problemId + ":" + commentId);
+    }
+
+    /**
+     * 处理评论变化事件：更新本节点已加载的排行；该题排行正在构建时记下评论ID，装入后重放。
+     *
+     * @param payload {@code problemId:commentId}
+     */
+    private void onCommentChanged(String payload) {
+        long problemId;
+        long commentId;
+        try {
+            int sep = payload.indexOf(':');
+            problemId = Long.parseLong(payload.substring(0, sep));
+            commentId = Long.parseLong(payload.substring(sep + 1));
+        } catch (RuntimeException ex) {
+            return;
+        }
+        Ranking ranking;
+        synchronized (rankings) {
+            Set<Long> changed = changedDuringBuild.get(problemId);
+            if (changed != null) {
+                changed.add(commentId);
+            }
+            ranking = rankings.get(problemId);
+        }
+        if (ranking != null) {
+            apply(ranking, commentId);
+        }
+    }
+
+    /**
+     * 按主键重读评论并更新排行。
+     *
+     * @param ranking 单题排行
+     * @param commentId 评论ID
+     */
+    private void apply(Ranking ranking, long commentId) {
+        QueryWrapper<ProblemCommentEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("id", "parent_id", "like_count", "reply_count", "created_at", "deleted").eq("id", commentId);
+        ProblemCommentEntity entity = problemCommentMapper.selectOne(wrapper);
+        boolean live = entity != null && entity.getParentId() == null
+                && (entity.getDeleted() == null || entity.getDeleted() == 0);
+        if (live) {
+            ranking.upsert(commentId, scoreOf(entity));
+        } else {
+            ranking.remove(commentId);
+        }
+    }
+
+    /**
+     * 构建一道题的排行并装入缓存；同一题已在构建时等待该次构建的结果。
+     *
+     * @param problemId 题目ID
+     * @return 新排行
+     */
+    private Ranking buildAndInstall(long problemId) {
+        CompletableFuture<Ranking> flight = new CompletableFuture<>();
+        CompletableFuture<Ranking> existing = inFlight.putIfAbsent(problemId, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            flight.complete(install(problemId));
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+        } finally {
+            inFlight.remove(problemId, flight);
+        }
+        return await(flight);
+    }
+
+    /**
+     * 等待构建结果，构建失败时抛出原始异常。
+     *
+     * @param flight 构建
+     * @return 排行
+     */
+    private static Ranking await(CompletableFuture<Ranking> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 构建一道题的排行并装入缓存，随后重放构建期间收到的评论变化（调用方保证同一题不会并发执行）。
+     *
+     * @param problemId 题目ID
+     * @return 新排行
+     */
+    private Ranking install(long problemId) {
+        Set<Long> changed = new HashSet<>();
+        synchronized (rankings) {
+            changedDuringBuild.put(problemId, changed);
+        }
+        Ranking ranking;
+        List<Long> pending;
+        try {
+            ranking = build(problemId);
+        } finally {
+            synchronized (rankings) {
+                changedDuringBuild.remove(problemId);
+                pending = List.copyOf(changed);
+            }
+        }
+        synchronized (rankings) {
+            rankings.put(problemId, ranking);
+        }
+        for (Long commentId : pending) {
+            apply(ranking, commentId);
+        }
+        return ranking;
+    }
+
+    /**
+     * 从数据库按热度分加载一道题热度最高的顶层评论并构建排行。
+     *
+     * @param problemId 题目ID
+     * @return 排行
+     */
+    private Ranking build(long problemId) {
+        QueryWrapper<ProblemCommentEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("id", "like_count", "reply_count", "created_at")
+                .eq("problem_id", problemId)
+                .isNull("parent_id")
+                .eq("deleted", 0)
+                .last("ORDER BY " + scoreSql + " DESC, id DESC LIMIT " + (maxEntriesPerProblem + 1));
+        List<ProblemCommentEntity> rows = problemCommentMapper.selectList(wrapper);
+        Ranking ranking = new Ranking(maxEntriesPerProblem, System.nanoTime() + rebuildIntervalNanos);
+        for (ProblemCommentEntity row : rows) {
+            ranking.upsert(row.getId(), scoreOf(row));
+        }
+        return ranking;
+    }
+
+    /**
+     * 把热度分公式写成 SQL 表达式（与 {@link CommentHotScore#score} 一致，时间按无时区的 DATETIME 计算）。
+     *
+     * @param hotScore 热度分公式
+     * @return SQL 表达式
+     */
+    private static String scoreSql(CommentHotScore hotScore) {
+        LocalDateTime epoch = LocalDateTime.ofEpochSecond(CommentHotScore.EPOCH_SECONDS, 0, ZoneOffset.UTC);
+        return "(LOG10(1 + GREATEST(COALESCE(like_count, 0), 0) + " + hotScore.replyWeight()
+                + " * GREATEST(COALESCE(reply_count, 0), 0))"
+                + " + COALESCE(TIMESTAMPDIFF(SECOND, '" + epoch.format(EPOCH_FORMAT) + "', created_at), 0) * 1.0 / "
+                + hotScore.decaySeconds() + ")";
+    }
+
+    /**
+     * 计算一行评论的热度分。
+     *
+     * @param entity 评论实体
+     * @return 热度分
+     */
+    private double scoreOf(ProblemCommentEntity entity) {
+        return hotScore.score(
+                entity.getLikeCount() == null ? 0L : entity.getLikeCount(),
+                entity.getReplyCount() == null ? 0L : entity.getReplyCount(),
+                entity.getCreatedAt()
+        );
+    }
+
+    /**
+     * 排行条目。
+     *
+     * @param id 评论ID
+     * @param score 热度分
+     */
+    private record Entry(long id, double score) {
+    }
+
+    /**
+     * 单题排行：按热度分降序（同分按ID降序，即新评论在前），最多保留 capacity 条。
+     */
+    private static final class Ranking {
+
+        /**
+         * 排序规则：热度分降序，同分按ID降序。
+         */
+        private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+                .thenComparing(Comparator.comparingLong(Entry::id).reversed());
+
+        private final int capacity;
+        private final long expiresAtNanos;
+        private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+        private final Map<Long, Entry> byId = new HashMap<>();
+        private boolean truncated;
+        private boolean stale;
+
+        /**
+         * 构造单题排行。
+         *
+         * @param capacity 最多保留条数
+         * @param expiresAtNanos 到期时间（{@link System#nanoTime()} 口径）
+         */
+        private Ranking(int capacity, long expiresAtNanos) {
+            this.capacity = capacity;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        /**
+         * 是否需要重建（到期，或截断后有条目移出导致尾部可能缺失）。
+         *
+         * @param nowNanos 当前时间
+         * @return 是否需要重建
+         */
+        private synchronized boolean needsRebuild(long nowNanos) {
+            return stale || nowNanos - expiresAtNanos >= 0;
+        }
+
+        /**
+         * 插入或更新条目；排行已满且分数不足以进入时忽略（新评论或点赞只会让分数上升，截断部分无需关心）。
+         *
+         * @param id 评论ID
+         * @param score 热度分
+         */
+        private synchronized void upsert(long id, double score) {
+            Entry previous = byId.remove(id);
+            if (previous != null) {
+                ordered.remove(previous);
+                if (truncated && score < previous.score()) {
+                    // 截断的排行里分数下降：排行之外的评论可能已经超过它，下次读取时重建。
+                    stale = true;
+                }
+            }
+            Entry entry = new Entry(id, score);
+            if (ordered.size() >= capacity && ORDER.compare(entry, ordered.last()) > 0) {
+                truncated = true;
+                return;
+            }
+            ordered.add(entry);
+            byId.put(id, entry);
+            if (ordered.size() > capacity) {
+                byId.remove(ordered.pollLast().id());
+                truncated = true;
+            }
+        }
+
+        /**
+         * 移除条目。
+         *
+         * @param id 评论ID
+         */
+        private synchronized void remove(long id) {
+            Entry previous = byId.remove(id);
+            if (previous != null) {
+                ordered.remove(previous);
+                if (truncated) {
+                    stale = true;
+                }
+            }
+        }
+
+        /**
+         * 分页读取评论ID。
+         *
+         * @param page 页码
+         * @param pageSize 每页大小
+         * @return 评论ID分页
+         */
+        private synchronized PageResponse<Long> page(int page, int pageSize) {
+            long offset = (long) (page - 1) * pageSize;
+            List<Long> ids = new ArrayList<>(pageSize);
+            long index = 0;
+            for (Entry entry : ordered) {
+                if (index++ < offset) {
+                    continue;
+                }
+                if (ids.size() >= pageSize) {
+                    break;
+                }
+                ids.add(entry.id());
+            }
+            return new PageResponse<>(ids, page, pageSize, ordered.size());
+        }
+    }
+}
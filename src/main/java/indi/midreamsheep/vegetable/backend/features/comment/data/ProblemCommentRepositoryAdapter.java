@@ -3,15 +3,30 @@ package indi.midreamsheep.vegetable.backend.features.comment.data;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentData;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentThread;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentThreadPage;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.query.ProblemCommentCursor;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.PageTotalCache;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemCommentEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemCommentMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.CounterColumnUpdater;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 题目评论仓储适配器：通过 MyBatis-Plus 完成持久化。
@@ -19,15 +34,25 @@ import java.util.Optional;
 @Component
 public class ProblemCommentRepositoryAdapter implements ProblemCommentRepositoryPort {
 
+    /**
+     * 楼内回复顺序：按发表时间正序，同一时间按ID正序。
+     */
+    private static final Comparator<ProblemCommentData> REPLY_ORDER = Comparator
+            .comparing(ProblemCommentData::createdAt)
+            .thenComparingLong(ProblemCommentData::id);
+
     private final ProblemCommentMapper problemCommentMapper;
+    private final PageTotalCache pageTotalCache;
 
     /**
      * 构造题目评论仓储适配器。
      *
      * @param problemCommentMapper 评论 Mapper
+     * @param pageTotalCache 分页总数缓存
      */
-    public ProblemCommentRepositoryAdapter(ProblemCommentMapper problemCommentMapper) {
+    public ProblemCommentRepositoryAdapter(ProblemCommentMapper problemCommentMapper, PageTotalCache pageTotalCache) {
         this.problemCommentMapper = problemCommentMapper;
+        this.pageTotalCache = pageTotalCache;
     }
 
     /**
@@ -50,10 +75,12 @@ public class ProblemCommentRepositoryAdapter implements ProblemCommentRepository
         entity.setReplyToCommentId(replyToCommentId);
         entity.setContent(content);
         entity.setLikeCount(0L);
+        entity.setReplyCount(0L);
         entity.setCreatedAt(now);
         entity.setUpdatedAt(now);
         entity.setDeleted(0);
         problemCommentMapper.insert(entity);
+        pageTotalCache.invalidate(PageTotalCache.NS_PROBLEM_COMMENT);
         return entity.getId();
     }
 
@@ -64,19 +91,17 @@ public class ProblemCommentRepositoryAdapter implements ProblemCommentRepository
      * @param parentId 父评论ID（为空表示顶层评论）
      * @param page 页码
      * @param pageSize 每页大小
+     * @param totalMode 总数计算方式
      * @return 分页结果
      */
     @Override
-    public PageResponse<ProblemCommentData> listByProblem(long problemId, Long parentId, int page, int pageSize) {
-        QueryWrapper<ProblemCommentEntity> countWrapper = new QueryWrapper<>();
-        countWrapper.eq("problem_id", problemId);
-        if (parentId == null) {
-            countWrapper.isNull("parent_id");
-        } else {
-            countWrapper.eq("parent_id", parentId);
-        }
-        long total = problemCommentMapper.selectCount(countWrapper);
-
+    public PageResponse<ProblemCommentData> listByProblem(
+            long problemId,
+            Long parentId,
+            int page,
+            int pageSize,
+            TotalMode totalMode
+    ) {
         QueryWrapper<ProblemCommentEntity> listWrapper = new QueryWrapper<>();
         listWrapper.eq("problem_id", problemId);
         if (parentId == null) {
@@ -90,9 +115,77 @@ public class ProblemCommentRepositoryAdapter implements ProblemCommentRepository
         List<ProblemCommentData> items = problemCommentMapper.selectList(listWrapper).stream()
                 .map(ProblemCommentRepositoryAdapter::toData)
                 .toList();
+        long total = pageTotalCache.resolve(
+                PageTotalCache.NS_PROBLEM_COMMENT,
+                problemId + "|" + parentId,
+                totalMode,
+                () -> {
+                    QueryWrapper<ProblemCommentEntity> countWrapper = new QueryWrapper<>();
+                    countWrapper.eq("problem_id", problemId);
+                    if (parentId == null) {
+                        countWrapper.isNull("parent_id");
+                    } else {
+                        countWrapper.eq("parent_id", parentId);
+                    }
+                    return problemCommentMapper.selectCount(countWrapper);
+                },
+                PageTotalCache.lowerBound(offset, items.size(), pageSize)
+        );
         return new PageResponse<>(items, page, pageSize, total);
     }
 
+    /**
+     * 评论楼列表（游标分页）：一次 keyset 查询取顶层评论，再一次集合查询取各楼的前若干条回复；
+     * 回复总数取顶层评论上维护的 reply_count，不再逐条统计回复。
+     *
+     * @param problemId 题目ID
+     * @param cursor 游标（为空表示第一页）
+     * @param pageSize 每页顶层评论数
+     * @param replyLimit 每楼预取的回复数
+     * @return 游标分页结果
+     */
+    @Override
+    public ProblemCommentThreadPage listThreads(long problemId, ProblemCommentCursor cursor, int pageSize, int replyLimit) {
+        QueryWrapper<ProblemCommentEntity> rootWrapper = new QueryWrapper<>();
+        rootWrapper.eq("problem_id", problemId).isNull("parent_id");
+        if (cursor != null) {
+            rootWrapper.and(w -> w.gt("created_at", cursor.createdAt())
+                    .or(x -> x.eq("created_at", cursor.createdAt()).gt("id", cursor.id())));
+        }
+        rootWrapper.orderByAsc("created_at").orderByAsc("id");
+        // 多取一行用于判断是否还有下一页。
+        rootWrapper.last("limit " + (pageSize + 1));
+        List<ProblemCommentEntity> roots = problemCommentMapper.selectList(rootWrapper);
+        ProblemCommentCursor nextCursor = null;
+        if (roots.size() > pageSize) {
+            roots = roots.subList(0, pageSize);
+            ProblemCommentEntity last = roots.get(roots.size() - 1);
+            nextCursor = new ProblemCommentCursor(last.getCreatedAt(), last.getId());
+        }
+        if (roots.isEmpty()) {
+            return new ProblemCommentThreadPage(List.of(), nextCursor);
+        }
+
+        Map<Long, List<ProblemCommentData>> repliesByParent = new HashMap<>();
+        List<Long> rootIds = roots.stream().map(ProblemCommentEntity::getId).toList();
+        for (ProblemCommentEntity row : problemCommentMapper.selectFirstReplies(rootIds, replyLimit)) {
+            repliesByParent.computeIfAbsent(row.getParentId(), k -> new ArrayList<>()).add(toData(row));
+        }
+        repliesByParent.values().forEach(replies -> replies.sort(REPLY_ORDER));
+        List<ProblemCommentThread> items = new ArrayList<>(roots.size());
+        for (ProblemCommentEntity root : roots) {
+            List<ProblemCommentData> replies = repliesByParent.getOrDefault(root.getId(), List.of());
+            ProblemCommentData comment = toData(root);
+            // reply_count 异步落库，刚发表的回复可能尚未计入，至少按已取到的回复条数计。
+            long replyCount = Math.max(comment.replyCount(), replies.size());
+            if (comment.deleted() && replyCount == 0) {
+                continue;
+            }
+            items.add(new ProblemCommentThread(comment, replies, replyCount));
+        }
+        return new ProblemCommentThreadPage(items, nextCursor);
+    }
+
     /**
      * 根据 ID 获取评论。
      *
@@ -107,6 +200,30 @@ public class ProblemCommentRepositoryAdapter implements ProblemCommentRepository
         return Optional.ofNullable(entity).map(ProblemCommentRepositoryAdapter::toData);
     }
 
+    /**
+     * 根据一组 ID 批量获取评论（仅未删除），按入参顺序返回。
+     *
+     * @param ids 评论ID集合
+     * @return 评论列表
+     */
+    @Override
+    public List<ProblemCommentData> findByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> wanted = new LinkedHashSet<>(ids);
+        QueryWrapper<ProblemCommentEntity> wrapper = new QueryWrapper<>();
+        wrapper.in("id", wanted).eq("deleted", 0);
+        Map<Long, ProblemCommentData> byId = new HashMap<>();
+        for (ProblemCommentEntity entity : problemCommentMapper.selectList(wrapper)) {
+            byId.put(entity.getId(), toData(entity));
+        }
+        return wanted.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     /**
      * 根据 ID 获取评论（包含已删除）。
      *
@@ -125,15 +242,29 @@ public class ProblemCommentRepositoryAdapter implements ProblemCommentRepository
      * 软删除评论。
      *
      * @param id 评论ID
+     * @return 是否由本次调用删除
      */
     @Override
-    public void softDelete(long id) {
+    public boolean softDelete(long id) {
         LocalDateTime now = LocalDateTime.now();
         UpdateWrapper<ProblemCommentEntity> wrapper = new UpdateWrapper<>();
         wrapper.eq("id", id).eq("deleted", 0)
                 .set("deleted", 1)
                 .set("updated_at", now);
-        problemCommentMapper.update(null, wrapper);
+        int updated = problemCommentMapper.update(null, wrapper);
+        pageTotalCache.invalidate(PageTotalCache.NS_PROBLEM_COMMENT);
+        return updated > 0;
+    }
+
+    /**
+     * 批量累加顶层评论的回复数。
+     *
+     * @param deltas 顶层评论ID -> 回复数增量
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void addReplyCounts(Map<Long, Long> deltas) {
+        CounterColumnUpdater.addDeltas(problemCommentMapper, "reply_count", deltas, false);
     }
 
     /**
@@ -182,6 +313,7 @@ public class ProblemCommentRepositoryAdapter implements ProblemCommentRepository
                 entity.getReplyToCommentId(),
                 deleted ? null : entity.getContent(),
                 entity.getLikeCount() == null ? 0L : entity.getLikeCount(),
+                entity.getReplyCount() == null ? 0L : entity.getReplyCount(),
                 deleted,
                 entity.getCreatedAt()
         );
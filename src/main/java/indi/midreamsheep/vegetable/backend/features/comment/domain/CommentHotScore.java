@@ -0,0 +1,38 @@
+package indi.midreamsheep.vegetable.backend.features.comment.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 评论热度分：{@code log10(1 + 点赞数 + replyWeight * 回复数) + 发表时间(秒) / decaySeconds}。
+ * <p>
+ * 时间项只与发表时间有关，分数不随「当前时间」变化，因此可以预先计算并增量维护；
+ * 效果上等价于随时间衰减：晚发表 decaySeconds 秒的评论，只需十分之一的互动量就能排到同一位置。
+ *
+ * @param replyWeight 一条回复折算的点赞数
+ * @param decaySeconds 互动量每差 10 倍对应的发表时间差（秒）
+ */
+public record CommentHotScore(
+        double replyWeight,
+        long decaySeconds
+) {
+
+    /**
+     * 时间项的起点（2026-01-01T00:00:00Z），避免分数中的时间项过大损失精度。
+     */
+    public static final long EPOCH_SECONDS = 1767225600L;
+
+    /**
+     * 计算热度分。
+     *
+     * @param likeCount 点赞数
+     * @param replyCount 回复数
+     * @param createdAt 发表时间（为空时按时间起点计算）
+     * @return 热度分
+     */
+    public double score(long likeCount, long replyCount, LocalDateTime createdAt) {
+        double engagement = 1.0 + Math.max(0L, likeCount) + replyWeight * Math.max(0L, replyCount);
+        long seconds = createdAt == null ? 0L : createdAt.toEpochSecond(ZoneOffset.UTC) - EPOCH_SECONDS;
+        return Math.log10(engagement) + (double) seconds / decaySeconds;
+    }
+}
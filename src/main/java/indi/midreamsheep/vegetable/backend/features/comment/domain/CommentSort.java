@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.features.comment.domain;
+
+/**
+ * 评论列表排序方式。
+ */
+public enum CommentSort {
+    /**
+     * 按发表时间正序（默认）。
+     */
+    TIME,
+    /**
+     * 按热度分降序（仅顶层评论，只提供排行前若干条）。
+     */
+    HOT
+}
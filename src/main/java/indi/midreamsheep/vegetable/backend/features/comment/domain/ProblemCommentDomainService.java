@@ -1,36 +1,56 @@
 package indi.midreamsheep.vegetable.backend.features.comment.domain;
 
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentData;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentThreadPage;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentCounterPort;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRankingPort;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.query.ProblemCommentCursor;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemDetailData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+
 /**
  * 评论领域服务：围绕题目评论的创建/查询/删除。
  */
 public class ProblemCommentDomainService {
 
+    /**
+     * 评论楼每楼最多预取的回复数。
+     */
+    public static final int MAX_THREAD_REPLY_LIMIT = 10;
+
     private final ProblemCommentRepositoryPort problemCommentRepositoryPort;
     private final ProblemRepositoryPort problemRepositoryPort;
+    private final ProblemCommentCounterPort problemCommentCounterPort;
+    private final ProblemCommentRankingPort problemCommentRankingPort;
 
     /**
      * 构造评论领域服务。
      *
      * @param problemCommentRepositoryPort 评论仓储端口
      * @param problemRepositoryPort 题目仓储端口
+     * @param problemCommentCounterPort 评论计数端口
+     * @param problemCommentRankingPort 评论热度排行端口
      */
     public ProblemCommentDomainService(
             ProblemCommentRepositoryPort problemCommentRepositoryPort,
-            ProblemRepositoryPort problemRepositoryPort
+            ProblemRepositoryPort problemRepositoryPort,
+            ProblemCommentCounterPort problemCommentCounterPort,
+            ProblemCommentRankingPort problemCommentRankingPort
     ) {
         this.problemCommentRepositoryPort = problemCommentRepositoryPort;
         this.problemRepositoryPort = problemRepositoryPort;
+        this.problemCommentCounterPort = problemCommentCounterPort;
+        this.problemCommentRankingPort = problemCommentRankingPort;
     }
 
     /**
@@ -66,13 +86,18 @@ public class ProblemCommentDomainService {
             throw new BizException(ErrorCode.BAD_REQUEST, "仅可评论已发布题目");
         }
         ParentInfo parent = resolveParent(problemId, parentId, replyToCommentId);
-        return problemCommentRepositoryPort.create(
+        long id = problemCommentRepositoryPort.create(
                 problemId,
                 userId,
                 parent.parentId(),
                 parent.replyToCommentId(),
                 finalContent
         );
+        problemCommentCounterPort.commentCreated(problemId, parent.parentId());
+        if (parent.parentId() == null) {
+            problemCommentRankingPort.commentChanged(problemId, id);
+        }
+        return id;
     }
 
     /**
@@ -81,11 +106,21 @@ public class ProblemCommentDomainService {
      * @param problemId 题目ID
      * @param requesterId 访问者ID（可为空）
      * @param parentId 父评论ID（可为空，表示顶层）
+     * @param sort 排序方式（为空按时间正序；HOT 仅支持顶层评论，且忽略 totalMode）
      * @param page 页码
      * @param pageSize 每页大小
+     * @param totalMode 总数计算方式
      * @return 分页结果
      */
-    public PageResponse<ProblemCommentData> list(long problemId, Long requesterId, Long parentId, int page, int pageSize) {
+    public PageResponse<ProblemCommentData> list(
+            long problemId,
+            Long requesterId,
+            Long parentId,
+            CommentSort sort,
+            int page,
+            int pageSize,
+            TotalMode totalMode
+    ) {
         if (problemId <= 0) {
             throw new BizException(ErrorCode.BAD_REQUEST, "problemId 不合法");
         }
@@ -98,20 +133,48 @@ public class ProblemCommentDomainService {
         if (pageSize < 1 || pageSize > 100) {
             throw new BizException(ErrorCode.BAD_REQUEST, "pageSize 必须在 1-100 范围内");
         }
-        ProblemDetailData problem = problemRepositoryPort.findById(problemId)
-                .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题目不存在"));
-        long uid = requesterId == null ? -1L : requesterId;
-        if (!canAccessProblem(problem, uid)) {
-            throw new BizException(ErrorCode.FORBIDDEN, "无权限查看评论");
+        if (sort == CommentSort.HOT && parentId != null) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "sort=HOT 仅支持顶层评论");
         }
-        if (problem.visibility() == Visibility.PUBLIC && problem.status() == ProblemStatus.PUBLISHED) {
-            // ok
-        } else if (uid > 0 && uid == problem.authorId()) {
-            // ok
-        } else {
-            throw new BizException(ErrorCode.FORBIDDEN, "无权限查看评论");
+        requireReadableProblem(problemId, requesterId);
+        if (sort == CommentSort.HOT) {
+            PageResponse<Long> idPage = problemCommentRankingPort.listHotCommentIds(problemId, page, pageSize);
+            List<ProblemCommentData> items = idPage.items().isEmpty()
+                    ? List.of()
+                    : problemCommentRepositoryPort.findByIds(idPage.items());
+            return new PageResponse<>(items, idPage.page(), idPage.pageSize(), idPage.total());
+        }
+        return problemCommentRepositoryPort.listByProblem(problemId, parentId, page, pageSize, totalMode);
+    }
+
+    /**
+     * 评论楼列表（游标分页）：顶层评论按时间正序，每楼附带前 replyLimit 条回复与回复总数。
+     *
+     * @param problemId 题目ID
+     * @param requesterId 访问者ID（可为空）
+     * @param cursor 游标（为空表示第一页）
+     * @param pageSize 每页顶层评论数
+     * @param replyLimit 每楼预取的回复数
+     * @return 游标分页结果
+     */
+    public ProblemCommentThreadPage listThreads(
+            long problemId,
+            Long requesterId,
+            ProblemCommentCursor cursor,
+            int pageSize,
+            int replyLimit
+    ) {
+        if (problemId <= 0) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "problemId 不合法");
+        }
+        if (pageSize < 1 || pageSize > 100) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "pageSize 必须在 1-100 范围内");
         }
-        return problemCommentRepositoryPort.listByProblem(problemId, parentId, page, pageSize);
+        if (replyLimit < 1 || replyLimit > MAX_THREAD_REPLY_LIMIT) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "replyLimit 必须在 1-" + MAX_THREAD_REPLY_LIMIT + " 范围内");
+        }
+        requireReadableProblem(problemId, requesterId);
+        return problemCommentRepositoryPort.listThreads(problemId, cursor, pageSize, replyLimit);
     }
 
     /**
@@ -143,7 +206,7 @@ public class ProblemCommentDomainService {
     }
 
     /**
-     * 删除评论（软删除）。
+     * 删除评论（软删除），实际删除时扣减题目评论数与父评论回复数。
      *
      * @param commentId 评论ID
      */
@@ -151,7 +214,29 @@ public class ProblemCommentDomainService {
         if (commentId <= 0) {
             throw new BizException(ErrorCode.BAD_REQUEST, "commentId 不合法");
         }
-        problemCommentRepositoryPort.softDelete(commentId);
+        problemCommentRepositoryPort.findByIdIncludingDeleted(commentId).ifPresent(comment -> {
+            if (problemCommentRepositoryPort.softDelete(commentId)) {
+                problemCommentCounterPort.commentDeleted(comment.problemId(), comment.parentId());
+                if (comment.parentId() == null) {
+                    problemCommentRankingPort.commentChanged(comment.problemId(), commentId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 校验访问者可查看题目评论（公开已发布或作者本人），否则抛出 404/403。
+     *
+     * @param problemId 题目ID
+     * @param requesterId 访问者ID（可为空）
+     */
+    private void requireReadableProblem(long problemId, Long requesterId) {
+        ProblemDetailData problem = problemRepositoryPort.findById(problemId)
+                .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题目不存在"));
+        long uid = requesterId == null ? -1L : requesterId;
+        if (!canAccessProblem(problem, uid)) {
+            throw new BizException(ErrorCode.FORBIDDEN, "无权限查看评论");
+        }
     }
 
     /**
@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.features.comment.domain.model;
+
+import java.util.List;
+
+/**
+ * 评论楼：一条顶层评论及其前若干条回复。
+ *
+ * @param comment 顶层评论
+ * @param replies 前若干条回复（按时间正序，仅未删除）
+ * @param replyCount 回复总数（仅未删除）
+ */
+public record ProblemCommentThread(
+        ProblemCommentData comment,
+        List<ProblemCommentData> replies,
+        long replyCount
+) {
+}
@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.features.comment.domain.model;
+
+import indi.midreamsheep.vegetable.backend.features.comment.domain.query.ProblemCommentCursor;
+
+import java.util.List;
+
+/**
+ * 游标分页的评论楼结果。
+ *
+ * @param items 评论楼列表
+ * @param nextCursor 下一页游标（没有更多数据时为 null）
+ */
+public record ProblemCommentThreadPage(
+        List<ProblemCommentThread> items,
+        ProblemCommentCursor nextCursor
+) {
+}
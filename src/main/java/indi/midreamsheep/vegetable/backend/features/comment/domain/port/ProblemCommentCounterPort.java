@@ -0,0 +1,23 @@
+package indi.midreamsheep.vegetable.backend.features.comment.domain.port;
+
+/**
+ * 评论计数端口：维护题目评论数与顶层评论回复数，由实现决定同步落库还是聚合后批量落库。
+ */
+public interface ProblemCommentCounterPort {
+
+    /**
+     * 记录一条评论被创建。
+     *
+     * @param problemId 题目ID
+     * @param parentId 父评论ID（顶层评论为 null）
+     */
+    void commentCreated(long problemId, Long parentId);
+
+    /**
+     * 记录一条评论被删除。
+     *
+     * @param problemId 题目ID
+     * @param parentId 父评论ID（顶层评论为 null）
+     */
+    void commentDeleted(long problemId, Long parentId);
+}
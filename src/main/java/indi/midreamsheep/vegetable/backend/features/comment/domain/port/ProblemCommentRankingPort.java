@@ -0,0 +1,27 @@
+package indi.midreamsheep.vegetable.backend.features.comment.domain.port;
+
+import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+
+/**
+ * 评论热度排行端口：按题目维护顶层评论的热度排行（只保留前若干条）。
+ */
+public interface ProblemCommentRankingPort {
+
+    /**
+     * 按热度分页获取顶层评论ID。
+     *
+     * @param problemId 题目ID
+     * @param page 页码
+     * @param pageSize 每页大小
+     * @return 评论ID分页（total 为参与排行的评论数，不超过排行上限）
+     */
+    PageResponse<Long> listHotCommentIds(long problemId, int page, int pageSize);
+
+    /**
+     * 通知某条顶层评论的热度输入（点赞数/删除状态等）发生变化。
+     *
+     * @param problemId 题目ID
+     * @param commentId 评论ID
+     */
+    void commentChanged(long problemId, long commentId);
+}
@@ -1,8 +1,14 @@
 package indi.midreamsheep.vegetable.backend.features.comment.domain.port;
 
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentData;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentThreadPage;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.query.ProblemCommentCursor;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,9 +35,29 @@ public interface ProblemCommentRepositoryPort {
      * @param parentId 父评论ID（为空表示顶层评论）
      * @param page 页码
      * @param pageSize 每页大小
+     * @param totalMode 总数计算方式
      * @return 分页结果
      */
-    PageResponse<ProblemCommentData> listByProblem(long problemId, Long parentId, int page, int pageSize);
+    PageResponse<ProblemCommentData> listByProblem(
+            long problemId,
+            Long parentId,
+            int page,
+            int pageSize,
+            TotalMode totalMode
+    );
+
+    /**
+     * 评论楼列表（游标分页）：顶层评论按时间正序，每楼附带前若干条回复与回复总数。
+     * <p>
+     * 已删除且没有回复的顶层评论不返回，因此单页条数可能少于 pageSize。
+     *
+     * @param problemId 题目ID
+     * @param cursor 游标（为空表示第一页）
+     * @param pageSize 每页顶层评论数
+     * @param replyLimit 每楼预取的回复数
+     * @return 游标分页结果
+     */
+    ProblemCommentThreadPage listThreads(long problemId, ProblemCommentCursor cursor, int pageSize, int replyLimit);
 
     /**
      * 根据 ID 获取评论（仅未删除）。
@@ -41,6 +67,14 @@ public interface ProblemCommentRepositoryPort {
      */
     Optional<ProblemCommentData> findById(long id);
 
+    /**
+     * 根据一组 ID 批量获取评论（仅未删除），一次查询完成。
+     *
+     * @param ids 评论ID集合
+     * @return 评论列表（按入参顺序，重复ID只保留一条，不存在/已删除的ID被跳过）
+     */
+    List<ProblemCommentData> findByIds(Collection<Long> ids);
+
     /**
      * 根据 ID 获取评论（包含已删除）。
      *
@@ -53,8 +87,16 @@ public interface ProblemCommentRepositoryPort {
      * 软删除评论。
      *
      * @param id 评论ID
+     * @return 是否由本次调用删除（已删除时返回 false）
+     */
+    boolean softDelete(long id);
+
+    /**
+     * 批量累加顶层评论的回复数（结果不低于 0）。
+     *
+     * @param deltas 顶层评论ID -> 回复数增量
      */
-    void softDelete(long id);
+    void addReplyCounts(Map<Long, Long> deltas);
 
     /**
      * 评论点赞数 +1。
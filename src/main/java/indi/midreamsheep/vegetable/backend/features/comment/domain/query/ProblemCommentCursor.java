@@ -0,0 +1,56 @@
+package indi.midreamsheep.vegetable.backend.features.comment.domain.query;
+
+import indi.midreamsheep.vegetable.backend.common.error.BizException;
+import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 顶层评论列表的游标（keyset 分页位置）。
+ * <p>
+ * 记录上一页最后一条顶层评论的排序键 {@code (created_at, id)}，对外以 Base64URL 编码的不透明字符串传递。
+ *
+ * @param createdAt 创建时间
+ * @param id 评论ID
+ */
+public record ProblemCommentCursor(
+        LocalDateTime createdAt,
+        long id
+) {
+
+    /**
+     * 编码为不透明字符串。
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标字符串；为空时返回 null（表示第一页）。
+     *
+     * @param cursor 游标字符串
+     * @return 游标（可为空）
+     */
+    public static ProblemCommentCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("parts");
+            }
+            return new ProblemCommentCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "cursor 不合法");
+        }
+    }
+}
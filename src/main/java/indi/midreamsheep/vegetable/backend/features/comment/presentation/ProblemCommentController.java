@@ -1,13 +1,19 @@
 package indi.midreamsheep.vegetable.backend.features.comment.presentation;
 
 import indi.midreamsheep.vegetable.backend.common.api.ApiResponse;
+import indi.midreamsheep.vegetable.backend.common.api.CursorPageResponse;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.CommentSort;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.ProblemCommentDomainService;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentData;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentThreadPage;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.query.ProblemCommentCursor;
 import indi.midreamsheep.vegetable.backend.features.comment.presentation.dto.ProblemCommentCreateRequest;
 import indi.midreamsheep.vegetable.backend.features.comment.presentation.dto.ProblemCommentResponse;
+import indi.midreamsheep.vegetable.backend.features.comment.presentation.dto.ProblemCommentThreadResponse;
 import indi.midreamsheep.vegetable.backend.infrastructure.security.AdminAuthorizationService;
 import jakarta.validation.Valid;
 import indi.midreamsheep.vegetable.backend.features.like.domain.LikeCommentDomainService;
@@ -57,24 +63,31 @@ public class ProblemCommentController {
      * 评论列表（分页）。
      *
      * @param problemId 题目ID
+     * @param parentId 父评论ID（为空表示顶层评论）
+     * @param sort 排序方式（TIME/HOT，默认 TIME）
      * @param page 页码
      * @param pageSize 每页大小
+     * @param totalMode 总数计算方式（exact/estimate/none，默认 exact）
      * @return 分页结果
      */
     @GetMapping("/{problemId}/comments")
     public ApiResponse<PageResponse<ProblemCommentResponse>> list(
             @PathVariable("problemId") long problemId,
             @RequestParam(value = "parentId", required = false) Long parentId,
+            @RequestParam(value = "sort", required = false) CommentSort sort,
             @RequestParam(value = "page", required = false, defaultValue = "1") Integer page,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize
+            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize,
+            @RequestParam(value = "totalMode", required = false) String totalMode
     ) {
         Long requesterId = currentUserIdOrNull();
         PageResponse<ProblemCommentData> result = problemCommentDomainService.list(
                 problemId,
                 requesterId,
                 parentId,
+                sort,
                 normalizePage(page),
-                normalizePageSize(pageSize)
+                normalizePageSize(pageSize),
+                TotalMode.parse(totalMode)
         );
         List<ProblemCommentResponse> items = result.items().stream()
                 .map(ProblemCommentController::toResponse)
@@ -82,6 +95,45 @@ public class ProblemCommentController {
         return ApiResponse.ok(new PageResponse<>(items, result.page(), result.pageSize(), result.total()));
     }
 
+    /**
+     * 评论楼列表（游标分页）：顶层评论按时间正序，每楼附带前 replyLimit 条回复与回复总数。
+     * <p>
+     * 首次不传 {@code cursor}（或传空字符串），之后传上一页返回的 {@code nextCursor}；
+     * 不返回总数，{@code nextCursor} 为 null 表示没有更多数据。
+     *
+     * @param problemId 题目ID
+     * @param cursor 游标
+     * @param pageSize 每页顶层评论数
+     * @param replyLimit 每楼预取的回复数（1-10，默认 3）
+     * @return 游标分页结果
+     */
+    @GetMapping("/{problemId}/comments/threads")
+    public ApiResponse<CursorPageResponse<ProblemCommentThreadResponse>> listThreads(
+            @PathVariable("problemId") long problemId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize,
+            @RequestParam(value = "replyLimit", required = false, defaultValue = "3") Integer replyLimit
+    ) {
+        Long requesterId = currentUserIdOrNull();
+        int finalPageSize = normalizePageSize(pageSize);
+        ProblemCommentThreadPage result = problemCommentDomainService.listThreads(
+                problemId,
+                requesterId,
+                ProblemCommentCursor.decode(cursor),
+                finalPageSize,
+                replyLimit == null ? 3 : replyLimit
+        );
+        List<ProblemCommentThreadResponse> items = result.items().stream()
+                .map(thread -> new ProblemCommentThreadResponse(
+                        toResponse(thread.comment()),
+                        thread.replies().stream().map(ProblemCommentController::toResponse).toList(),
+                        thread.replyCount()
+                ))
+                .toList();
+        String nextCursor = result.nextCursor() == null ? null : result.nextCursor().encode();
+        return ApiResponse.ok(new CursorPageResponse<>(items, finalPageSize, nextCursor));
+    }
+
     /**
      * 创建评论。
      *
@@ -180,6 +232,7 @@ public class ProblemCommentController {
                 data.replyToCommentId(),
                 data.content(),
                 data.likeCount(),
+                data.replyCount(),
                 data.deleted(),
                 data.createdAt()
         );
@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
  * @param replyToCommentId 回复的评论ID
  * @param content 内容
  * @param likeCount 点赞数
+ * @param replyCount 回复数（仅顶层评论）
  * @param deleted 是否已删除
  * @param createdAt 创建时间
  */
@@ -23,6 +24,7 @@ public record ProblemCommentResponse(
         Long replyToCommentId,
         String content,
         long likeCount,
+        long replyCount,
         boolean deleted,
         LocalDateTime createdAt
 ) {
@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.features.comment.presentation.dto;
+
+import java.util.List;
+
+/**
+ * 评论楼响应 DTO。
+ *
+ * @param comment 顶层评论
+ * @param replies 前若干条回复
+ * @param replyCount 回复总数
+ */
+public record ProblemCommentThreadResponse(
+        ProblemCommentResponse comment,
+        List<ProblemCommentResponse> replies,
+        long replyCount
+) {
+}
@@ -0,0 +1,231 @@
+package indi.midreamsheep.vegetable.backend.features.counter.data;
+
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterDrift;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterDriftReport;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterDriftSample;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterReconcileStatus;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.port.CounterReconcilePort;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.CounterReconcileRow;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.CounterReconcileMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ReconciledCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 冗余计数对账：对 {@link ReconciledCounter} 中的每个计数列，按目标表主键分批读取「当前值 / 来源表实际行数 / 发件箱待投影增量」快照，
+ * 把偏差按增量批量修正，并保留最近一轮的偏差报告。
+ * <p>
+ * 每批是一条独立的短查询与一条按主键 IN 的 UPDATE，只锁住本批存在偏差的行，不持有跨批的游标或事务；
+ * 内存占用与批大小成正比，与表的总行数无关。对账前先执行 beforeRun（刷盘本节点的写后计数）；
+ * 其他节点尚未刷盘的写后增量可能让个别行短暂偏差，下一轮对账会再次修正。
+ */
+public class CounterReconciler implements CounterReconcilePort, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciler.class);
+
+    /**
+     * 每个计数列在报告中保留的偏差样例数。
+     */
+    private static final int SAMPLE_LIMIT = 20;
+
+    private final CounterReconcileMapper counterReconcileMapper;
+    private final List<Runnable> beforeRun;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile CounterDriftReport lastReport;
+
+    /**
+     * 构造计数对账器；intervalSeconds 大于 0 时启动定时对账。
+     *
+     * @param counterReconcileMapper 计数对账 Mapper
+     * @param beforeRun 每轮对账前执行的刷盘动作
+     * @param chunkSize 每批核对的目标行数
+     * @param chunkPauseMillis 批与批之间的停顿（毫秒，降低对线上库的压力）
+     * @param intervalSeconds 对账间隔（秒，0 表示不定时执行）
+     */
+    public CounterReconciler(
+            CounterReconcileMapper counterReconcileMapper,
+            List<Runnable> beforeRun,
+            int chunkSize,
+            long chunkPauseMillis,
+            long intervalSeconds
+    ) {
+        this.counterReconcileMapper = counterReconcileMapper;
+        this.beforeRun = List.copyOf(beforeRun);
+        this.chunkSize = chunkSize;
+        this.chunkPauseMillis = chunkPauseMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "counter-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalSeconds > 0) {
+            executor.scheduleWithFixedDelay(() -> {
+                if (running.compareAndSet(false, true)) {
+                    runQuietly(false);
+                }
+            }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 在当前线程执行一轮完整对账。
+     *
+     * @param dryRun 是否只统计不修正
+     * @return 偏差报告
+     */
+    public CounterDriftReport reconcile(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("已有对账正在执行");
+        }
+        try {
+            return run(dryRun);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public CounterReconcileStatus status() {
+        return new CounterReconcileStatus(running.get(), lastReport);
+    }
+
+    @Override
+    public boolean start(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> runQuietly(dryRun));
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 后台执行一轮对账（调用方已置位 running，异常只记录日志）。
+     *
+     * @param dryRun 是否只统计不修正
+     */
+    private void runQuietly(boolean dryRun) {
+        try {
+            run(dryRun);
+        } catch (RuntimeException ex) {
+            log.warn("event=counter_reconcile_failed", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 依次对账全部计数列并记录报告。
+     *
+     * @param dryRun 是否只统计不修正
+     * @return 偏差报告
+     */
+    private CounterDriftReport run(boolean dryRun) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        beforeRun.forEach(Runnable::run);
+        List<CounterDrift> counters = new ArrayList<>();
+        for (ReconciledCounter counter : ReconciledCounter.values()) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            CounterDrift drift = reconcileCounter(counter, dryRun);
+            log.info("event=counter_reconciled counter={} scanned={} drifted={} absolute_drift={} dry_run={}",
+                    drift.counter(), drift.scannedRows(), drift.driftedRows(), drift.absoluteDrift(), dryRun);
+            counters.add(drift);
+        }
+        CounterDriftReport report = new CounterDriftReport(dryRun, startedAt, LocalDateTime.now(), List.copyOf(counters));
+        lastReport = report;
+        return report;
+    }
+
+    /**
+     * 按主键分批核对一个计数列。
+     *
+     * @param counter 计数定义
+     * @param dryRun 是否只统计不修正
+     * @return 该计数列的对账结果
+     */
+    private CounterDrift reconcileCounter(ReconciledCounter counter, boolean dryRun) {
+        long scanned = 0;
+        long drifted = 0;
+        long absoluteDrift = 0;
+        List<CounterDriftSample> samples = new ArrayList<>();
+        long lastId = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<CounterReconcileRow> chunk = counterReconcileMapper.selectChunk(counter, lastId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            Map<Long, Long> corrections = new HashMap<>();
+            for (CounterReconcileRow row : chunk) {
+                long stored = valueOf(row.getStoredValue());
+                long expected = valueOf(row.getActualValue()) - valueOf(row.getPendingDelta());
+                long correction = expected - stored;
+                if (correction == 0) {
+                    continue;
+                }
+                corrections.put(row.getId(), correction);
+                absoluteDrift += Math.abs(correction);
+                if (samples.size() < SAMPLE_LIMIT) {
+                    samples.add(new CounterDriftSample(row.getId(), stored, expected));
+                }
+            }
+            if (!dryRun && !corrections.isEmpty()) {
+                counterReconcileMapper.addCorrections(counter, corrections, LocalDateTime.now());
+            }
+            scanned += chunk.size();
+            drifted += corrections.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+            if (chunk.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        return new CounterDrift(counter.name(), scanned, drifted, absoluteDrift, List.copyOf(samples));
+    }
+
+    /**
+     * 批间停顿。
+     *
+     * @return 是否应继续（线程被中断时返回 false）
+     */
+    private boolean pause() {
+        if (chunkPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 空值按 0 处理。
+     *
+     * @param value 数值
+     * @return 数值或 0
+     */
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+}
@@ -0,0 +1,45 @@
+package indi.midreamsheep.vegetable.backend.features.counter.domain;
+
+import indi.midreamsheep.vegetable.backend.common.error.BizException;
+import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterReconcileStatus;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.port.CounterReconcilePort;
+
+/**
+ * 计数对账领域服务：查询偏差报告与手动发起对账。
+ */
+public class CounterReconcileDomainService {
+
+    private final CounterReconcilePort counterReconcilePort;
+
+    /**
+     * 构造计数对账领域服务。
+     *
+     * @param counterReconcilePort 计数对账端口
+     */
+    public CounterReconcileDomainService(CounterReconcilePort counterReconcilePort) {
+        this.counterReconcilePort = counterReconcilePort;
+    }
+
+    /**
+     * 查询对账状态与最近一轮偏差报告。
+     *
+     * @return 对账状态
+     */
+    public CounterReconcileStatus status() {
+        return counterReconcilePort.status();
+    }
+
+    /**
+     * 在后台发起一轮对账。
+     *
+     * @param dryRun 是否只统计不修正
+     * @return 发起后的对账状态
+     */
+    public CounterReconcileStatus start(boolean dryRun) {
+        if (!counterReconcilePort.start(dryRun)) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "已有对账正在执行，请稍后再试");
+        }
+        return counterReconcilePort.status();
+    }
+}
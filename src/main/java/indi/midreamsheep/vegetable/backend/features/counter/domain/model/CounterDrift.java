@@ -0,0 +1,21 @@
+package indi.midreamsheep.vegetable.backend.features.counter.domain.model;
+
+import java.util.List;
+
+/**
+ * 单个计数列的对账结果。
+ *
+ * @param counter 计数名称（如 PROBLEM_LIKE）
+ * @param scannedRows 核对的目标行数
+ * @param driftedRows 存在偏差的行数
+ * @param absoluteDrift 偏差绝对值之和
+ * @param samples 偏差样例（最多若干条）
+ */
+public record CounterDrift(
+        String counter,
+        long scannedRows,
+        long driftedRows,
+        long absoluteDrift,
+        List<CounterDriftSample> samples
+) {
+}
@@ -0,0 +1,20 @@
+package indi.midreamsheep.vegetable.backend.features.counter.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 一轮计数对账的偏差报告。
+ *
+ * @param dryRun 是否只统计不修正
+ * @param startedAt 开始时间
+ * @param finishedAt 结束时间
+ * @param counters 各计数列的对账结果
+ */
+public record CounterDriftReport(
+        boolean dryRun,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        List<CounterDrift> counters
+) {
+}
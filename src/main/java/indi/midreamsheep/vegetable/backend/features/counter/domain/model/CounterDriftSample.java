@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.features.counter.domain.model;
+
+/**
+ * 计数偏差样例。
+ *
+ * @param id 目标行ID
+ * @param storedValue 对账时计数列的值
+ * @param expectedValue 按来源表统计出的正确值
+ */
+public record CounterDriftSample(
+        long id,
+        long storedValue,
+        long expectedValue
+) {
+}
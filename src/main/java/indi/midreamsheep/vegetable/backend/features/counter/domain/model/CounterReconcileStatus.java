@@ -0,0 +1,13 @@
+package indi.midreamsheep.vegetable.backend.features.counter.domain.model;
+
+/**
+ * 计数对账状态。
+ *
+ * @param running 是否有对账正在执行
+ * @param lastReport 最近一轮完成的报告（尚未执行过时为 null）
+ */
+public record CounterReconcileStatus(
+        boolean running,
+        CounterDriftReport lastReport
+) {
+}
@@ -0,0 +1,24 @@
+package indi.midreamsheep.vegetable.backend.features.counter.domain.port;
+
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterReconcileStatus;
+
+/**
+ * 计数对账端口。
+ */
+public interface CounterReconcilePort {
+
+    /**
+     * 查询对账状态与最近一轮报告。
+     *
+     * @return 对账状态
+     */
+    CounterReconcileStatus status();
+
+    /**
+     * 在后台发起一轮对账。
+     *
+     * @param dryRun 是否只统计不修正
+     * @return 是否已发起（已有对账在执行时返回 false）
+     */
+    boolean start(boolean dryRun);
+}
@@ -0,0 +1,109 @@
+package indi.midreamsheep.vegetable.backend.features.counter.presentation;
+
+import indi.midreamsheep.vegetable.backend.common.api.ApiResponse;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.CounterReconcileDomainService;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterDrift;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterDriftReport;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterReconcileStatus;
+import indi.midreamsheep.vegetable.backend.features.counter.presentation.dto.CounterDriftResponse;
+import indi.midreamsheep.vegetable.backend.features.counter.presentation.dto.CounterDriftSampleResponse;
+import indi.midreamsheep.vegetable.backend.features.counter.presentation.dto.CounterReconcileStatusResponse;
+import indi.midreamsheep.vegetable.backend.infrastructure.security.AdminAuthorizationService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 冗余计数对账管理端接口。
+ */
+@RestController
+@RequestMapping("/api/v1/admin/counters")
+public class CounterAdminController {
+
+    private final CounterReconcileDomainService counterReconcileDomainService;
+    private final AdminAuthorizationService adminAuthorizationService;
+
+    /**
+     * 构造计数对账管理端控制器。
+     *
+     * @param counterReconcileDomainService 计数对账领域服务
+     * @param adminAuthorizationService 管理员权限校验
+     */
+    public CounterAdminController(
+            CounterReconcileDomainService counterReconcileDomainService,
+            AdminAuthorizationService adminAuthorizationService
+    ) {
+        this.counterReconcileDomainService = counterReconcileDomainService;
+        this.adminAuthorizationService = adminAuthorizationService;
+    }
+
+    /**
+     * 查询最近一轮对账的偏差报告（管理员）。
+     *
+     * @return 统一响应体（对账状态）
+     */
+    @GetMapping("/drift")
+    public ApiResponse<CounterReconcileStatusResponse> drift() {
+        adminAuthorizationService.requireAdmin();
+        return ApiResponse.ok(toResponse(counterReconcileDomainService.status()));
+    }
+
+    /**
+     * 在后台发起一轮对账（管理员）。
+     *
+     * @param dryRun 是否只统计不修正（默认 false）
+     * @return 统一响应体（发起后的对账状态）
+     */
+    @PostMapping("/reconcile")
+    public ApiResponse<CounterReconcileStatusResponse> reconcile(
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun
+    ) {
+        adminAuthorizationService.requireAdmin();
+        return ApiResponse.ok(toResponse(counterReconcileDomainService.start(dryRun)));
+    }
+
+    /**
+     * 转换为响应 DTO。
+     *
+     * @param status 对账状态
+     * @return 响应 DTO
+     */
+    private static CounterReconcileStatusResponse toResponse(CounterReconcileStatus status) {
+        CounterDriftReport report = status.lastReport();
+        if (report == null) {
+            return new CounterReconcileStatusResponse(status.running(), null, null, null, List.of());
+        }
+        List<CounterDriftResponse> counters = report.counters().stream()
+                .map(CounterAdminController::toDriftResponse)
+                .toList();
+        return new CounterReconcileStatusResponse(
+                status.running(),
+                report.dryRun(),
+                report.startedAt(),
+                report.finishedAt(),
+                counters
+        );
+    }
+
+    /**
+     * 转换单个计数列的对账结果。
+     *
+     * @param drift 对账结果
+     * @return 响应 DTO
+     */
+    private static CounterDriftResponse toDriftResponse(CounterDrift drift) {
+        return new CounterDriftResponse(
+                drift.counter(),
+                drift.scannedRows(),
+                drift.driftedRows(),
+                drift.absoluteDrift(),
+                drift.samples().stream()
+                        .map(s -> new CounterDriftSampleResponse(s.id(), s.storedValue(), s.expectedValue()))
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package indi.midreamsheep.vegetable.backend.features.counter.presentation.dto;
+
+import java.util.List;
+
+/**
+ * 单个计数列对账结果响应 DTO。
+ *
+ * @param counter 计数名称
+ * @param scannedRows 核对的目标行数
+ * @param driftedRows 存在偏差的行数
+ * @param absoluteDrift 偏差绝对值之和
+ * @param samples 偏差样例
+ */
+public record CounterDriftResponse(
+        String counter,
+        long scannedRows,
+        long driftedRows,
+        long absoluteDrift,
+        List<CounterDriftSampleResponse> samples
+) {
+}
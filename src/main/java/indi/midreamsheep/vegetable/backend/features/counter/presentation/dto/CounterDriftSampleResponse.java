@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.features.counter.presentation.dto;
+
+/**
+ * 计数偏差样例响应 DTO。
+ *
+ * @param id 目标行ID
+ * @param storedValue 对账时计数列的值
+ * @param expectedValue 正确值
+ */
+public record CounterDriftSampleResponse(
+        long id,
+        long storedValue,
+        long expectedValue
+) {
+}
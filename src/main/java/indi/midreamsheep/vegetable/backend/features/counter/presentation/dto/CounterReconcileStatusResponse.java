@@ -0,0 +1,22 @@
+package indi.midreamsheep.vegetable.backend.features.counter.presentation.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 计数对账状态响应 DTO（报告字段来自最近一轮完成的对账，尚未执行过时为空）。
+ *
+ * @param running 是否有对账正在执行
+ * @param dryRun 最近一轮是否只统计不修正
+ * @param startedAt 最近一轮开始时间
+ * @param finishedAt 最近一轮结束时间
+ * @param counters 最近一轮各计数列的对账结果
+ */
+public record CounterReconcileStatusResponse(
+        boolean running,
+        Boolean dryRun,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        List<CounterDriftResponse> counters
+) {
+}
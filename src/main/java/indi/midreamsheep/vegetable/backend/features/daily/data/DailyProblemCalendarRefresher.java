@@ -0,0 +1,124 @@
+package indi.midreamsheep.vegetable.backend.features.daily.data;
+
+import indi.midreamsheep.vegetable.backend.features.daily.domain.DailyProblemCalendarCache;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.port.DailyProblemChangeNotifierPort;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemDetailCache;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每日一题日历缓存刷新器：负责触发 {@link DailyProblemCalendarCache#refresh()}。
+ * <p>
+ * 触发时机：
+ * <ul>
+ *     <li>本节点或其他节点发布/撤回每日一题（经 {@link CacheInvalidationBus} 同步，本节点同步重建）；</li>
+ *     <li>快照引用的题目发生变更（订阅题目详情缓存的失效事件，异步重建）；</li>
+ *     <li>每天本地零点平移窗口，以及按固定间隔兜底重建。</li>
+ * </ul>
+ */
+public class DailyProblemCalendarRefresher implements DailyProblemChangeNotifierPort, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyProblemCalendarRefresher.class);
+
+    /**
+     * 缓存失效总线主题。
+     */
+    public static final String TOPIC = "daily.calendar";
+
+    private final DailyProblemCalendarCache calendarCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * 构造每日一题日历缓存刷新器，并启动零点与兜底刷新任务。
+     *
+     * @param calendarCache 每日一题日历缓存
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param refreshIntervalSeconds 兜底刷新间隔（秒）
+     */
+    public DailyProblemCalendarRefresher(
+            DailyProblemCalendarCache calendarCache,
+            CacheInvalidationBus cacheInvalidationBus,
+            long refreshIntervalSeconds
+    ) {
+        this.calendarCache = calendarCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "daily-calendar-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cacheInvalidationBus.subscribe(TOPIC, payload -> refreshQuietly("daily_changed"));
+        cacheInvalidationBus.subscribe(ProblemDetailCache.TOPIC, this::onProblemChanged);
+        executor.scheduleWithFixedDelay(
+                () -> refreshQuietly("interval"),
+                refreshIntervalSeconds,
+                refreshIntervalSeconds,
+                TimeUnit.SECONDS
+        );
+        scheduleMidnightRollover();
+    }
+
+    @Override
+    public void dailyProblemsChanged() {
+        cacheInvalidationBus.publish(TOPIC, "");
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 题目变更时，若快照引用了该题目则异步重建。
+     *
+     * @param payload 题目ID
+     */
+    private void onProblemChanged(String payload) {
+        long problemId;
+        try {
+            problemId = Long.parseLong(payload);
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        if (calendarCache.references(problemId)) {
+            executor.execute(() -> refreshQuietly("problem_changed"));
+        }
+    }
+
+    /**
+     * 安排下一次本地零点的窗口平移（执行后再安排下一天）。
+     */
+    private void scheduleMidnightRollover() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextMidnight = LocalDate.now().plusDays(1).atStartOfDay();
+        long delayMillis = Math.max(0L, Duration.between(now, nextMidnight).toMillis());
+        executor.schedule(() -> {
+            refreshQuietly("midnight");
+            scheduleMidnightRollover();
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 重建快照；失败时仅记录日志，继续使用旧快照。
+     *
+     * @param reason 触发原因
+     */
+    private void refreshQuietly(String reason) {
+        try {
+            calendarCache.refresh();
+            log.debug("event=daily_calendar_refreshed reason={}", reason);
+        } catch (RuntimeException ex) {
+            log.warn("event=daily_calendar_refresh_failed reason={}", reason, ex);
+        }
+    }
+}
@@ -58,6 +58,15 @@ public class DailyProblemRepositoryAdapter implements DailyProblemRepositoryPort
         return new PageResponse<>(items, page, pageSize, total);
     }
 
+    @Override
+    public List<DailyProblemData> listPublishedBetween(LocalDate from, LocalDate to) {
+        QueryWrapper<DailyProblemEntity> wrapper = buildListWrapper(from, to);
+        wrapper.orderByDesc("day").orderByDesc("published_at").orderByDesc("id");
+        return dailyProblemMapper.selectList(wrapper).stream()
+                .map(DailyProblemRepositoryAdapter::toData)
+                .toList();
+    }
+
     @Override
     public DailyProblemData publish(DailyProblemData data) {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,138 @@
+package indi.midreamsheep.vegetable.backend.features.daily.domain;
+
+import indi.midreamsheep.vegetable.backend.features.daily.domain.model.DailyProblemCalendar;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.model.DailyProblemData;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.port.DailyProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 每日一题日历缓存：预先计算「今天往前 pastDays 天 ~ 往后 aheadDays 天」窗口内的每日一题。
+ * <p>
+ * 快照整体构建（两次查询：每日一题 + 题目摘要）后原子替换；每日一题发布/撤回、
+ * 被引用的题目变更以及跨过本地零点时调用 {@link #refresh()} 重建。
+ * 由于窗口包含未来若干天，零点前构建的快照已覆盖新的一天，零点重建只是平移窗口。
+ */
+public class DailyProblemCalendarCache {
+
+    private final DailyProblemRepositoryPort dailyProblemRepositoryPort;
+    private final ProblemRepositoryPort problemRepositoryPort;
+    private final boolean enabled;
+    private final int pastDays;
+    private final int aheadDays;
+    private final Object loadLock = new Object();
+    private volatile DailyProblemCalendar calendar;
+    private long generation;
+
+    /**
+     * 构造每日一题日历缓存。
+     *
+     * @param dailyProblemRepositoryPort 每日一题仓储端口
+     * @param problemRepositoryPort 题目仓储端口
+     * @param enabled 是否启用（关闭后总是查询数据库）
+     * @param pastDays 缓存今天之前的天数
+     * @param aheadDays 缓存今天之后的天数
+     */
+    public DailyProblemCalendarCache(
+            DailyProblemRepositoryPort dailyProblemRepositoryPort,
+            ProblemRepositoryPort problemRepositoryPort,
+            boolean enabled,
+            int pastDays,
+            int aheadDays
+    ) {
+        this.dailyProblemRepositoryPort = dailyProblemRepositoryPort;
+        this.problemRepositoryPort = problemRepositoryPort;
+        this.enabled = enabled;
+        this.pastDays = pastDays;
+        this.aheadDays = aheadDays;
+    }
+
+    /**
+     * 获取完整覆盖给定日期范围的快照（首次访问时构建）。
+     *
+     * @param from 起始日期
+     * @param to 截止日期
+     * @return 快照（未启用或不覆盖时为空）
+     */
+    public Optional<DailyProblemCalendar> covering(LocalDate from, LocalDate to) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        DailyProblemCalendar current = calendar;
+        if (current == null) {
+            synchronized (loadLock) {
+                if (calendar == null) {
+                    refresh();
+                }
+                current = calendar;
+            }
+        }
+        if (current == null || !current.covers(from, to)) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * 判断当前快照是否引用了某道题目。
+     *
+     * @param problemId 题目ID
+     * @return 引用返回 true
+     */
+    public boolean references(long problemId) {
+        DailyProblemCalendar current = calendar;
+        return current != null && current.references(problemId);
+    }
+
+    /**
+     * 以当前日期为基准重建快照并原子替换。
+     * <p>
+     * 构建期间若有更新的重建开始，则丢弃本次结果，避免旧快照覆盖新快照。
+     */
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long startGeneration;
+        synchronized (loadLock) {
+            startGeneration = ++generation;
+        }
+        DailyProblemCalendar loaded = load(LocalDate.now());
+        synchronized (loadLock) {
+            if (generation == startGeneration) {
+                calendar = loaded;
+            }
+        }
+    }
+
+    /**
+     * 从数据库加载窗口内的快照。
+     *
+     * @param today 基准日期
+     * @return 快照
+     */
+    private DailyProblemCalendar load(LocalDate today) {
+        LocalDate from = today.minusDays(pastDays);
+        LocalDate to = today.plusDays(aheadDays);
+        List<DailyProblemData> items = dailyProblemRepositoryPort.listPublishedBetween(from, to);
+        Map<LocalDate, List<DailyProblemData>> itemsByDay = new LinkedHashMap<>();
+        for (DailyProblemData item : items) {
+            itemsByDay.computeIfAbsent(item.day(), k -> new ArrayList<>()).add(item);
+        }
+        itemsByDay.replaceAll((day, dayItems) -> List.copyOf(dayItems));
+        List<Long> problemIds = items.stream().map(DailyProblemData::problemId).distinct().toList();
+        Map<Long, ProblemSummaryData> problems = new HashMap<>();
+        for (ProblemSummaryData problem : problemRepositoryPort.listSummariesByIds(problemIds)) {
+            problems.put(problem.id(), problem);
+        }
+        return new DailyProblemCalendar(from, to, Map.copyOf(itemsByDay), Map.copyOf(problems));
+    }
+}
@@ -4,17 +4,23 @@ import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
 import indi.midreamsheep.vegetable.backend.features.daily.domain.command.DailyProblemPublishCommand;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.model.DailyProblemCalendar;
 import indi.midreamsheep.vegetable.backend.features.daily.domain.model.DailyProblemData;
 import indi.midreamsheep.vegetable.backend.features.daily.domain.model.DailyProblemProblemSummary;
 import indi.midreamsheep.vegetable.backend.features.daily.domain.model.DailyProblemView;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.port.DailyProblemChangeNotifierPort;
 import indi.midreamsheep.vegetable.backend.features.daily.domain.port.DailyProblemRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * 每日一题领域服务。
@@ -23,19 +29,27 @@ public class DailyProblemDomainService {
 
     private final DailyProblemRepositoryPort dailyProblemRepositoryPort;
     private final ProblemRepositoryPort problemRepositoryPort;
+    private final DailyProblemCalendarCache calendarCache;
+    private final DailyProblemChangeNotifierPort changeNotifierPort;
 
     /**
      * 构造每日一题领域服务。
      *
      * @param dailyProblemRepositoryPort 每日一题仓储端口
      * @param problemRepositoryPort 题目仓储端口
+     * @param calendarCache 每日一题日历缓存
+     * @param changeNotifierPort 每日一题变更通知端口
      */
     public DailyProblemDomainService(
             DailyProblemRepositoryPort dailyProblemRepositoryPort,
-            ProblemRepositoryPort problemRepositoryPort
+            ProblemRepositoryPort problemRepositoryPort,
+            DailyProblemCalendarCache calendarCache,
+            DailyProblemChangeNotifierPort changeNotifierPort
     ) {
         this.dailyProblemRepositoryPort = dailyProblemRepositoryPort;
         this.problemRepositoryPort = problemRepositoryPort;
+        this.calendarCache = calendarCache;
+        this.changeNotifierPort = changeNotifierPort;
     }
 
     /**
@@ -45,13 +59,21 @@ public class DailyProblemDomainService {
      * @return 每日一题展示数据列表
      */
     public List<DailyProblemView> getByDay(LocalDate day) {
+        Optional<DailyProblemCalendar> calendar = calendarCache.covering(day, day);
+        if (calendar.isPresent()) {
+            List<DailyProblemData> cached = calendar.get().itemsOn(day);
+            if (cached.isEmpty()) {
+                throw new BizException(ErrorCode.NOT_FOUND, "每日一题不存在");
+            }
+            return toViews(cached, calendar.get().problems());
+        }
         List<DailyProblemData> items = dailyProblemRepositoryPort.findByDay(day).stream()
                 .filter(item -> item.status() == DailyProblemStatus.PUBLISHED)
                 .toList();
         if (items.isEmpty()) {
             throw new BizException(ErrorCode.NOT_FOUND, "每日一题不存在");
         }
-        return items.stream().map(this::buildView).toList();
+        return buildViews(items);
     }
 
     /**
@@ -64,9 +86,18 @@ public class DailyProblemDomainService {
      * @return 分页结果
      */
     public PageResponse<DailyProblemView> list(LocalDate from, LocalDate to, int page, int pageSize) {
+        Optional<DailyProblemCalendar> calendar = from == null || to == null
+                ? Optional.empty()
+                : calendarCache.covering(from, to);
+        if (calendar.isPresent()) {
+            List<DailyProblemData> all = calendar.get().itemsBetween(from, to);
+            int offset = Math.min(all.size(), Math.max(0, (page - 1) * pageSize));
+            List<DailyProblemData> pageItems = all.subList(offset, Math.min(all.size(), offset + pageSize));
+            return new PageResponse<>(toViews(pageItems, calendar.get().problems()), page, pageSize, all.size());
+        }
         PageResponse<DailyProblemData> result = dailyProblemRepositoryPort.list(from, to, page, pageSize);
         return new PageResponse<>(
-                result.items().stream().map(this::buildView).toList(),
+                buildViews(result.items()),
                 result.page(),
                 result.pageSize(),
                 result.total()
@@ -94,6 +125,7 @@ public class DailyProblemDomainService {
                 null
         );
         DailyProblemData saved = dailyProblemRepositoryPort.publish(data);
+        changeNotifierPort.dailyProblemsChanged();
         return buildView(saved);
     }
 
@@ -112,7 +144,8 @@ public class DailyProblemDomainService {
             throw new BizException(ErrorCode.BAD_REQUEST, "operatorId 不合法");
         }
         List<DailyProblemData> revoked = dailyProblemRepositoryPort.revoke(day, operatorId);
-        return revoked.stream().map(this::buildView).toList();
+        changeNotifierPort.dailyProblemsChanged();
+        return buildViews(revoked);
     }
 
     /**
@@ -130,6 +163,7 @@ public class DailyProblemDomainService {
             throw new BizException(ErrorCode.BAD_REQUEST, "operatorId 不合法");
         }
         DailyProblemData data = dailyProblemRepositoryPort.revokeById(id, operatorId);
+        changeNotifierPort.dailyProblemsChanged();
         return buildView(data);
     }
 
@@ -140,16 +174,54 @@ public class DailyProblemDomainService {
      * @return 展示数据
      */
     private DailyProblemView buildView(DailyProblemData data) {
-        var detail = problemRepositoryPort.findById(data.problemId())
-                .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题目不存在"));
-        if (detail.status() != ProblemStatus.PUBLISHED || detail.visibility() != Visibility.PUBLIC) {
+        return buildViews(List.of(data)).get(0);
+    }
+
+    /**
+     * 批量构建每日一题展示数据：题目只取摘要字段，并通过一次批量查询获取。
+     *
+     * @param items 每日一题数据列表
+     * @return 展示数据列表（与入参顺序一致）
+     */
+    private List<DailyProblemView> buildViews(List<DailyProblemData> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<Long> problemIds = items.stream().map(DailyProblemData::problemId).distinct().toList();
+        Map<Long, ProblemSummaryData> problems = new HashMap<>();
+        for (ProblemSummaryData problem : problemRepositoryPort.listSummariesByIds(problemIds)) {
+            problems.put(problem.id(), problem);
+        }
+        return toViews(items, problems);
+    }
+
+    /**
+     * 使用已加载的题目摘要组装展示数据。
+     *
+     * @param items 每日一题数据列表
+     * @param problems 题目ID -> 题目摘要
+     * @return 展示数据列表（与入参顺序一致）
+     */
+    private static List<DailyProblemView> toViews(List<DailyProblemData> items, Map<Long, ProblemSummaryData> problems) {
+        return items.stream().map(item -> toView(item, problems.get(item.problemId()))).toList();
+    }
+
+    /**
+     * 组装单条展示数据（题目不存在或不可公开访问时视为不存在）。
+     *
+     * @param data 每日一题数据
+     * @param problem 题目摘要（可为 null）
+     * @return 展示数据
+     */
+    private static DailyProblemView toView(DailyProblemData data, ProblemSummaryData problem) {
+        if (problem == null || problem.status() != ProblemStatus.PUBLISHED || problem.visibility() != Visibility.PUBLIC) {
             throw new BizException(ErrorCode.NOT_FOUND, "题目不存在");
         }
         DailyProblemProblemSummary summary = new DailyProblemProblemSummary(
-                detail.id(),
-                detail.title(),
-                detail.subject(),
-                detail.difficulty()
+                problem.id(),
+                problem.title(),
+                problem.subject(),
+                problem.difficulty()
         );
         return new DailyProblemView(data.id(), data.day(), data.copywriting(), summary);
     }
@@ -0,0 +1,70 @@
+package indi.midreamsheep.vegetable.backend.features.daily.domain.model;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 每日一题日历快照（不可变）：窗口内每天已发布的每日一题及其题目摘要。
+ *
+ * @param from 窗口起始日期（含）
+ * @param to 窗口截止日期（含）
+ * @param itemsByDay 日期 -> 当天已发布的每日一题（同一天内按发布时间、ID 倒序；无数据的日期不在表中）
+ * @param problems 题目ID -> 题目摘要（已删除的题目不在表中）
+ */
+public record DailyProblemCalendar(
+        LocalDate from,
+        LocalDate to,
+        Map<LocalDate, List<DailyProblemData>> itemsByDay,
+        Map<Long, ProblemSummaryData> problems
+) {
+
+    /**
+     * 判断快照窗口是否完整覆盖给定日期范围。
+     *
+     * @param rangeFrom 起始日期
+     * @param rangeTo 截止日期
+     * @return 覆盖返回 true
+     */
+    public boolean covers(LocalDate rangeFrom, LocalDate rangeTo) {
+        return !rangeFrom.isBefore(from) && !rangeTo.isAfter(to);
+    }
+
+    /**
+     * 获取某一天的每日一题。
+     *
+     * @param day 日期
+     * @return 每日一题列表（无数据时为空列表）
+     */
+    public List<DailyProblemData> itemsOn(LocalDate day) {
+        return itemsByDay.getOrDefault(day, List.of());
+    }
+
+    /**
+     * 获取日期范围内的每日一题，日期倒序。
+     *
+     * @param rangeFrom 起始日期（含）
+     * @param rangeTo 截止日期（含）
+     * @return 每日一题列表
+     */
+    public List<DailyProblemData> itemsBetween(LocalDate rangeFrom, LocalDate rangeTo) {
+        List<DailyProblemData> result = new ArrayList<>();
+        for (LocalDate day = rangeTo; !day.isBefore(rangeFrom); day = day.minusDays(1)) {
+            result.addAll(itemsOn(day));
+        }
+        return result;
+    }
+
+    /**
+     * 判断快照是否引用了某道题目。
+     *
+     * @param problemId 题目ID
+     * @return 引用返回 true
+     */
+    public boolean references(long problemId) {
+        return problems.containsKey(problemId);
+    }
+}
@@ -0,0 +1,12 @@
+package indi.midreamsheep.vegetable.backend.features.daily.domain.port;
+
+/**
+ * 每日一题变更通知端口：发布或撤回后通知各节点重建每日一题日历缓存。
+ */
+public interface DailyProblemChangeNotifierPort {
+
+    /**
+     * 通知每日一题数据已变更。
+     */
+    void dailyProblemsChanged();
+}
@@ -30,6 +30,17 @@ public interface DailyProblemRepositoryPort {
      */
     PageResponse<DailyProblemData> list(LocalDate from, LocalDate to, int page, int pageSize);
 
+    /**
+     * 查询日期范围内全部已发布的每日一题（不分页）。
+     * <p>
+     * 排序与 {@link #list} 一致：日期倒序，同一天内按发布时间、ID 倒序。
+     *
+     * @param from 起始日期（含）
+     * @param to 截止日期（含）
+     * @return 每日一题列表
+     */
+    List<DailyProblemData> listPublishedBetween(LocalDate from, LocalDate to);
+
     /**
      * 发布每日一题（同一天同一题目重复发布时，按“替换/重发”处理）。
      *
@@ -1,14 +1,14 @@
 package indi.midreamsheep.vegetable.backend.features.favorite.data;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 import indi.midreamsheep.vegetable.backend.features.favorite.domain.port.FavoriteCollectionRepositoryPort;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserFavoriteCollectionEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserFavoriteCollectionMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationTable;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.UserRelationWriter;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,14 +18,20 @@ import java.util.List;
 public class FavoriteCollectionRepositoryAdapter implements FavoriteCollectionRepositoryPort {
 
     private final UserFavoriteCollectionMapper userFavoriteCollectionMapper;
+    private final UserRelationWriter userRelationWriter;
 
     /**
      * 构造收藏题单仓储适配器。
      *
      * @param userFavoriteCollectionMapper 收藏题单 Mapper
+     * @param userRelationWriter 用户关系写入器
      */
-    public FavoriteCollectionRepositoryAdapter(UserFavoriteCollectionMapper userFavoriteCollectionMapper) {
+    public FavoriteCollectionRepositoryAdapter(
+            UserFavoriteCollectionMapper userFavoriteCollectionMapper,
+            UserRelationWriter userRelationWriter
+    ) {
         this.userFavoriteCollectionMapper = userFavoriteCollectionMapper;
+        this.userRelationWriter = userRelationWriter;
     }
 
     /**
@@ -37,30 +43,7 @@ public class FavoriteCollectionRepositoryAdapter implements FavoriteCollectionRe
      */
     @Override
     public boolean add(long userId, long collectionId) {
-        QueryWrapper<UserFavoriteCollectionEntity> wrapper = new QueryWrapper<>();
-        wrapper.eq("user_id", userId)
-                .eq("collection_id", collectionId);
-        UserFavoriteCollectionEntity existing = userFavoriteCollectionMapper.selectOne(wrapper);
-        LocalDateTime now = LocalDateTime.now();
-        if (existing == null) {
-            UserFavoriteCollectionEntity entity = new UserFavoriteCollectionEntity();
-            entity.setUserId(userId);
-            entity.setCollectionId(collectionId);
-            entity.setCreatedAt(now);
-            entity.setUpdatedAt(now);
-            entity.setDeleted(0);
-            userFavoriteCollectionMapper.insert(entity);
-            return true;
-        }
-        if (existing.getDeleted() != null && existing.getDeleted() == 0) {
-            return false;
-        }
-        UpdateWrapper<UserFavoriteCollectionEntity> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("id", existing.getId())
-                .set("deleted", 0)
-                .set("created_at", now)
-                .set("updated_at", now);
-        return userFavoriteCollectionMapper.update(null, updateWrapper) > 0;
+        return userRelationWriter.add(UserRelationTable.FAVORITE_COLLECTION, userId, collectionId);
     }
 
     /**
@@ -72,14 +55,7 @@ public class FavoriteCollectionRepositoryAdapter implements FavoriteCollectionRe
      */
     @Override
     public boolean remove(long userId, long collectionId) {
-        LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<UserFavoriteCollectionEntity> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("user_id", userId)
-                .eq("collection_id", collectionId)
-                .eq("deleted", 0)
-                .set("deleted", 1)
-                .set("updated_at", now);
-        return userFavoriteCollectionMapper.update(null, updateWrapper) > 0;
+        return userRelationWriter.remove(UserRelationTable.FAVORITE_COLLECTION, userId, collectionId);
     }
 
     /**
@@ -1,15 +1,21 @@
 package indi.midreamsheep.vegetable.backend.features.favorite.data;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 import indi.midreamsheep.vegetable.backend.features.favorite.domain.port.FavoriteProblemRepositoryPort;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserFavoriteProblemEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserFavoriteProblemMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationTable;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.ProblemCounterOutbox;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.ProblemCounterType;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.UserRelationSetCache;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.UserRelationWriter;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户收藏题目仓储适配器。
@@ -18,68 +24,62 @@ import java.util.List;
 public class FavoriteProblemRepositoryAdapter implements FavoriteProblemRepositoryPort {
 
     private final UserFavoriteProblemMapper userFavoriteProblemMapper;
+    private final UserRelationWriter userRelationWriter;
+    private final UserRelationSetCache userRelationSetCache;
+    private final ProblemCounterOutbox problemCounterOutbox;
 
     /**
      * 构造收藏题目仓储适配器。
      *
      * @param userFavoriteProblemMapper 收藏题目 Mapper
+     * @param userRelationWriter 用户关系写入器
+     * @param userRelationSetCache 用户关系集合缓存
+     * @param problemCounterOutbox 题目计数发件箱
      */
-    public FavoriteProblemRepositoryAdapter(UserFavoriteProblemMapper userFavoriteProblemMapper) {
+    public FavoriteProblemRepositoryAdapter(
+            UserFavoriteProblemMapper userFavoriteProblemMapper,
+            UserRelationWriter userRelationWriter,
+            UserRelationSetCache userRelationSetCache,
+            ProblemCounterOutbox problemCounterOutbox
+    ) {
         this.userFavoriteProblemMapper = userFavoriteProblemMapper;
+        this.userRelationWriter = userRelationWriter;
+        this.userRelationSetCache = userRelationSetCache;
+        this.problemCounterOutbox = problemCounterOutbox;
     }
 
     /**
-     * 收藏题目（幂等）。
+     * 收藏题目（幂等），状态变化时在同一事务内写入计数发件箱。
      *
      * @param userId 用户ID
      * @param problemId 题目ID
      * @return 是否发生状态变更
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean add(long userId, long problemId) {
-        QueryWrapper<UserFavoriteProblemEntity> wrapper = new QueryWrapper<>();
-        wrapper.eq("user_id", userId)
-                .eq("problem_id", problemId);
-        UserFavoriteProblemEntity existing = userFavoriteProblemMapper.selectOne(wrapper);
-        LocalDateTime now = LocalDateTime.now();
-        if (existing == null) {
-            UserFavoriteProblemEntity entity = new UserFavoriteProblemEntity();
-            entity.setUserId(userId);
-            entity.setProblemId(problemId);
-            entity.setCreatedAt(now);
-            entity.setUpdatedAt(now);
-            entity.setDeleted(0);
-            userFavoriteProblemMapper.insert(entity);
-            return true;
+        boolean changed = userRelationWriter.add(UserRelationTable.FAVORITE_PROBLEM, userId, problemId);
+        if (changed) {
+            problemCounterOutbox.append(ProblemCounterType.FAVORITE, problemId, 1);
         }
-        if (existing.getDeleted() != null && existing.getDeleted() == 0) {
-            return false;
-        }
-        UpdateWrapper<UserFavoriteProblemEntity> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("id", existing.getId())
-                .set("deleted", 0)
-                .set("created_at", now)
-                .set("updated_at", now);
-        return userFavoriteProblemMapper.update(null, updateWrapper) > 0;
+        return changed;
     }
 
     /**
-     * 取消收藏（幂等）。
+     * 取消收藏（幂等），状态变化时在同一事务内写入计数发件箱。
      *
      * @param userId 用户ID
      * @param problemId 题目ID
      * @return 是否发生状态变更
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean remove(long userId, long problemId) {
-        LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<UserFavoriteProblemEntity> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("user_id", userId)
-                .eq("problem_id", problemId)
-                .eq("deleted", 0)
-                .set("deleted", 1)
-                .set("updated_at", now);
-        return userFavoriteProblemMapper.update(null, updateWrapper) > 0;
+        boolean changed = userRelationWriter.remove(UserRelationTable.FAVORITE_PROBLEM, userId, problemId);
+        if (changed) {
+            problemCounterOutbox.append(ProblemCounterType.FAVORITE, problemId, -1);
+        }
+        return changed;
     }
 
     /**
@@ -108,4 +108,9 @@ public class FavoriteProblemRepositoryAdapter implements FavoriteProblemReposito
                 .toList();
         return new PageResponse<>(ids, page, pageSize, total);
     }
+
+    @Override
+    public Set<Long> findFavoritedProblemIds(long userId, Collection<Long> problemIds) {
+        return userRelationSetCache.findActive(UserRelationTable.FAVORITE_PROBLEM, userId, problemIds);
+    }
 }
@@ -13,9 +13,11 @@ import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 收藏领域服务：封装题目/题单收藏与列表逻辑。
@@ -59,10 +61,7 @@ public class FavoriteDomainService {
         if (!canAccessProblemById(summary, userId)) {
             throw new BizException(ErrorCode.FORBIDDEN, "无权限收藏该题目");
         }
-        boolean changed = favoriteProblemRepositoryPort.add(userId, problemId);
-        if (changed) {
-            problemRepositoryPort.incrementFavoriteCount(problemId);
-        }
+        favoriteProblemRepositoryPort.add(userId, problemId);
     }
 
     /**
@@ -74,10 +73,7 @@ public class FavoriteDomainService {
     public void unfavoriteProblem(long userId, long problemId) {
         requireValidIds(userId, problemId);
         // 取消收藏允许目标不存在/不可访问（幂等），避免客户端状态不同步导致 4xx。
-        boolean changed = favoriteProblemRepositoryPort.remove(userId, problemId);
-        if (changed) {
-            problemRepositoryPort.decrementFavoriteCount(problemId);
-        }
+        favoriteProblemRepositoryPort.remove(userId, problemId);
     }
 
     /**
@@ -110,6 +106,23 @@ public class FavoriteDomainService {
         return new PageResponse<>(ordered, idPage.page(), idPage.pageSize(), idPage.total());
     }
 
+    /**
+     * 批量查询用户对一组题目的收藏状态（用于列表页渲染“已收藏”标记）。
+     *
+     * @param userId 用户ID
+     * @param problemIds 题目ID集合
+     * @return 已收藏的题目ID集合
+     */
+    public Set<Long> findFavoritedProblemIds(long userId, Collection<Long> problemIds) {
+        if (userId <= 0) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "userId 不合法");
+        }
+        if (problemIds == null || problemIds.isEmpty()) {
+            return Set.of();
+        }
+        return favoriteProblemRepositoryPort.findFavoritedProblemIds(userId, problemIds);
+    }
+
     /**
      * 收藏题单（幂等）。
      *
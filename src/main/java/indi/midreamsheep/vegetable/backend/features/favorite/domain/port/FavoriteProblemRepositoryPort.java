@@ -2,13 +2,16 @@ package indi.midreamsheep.vegetable.backend.features.favorite.domain.port;
 
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 
+import java.util.Collection;
+import java.util.Set;
+
 /**
  * 用户收藏题目仓储端口。
  */
 public interface FavoriteProblemRepositoryPort {
 
     /**
-     * 收藏题目（幂等）。
+     * 收藏题目（幂等）；状态变化时同事务记录计数事件，题目计数由后台投影异步更新。
      *
      * @param userId 用户ID
      * @param problemId 题目ID
@@ -17,7 +20,7 @@ public interface FavoriteProblemRepositoryPort {
     boolean add(long userId, long problemId);
 
     /**
-     * 取消收藏（幂等）。
+     * 取消收藏（幂等）；状态变化时同事务记录计数事件，题目计数由后台投影异步更新。
      *
      * @param userId 用户ID
      * @param problemId 题目ID
@@ -34,5 +37,13 @@ public interface FavoriteProblemRepositoryPort {
      * @return 分页结果（items 为 problemId）
      */
     PageResponse<Long> listProblemIds(long userId, int page, int pageSize);
-}
 
+    /**
+     * 批量判断用户是否收藏过给定题目（按用户+题目唯一键一次查询）。
+     *
+     * @param userId 用户ID
+     * @param problemIds 题目ID集合
+     * @return 已收藏的题目ID
+     */
+    Set<Long> findFavoritedProblemIds(long userId, Collection<Long> problemIds);
+}
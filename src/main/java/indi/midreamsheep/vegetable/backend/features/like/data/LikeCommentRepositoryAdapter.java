@@ -1,14 +1,14 @@
 package indi.midreamsheep.vegetable.backend.features.like.data;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 import indi.midreamsheep.vegetable.backend.features.like.domain.port.LikeCommentRepositoryPort;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserLikeCommentEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserLikeCommentMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationTable;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.UserRelationWriter;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,14 +18,20 @@ import java.util.List;
 public class LikeCommentRepositoryAdapter implements LikeCommentRepositoryPort {
 
     private final UserLikeCommentMapper userLikeCommentMapper;
+    private final UserRelationWriter userRelationWriter;
 
     /**
      * 构造点赞评论仓储适配器。
      *
      * @param userLikeCommentMapper 点赞评论 Mapper
+     * @param userRelationWriter 用户关系写入器
      */
-    public LikeCommentRepositoryAdapter(UserLikeCommentMapper userLikeCommentMapper) {
+    public LikeCommentRepositoryAdapter(
+            UserLikeCommentMapper userLikeCommentMapper,
+            UserRelationWriter userRelationWriter
+    ) {
         this.userLikeCommentMapper = userLikeCommentMapper;
+        this.userRelationWriter = userRelationWriter;
     }
 
     /**
@@ -37,29 +43,7 @@ public class LikeCommentRepositoryAdapter implements LikeCommentRepositoryPort {
      */
     @Override
     public boolean add(long userId, long commentId) {
-        QueryWrapper<UserLikeCommentEntity> wrapper = new QueryWrapper<>();
-        wrapper.eq("user_id", userId).eq("comment_id", commentId);
-        UserLikeCommentEntity existing = userLikeCommentMapper.selectOne(wrapper);
-        LocalDateTime now = LocalDateTime.now();
-        if (existing == null) {
-            UserLikeCommentEntity entity = new UserLikeCommentEntity();
-            entity.setUserId(userId);
-            entity.setCommentId(commentId);
-            entity.setCreatedAt(now);
-            entity.setUpdatedAt(now);
-            entity.setDeleted(0);
-            userLikeCommentMapper.insert(entity);
-            return true;
-        }
-        if (existing.getDeleted() != null && existing.getDeleted() == 0) {
-            return false;
-        }
-        UpdateWrapper<UserLikeCommentEntity> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("id", existing.getId())
-                .set("deleted", 0)
-                .set("created_at", now)
-                .set("updated_at", now);
-        return userLikeCommentMapper.update(null, updateWrapper) > 0;
+        return userRelationWriter.add(UserRelationTable.LIKE_COMMENT, userId, commentId);
     }
 
     /**
@@ -71,14 +55,7 @@ public class LikeCommentRepositoryAdapter implements LikeCommentRepositoryPort {
      */
     @Override
     public boolean remove(long userId, long commentId) {
-        LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<UserLikeCommentEntity> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("user_id", userId)
-                .eq("comment_id", commentId)
-                .eq("deleted", 0)
-                .set("deleted", 1)
-                .set("updated_at", now);
-        return userLikeCommentMapper.update(null, updateWrapper) > 0;
+        return userRelationWriter.remove(UserRelationTable.LIKE_COMMENT, userId, commentId);
     }
 
     /**
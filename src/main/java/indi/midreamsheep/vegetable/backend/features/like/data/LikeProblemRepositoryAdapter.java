@@ -1,15 +1,21 @@
 package indi.midreamsheep.vegetable.backend.features.like.data;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 import indi.midreamsheep.vegetable.backend.features.like.domain.port.LikeProblemRepositoryPort;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserLikeProblemEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserLikeProblemMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationTable;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.ProblemCounterOutbox;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.ProblemCounterType;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.UserRelationSetCache;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.UserRelationWriter;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 用户点赞题目仓储适配器。
@@ -18,67 +24,62 @@ import java.util.List;
 public class LikeProblemRepositoryAdapter implements LikeProblemRepositoryPort {
 
     private final UserLikeProblemMapper userLikeProblemMapper;
+    private final UserRelationWriter userRelationWriter;
+    private final UserRelationSetCache userRelationSetCache;
+    private final ProblemCounterOutbox problemCounterOutbox;
 
     /**
      * 构造点赞题目仓储适配器。
      *
      * @param userLikeProblemMapper 点赞题目 Mapper
+     * @param userRelationWriter 用户关系写入器
+     * @param userRelationSetCache 用户关系集合缓存
+     * @param problemCounterOutbox 题目计数发件箱
      */
-    public LikeProblemRepositoryAdapter(UserLikeProblemMapper userLikeProblemMapper) {
+    public LikeProblemRepositoryAdapter(
+            UserLikeProblemMapper userLikeProblemMapper,
+            UserRelationWriter userRelationWriter,
+            UserRelationSetCache userRelationSetCache,
+            ProblemCounterOutbox problemCounterOutbox
+    ) {
         this.userLikeProblemMapper = userLikeProblemMapper;
+        this.userRelationWriter = userRelationWriter;
+        this.userRelationSetCache = userRelationSetCache;
+        this.problemCounterOutbox = problemCounterOutbox;
     }
 
     /**
-     * 点赞（幂等）。
+     * 点赞（幂等），状态变化时在同一事务内写入计数发件箱。
      *
      * @param userId 用户ID
      * @param problemId 题目ID
      * @return 是否发生状态变更
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean add(long userId, long problemId) {
-        QueryWrapper<UserLikeProblemEntity> wrapper = new QueryWrapper<>();
-        wrapper.eq("user_id", userId).eq("problem_id", problemId);
-        UserLikeProblemEntity existing = userLikeProblemMapper.selectOne(wrapper);
-        LocalDateTime now = LocalDateTime.now();
-        if (existing == null) {
-            UserLikeProblemEntity entity = new UserLikeProblemEntity();
-            entity.setUserId(userId);
-            entity.setProblemId(problemId);
-            entity.setCreatedAt(now);
-            entity.setUpdatedAt(now);
-            entity.setDeleted(0);
-            userLikeProblemMapper.insert(entity);
-            return true;
+        boolean changed = userRelationWriter.add(UserRelationTable.LIKE_PROBLEM, userId, problemId);
+        if (changed) {
+            problemCounterOutbox.append(ProblemCounterType.LIKE, problemId, 1);
         }
-        if (existing.getDeleted() != null && existing.getDeleted() == 0) {
-            return false;
-        }
-        UpdateWrapper<UserLikeProblemEntity> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("id", existing.getId())
-                .set("deleted", 0)
-                .set("created_at", now)
-                .set("updated_at", now);
-        return userLikeProblemMapper.update(null, updateWrapper) > 0;
+        return changed;
     }
 
     /**
-     * 取消点赞（幂等）。
+     * 取消点赞（幂等），状态变化时在同一事务内写入计数发件箱。
      *
      * @param userId 用户ID
      * @param problemId 题目ID
      * @return 是否发生状态变更
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public boolean remove(long userId, long problemId) {
-        LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<UserLikeProblemEntity> updateWrapper = new UpdateWrapper<>();
-        updateWrapper.eq("user_id", userId)
-                .eq("problem_id", problemId)
-                .eq("deleted", 0)
-                .set("deleted", 1)
-                .set("updated_at", now);
-        return userLikeProblemMapper.update(null, updateWrapper) > 0;
+        boolean changed = userRelationWriter.remove(UserRelationTable.LIKE_PROBLEM, userId, problemId);
+        if (changed) {
+            problemCounterOutbox.append(ProblemCounterType.LIKE, problemId, -1);
+        }
+        return changed;
     }
 
     /**
@@ -107,5 +108,9 @@ public class LikeProblemRepositoryAdapter implements LikeProblemRepositoryPort {
                 .toList();
         return new PageResponse<>(ids, page, pageSize, total);
     }
-}
 
+    @Override
+    public Set<Long> findLikedProblemIds(long userId, Collection<Long> problemIds) {
+        return userRelationSetCache.findActive(UserRelationTable.LIKE_PROBLEM, userId, problemIds);
+    }
+}
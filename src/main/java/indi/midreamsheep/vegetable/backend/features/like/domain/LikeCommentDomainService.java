@@ -4,6 +4,7 @@ import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentData;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRankingPort;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.like.domain.port.LikeCommentRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
@@ -11,9 +12,8 @@ import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemDetailData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 /**
  * 评论点赞领域服务。
@@ -23,6 +23,7 @@ public class LikeCommentDomainService {
     private final LikeCommentRepositoryPort likeCommentRepositoryPort;
     private final ProblemCommentRepositoryPort problemCommentRepositoryPort;
     private final ProblemRepositoryPort problemRepositoryPort;
+    private final ProblemCommentRankingPort problemCommentRankingPort;
 
     /**
      * 构造评论点赞领域服务。
@@ -30,15 +31,18 @@ public class LikeCommentDomainService {
      * @param likeCommentRepositoryPort 评论点赞仓储端口
      * @param problemCommentRepositoryPort 评论仓储端口
      * @param problemRepositoryPort 题目仓储端口
+     * @param problemCommentRankingPort 评论热度排行端口
      */
     public LikeCommentDomainService(
             LikeCommentRepositoryPort likeCommentRepositoryPort,
             ProblemCommentRepositoryPort problemCommentRepositoryPort,
-            ProblemRepositoryPort problemRepositoryPort
+            ProblemRepositoryPort problemRepositoryPort,
+            ProblemCommentRankingPort problemCommentRankingPort
     ) {
         this.likeCommentRepositoryPort = likeCommentRepositoryPort;
         this.problemCommentRepositoryPort = problemCommentRepositoryPort;
         this.problemRepositoryPort = problemRepositoryPort;
+        this.problemCommentRankingPort = problemCommentRankingPort;
     }
 
     /**
@@ -63,6 +67,9 @@ public class LikeCommentDomainService {
         boolean changed = likeCommentRepositoryPort.add(userId, commentId);
         if (changed) {
             problemCommentRepositoryPort.incrementLikeCount(commentId);
+            if (comment.parentId() == null) {
+                problemCommentRankingPort.commentChanged(problemId, commentId);
+            }
         }
     }
 
@@ -76,16 +83,19 @@ public class LikeCommentDomainService {
     public void unlike(long problemId, long commentId, long userId) {
         requireIds(problemId, commentId, userId);
         // 若路径中的 problemId 与 commentId 不匹配，则按不存在处理，避免跨资源误操作。
-        problemCommentRepositoryPort.findByIdIncludingDeleted(commentId).ifPresent(comment -> {
-            if (comment.problemId() != problemId) {
-                throw new BizException(ErrorCode.NOT_FOUND, "评论不存在");
-            }
-        });
+        Optional<ProblemCommentData> comment = problemCommentRepositoryPort.findByIdIncludingDeleted(commentId);
+        if (comment.isPresent() && comment.get().problemId() != problemId) {
+            throw new BizException(ErrorCode.NOT_FOUND, "评论不存在");
+        }
 
         // 取消点赞允许目标不存在/不可访问（幂等），避免客户端状态不同步导致 4xx。
         boolean changed = likeCommentRepositoryPort.remove(userId, commentId);
         if (changed) {
             problemCommentRepositoryPort.decrementLikeCount(commentId);
+            // 与点赞一致：热度排行只含顶层评论，回复的点赞数变化不影响排行。
+            if (comment.isPresent() && comment.get().parentId() == null) {
+                problemCommentRankingPort.commentChanged(problemId, commentId);
+            }
         }
     }
 
@@ -106,28 +116,10 @@ public class LikeCommentDomainService {
         if (ids.isEmpty()) {
             return new PageResponse<>(List.of(), idPage.page(), idPage.pageSize(), idPage.total());
         }
-        List<ProblemCommentData> comments = listCommentsByIds(ids);
-        Map<Long, ProblemCommentData> map = new HashMap<>();
-        for (ProblemCommentData c : comments) {
-            map.put(c.id(), c);
-        }
-        List<ProblemCommentData> ordered = ids.stream().map(map::get).filter(c -> c != null).toList();
+        List<ProblemCommentData> ordered = problemCommentRepositoryPort.findByIds(ids);
         return new PageResponse<>(ordered, idPage.page(), idPage.pageSize(), idPage.total());
     }
 
-    /**
-     * 批量获取评论（仅未删除）。
-     *
-     * @param ids 评论ID列表
-     * @return 评论列表
-     */
-    private List<ProblemCommentData> listCommentsByIds(List<Long> ids) {
-        return ids.stream()
-                .map(problemCommentRepositoryPort::findById)
-                .flatMap(java.util.Optional::stream)
-                .toList();
-    }
-
     /**
      * 题目访问权限：公开已发布或作者本人。
      *
@@ -9,9 +9,11 @@ import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 点赞领域服务：封装题目点赞与列表逻辑。
@@ -47,10 +49,7 @@ public class LikeDomainService {
         if (!canAccessProblemById(summary, userId)) {
             throw new BizException(ErrorCode.FORBIDDEN, "无权限点赞该题目");
         }
-        boolean changed = likeProblemRepositoryPort.add(userId, problemId);
-        if (changed) {
-            problemRepositoryPort.incrementLikeCount(problemId);
-        }
+        likeProblemRepositoryPort.add(userId, problemId);
     }
 
     /**
@@ -61,10 +60,7 @@ public class LikeDomainService {
      */
     public void unlikeProblem(long userId, long problemId) {
         requireValidIds(userId, problemId);
-        boolean changed = likeProblemRepositoryPort.remove(userId, problemId);
-        if (changed) {
-            problemRepositoryPort.decrementLikeCount(problemId);
-        }
+        likeProblemRepositoryPort.remove(userId, problemId);
     }
 
     /**
@@ -97,6 +93,23 @@ public class LikeDomainService {
         return new PageResponse<>(ordered, idPage.page(), idPage.pageSize(), idPage.total());
     }
 
+    /**
+     * 批量查询用户对一组题目的点赞状态（用于列表页渲染“已赞”标记）。
+     *
+     * @param userId 用户ID
+     * @param problemIds 题目ID集合
+     * @return 已点赞的题目ID集合
+     */
+    public Set<Long> findLikedProblemIds(long userId, Collection<Long> problemIds) {
+        if (userId <= 0) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "userId 不合法");
+        }
+        if (problemIds == null || problemIds.isEmpty()) {
+            return Set.of();
+        }
+        return likeProblemRepositoryPort.findLikedProblemIds(userId, problemIds);
+    }
+
     /**
      * 获取题目摘要（不存在则抛 404）。
      *
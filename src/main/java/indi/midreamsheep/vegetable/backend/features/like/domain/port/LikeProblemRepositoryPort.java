@@ -2,13 +2,16 @@ package indi.midreamsheep.vegetable.backend.features.like.domain.port;
 
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 
+import java.util.Collection;
+import java.util.Set;
+
 /**
  * 用户点赞题目仓储端口。
  */
 public interface LikeProblemRepositoryPort {
 
     /**
-     * 点赞（幂等）。
+     * 点赞（幂等）；状态变化时同事务记录计数事件，题目计数由后台投影异步更新。
      *
      * @param userId 用户ID
      * @param problemId 题目ID
@@ -17,7 +20,7 @@ public interface LikeProblemRepositoryPort {
     boolean add(long userId, long problemId);
 
     /**
-     * 取消点赞（幂等）。
+     * 取消点赞（幂等）；状态变化时同事务记录计数事件，题目计数由后台投影异步更新。
      *
      * @param userId 用户ID
      * @param problemId 题目ID
@@ -34,5 +37,13 @@ public interface LikeProblemRepositoryPort {
      * @return 分页结果（items 为 problemId）
      */
     PageResponse<Long> listProblemIds(long userId, int page, int pageSize);
-}
 
+    /**
+     * 批量判断用户是否点赞过给定题目（按用户+题目唯一键一次查询）。
+     *
+     * @param userId 用户ID
+     * @param problemIds 题目ID集合
+     * @return 已点赞的题目ID
+     */
+    Set<Long> findLikedProblemIds(long userId, Collection<Long> problemIds);
+}
@@ -0,0 +1,256 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 压缩位图（按 Roaring 思路分块）：非负整数按高 16 位分块，块内元素少于 4096 个时存为有序数组，否则存为 8KB 位图。
+ * <p>
+ * 用于常驻内存的筛选索引：稀疏的标签只占数组空间，稠密的学科/难度自动切换为位图。
+ * 查询时与 {@link BitSet} 形式的工作集做交/并运算。非线程安全，由调用方加锁。
+ */
+final class CompressedBitmap {
+
+    /**
+     * 数组块的最大元素数，超过后转为位图块。
+     */
+    private static final int ARRAY_MAX = 4096;
+
+    /**
+     * 位图块的 long 个数（65536 位）。
+     */
+    private static final int BITMAP_WORDS = 1024;
+
+    private final Map<Integer, Container> containers = new HashMap<>();
+    private int cardinality;
+
+    /**
+     * 加入一个元素。
+     *
+     * @param value 非负整数
+     */
+    void add(int value) {
+        Container container = containers.computeIfAbsent(value >>> 16, key -> new Container());
+        if (container.add((char) value)) {
+            cardinality++;
+        }
+    }
+
+    /**
+     * 移除一个元素。
+     *
+     * @param value 非负整数
+     */
+    void remove(int value) {
+        int key = value >>> 16;
+        Container container = containers.get(key);
+        if (container != null && container.remove((char) value)) {
+            cardinality--;
+            if (container.cardinality == 0) {
+                containers.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 元素个数。
+     *
+     * @return 元素个数
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * 是否为空。
+     *
+     * @return 是否为空
+     */
+    boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * 将全部元素并入目标位集。
+     *
+     * @param target 目标位集
+     */
+    void orInto(BitSet target) {
+        for (Map.Entry<Integer, Container> entry : containers.entrySet()) {
+            entry.getValue().orInto(target, entry.getKey() << 16);
+        }
+    }
+
+    /**
+     * 目标位集与本位图求交（结果写回目标）。
+     *
+     * @param target 目标位集
+     */
+    void andInto(BitSet target) {
+        BitSet mask = new BitSet();
+        orInto(mask);
+        target.and(mask);
+    }
+
+    /**
+     * 统计与目标位集的交集大小。
+     *
+     * @param target 目标位集
+     * @return 交集元素个数
+     */
+    int intersectionCount(BitSet target) {
+        int count = 0;
+        for (Map.Entry<Integer, Container> entry : containers.entrySet()) {
+            count += entry.getValue().countIn(target, entry.getKey() << 16);
+        }
+        return count;
+    }
+
+    /**
+     * 一个 65536 元素范围的块：有序数组或位图二选一。
+     */
+    private static final class Container {
+
+        private char[] array = new char[4];
+        private long[] bits;
+        private int cardinality;
+
+        /**
+         * 加入块内元素。
+         *
+         * @param low 低 16 位
+         * @return 是否新加入
+         */
+        boolean add(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) != 0) {
+                    return false;
+                }
+                bits[low >>> 6] |= mask;
+                cardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_MAX) {
+                toBitmap();
+                return add(low);
+            }
+            int insertAt = -index - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, array.length * 2));
+            }
+            System.arraycopy(array, insertAt, array, insertAt + 1, cardinality - insertAt);
+            array[insertAt] = low;
+            cardinality++;
+            return true;
+        }
+
+        /**
+         * 移除块内元素；位图块元素降到一半阈值以下时转回数组。
+         *
+         * @param low 低 16 位
+         * @return 是否存在并被移除
+         */
+        boolean remove(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) == 0) {
+                    return false;
+                }
+                bits[low >>> 6] &= ~mask;
+                cardinality--;
+                if (cardinality < ARRAY_MAX / 2) {
+                    toArray();
+                }
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(array, index + 1, array, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        /**
+         * 将块内元素写入目标位集。
+         *
+         * @param target 目标位集
+         * @param base 块的起始值
+         */
+        void orInto(BitSet target, int base) {
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    target.set(base + array[i]);
+                }
+                return;
+            }
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long value = bits[word];
+                while (value != 0) {
+                    target.set(base + (word << 6) + Long.numberOfTrailingZeros(value));
+                    value &= value - 1;
+                }
+            }
+        }
+
+        /**
+         * 统计块内元素在目标位集中出现的个数。
+         *
+         * @param target 目标位集
+         * @param base 块的起始值
+         * @return 个数
+         */
+        int countIn(BitSet target, int base) {
+            int count = 0;
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    if (target.get(base + array[i])) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            // 直接与目标位集对应的 64 位字求交，避免逐位判断。
+            long[] words = target.get(base, base + (BITMAP_WORDS << 6)).toLongArray();
+            for (int word = 0; word < words.length; word++) {
+                count += Long.bitCount(words[word] & bits[word]);
+            }
+            return count;
+        }
+
+        /**
+         * 数组块转为位图块。
+         */
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bits[array[i] >>> 6] |= 1L << array[i];
+            }
+            array = null;
+        }
+
+        /**
+         * 位图块转为数组块。
+         */
+        private void toArray() {
+            array = new char[Math.max(4, cardinality)];
+            int size = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long value = bits[word];
+                while (value != 0) {
+                    array[size++] = (char) ((word << 6) + Long.numberOfTrailingZeros(value));
+                    value &= value - 1;
+                }
+            }
+            bits = null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import java.util.Arrays;
+
+/**
+ * 倒排表：按题目ID升序存放的 {@code long[]} 与对应的加权词频 {@code float[]}。
+ * <p>
+ * 相比 {@code Map<Long, Float>} 不装箱、没有逐条的节点对象；按ID升序建索引时追加到末尾，
+ * 增量更新时二分定位后移动数组。非线程安全，由调用方加锁。
+ */
+final class PostingList {
+
+    /**
+     * 新建倒排表的初始容量。
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private float[] weights = new float[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * 条目数（即包含该词的题目数）。
+     *
+     * @return 条目数
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 第 index 个条目的题目ID。
+     *
+     * @param index 下标（0 起）
+     * @return 题目ID
+     */
+    long idAt(int index) {
+        return ids[index];
+    }
+
+    /**
+     * 第 index 个条目的加权词频。
+     *
+     * @param index 下标（0 起）
+     * @return 加权词频
+     */
+    float weightAt(int index) {
+        return weights[index];
+    }
+
+    /**
+     * 查找题目所在的下标。
+     *
+     * @param id 题目ID
+     * @return 下标；不存在时为负数
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * 写入或覆盖一个条目。
+     *
+     * @param id 题目ID
+     * @param weight 加权词频
+     */
+    void put(long id, float weight) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+            return;
+        }
+        int index = indexOf(id);
+        if (index >= 0) {
+            weights[index] = weight;
+            return;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        weights[insertAt] = weight;
+        size++;
+    }
+
+    /**
+     * 移除一个条目。
+     *
+     * @param id 题目ID
+     */
+    void remove(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * 释放多余容量（建索引完成后调用）。
+     */
+    void trimToSize() {
+        if (ids.length > size) {
+            ids = Arrays.copyOf(ids, size);
+            weights = Arrays.copyOf(weights, size);
+        }
+    }
+
+    /**
+     * 容量不足时按 1.5 倍扩容。
+     */
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+    }
+}
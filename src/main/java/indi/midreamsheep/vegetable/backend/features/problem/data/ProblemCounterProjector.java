@@ -0,0 +1,107 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.ProblemCounterOutbox;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.ProblemCounterType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 题目计数投影：定时从 {@link ProblemCounterOutbox} 领取点赞/收藏事件，
+ * 按题目合并为净增量后以批量 UPDATE 写入 {@code vf_problem.like_count} 与 {@code favorite_count}。
+ * <p>
+ * 同一道题在一批内的多次点赞/取消只产生一次行更新；多节点同时运行时由发件箱的领取规则保证每条事件只应用一次。
+ */
+public class ProblemCounterProjector implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemCounterProjector.class);
+
+    private final ProblemCounterOutbox outbox;
+    private final ProblemRepositoryPort problemRepositoryPort;
+    private final int batchSize;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * 构造题目计数投影并启动定时投影。
+     *
+     * @param outbox 题目计数发件箱
+     * @param problemRepositoryPort 题目仓储端口
+     * @param batchSize 每批领取的事件数
+     * @param intervalMillis 投影间隔（毫秒）
+     */
+    public ProblemCounterProjector(
+            ProblemCounterOutbox outbox,
+            ProblemRepositoryPort problemRepositoryPort,
+            int batchSize,
+            long intervalMillis
+    ) {
+        this.outbox = outbox;
+        this.problemRepositoryPort = problemRepositoryPort;
+        this.batchSize = batchSize;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "problem-counter-projector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::projectQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 立即投影发件箱中的全部事件（直到取出的批次不满）。
+     *
+     * @return 应用的事件数
+     */
+    public synchronized long project() {
+        long applied = 0;
+        while (true) {
+            int drained = outbox.drain(batchSize, this::apply);
+            applied += drained;
+            if (drained < batchSize) {
+                return applied;
+            }
+        }
+    }
+
+    /**
+     * 应用关闭时投影剩余事件。
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        projectQuietly();
+    }
+
+    /**
+     * 定时任务入口：异常只记录日志，事件留在发件箱中下次重试。
+     */
+    private void projectQuietly() {
+        try {
+            long applied = project();
+            if (applied > 0) {
+                log.debug("event=problem_counter_projected events={}", applied);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("event=problem_counter_project_failed", ex);
+        }
+    }
+
+    /**
+     * 把一类计数的净增量写入题目表。
+     *
+     * @param type 计数类型
+     * @param deltas 题目ID -> 净增量
+     */
+    private void apply(ProblemCounterType type, Map<Long, Long> deltas) {
+        switch (type) {
+            case LIKE -> problemRepositoryPort.addLikeCounts(deltas);
+            case FAVORITE -> problemRepositoryPort.addFavoriteCounts(deltas);
+            default -> throw new IllegalStateException("未知计数类型: " + type);
+        }
+    }
+}
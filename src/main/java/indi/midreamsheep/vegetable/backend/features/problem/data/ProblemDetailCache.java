@@ -0,0 +1,371 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemDetailData;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.SharedCacheStore;
+import indi.midreamsheep.vegetable.backend.infrastructure.problem.ProblemDetailCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * 题目详情两级缓存：本地近缓存 + 可选的共享缓存（Redis）。
+ * <p>
+ * 详情按题目ID缓存，shareKey 只缓存到题目ID的索引；通过索引命中后会校验详情中的 shareKey，
+ * 不一致（例如 shareKey 已修改）时回源数据库，因此失效时只需删除题目ID对应的条目。
+ * 共享缓存中的详情带版本：先读题目的版本号，详情写在 {@code id:<题目ID>:<版本号>} 下；版本号缺失时由读者生成随机版本。
+ * 写操作调用 {@link #evict(long)}：为题目写入新的随机版本号并经 {@link CacheInvalidationBus} 通知所有节点丢弃本地条目，
+ * 任何节点上在换版本前开始的慢加载只会写到旧版本的键上，不会再被读到；旧版本条目随 TTL 过期。
+ * 在事务内调用时，提交后会再换一次版本，防止并发请求在提交前读到旧数据并写回。
+ */
+public class ProblemDetailCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemDetailCache.class);
+
+    /**
+     * 缓存失效总线主题。
+     */
+    public static final String TOPIC = "problem.detail";
+
+    private final ProblemDetailCacheProperties properties;
+    private final SharedCacheStore sharedCacheStore;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final JsonMapper jsonMapper;
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idByShareKey = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile long generation;
+
+    /**
+     * 构造题目详情缓存。
+     *
+     * @param properties 缓存配置
+     * @param sharedCacheStore 共享缓存存储
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param jsonMapper JSON 序列化
+     */
+    public ProblemDetailCache(
+            ProblemDetailCacheProperties properties,
+            SharedCacheStore sharedCacheStore,
+            CacheInvalidationBus cacheInvalidationBus,
+            JsonMapper jsonMapper
+    ) {
+        this.properties = properties;
+        this.sharedCacheStore = sharedCacheStore;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.jsonMapper = jsonMapper;
+        cacheInvalidationBus.subscribe(TOPIC, this::onInvalidation);
+    }
+
+    /**
+     * 按题目ID读取详情：本地缓存 -> 共享缓存 -> 数据库。
+     *
+     * @param id 题目ID
+     * @param loader 数据库加载函数
+     * @return 题目详情（可为空）
+     */
+    public Optional<ProblemDetailData> getById(long id, LongFunction<Optional<ProblemDetailData>> loader) {
+        if (!properties.enabled()) {
+            return loader.apply(id);
+        }
+        ProblemDetailData local = getLocal(id);
+        if (local != null) {
+            return Optional.of(local);
+        }
+        long startGeneration = generation;
+        String version = currentVersion(id);
+        ProblemDetailData shared = getShared(id, version);
+        if (shared != null) {
+            putLocal(shared, startGeneration);
+            return Optional.of(shared);
+        }
+        Optional<ProblemDetailData> loaded = loader.apply(id);
+        loaded.ifPresent(data -> put(data, version, startGeneration));
+        return loaded;
+    }
+
+    /**
+     * 按 shareKey 读取详情：先经索引定位题目ID，再走 {@link #getById} 并校验 shareKey。
+     *
+     * @param shareKey 分享 key
+     * @param shareKeyLoader 按 shareKey 的数据库加载函数
+     * @param idLoader 按题目ID的数据库加载函数
+     * @return 题目详情（可为空）
+     */
+    public Optional<ProblemDetailData> getByShareKey(
+            String shareKey,
+            Function<String, Optional<ProblemDetailData>> shareKeyLoader,
+            LongFunction<Optional<ProblemDetailData>> idLoader
+    ) {
+        if (!properties.enabled() || shareKey == null || shareKey.isBlank()) {
+            return shareKeyLoader.apply(shareKey);
+        }
+        Long id = idByShareKey.get(shareKey);
+        if (id == null) {
+            id = sharedCacheStore.get(shareKeyKey(shareKey)).map(ProblemDetailCache::parseId).orElse(null);
+        }
+        if (id != null) {
+            Optional<ProblemDetailData> cached = getById(id, idLoader);
+            if (cached.isPresent() && shareKey.equals(cached.get().shareKey())) {
+                return cached;
+            }
+            idByShareKey.remove(shareKey, id);
+        }
+        long startGeneration = generation;
+        Optional<ProblemDetailData> loaded = shareKeyLoader.apply(shareKey);
+        // 加载前不知道题目ID，无法先读版本号，只写本地缓存与 shareKey 索引，详情留给按ID读取时写入共享缓存。
+        loaded.ifPresent(data -> put(data, null, startGeneration));
+        return loaded;
+    }
+
+    /**
+     * 使题目详情缓存失效（所有节点）。
+     *
+     * @param id 题目ID
+     */
+    public void evict(long id) {
+        if (!properties.enabled()) {
+            return;
+        }
+        evictEverywhere(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictEverywhere(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * 为题目换一个新版本号（共享缓存中的旧详情随之作废）并广播本地失效。
+     *
+     * @param id 题目ID
+     */
+    private void evictEverywhere(long id) {
+        if (!sharedCacheStore.isNoop()) {
+            sharedCacheStore.put(versionKey(id), newVersion(), versionTtl());
+        }
+        cacheInvalidationBus.publish(TOPIC, Long.toString(id));
+    }
+
+    /**
+     * 读取题目在共享缓存中的当前版本号；缺失时生成随机版本号并写入。
+     * <p>
+     * 与换版本并发时后写者生效：读者的版本号被覆盖则它写入的详情不会被读到；覆盖了换版本的结果时，
+     * 读者随后才开始加载，读到的已是提交后的数据。
+     *
+     * @param id 题目ID
+     * @return 版本号（未配置共享缓存时为 null）
+     */
+    private String currentVersion(long id) {
+        if (sharedCacheStore.isNoop()) {
+            return null;
+        }
+        String key = versionKey(id);
+        Optional<String> existing = sharedCacheStore.get(key);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        String version = newVersion();
+        sharedCacheStore.put(key, version, versionTtl());
+        return version;
+    }
+
+    /**
+     * 处理失效消息：丢弃本地条目。
+     *
+     * @param payload 题目ID
+     */
+    private void onInvalidation(String payload) {
+        Long id = parseId(payload);
+        if (id == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            generation++;
+            Entry removed = byId.remove(id);
+            if (removed != null && removed.data().shareKey() != null) {
+                idByShareKey.remove(removed.data().shareKey(), id);
+            }
+        }
+    }
+
+    /**
+     * 读取本地条目（过期视为未命中）。
+     *
+     * @param id 题目ID
+     * @return 题目详情（未命中为 null）
+     */
+    private ProblemDetailData getLocal(long id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            byId.remove(id, entry);
+            return null;
+        }
+        return entry.data();
+    }
+
+    /**
+     * 读取共享缓存条目（反序列化失败时删除并视为未命中）。
+     *
+     * @param id 题目ID
+     * @param version 版本号（为空表示未配置共享缓存）
+     * @return 题目详情（未命中为 null）
+     */
+    private ProblemDetailData getShared(long id, String version) {
+        if (version == null) {
+            return null;
+        }
+        String key = idKey(id, version);
+        Optional<String> json = sharedCacheStore.get(key);
+        if (json.isEmpty()) {
+            return null;
+        }
+        try {
+            return jsonMapper.readValue(json.get(), ProblemDetailData.class);
+        } catch (JacksonException ex) {
+            log.warn("event=problem_detail_cache_decode_failed key={}", key, ex);
+            sharedCacheStore.delete(List.of(key));
+            return null;
+        }
+    }
+
+    /**
+     * 回源结果写入两级缓存（本节点在加载期间发生过失效则放弃写入；其他节点的失效由版本号隔离）。
+     *
+     * @param data 题目详情
+     * @param version 加载前读到的版本号（为空时不写共享缓存中的详情）
+     * @param startGeneration 加载前的失效代数
+     */
+    private void put(ProblemDetailData data, String version, long startGeneration) {
+        if (generation != startGeneration) {
+            return;
+        }
+        if (!sharedCacheStore.isNoop()) {
+            Duration ttl = Duration.ofSeconds(properties.sharedTtlSeconds());
+            try {
+                if (version != null) {
+                    sharedCacheStore.put(idKey(data.id(), version), jsonMapper.writeValueAsString(data), ttl);
+                }
+                if (data.shareKey() != null) {
+                    sharedCacheStore.put(shareKeyKey(data.shareKey()), Long.toString(data.id()), ttl);
+                }
+            } catch (JacksonException ex) {
+                log.warn("event=problem_detail_cache_encode_failed problemId={}", data.id(), ex);
+            }
+        }
+        putLocal(data, startGeneration);
+    }
+
+    /**
+     * 写入本地缓存（加载期间发生过失效则放弃写入）。
+     *
+     * @param data 题目详情
+     * @param startGeneration 加载前的失效代数
+     */
+    private void putLocal(ProblemDetailData data, long startGeneration) {
+        synchronized (writeLock) {
+            if (generation != startGeneration) {
+                return;
+            }
+            if (byId.size() >= properties.localMaxEntries() && !byId.containsKey(data.id())) {
+                byId.clear();
+                idByShareKey.clear();
+            }
+            long expiresAt = System.nanoTime() + properties.localTtlSeconds() * 1_000_000_000L;
+            byId.put(data.id(), new Entry(data, expiresAt));
+            if (data.shareKey() != null) {
+                idByShareKey.put(data.shareKey(), data.id());
+            }
+        }
+    }
+
+    /**
+     * 共享缓存键：题目详情（按版本号区分）。
+     *
+     * @param id 题目ID
+     * @param version 版本号
+     * @return 键
+     */
+    private String idKey(long id, String version) {
+        return properties.keyPrefix() + "id:" + id + ":" + version;
+    }
+
+    /**
+     * 共享缓存键：题目详情的当前版本号。
+     *
+     * @param id 题目ID
+     * @return 键
+     */
+    private String versionKey(long id) {
+        return properties.keyPrefix() + "ver:" + id;
+    }
+
+    /**
+     * 版本号的 TTL：长于详情条目，避免版本号先于详情过期而重新生成、让仍在有效期内的详情提前失去命中。
+     *
+     * @return TTL
+     */
+    private Duration versionTtl() {
+        return Duration.ofSeconds(properties.sharedTtlSeconds() * 2);
+    }
+
+    /**
+     * 生成随机版本号（版本号过期后重新生成也不会与旧版本的键重合）。
+     *
+     * @return 版本号
+     */
+    private static String newVersion() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * 共享缓存键：shareKey -> 题目ID 索引。
+     *
+     * @param shareKey 分享 key
+     * @return 键
+     */
+    private String shareKeyKey(String shareKey) {
+        return properties.keyPrefix() + "sk:" + shareKey;
+    }
+
+    /**
+     * 解析题目ID（非法时返回 null）。
+     *
+     * @param raw 原始字符串
+     * @return 题目ID
+     */
+    private static Long parseId(String raw) {
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * 本地缓存条目。
+     *
+     * @param data 题目详情
+     * @param expiresAtNanos 过期时间（{@link System#nanoTime()}）
+     */
+    private record Entry(ProblemDetailData data, long expiresAtNanos) {
+    }
+}
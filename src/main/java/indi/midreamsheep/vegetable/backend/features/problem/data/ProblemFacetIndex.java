@@ -0,0 +1,722 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.TagMatchMode;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemFacetCount;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemFacetCounts;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemIdPage;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemFacetPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemFacetFilter;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemTagEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemTagMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 公开题目分面索引（进程内）：每个学科、标签、难度一份压缩位图，筛选时按位求交/并，再按预排好的顺序取页。
+ * <p>
+ * 题目在索引内用连续的序号表示；LATEST 与 DIFFICULTY 两种顺序在变化后首次查询时重新排序，
+ * 查询在同一把读锁下取排序快照与筛选结果，因此结果中的每道题都在快照中有名次，分页与总数一致。
+ * HOT 依赖频繁变化的收藏数，不由本索引提供，调用方退回数据库查询。
+ * 启动后在后台线程按主键分批建立索引（失败时从失败的批次起按指数退避重试），
+ * 题目变化经 {@link CacheInvalidationBus} 通知各节点按主键重读。
+ */
+public class ProblemFacetIndex implements ProblemFacetPort, DisposableBean {
+
+    /**
+     * 缓存失效总线主题（负载为题目ID）。
+     */
+    public static final String TOPIC = "problem.facet";
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemFacetIndex.class);
+
+    /**
+     * 建索引与重读时查询的列。
+     */
+    private static final String[] COLUMNS = {
+            "id", "subject", "difficulty", "published_at", "status", "visibility", "deleted"
+    };
+
+    /**
+     * 建索引失败后的首次重试间隔（毫秒）。
+     */
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 1_000L;
+
+    /**
+     * 建索引失败后的最大重试间隔（毫秒）。
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000L;
+
+    /**
+     * 序号数组的初始容量。
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ProblemMapper problemMapper;
+    private final ProblemTagMapper problemTagMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final boolean enabled;
+    private final int buildBatchSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, CompressedBitmap> bySubject = new HashMap<>();
+    private final Map<Long, CompressedBitmap> byTag = new HashMap<>();
+    private final TreeMap<Integer, CompressedBitmap> byDifficulty = new TreeMap<>();
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executor;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private LocalDateTime[] publishedAts = new LocalDateTime[INITIAL_CAPACITY];
+    private int[] difficulties = new int[INITIAL_CAPACITY];
+    private String[] subjects = new String[INITIAL_CAPACITY];
+    private long[][] tagIds = new long[INITIAL_CAPACITY][];
+    private int nextOrdinal;
+    private volatile Orders orders;
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    /**
+     * 构造公开题目分面索引；enabled 为 true 时订阅变化事件并在后台建立索引。
+     *
+     * @param problemMapper 题目 Mapper
+     * @param problemTagMapper 题目标签关联 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param enabled 是否启用（关闭时始终返回空）
+     * @param buildBatchSize 建索引时每批读取的题目数
+     */
+    public ProblemFacetIndex(
+            ProblemMapper problemMapper,
+            ProblemTagMapper problemTagMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            boolean enabled,
+            int buildBatchSize
+    ) {
+        this.problemMapper = problemMapper;
+        this.problemTagMapper = problemTagMapper;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.enabled = enabled;
+        this.buildBatchSize = buildBatchSize;
+        if (enabled) {
+            this.building = true;
+            cacheInvalidationBus.subscribe(TOPIC, this::onProblemChanged);
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "problem-facet-build");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.execute(() -> build(0L, INITIAL_RETRY_DELAY_MILLIS));
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 索引是否已建好。
+     *
+     * @return 是否可查询
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Optional<ProblemIdPage> page(ProblemFacetFilter filter, String sortKey, int offset, int limit) {
+        if (!ready || !supports(sortKey)) {
+            return Optional.empty();
+        }
+        Orders snapshot = readLockWithOrders();
+        try {
+            BitSet matched = evaluate(filter);
+            int total = matched.cardinality();
+            List<Long> pageIds = select(matched, total, snapshot.order(sortKey), snapshot.rank(sortKey), offset, limit);
+            return Optional.of(new ProblemIdPage(pageIds, total, null));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<ProblemIdPage> seek(
+            ProblemFacetFilter filter,
+            String sortKey,
+            ProblemListCursor cursor,
+            int limit
+    ) {
+        if (!ready || !supports(sortKey)) {
+            return Optional.empty();
+        }
+        Orders snapshot = readLockWithOrders();
+        try {
+            BitSet matched = evaluate(filter);
+            int[] order = snapshot.order(sortKey);
+            int start = cursor == null ? 0 : firstAfter(order, sortKey, cursor);
+            List<Long> pageIds = new ArrayList<>(limit);
+            int lastOrdinal = -1;
+            boolean hasMore = false;
+            for (int i = start; i < order.length; i++) {
+                int ordinal = order[i];
+                if (!matched.get(ordinal)) {
+                    continue;
+                }
+                if (pageIds.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                pageIds.add(ids[ordinal]);
+                lastOrdinal = ordinal;
+            }
+            ProblemListCursor nextCursor = hasMore ? toCursor(sortKey, lastOrdinal) : null;
+            return Optional.of(new ProblemIdPage(pageIds, matched.cardinality(), nextCursor));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<ProblemFacetCounts> count(ProblemFacetFilter filter, int tagLimit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet matched = evaluate(filter);
+            List<ProblemFacetCount> tags = new ArrayList<>();
+            for (Map.Entry<Long, CompressedBitmap> entry : byTag.entrySet()) {
+                int count = entry.getValue().intersectionCount(matched);
+                if (count > 0) {
+                    tags.add(new ProblemFacetCount(entry.getKey(), count));
+                }
+            }
+            tags.sort(Comparator.comparingLong(ProblemFacetCount::count).reversed()
+                    .thenComparingLong(ProblemFacetCount::value));
+            List<ProblemFacetCount> difficultyCounts = new ArrayList<>();
+            for (Map.Entry<Integer, CompressedBitmap> entry : byDifficulty.entrySet()) {
+                int count = entry.getValue().intersectionCount(matched);
+                if (count > 0) {
+                    difficultyCounts.add(new ProblemFacetCount(entry.getKey(), count));
+                }
+            }
+            List<ProblemFacetCount> topTags = tags.size() > tagLimit ? tags.subList(0, tagLimit) : tags;
+            return Optional.of(new ProblemFacetCounts(matched.cardinality(), List.copyOf(topTags), difficultyCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void problemChanged(long problemId) {
+        if (enabled) {
+            cacheInvalidationBus.publish(TOPIC, String.valueOf(problemId));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 是否支持按该排序键取页。
+     *
+     * @param sortKey 排序键
+     * @return 是否支持
+     */
+    private static boolean supports(String sortKey) {
+        return ProblemListCursor.SORT_LATEST.equals(sortKey) || ProblemListCursor.SORT_DIFFICULTY.equals(sortKey);
+    }
+
+    /**
+     * 计算满足筛选条件的序号集合（调用方持有读锁）。
+     *
+     * @param filter 筛选条件
+     * @return 序号位集
+     */
+    private BitSet evaluate(ProblemFacetFilter filter) {
+        BitSet result = (BitSet) live.clone();
+        if (filter.subject() != null) {
+            CompressedBitmap bitmap = bySubject.get(filter.subject());
+            if (bitmap == null) {
+                return new BitSet();
+            }
+            bitmap.andInto(result);
+        }
+        if (filter.difficultyMin() != null || filter.difficultyMax() != null) {
+            int min = filter.difficultyMin() == null ? Integer.MIN_VALUE : filter.difficultyMin();
+            int max = filter.difficultyMax() == null ? Integer.MAX_VALUE : filter.difficultyMax();
+            if (min > max) {
+                return new BitSet();
+            }
+            BitSet range = new BitSet();
+            for (CompressedBitmap bitmap : byDifficulty.subMap(min, true, max, true).values()) {
+                bitmap.orInto(range);
+            }
+            result.and(range);
+        }
+        List<Long> tags = filter.tagIds();
+        if (tags != null && !tags.isEmpty()) {
+            if (filter.tagMode() == TagMatchMode.ALL) {
+                for (Long tagId : tags) {
+                    CompressedBitmap bitmap = byTag.get(tagId);
+                    if (bitmap == null) {
+                        return new BitSet();
+                    }
+                    bitmap.andInto(result);
+                }
+            } else {
+                BitSet union = new BitSet();
+                for (Long tagId : tags) {
+                    CompressedBitmap bitmap = byTag.get(tagId);
+                    if (bitmap != null) {
+                        bitmap.orInto(union);
+                    }
+                }
+                result.and(union);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按排序顺序截取一页：结果较稠密时顺序扫描排序数组，较稀疏时取出结果的名次排序后截取。
+     *
+     * @param matched 结果序号位集
+     * @param total 结果个数
+     * @param order 排序后的序号
+     * @param rank 序号 -> 名次
+     * @param offset 偏移量
+     * @param limit 页大小
+     * @return 当前页题目ID
+     */
+    private List<Long> select(BitSet matched, int total, int[] order, int[] rank, int offset, int limit) {
+        if (total == 0 || offset >= total) {
+            return List.of();
+        }
+        List<Long> result = new ArrayList<>(limit);
+        long scanCost = (long) (offset + limit) * order.length / total;
+        long sortCost = (long) total * (32 - Integer.numberOfLeadingZeros(total));
+        if (scanCost <= sortCost) {
+            int seen = 0;
+            for (int ordinal : order) {
+                if (!matched.get(ordinal) || seen++ < offset) {
+                    continue;
+                }
+                result.add(ids[ordinal]);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+            return result;
+        }
+        int[] ranks = new int[total];
+        int size = 0;
+        for (int ordinal = matched.nextSetBit(0); ordinal >= 0; ordinal = matched.nextSetBit(ordinal + 1)) {
+            ranks[size++] = rank[ordinal];
+        }
+        Arrays.sort(ranks, 0, size);
+        for (int i = offset; i < Math.min(size, offset + limit); i++) {
+            result.add(ids[order[ranks[i]]]);
+        }
+        return result;
+    }
+
+    /**
+     * 二分查找排序数组中第一个位于游标之后的位置。
+     *
+     * @param order 排序后的序号
+     * @param sortKey 排序键
+     * @param cursor 游标
+     * @return 起始位置
+     */
+    private int firstAfter(int[] order, String sortKey, ProblemListCursor cursor) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (isAfter(order[mid], sortKey, cursor)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 判断序号对应的题目是否排在游标之后（与数据库 keyset 条件一致）。
+     *
+     * @param ordinal 序号
+     * @param sortKey 排序键
+     * @param cursor 游标
+     * @return 是否在游标之后
+     */
+    private boolean isAfter(int ordinal, String sortKey, ProblemListCursor cursor) {
+        if (ProblemListCursor.SORT_DIFFICULTY.equals(sortKey) && cursor.sortValue() != null
+                && difficulties[ordinal] != cursor.sortValue()) {
+            return difficulties[ordinal] > cursor.sortValue();
+        }
+        int compared = publishedAts[ordinal].compareTo(cursor.publishedAt());
+        return compared < 0 || (compared == 0 && ids[ordinal] < cursor.id());
+    }
+
+    /**
+     * 由当前页最后一个序号构造下一页游标。
+     *
+     * @param sortKey 排序键
+     * @param ordinal 序号
+     * @return 游标
+     */
+    private ProblemListCursor toCursor(String sortKey, int ordinal) {
+        Long sortValue = ProblemListCursor.SORT_DIFFICULTY.equals(sortKey) ? (long) difficulties[ordinal] : null;
+        return new ProblemListCursor(sortKey, sortValue, publishedAts[ordinal], ids[ordinal]);
+    }
+
+    /**
+     * 获取读锁并返回与当前索引一致的排序快照；索引变化后首次调用时在写锁下重新排序，再降级为读锁。
+     * 调用方负责释放读锁。
+     *
+     * @return 排序快照
+     */
+    private Orders readLockWithOrders() {
+        lock.readLock().lock();
+        Orders current = orders;
+        if (current != null) {
+            return current;
+        }
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            if (orders == null) {
+                orders = buildOrders();
+            }
+            current = orders;
+            lock.readLock().lock();
+            return current;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 对当前全部题目排出 LATEST 与 DIFFICULTY 两种顺序（调用方持有写锁）。
+     *
+     * @return 排序快照
+     */
+    private Orders buildOrders() {
+        Integer[] ordinals = live.stream().boxed().toArray(Integer[]::new);
+        Comparator<Integer> latest = (a, b) -> {
+            int compared = publishedAts[b].compareTo(publishedAts[a]);
+            return compared != 0 ? compared : Long.compare(ids[b], ids[a]);
+        };
+        Comparator<Integer> difficulty = Comparator.<Integer>comparingInt(ordinal -> difficulties[ordinal])
+                .thenComparing(latest);
+        Arrays.sort(ordinals, latest);
+        int[] latestOrder = Arrays.stream(ordinals).mapToInt(Integer::intValue).toArray();
+        Arrays.sort(ordinals, difficulty);
+        int[] difficultyOrder = Arrays.stream(ordinals).mapToInt(Integer::intValue).toArray();
+        return new Orders(latestOrder, rankOf(latestOrder), difficultyOrder, rankOf(difficultyOrder));
+    }
+
+    /**
+     * 由排序数组生成名次数组。
+     *
+     * @param order 排序后的序号
+     * @return 序号 -> 名次（不在排序中的序号为 -1）
+     */
+    private int[] rankOf(int[] order) {
+        int[] rank = new int[nextOrdinal];
+        Arrays.fill(rank, -1);
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        return rank;
+    }
+
+    /**
+     * 处理题目变化事件：按主键重读题目与标签并更新索引。
+     *
+     * @param payload 题目ID
+     */
+    private void onProblemChanged(String payload) {
+        long problemId;
+        try {
+            problemId = Long.parseLong(payload);
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        if (building) {
+            changedDuringBuild.add(problemId);
+        }
+        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+        wrapper.select(COLUMNS).eq("id", problemId);
+        ProblemEntity entity = problemMapper.selectOne(wrapper);
+        boolean indexable = entity != null && isIndexable(entity);
+        Map<Long, List<Long>> tags = indexable ? loadTagIds(List.of(problemId)) : Map.of();
+        lock.writeLock().lock();
+        try {
+            if (indexable) {
+                upsert(entity, tags.getOrDefault(problemId, List.of()));
+            } else {
+                remove(problemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按主键分批读取公开题目及其标签并建立索引；失败时从失败的批次起延迟重试（间隔逐次翻倍）。
+     *
+     * @param afterId 从该ID之后开始读取（已加载的批次无需重读）
+     * @param retryDelayMillis 本次失败后的重试间隔（毫秒）
+     */
+    private void build(long afterId, long retryDelayMillis) {
+        long startedAt = System.nanoTime();
+        long lastId = afterId;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+                wrapper.select(COLUMNS)
+                        .eq("status", ProblemStatus.PUBLISHED.name())
+                        .eq("visibility", Visibility.PUBLIC.name())
+                        .eq("deleted", 0)
+                        .isNotNull("published_at")
+                        .gt("id", lastId)
+                        .orderByAsc("id")
+                        .last("limit " + buildBatchSize);
+                List<ProblemEntity> rows = problemMapper.selectList(wrapper);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<Long>> tags = loadTagIds(rows.stream().map(ProblemEntity::getId).toList());
+                lock.writeLock().lock();
+                try {
+                    for (ProblemEntity row : rows) {
+                        if (!changedDuringBuild.contains(row.getId())) {
+                            upsert(row, tags.getOrDefault(row.getId(), List.of()));
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                lastId = rows.get(rows.size() - 1).getId();
+                if (rows.size() < buildBatchSize) {
+                    break;
+                }
+            }
+            building = false;
+            changedDuringBuild.clear();
+            int problemCount;
+            int tagCount;
+            readLockWithOrders();
+            try {
+                problemCount = live.cardinality();
+                tagCount = byTag.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+            ready = true;
+            log.info("event=problem_facet_index_built problems={} tags={} elapsed_ms={}",
+                    problemCount, tagCount, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("event=problem_facet_index_build_failed last_id={} retry_in_ms={}", lastId, retryDelayMillis, ex);
+            long resumeAfterId = lastId;
+            long nextDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+            try {
+                executor.schedule(() -> build(resumeAfterId, nextDelayMillis), retryDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                log.warn("event=problem_facet_index_build_abandoned last_id={}", lastId);
+            }
+        }
+    }
+
+    /**
+     * 批量读取题目的有效标签。
+     *
+     * @param problemIds 题目ID列表
+     * @return 题目ID -> 标签ID列表
+     */
+    private Map<Long, List<Long>> loadTagIds(List<Long> problemIds) {
+        QueryWrapper<ProblemTagEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("problem_id", "tag_id").in("problem_id", problemIds).eq("deleted", 0);
+        Map<Long, List<Long>> result = new HashMap<>();
+        for (ProblemTagEntity row : problemTagMapper.selectList(wrapper)) {
+            result.computeIfAbsent(row.getProblemId(), key -> new ArrayList<>()).add(row.getTagId());
+        }
+        return result;
+    }
+
+    /**
+     * 写入或替换一道题的索引（调用方持有写锁）。
+     *
+     * @param entity 题目实体
+     * @param problemTagIds 标签ID列表
+     */
+    private void upsert(ProblemEntity entity, List<Long> problemTagIds) {
+        long id = entity.getId();
+        Integer existing = ordinalById.get(id);
+        int ordinal;
+        if (existing != null) {
+            unindex(existing);
+            ordinal = existing;
+        } else {
+            ordinal = nextOrdinal++;
+            ensureCapacity(nextOrdinal);
+            ordinalById.put(id, ordinal);
+        }
+        int difficulty = entity.getDifficulty() == null ? 0 : entity.getDifficulty();
+        long[] tags = problemTagIds.stream().mapToLong(Long::longValue).distinct().toArray();
+        ids[ordinal] = id;
+        publishedAts[ordinal] = entity.getPublishedAt();
+        difficulties[ordinal] = difficulty;
+        subjects[ordinal] = entity.getSubject();
+        tagIds[ordinal] = tags;
+        live.set(ordinal);
+        if (entity.getSubject() != null) {
+            bySubject.computeIfAbsent(entity.getSubject(), key -> new CompressedBitmap()).add(ordinal);
+        }
+        byDifficulty.computeIfAbsent(difficulty, key -> new CompressedBitmap()).add(ordinal);
+        for (long tagId : tags) {
+            byTag.computeIfAbsent(tagId, key -> new CompressedBitmap()).add(ordinal);
+        }
+        orders = null;
+    }
+
+    /**
+     * 移除一道题的索引（调用方持有写锁；序号保留给该题重新公开时复用）。
+     *
+     * @param problemId 题目ID
+     */
+    private void remove(long problemId) {
+        Integer ordinal = ordinalById.get(problemId);
+        if (ordinal != null && live.get(ordinal)) {
+            unindex(ordinal);
+            orders = null;
+        }
+    }
+
+    /**
+     * 从全部位图中清除一个序号。
+     *
+     * @param ordinal 序号
+     */
+    private void unindex(int ordinal) {
+        if (!live.get(ordinal)) {
+            return;
+        }
+        live.clear(ordinal);
+        removeFrom(bySubject, subjects[ordinal], ordinal);
+        removeFrom(byDifficulty, difficulties[ordinal], ordinal);
+        for (long tagId : tagIds[ordinal]) {
+            removeFrom(byTag, tagId, ordinal);
+        }
+    }
+
+    /**
+     * 从某个分面取值的位图中移除序号，位图为空时一并移除该取值。
+     *
+     * @param bitmaps 分面位图
+     * @param key 分面取值
+     * @param ordinal 序号
+     * @param <K> 取值类型
+     */
+    private static <K> void removeFrom(Map<K, CompressedBitmap> bitmaps, K key, int ordinal) {
+        if (key == null) {
+            return;
+        }
+        CompressedBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 扩容序号数组。
+     *
+     * @param size 需要的容量
+     */
+    private void ensureCapacity(int size) {
+        if (size <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(size, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        publishedAts = Arrays.copyOf(publishedAts, capacity);
+        difficulties = Arrays.copyOf(difficulties, capacity);
+        subjects = Arrays.copyOf(subjects, capacity);
+        tagIds = Arrays.copyOf(tagIds, capacity);
+    }
+
+    /**
+     * 判断题目是否应进入索引。
+     *
+     * @param entity 题目实体
+     * @return 是否公开、已发布且有发布时间
+     */
+    private static boolean isIndexable(ProblemEntity entity) {
+        return ProblemStatus.PUBLISHED.name().equals(entity.getStatus())
+                && Visibility.PUBLIC.name().equals(entity.getVisibility())
+                && (entity.getDeleted() == null || entity.getDeleted() == 0)
+                && entity.getPublishedAt() != null;
+    }
+
+    /**
+     * 排序快照。
+     *
+     * @param latest LATEST 顺序的序号
+     * @param latestRank 序号在 LATEST 顺序中的名次
+     * @param difficulty DIFFICULTY 顺序的序号
+     * @param difficultyRank 序号在 DIFFICULTY 顺序中的名次
+     */
+    private record Orders(int[] latest, int[] latestRank, int[] difficulty, int[] difficultyRank) {
+
+        /**
+         * 按排序键取排序数组。
+         *
+         * @param sortKey 排序键
+         * @return 排序后的序号
+         */
+        int[] order(String sortKey) {
+            return ProblemListCursor.SORT_DIFFICULTY.equals(sortKey) ? difficulty : latest;
+        }
+
+        /**
+         * 按排序键取名次数组。
+         *
+         * @param sortKey 排序键
+         * @return 序号 -> 名次
+         */
+        int[] rank(String sortKey) {
+            return ProblemListCursor.SORT_DIFFICULTY.equals(sortKey) ? difficultyRank : latestRank;
+        }
+    }
+}
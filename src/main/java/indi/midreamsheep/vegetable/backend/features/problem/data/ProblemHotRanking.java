@@ -0,0 +1,513 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemHotScore;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemIdPage;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRankingPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 题目热度排行（进程内）：全站一份、每个学科一份有界的有序集合，只保留热度最高的前若干道公开题目。
+ * <p>
+ * 后台线程按主键分批扫描已发布的公开题目建立排行，并每隔 {@code rebuild-interval-seconds} 整体重建一次。
+ * 收藏、点赞、评论、浏览计数落库以及题目发布/下架/更新（事务提交）后经 {@link CacheInvalidationBus} 通知各节点，
+ * 节点按主键批量重读这些题目并更新排行。排行被截断后又有条目分数下降或移出时，尾部可能缺少本应进入的题目，
+ * 此时在后台提前重建（两次重建至少间隔 {@link #STALE_REBUILD_MIN_GAP_SECONDS} 秒）。
+ * <p>
+ * HOT 列表只在排行范围内翻页：超出排行的页为空、总数为排行条数，游标翻到排行末尾即结束，
+ * 不与数据库的收藏数排序拼接。本排行只接受自己签发的游标，数据库签发的 HOT 游标返回空，交由数据库继续翻页。
+ */
+public class ProblemHotRanking implements ProblemRankingPort, DisposableBean {
+
+    /**
+     * 缓存失效总线主题（负载为逗号分隔的题目ID）。
+     */
+    public static final String TOPIC = "problem.hot";
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemHotRanking.class);
+
+    /**
+     * 全站排行的 key。
+     */
+    private static final String ALL_SUBJECTS = "";
+
+    /**
+     * 热度分转为整数时的放大倍数（整数分同时用作游标的 sortValue）。
+     */
+    private static final double SCORE_SCALE = 1_000_000_000d;
+
+    /**
+     * 单条变化消息最多携带的题目数。
+     */
+    private static final int EVENT_CHUNK_SIZE = 500;
+
+    /**
+     * 因排行失准触发的重建与上一次重建的最小间隔（秒）。
+     */
+    private static final long STALE_REBUILD_MIN_GAP_SECONDS = 30L;
+
+    /**
+     * 建排行与重读时查询的列。
+     */
+    private static final String[] COLUMNS = {
+            "id", "subject", "published_at", "favorite_count", "like_count", "comment_count", "view_count",
+            "status", "visibility", "deleted"
+    };
+
+    private final ProblemMapper problemMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ProblemHotScore hotScore;
+    private final boolean enabled;
+    private final int maxEntriesPerSubject;
+    private final int buildBatchSize;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile Map<String, Ranking> rankings;
+    private volatile boolean rebuilding;
+    private volatile long lastBuiltAtNanos;
+
+    /**
+     * 构造题目热度排行；enabled 为 true 时订阅变化事件并在后台定时重建。
+     *
+     * @param problemMapper 题目 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param hotScore 热度分公式
+     * @param enabled 是否启用（关闭时始终返回空）
+     * @param maxEntriesPerSubject 每份排行最多保留的题目数
+     * @param buildBatchSize 重建时每批读取的题目数
+     * @param rebuildIntervalSeconds 整体重建间隔（秒）
+     */
+    public ProblemHotRanking(
+            ProblemMapper problemMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            ProblemHotScore hotScore,
+            boolean enabled,
+            int maxEntriesPerSubject,
+            int buildBatchSize,
+            long rebuildIntervalSeconds
+    ) {
+        this.problemMapper = problemMapper;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.hotScore = hotScore;
+        this.enabled = enabled;
+        this.maxEntriesPerSubject = maxEntriesPerSubject;
+        this.buildBatchSize = buildBatchSize;
+        if (enabled) {
+            cacheInvalidationBus.subscribe(TOPIC, this::onProblemsChanged);
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "problem-hot-ranking");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::rebuild, 0L, rebuildIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 排行是否已建好。
+     *
+     * @return 是否可读取
+     */
+    public boolean isReady() {
+        return rankings != null;
+    }
+
+    @Override
+    public Optional<PageResponse<Long>> listHot(String subject, int page, int pageSize) {
+        Map<String, Ranking> current = rankings;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Ranking ranking = current.get(keyOf(subject));
+        if (ranking == null) {
+            return Optional.of(new PageResponse<>(List.of(), page, pageSize, 0));
+        }
+        return Optional.of(ranking.page(page, pageSize));
+    }
+
+    @Override
+    public Optional<ProblemIdPage> seekHot(String subject, ProblemListCursor cursor, int limit) {
+        Map<String, Ranking> current = rankings;
+        if (current == null || (cursor != null && !cursor.fromRanking())) {
+            return Optional.empty();
+        }
+        Ranking ranking = current.get(keyOf(subject));
+        if (ranking == null) {
+            return Optional.of(new ProblemIdPage(List.of(), 0, null));
+        }
+        return Optional.of(ranking.seek(cursor, limit));
+    }
+
+    /**
+     * 通知题目变化；处于事务中时在提交后再发布，避免各节点在提交前重读到旧的计数与状态。
+     *
+     * @param problemIds 题目ID集合
+     */
+    @Override
+    public void problemsChanged(Collection<Long> problemIds) {
+        if (!enabled || problemIds == null || problemIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(problemIds));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(ids);
+                }
+            });
+            return;
+        }
+        publish(ids);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 把变化的题目ID分批发布到缓存失效总线。
+     *
+     * @param ids 题目ID（已去重）
+     */
+    private void publish(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += EVENT_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + EVENT_CHUNK_SIZE));
+            cacheInvalidationBus.publish(TOPIC, chunk.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+    }
+
+    /**
+     * 处理题目变化事件。
+     *
+     * @param payload 逗号分隔的题目ID
+     */
+    private void onProblemsChanged(String payload) {
+        List<Long> ids = new ArrayList<>();
+        for (String part : payload.split(",")) {
+            try {
+                ids.add(Long.parseLong(part.trim()));
+            } catch (NumberFormatException ex) {
+                // 忽略无法解析的片段。
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(ids);
+        }
+        apply(ids);
+    }
+
+    /**
+     * 按主键批量重读题目并更新当前排行。
+     *
+     * @param ids 题目ID列表
+     */
+    private void apply(Collection<Long> ids) {
+        Map<String, Ranking> current = rankings;
+        if (current == null || ids.isEmpty()) {
+            return;
+        }
+        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+        wrapper.select(COLUMNS).in("id", ids);
+        Map<Long, ProblemEntity> rows = new HashMap<>();
+        for (ProblemEntity row : problemMapper.selectList(wrapper)) {
+            rows.put(row.getId(), row);
+        }
+        boolean stale = false;
+        for (Long id : ids) {
+            ProblemEntity row = rows.get(id);
+            if (row == null || !isRankable(row)) {
+                for (Ranking ranking : current.values()) {
+                    stale |= ranking.remove(id);
+                }
+                continue;
+            }
+            Entry entry = entryOf(row);
+            String subjectKey = keyOf(row.getSubject());
+            // 该学科在上次重建时没有任何公开题目，新建的排行从这道题开始也是完整的。
+            Ranking subjectRanking = current.computeIfAbsent(subjectKey, key -> new Ranking(maxEntriesPerSubject));
+            Ranking all = current.get(ALL_SUBJECTS);
+            stale |= all.upsert(entry);
+            stale |= subjectRanking.upsert(entry);
+            for (Map.Entry<String, Ranking> other : current.entrySet()) {
+                if (!other.getKey().equals(ALL_SUBJECTS) && !other.getKey().equals(subjectKey)) {
+                    stale |= other.getValue().remove(id);
+                }
+            }
+        }
+        if (stale) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * 安排一次提前重建（与上次重建至少间隔 {@link #STALE_REBUILD_MIN_GAP_SECONDS} 秒，未执行前不重复安排）。
+     */
+    private void scheduleRebuild() {
+        if (executor == null || !rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        long elapsedSeconds = (System.nanoTime() - lastBuiltAtNanos) / 1_000_000_000L;
+        long delay = Math.max(0L, STALE_REBUILD_MIN_GAP_SECONDS - elapsedSeconds);
+        executor.schedule(this::rebuild, delay, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 按主键分批扫描公开题目，重建全部排行后整体替换；重建期间收到的变化在替换后重放。
+     */
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        long startedAt = System.nanoTime();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            Map<String, Ranking> built = new ConcurrentHashMap<>();
+            Ranking all = new Ranking(maxEntriesPerSubject);
+            built.put(ALL_SUBJECTS, all);
+            long lastId = 0;
+            int scanned = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+                wrapper.select(COLUMNS)
+                        .eq("status", ProblemStatus.PUBLISHED.name())
+                        .eq("visibility", Visibility.PUBLIC.name())
+                        .eq("deleted", 0)
+                        .isNotNull("published_at")
+                        .gt("id", lastId)
+                        .orderByAsc("id")
+                        .last("limit " + buildBatchSize);
+                List<ProblemEntity> rows = problemMapper.selectList(wrapper);
+                for (ProblemEntity row : rows) {
+                    Entry entry = entryOf(row);
+                    all.upsert(entry);
+                    built.computeIfAbsent(keyOf(row.getSubject()), key -> new Ranking(maxEntriesPerSubject))
+                            .upsert(entry);
+                }
+                scanned += rows.size();
+                if (rows.size() < buildBatchSize) {
+                    break;
+                }
+                lastId = rows.get(rows.size() - 1).getId();
+            }
+            rankings = built;
+            lastBuiltAtNanos = System.nanoTime();
+            rebuilding = false;
+            List<Long> replay = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            apply(replay);
+            log.info("event=problem_hot_ranking_built problems={} subjects={} elapsed_ms={}",
+                    scanned, built.size() - 1, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException ex) {
+            rebuilding = false;
+            log.warn("event=problem_hot_ranking_build_failed", ex);
+        }
+    }
+
+    /**
+     * 由题目行计算排行条目。
+     *
+     * @param row 题目实体
+     * @return 排行条目
+     */
+    private Entry entryOf(ProblemEntity row) {
+        double score = hotScore.score(
+                row.getFavoriteCount() == null ? 0L : row.getFavoriteCount(),
+                row.getLikeCount() == null ? 0L : row.getLikeCount(),
+                row.getCommentCount() == null ? 0L : row.getCommentCount(),
+                row.getViewCount() == null ? 0L : row.getViewCount(),
+                row.getPublishedAt()
+        );
+        return new Entry(row.getId(), Math.round(score * SCORE_SCALE), row.getPublishedAt());
+    }
+
+    /**
+     * 判断题目是否参与排行。
+     *
+     * @param row 题目实体
+     * @return 是否公开、已发布且有发布时间
+     */
+    private static boolean isRankable(ProblemEntity row) {
+        return ProblemStatus.PUBLISHED.name().equals(row.getStatus())
+                && Visibility.PUBLIC.name().equals(row.getVisibility())
+                && (row.getDeleted() == null || row.getDeleted() == 0)
+                && row.getPublishedAt() != null;
+    }
+
+    /**
+     * 学科对应的排行 key。
+     *
+     * @param subject 学科（为空表示全站）
+     * @return 排行 key
+     */
+    private static String keyOf(String subject) {
+        return subject == null ? ALL_SUBJECTS : subject;
+    }
+
+    /**
+     * 排行条目。
+     *
+     * @param id 题目ID
+     * @param score 放大为整数的热度分
+     * @param publishedAt 发布时间（用于构造游标）
+     */
+    private record Entry(long id, long score, LocalDateTime publishedAt) {
+    }
+
+    /**
+     * 单份排行：按热度分降序（同分按ID降序），最多保留 capacity 条。
+     */
+    private static final class Ranking {
+
+        /**
+         * 排序规则：热度分降序，同分按ID降序。
+         */
+        private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::score).reversed()
+                .thenComparing(Comparator.comparingLong(Entry::id).reversed());
+
+        private final int capacity;
+        private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+        private final Map<Long, Entry> byId = new HashMap<>();
+        private boolean truncated;
+
+        /**
+         * 构造单份排行。
+         *
+         * @param capacity 最多保留条数
+         */
+        private Ranking(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * 插入或更新条目；排行已满且分数不足以进入时忽略。
+         *
+         * @param entry 排行条目
+         * @return 排行是否因此失准（截断的排行里已有条目分数下降）
+         */
+        private synchronized boolean upsert(Entry entry) {
+            boolean stale = false;
+            Entry previous = byId.remove(entry.id());
+            if (previous != null) {
+                ordered.remove(previous);
+                stale = truncated && entry.score() < previous.score();
+            }
+            if (ordered.size() >= capacity && ORDER.compare(entry, ordered.last()) > 0) {
+                truncated = true;
+                return stale || previous != null;
+            }
+            ordered.add(entry);
+            byId.put(entry.id(), entry);
+            if (ordered.size() > capacity) {
+                byId.remove(ordered.pollLast().id());
+                truncated = true;
+            }
+            return stale;
+        }
+
+        /**
+         * 移除条目。
+         *
+         * @param id 题目ID
+         * @return 排行是否因此失准（截断的排行移出了条目）
+         */
+        private synchronized boolean remove(long id) {
+            Entry previous = byId.remove(id);
+            if (previous == null) {
+                return false;
+            }
+            ordered.remove(previous);
+            return truncated;
+        }
+
+        /**
+         * 分页读取题目ID。
+         *
+         * @param page 页码
+         * @param pageSize 每页大小
+         * @return 题目ID分页（total 为排行条数，超出排行范围的页为空）
+         */
+        private synchronized PageResponse<Long> page(int page, int pageSize) {
+            long offset = (long) (page - 1) * pageSize;
+            List<Long> ids = new ArrayList<>(pageSize);
+            long index = 0;
+            for (Entry entry : ordered) {
+                if (index++ < offset) {
+                    continue;
+                }
+                if (ids.size() >= pageSize) {
+                    break;
+                }
+                ids.add(entry.id());
+            }
+            return new PageResponse<>(ids, page, pageSize, ordered.size());
+        }
+
+        /**
+         * 从游标之后读取一页题目ID；读到排行末尾时不再签发游标。
+         *
+         * @param cursor 游标（为空表示第一页）
+         * @param limit 页大小
+         * @return 当前页题目ID与下一页游标
+         */
+        private synchronized ProblemIdPage seek(ProblemListCursor cursor, int limit) {
+            Collection<Entry> tail = cursor == null || cursor.sortValue() == null
+                    ? ordered
+                    : ordered.tailSet(new Entry(cursor.id(), cursor.sortValue(), null), false);
+            List<Long> ids = new ArrayList<>(limit);
+            Entry last = null;
+            boolean hasMore = false;
+            for (Entry entry : tail) {
+                if (ids.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                ids.add(entry.id());
+                last = entry;
+            }
+            ProblemListCursor nextCursor = null;
+            if (hasMore) {
+                nextCursor = new ProblemListCursor(ProblemListCursor.SORT_HOT, last.score(), last.publishedAt(), last.id(),
+                        ProblemListCursor.SOURCE_RANKING);
+            }
+            return new ProblemIdPage(ids, ordered.size(), nextCursor);
+        }
+    }
+}
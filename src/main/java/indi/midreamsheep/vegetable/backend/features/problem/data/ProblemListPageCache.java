@@ -0,0 +1,228 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.TagMatchMode;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemListCachePort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemQuery;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.problem.ProblemListCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 公开题目列表响应缓存（本地）：按归一化后的查询条件保存前几页已序列化的 JSON 响应体，命中时不再执行
+ * count、分页、标签与作者查询。
+ * <p>
+ * 同一查询同时只构建一次（single-flight），并发请求等待同一结果；条目超过 ttl 后在陈旧窗口内仍直接返回，
+ * 由后台线程刷新（stale-while-revalidate）。已发布题目被更新，或变化前后处于公开列表中的题目被发布、下架、删除时
+ * 调用 {@link #invalidate()}，经 {@link CacheInvalidationBus} 通知所有节点丢弃全部条目；失效前开始构建的结果不会写回。
+ * HOT 排序不缓存：它已由内存热度排行提供，且顺序随每次计数投影变化。
+ */
+public class ProblemListPageCache implements ProblemListCachePort, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemListPageCache.class);
+
+    /**
+     * 缓存失效总线主题。
+     */
+    public static final String TOPIC = "problem.list";
+
+    private final ProblemListCacheProperties properties;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refresher;
+    private volatile long generation;
+
+    /**
+     * 构造公开题目列表响应缓存。
+     *
+     * @param properties 缓存配置
+     * @param cacheInvalidationBus 缓存失效总线
+     */
+    public ProblemListPageCache(ProblemListCacheProperties properties, CacheInvalidationBus cacheInvalidationBus) {
+        this.properties = properties;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "problem-list-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cacheInvalidationBus.subscribe(TOPIC, payload -> onInvalidation());
+    }
+
+    @Override
+    public boolean cacheable(ProblemQuery query) {
+        return properties.enabled()
+                && query.page() <= properties.maxPage()
+                && !StringUtils.hasText(query.keyword())
+                && !ProblemListCursor.SORT_HOT.equals(query.sort());
+    }
+
+    @Override
+    public byte[] get(ProblemQuery query, Supplier<byte[]> loader) {
+        String key = key(query);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.generation() == generation) {
+            long age = System.nanoTime() - entry.storedAtNanos();
+            if (age <= properties.ttlSeconds() * 1_000_000_000L) {
+                return entry.body();
+            }
+            if (age <= properties.maxStaleSeconds() * 1_000_000_000L) {
+                refreshInBackground(key, loader);
+                return entry.body();
+            }
+        }
+        CompletableFuture<byte[]> flight = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        load(key, loader, flight);
+        return await(flight);
+    }
+
+    /**
+     * 使全部条目失效（所有节点）；在事务内调用时，提交后会再失效一次，防止并发请求在提交前读到旧数据并写回。
+     */
+    public void invalidate() {
+        if (!properties.enabled()) {
+            return;
+        }
+        cacheInvalidationBus.publish(TOPIC, "");
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheInvalidationBus.publish(TOPIC, "");
+                }
+            });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * 后台刷新陈旧条目（同一查询已在构建时跳过）。
+     *
+     * @param key 缓存键
+     * @param loader 响应体构建函数
+     */
+    private void refreshInBackground(String key, Supplier<byte[]> loader) {
+        CompletableFuture<byte[]> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                load(key, loader, flight);
+                if (flight.isCompletedExceptionally()) {
+                    log.warn("event=problem_list_cache_refresh_failed key={}", key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(key, flight);
+            flight.cancel(false);
+        }
+    }
+
+    /**
+     * 构建响应体并完成 flight；构建期间未发生失效时写入缓存。
+     *
+     * @param key 缓存键
+     * @param loader 响应体构建函数
+     * @param flight 本次构建
+     */
+    private void load(String key, Supplier<byte[]> loader, CompletableFuture<byte[]> flight) {
+        long startGeneration = generation;
+        try {
+            byte[] body = loader.get();
+            if (generation == startGeneration) {
+                if (entries.size() >= properties.maxEntries() && !entries.containsKey(key)) {
+                    entries.clear();
+                }
+                entries.put(key, new Entry(body, startGeneration, System.nanoTime()));
+            }
+            flight.complete(body);
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 等待构建结果，构建失败时抛出原始异常。
+     *
+     * @param flight 构建
+     * @return 响应体
+     */
+    private static byte[] await(CompletableFuture<byte[]> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 处理失效消息：递增版本并丢弃全部条目；进行中的构建不再被新请求复用。
+     */
+    private synchronized void onInvalidation() {
+        generation++;
+        entries.clear();
+        inFlight.clear();
+    }
+
+    /**
+     * 归一化查询条件为缓存键（标签ID排序去重，空值与默认值统一写法）。
+     *
+     * @param query 查询条件
+     * @return 缓存键
+     */
+    private static String key(ProblemQuery query) {
+        String subject = query.subject() == null ? "" : "=" + query.subject();
+        String tagKey = query.tagIds() == null ? "" : query.tagIds().stream()
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        String tagMode = !tagKey.isEmpty() && query.tagMode() == TagMatchMode.ALL ? "&" : "";
+        TotalMode totalMode = query.totalMode() == null ? TotalMode.EXACT : query.totalMode();
+        return subject + "|" + tagKey + tagMode
+                + "|" + (query.difficultyMin() == null ? "" : query.difficultyMin())
+                + "|" + (query.difficultyMax() == null ? "" : query.difficultyMax())
+                + "|" + query.sort() + "|" + query.page() + "|" + query.pageSize() + "|" + totalMode;
+    }
+
+    /**
+     * 缓存条目。
+     *
+     * @param body 序列化后的响应体
+     * @param generation 写入时的失效版本
+     * @param storedAtNanos 写入时间（{@link System#nanoTime()}）
+     */
+    private record Entry(byte[] body, long generation, long storedAtNanos) {
+    }
+}
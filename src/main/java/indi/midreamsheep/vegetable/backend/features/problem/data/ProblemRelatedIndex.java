@@ -0,0 +1,611 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRelatedPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemTagEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemTagMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 相关题目索引（进程内）：以题目的标签、学科与难度为特征集合计算 MinHash 签名，签名按段（band）分桶（LSH），
+ * 只在同桶的候选题中按特征集合的 Jaccard 相似度取前若干道，结果按题目ID保存，查询时直接返回。
+ * <p>
+ * 启动后（及每隔一个重建间隔）在后台线程按主键分批读取公开题目与标签整体重建；
+ * 题目变化经 {@link CacheInvalidationBus} 通知各节点按主键重读，只重算该题以及与其同桶、结果可能受影响的题目。
+ * 因候选数上限未被重算、列表里仍留有旧结果的少数题目，等下次整体重建时更新。
+ */
+public class ProblemRelatedIndex implements ProblemRelatedPort, DisposableBean {
+
+    /**
+     * 缓存失效总线主题（负载为题目ID）。
+     */
+    public static final String TOPIC = "problem.related";
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemRelatedIndex.class);
+
+    /**
+     * 建索引与重读时查询的列。
+     */
+    private static final String[] COLUMNS = {
+            "id", "subject", "difficulty", "published_at", "status", "visibility", "deleted"
+    };
+
+    /**
+     * 进入相关列表的最低 Jaccard 相似度。
+     */
+    private static final double MIN_SIMILARITY = 0.2;
+
+    /**
+     * 特征类型：标签（特征值低两位）。
+     */
+    private static final long FEATURE_TAG = 0L;
+
+    /**
+     * 特征类型：学科。
+     */
+    private static final long FEATURE_SUBJECT = 1L;
+
+    /**
+     * 特征类型：难度。
+     */
+    private static final long FEATURE_DIFFICULTY = 2L;
+
+    /**
+     * 生成各哈希函数种子的固定起点（各节点签名一致）。
+     */
+    private static final long SEED_ORIGIN = 0x5DEECE66DL;
+
+    private final ProblemMapper problemMapper;
+    private final ProblemTagMapper problemTagMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final boolean enabled;
+    private final int neighbourCount;
+    private final int bands;
+    private final int rowsPerBand;
+    private final int maxCandidates;
+    private final int buildBatchSize;
+    private final long[] seeds;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Long> changedDuringBuild = new HashSet<>();
+    private final ScheduledExecutorService executor;
+    private Map<Long, Entry> entries = new HashMap<>();
+    private Map<Long, Set<Long>> buckets = new HashMap<>();
+    private volatile Map<Long, Neighbours> related = new ConcurrentHashMap<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * 构造相关题目索引；enabled 为 true 时订阅变化事件并在后台建立索引。
+     *
+     * @param problemMapper 题目 Mapper
+     * @param problemTagMapper 题目标签关联 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param enabled 是否启用（关闭时始终返回空）
+     * @param neighbourCount 每道题保留的相关题目数
+     * @param signatureSize MinHash 签名长度
+     * @param bands LSH 分段数（须整除签名长度）
+     * @param maxCandidates 每道题最多比较的候选题数
+     * @param buildBatchSize 建索引时每批读取的题目数
+     * @param rebuildIntervalSeconds 整体重建间隔（秒，0 表示只在启动时建立）
+     */
+    public ProblemRelatedIndex(
+            ProblemMapper problemMapper,
+            ProblemTagMapper problemTagMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            boolean enabled,
+            int neighbourCount,
+            int signatureSize,
+            int bands,
+            int maxCandidates,
+            int buildBatchSize,
+            long rebuildIntervalSeconds
+    ) {
+        this.problemMapper = problemMapper;
+        this.problemTagMapper = problemTagMapper;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.enabled = enabled;
+        this.neighbourCount = neighbourCount;
+        this.bands = bands;
+        this.rowsPerBand = signatureSize / bands;
+        this.maxCandidates = maxCandidates;
+        this.buildBatchSize = buildBatchSize;
+        this.seeds = new long[signatureSize];
+        for (int i = 0; i < signatureSize; i++) {
+            seeds[i] = mix(SEED_ORIGIN + i);
+        }
+        if (enabled) {
+            cacheInvalidationBus.subscribe(TOPIC, this::onProblemChanged);
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "problem-related-build");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (rebuildIntervalSeconds > 0) {
+                executor.scheduleWithFixedDelay(this::rebuild, 0, rebuildIntervalSeconds, TimeUnit.SECONDS);
+            } else {
+                executor.execute(this::rebuild);
+            }
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 索引是否已建好。
+     *
+     * @return 是否可查询
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Optional<List<Long>> related(long problemId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Neighbours neighbours = related.get(problemId);
+        if (neighbours == null) {
+            return Optional.of(List.of());
+        }
+        return Optional.of(Arrays.stream(neighbours.ids()).boxed().toList());
+    }
+
+    @Override
+    public void problemChanged(long problemId) {
+        if (enabled) {
+            cacheInvalidationBus.publish(TOPIC, String.valueOf(problemId));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 处理题目变化事件。
+     *
+     * @param payload 题目ID
+     */
+    private void onProblemChanged(String payload) {
+        long problemId;
+        try {
+            problemId = Long.parseLong(payload);
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        refresh(problemId);
+    }
+
+    /**
+     * 按主键重读题目与标签并增量更新；整体重建进行中时记下题目，重建完成后再处理。
+     *
+     * @param problemId 题目ID
+     */
+    private void refresh(long problemId) {
+        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+        wrapper.select(COLUMNS).eq("id", problemId);
+        ProblemEntity entity = problemMapper.selectOne(wrapper);
+        Entry entry = null;
+        if (entity != null && isIndexable(entity)) {
+            entry = toEntry(entity, loadTagIds(List.of(problemId)).getOrDefault(problemId, List.of()));
+        }
+        lock.lock();
+        try {
+            if (rebuilding) {
+                changedDuringBuild.add(problemId);
+                return;
+            }
+            update(problemId, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 替换一道题的签名与分桶，并重算受影响题目的相关列表（调用方持有锁）。
+     *
+     * @param problemId 题目ID
+     * @param entry 新的特征与签名（题目不再公开时为 null）
+     */
+    private void update(long problemId, Entry entry) {
+        Set<Long> affected = new LinkedHashSet<>();
+        Entry previous = entries.remove(problemId);
+        if (previous != null) {
+            affected.addAll(candidates(problemId, previous.signature(), buckets));
+            unbucket(problemId, previous.signature());
+        }
+        if (entry == null) {
+            related.remove(problemId);
+        } else {
+            entries.put(problemId, entry);
+            bucket(problemId, entry.signature(), buckets);
+            affected.addAll(candidates(problemId, entry.signature(), buckets));
+            related.put(problemId, computeNeighbours(problemId, entry, entries, buckets));
+        }
+        for (Long otherId : affected) {
+            Entry other = entries.get(otherId);
+            if (other == null) {
+                continue;
+            }
+            Neighbours current = related.get(otherId);
+            double score = entry == null ? 0 : jaccard(entry.features(), other.features());
+            boolean listed = current != null && current.contains(problemId);
+            boolean admitted = score >= MIN_SIMILARITY && (current == null || current.admits(score, neighbourCount));
+            if (listed || admitted) {
+                related.put(otherId, computeNeighbours(otherId, other, entries, buckets));
+            }
+        }
+    }
+
+    /**
+     * 整体重建：按主键分批读取公开题目与标签，计算签名、分桶与全部相关列表后一次替换。
+     */
+    private void rebuild() {
+        long startedAt = System.nanoTime();
+        lock.lock();
+        try {
+            rebuilding = true;
+        } finally {
+            lock.unlock();
+        }
+        Map<Long, Entry> newEntries = new HashMap<>();
+        Map<Long, Set<Long>> newBuckets = new HashMap<>();
+        Map<Long, Neighbours> newRelated = new ConcurrentHashMap<>();
+        boolean completed = false;
+        long lastId = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+                wrapper.select(COLUMNS)
+                        .eq("status", ProblemStatus.PUBLISHED.name())
+                        .eq("visibility", Visibility.PUBLIC.name())
+                        .eq("deleted", 0)
+                        .isNotNull("published_at")
+                        .gt("id", lastId)
+                        .orderByAsc("id")
+                        .last("limit " + buildBatchSize);
+                List<ProblemEntity> rows = problemMapper.selectList(wrapper);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<Long>> tags = loadTagIds(rows.stream().map(ProblemEntity::getId).toList());
+                for (ProblemEntity row : rows) {
+                    Entry entry = toEntry(row, tags.getOrDefault(row.getId(), List.of()));
+                    if (entry != null) {
+                        newEntries.put(row.getId(), entry);
+                        bucket(row.getId(), entry.signature(), newBuckets);
+                    }
+                }
+                lastId = rows.get(rows.size() - 1).getId();
+                if (rows.size() < buildBatchSize) {
+                    break;
+                }
+            }
+            for (Map.Entry<Long, Entry> entry : newEntries.entrySet()) {
+                newRelated.put(entry.getKey(), computeNeighbours(entry.getKey(), entry.getValue(), newEntries, newBuckets));
+            }
+            completed = !Thread.currentThread().isInterrupted();
+        } catch (RuntimeException ex) {
+            log.warn("event=problem_related_index_build_failed last_id={}", lastId, ex);
+        }
+        List<Long> pending;
+        lock.lock();
+        try {
+            if (completed) {
+                entries = newEntries;
+                buckets = newBuckets;
+                related = newRelated;
+            }
+            rebuilding = false;
+            pending = List.copyOf(changedDuringBuild);
+            changedDuringBuild.clear();
+        } finally {
+            lock.unlock();
+        }
+        if (!completed) {
+            return;
+        }
+        ready = true;
+        for (Long problemId : pending) {
+            refresh(problemId);
+        }
+        log.info("event=problem_related_index_built problems={} buckets={} elapsed_ms={}",
+                newEntries.size(), newBuckets.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 在同桶的候选题中按 Jaccard 相似度取前 neighbourCount 道（相似度相同按ID降序，较新的题在前）。
+     *
+     * @param problemId 题目ID
+     * @param entry 题目的特征与签名
+     * @param allEntries 全部题目的特征与签名
+     * @param allBuckets 分桶
+     * @return 相关题目
+     */
+    private Neighbours computeNeighbours(
+            long problemId,
+            Entry entry,
+            Map<Long, Entry> allEntries,
+            Map<Long, Set<Long>> allBuckets
+    ) {
+        List<Scored> scored = new ArrayList<>();
+        for (Long candidateId : candidates(problemId, entry.signature(), allBuckets)) {
+            Entry candidate = allEntries.get(candidateId);
+            if (candidate == null) {
+                continue;
+            }
+            double score = jaccard(entry.features(), candidate.features());
+            if (score >= MIN_SIMILARITY) {
+                scored.add(new Scored(candidateId, score));
+            }
+        }
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(Comparator.comparingLong(Scored::id).reversed()));
+        int size = Math.min(neighbourCount, scored.size());
+        long[] ids = new long[size];
+        float[] scores = new float[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = scored.get(i).id();
+            scores[i] = (float) scored.get(i).score();
+        }
+        return new Neighbours(ids, scores);
+    }
+
+    /**
+     * 收集与签名同桶的候选题（按段依次收集，达到候选上限即停止）。
+     *
+     * @param problemId 题目ID（不计入候选）
+     * @param signature 签名
+     * @param allBuckets 分桶
+     * @return 候选题目ID
+     */
+    private Set<Long> candidates(long problemId, int[] signature, Map<Long, Set<Long>> allBuckets) {
+        Set<Long> result = new LinkedHashSet<>();
+        for (int band = 0; band < bands; band++) {
+            Set<Long> bucket = allBuckets.get(bucketKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (Long otherId : bucket) {
+                if (otherId != problemId) {
+                    result.add(otherId);
+                    if (result.size() >= maxCandidates) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 把题目放入签名每一段对应的桶。
+     *
+     * @param problemId 题目ID
+     * @param signature 签名
+     * @param allBuckets 分桶
+     */
+    private void bucket(long problemId, int[] signature, Map<Long, Set<Long>> allBuckets) {
+        for (int band = 0; band < bands; band++) {
+            allBuckets.computeIfAbsent(bucketKey(signature, band), key -> new HashSet<>()).add(problemId);
+        }
+    }
+
+    /**
+     * 把题目移出签名每一段对应的桶，桶为空时一并移除（调用方持有锁）。
+     *
+     * @param problemId 题目ID
+     * @param signature 签名
+     */
+    private void unbucket(long problemId, int[] signature) {
+        for (int band = 0; band < bands; band++) {
+            long key = bucketKey(signature, band);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(problemId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * 计算签名某一段的桶键（段号参与哈希，不同段互不相撞）。
+     *
+     * @param signature 签名
+     * @param band 段号
+     * @return 桶键
+     */
+    private long bucketKey(int[] signature, int band) {
+        long hash = mix(band + 1L);
+        int offset = band * rowsPerBand;
+        for (int i = 0; i < rowsPerBand; i++) {
+            hash = mix(hash ^ (signature[offset + i] & 0xFFFFFFFFL));
+        }
+        return hash;
+    }
+
+    /**
+     * 由题目与标签构造特征集合与 MinHash 签名。
+     *
+     * @param entity 题目实体
+     * @param tagIds 标签ID列表
+     * @return 特征与签名（没有任何特征时为 null）
+     */
+    private Entry toEntry(ProblemEntity entity, List<Long> tagIds) {
+        List<Long> features = new ArrayList<>();
+        for (Long tagId : tagIds) {
+            features.add(tagId << 2 | FEATURE_TAG);
+        }
+        if (entity.getSubject() != null) {
+            features.add((long) entity.getSubject().hashCode() << 2 | FEATURE_SUBJECT);
+        }
+        if (entity.getDifficulty() != null) {
+            features.add((long) entity.getDifficulty() << 2 | FEATURE_DIFFICULTY);
+        }
+        long[] sorted = features.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        if (sorted.length == 0) {
+            return null;
+        }
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long feature : sorted) {
+            for (int i = 0; i < seeds.length; i++) {
+                int hash = (int) (mix(feature ^ seeds[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return new Entry(sorted, signature);
+    }
+
+    /**
+     * 批量读取题目的有效标签。
+     *
+     * @param problemIds 题目ID列表
+     * @return 题目ID -> 标签ID列表
+     */
+    private Map<Long, List<Long>> loadTagIds(List<Long> problemIds) {
+        QueryWrapper<ProblemTagEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("problem_id", "tag_id").in("problem_id", problemIds).eq("deleted", 0);
+        Map<Long, List<Long>> result = new HashMap<>();
+        for (ProblemTagEntity row : problemTagMapper.selectList(wrapper)) {
+            result.computeIfAbsent(row.getProblemId(), key -> new ArrayList<>()).add(row.getTagId());
+        }
+        return result;
+    }
+
+    /**
+     * 计算两个有序特征集合的 Jaccard 相似度。
+     *
+     * @param left 有序特征
+     * @param right 有序特征
+     * @return 交集大小 / 并集大小
+     */
+    private static double jaccard(long[] left, long[] right) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = left.length + right.length - common;
+        return union == 0 ? 0 : (double) common / union;
+    }
+
+    /**
+     * 64 位整数混淆（SplitMix64 终结函数），用作 MinHash 的哈希族与桶键哈希。
+     *
+     * @param value 输入
+     * @return 混淆后的值
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 判断题目是否应进入索引。
+     *
+     * @param entity 题目实体
+     * @return 是否公开、已发布且有发布时间
+     */
+    private static boolean isIndexable(ProblemEntity entity) {
+        return ProblemStatus.PUBLISHED.name().equals(entity.getStatus())
+                && Visibility.PUBLIC.name().equals(entity.getVisibility())
+                && (entity.getDeleted() == null || entity.getDeleted() == 0)
+                && entity.getPublishedAt() != null;
+    }
+
+    /**
+     * 题目的特征集合与签名。
+     *
+     * @param features 有序特征
+     * @param signature MinHash 签名
+     */
+    private record Entry(long[] features, int[] signature) {
+    }
+
+    /**
+     * 候选题及其相似度。
+     *
+     * @param id 题目ID
+     * @param score Jaccard 相似度
+     */
+    private record Scored(long id, double score) {
+    }
+
+    /**
+     * 一道题的相关题目（按相似度降序）。
+     *
+     * @param ids 题目ID
+     * @param scores 相似度
+     */
+    private record Neighbours(long[] ids, float[] scores) {
+
+        /**
+         * 是否包含某道题。
+         *
+         * @param problemId 题目ID
+         * @return 是否包含
+         */
+        boolean contains(long problemId) {
+            for (long id : ids) {
+                if (id == problemId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 该相似度的题目能否进入列表。
+         *
+         * @param score 相似度
+         * @param capacity 列表容量
+         * @return 列表未满或相似度高于当前末位
+         */
+        boolean admits(double score, int capacity) {
+            return ids.length < capacity || score > scores[scores.length - 1];
+        }
+    }
+}
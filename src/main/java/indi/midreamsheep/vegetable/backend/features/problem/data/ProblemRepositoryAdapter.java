@@ -2,29 +2,43 @@ package indi.midreamsheep.vegetable.backend.features.problem.data;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ContentFormat;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.TagMatchMode;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemCreateCommand;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemUpdateCommand;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemCursorPage;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemDetailData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRankingPort;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemQuery;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.PageTotalCache;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemTagEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemMapper;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemTagMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.CounterColumnUpdater;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -35,19 +49,39 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
 
     private final ProblemMapper problemMapper;
     private final ProblemTagMapper problemTagMapper;
+    private final PageTotalCache pageTotalCache;
+    private final ProblemDetailCache problemDetailCache;
+    private final ProblemListPageCache problemListPageCache;
+    private final IdentifierGenerator identifierGenerator;
+    private final ProblemRankingPort problemRankingPort;
 
     /**
      * 构造题目仓储适配器。
      *
      * @param problemMapper 题目 Mapper
      * @param problemTagMapper 题目-标签关联 Mapper
+     * @param pageTotalCache 分页总数缓存
+     * @param problemDetailCache 题目详情缓存
+     * @param problemListPageCache 公开题目列表响应缓存
+     * @param identifierGenerator ID 生成器（批量插入标签关联时预分配主键）
+     * @param problemRankingPort 题目热度排行端口（计数变化后通知刷新）
      */
     public ProblemRepositoryAdapter(
             ProblemMapper problemMapper,
-            ProblemTagMapper problemTagMapper
+            ProblemTagMapper problemTagMapper,
+            PageTotalCache pageTotalCache,
+            ProblemDetailCache problemDetailCache,
+            ProblemListPageCache problemListPageCache,
+            IdentifierGenerator identifierGenerator,
+            ProblemRankingPort problemRankingPort
     ) {
         this.problemMapper = problemMapper;
         this.problemTagMapper = problemTagMapper;
+        this.pageTotalCache = pageTotalCache;
+        this.problemDetailCache = problemDetailCache;
+        this.problemListPageCache = problemListPageCache;
+        this.identifierGenerator = identifierGenerator;
+        this.problemRankingPort = problemRankingPort;
     }
 
     /**
@@ -77,47 +111,35 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
         entity.setViewCount(0L);
         entity.setFavoriteCount(0L);
         entity.setLikeCount(0L);
+        entity.setCommentCount(0L);
         entity.setDeleted(0);
         entity.setCreatedAt(now);
         entity.setUpdatedAt(now);
         entity.setLastModifiedAt(now);
 
         problemMapper.insert(entity);
-        replaceTags(entity.getId(), command.tagIds(), now);
+        insertTags(entity.getId(), normalizeTagIds(command.tagIds()), now);
         return entity.getId();
     }
 
     @Override
     public Optional<ProblemDetailData> findById(long id) {
-        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
-        wrapper.eq("id", id)
-                .eq("deleted", 0);
-        return Optional.ofNullable(problemMapper.selectOne(wrapper))
-                .map(entity -> toDetailData(
-                        entity,
-                        fetchTagIds(entity.getId())
-                ));
+        return problemDetailCache.getById(id, this::loadById);
     }
 
     @Override
     public Optional<ProblemDetailData> findByShareKey(String shareKey) {
-        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
-        wrapper.eq("share_key", shareKey)
-                .eq("deleted", 0);
-        return Optional.ofNullable(problemMapper.selectOne(wrapper))
-                .map(entity -> toDetailData(
-                        entity,
-                        fetchTagIds(entity.getId())
-                ));
+        return problemDetailCache.getByShareKey(shareKey, this::loadByShareKey, this::loadById);
     }
 
     @Override
     public PageResponse<ProblemSummaryData> listPublic(ProblemQuery query) {
-        QueryWrapper<ProblemEntity> countWrapper = buildPublicListWrapper(query);
-        long total = problemMapper.selectCount(countWrapper);
-
+        if (query.matchedIds() != null && query.sort() == null) {
+            return listPublicByRelevance(query);
+        }
         QueryWrapper<ProblemEntity> listWrapper = buildPublicListWrapper(query);
-        listWrapper.select("id", "title", "subject", "difficulty", "status", "visibility", "published_at", "author_id");
+        listWrapper.select("id", "title", "subject", "difficulty", "status", "visibility", "published_at", "author_id",
+                "comment_count");
         if ("HOT".equals(query.sort())) {
             listWrapper.orderByDesc("favorite_count").orderByDesc("published_at");
         } else if ("DIFFICULTY".equals(query.sort())) {
@@ -133,9 +155,74 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
         List<ProblemSummaryData> items = entities.stream()
                 .map(entity -> toSummaryData(entity, tagIdsMap.getOrDefault(entity.getId(), List.of())))
                 .toList();
+        long total = pageTotalCache.resolve(
+                PageTotalCache.NS_PROBLEM_PUBLIC,
+                publicListCountKey(query),
+                query.totalMode(),
+                () -> problemMapper.selectCount(buildPublicListWrapper(query)),
+                PageTotalCache.lowerBound(offset, items.size(), query.pageSize())
+        );
         return new PageResponse<>(items, query.page(), query.pageSize(), total);
     }
 
+    /**
+     * 按全文检索相关度分页：命中ID数量有上限，先取出满足其余筛选条件的ID，再按相关度顺序截取当前页。
+     *
+     * @param query 查询参数（matchedIds 不为空）
+     * @return 分页结果（总数精确）
+     */
+    private PageResponse<ProblemSummaryData> listPublicByRelevance(ProblemQuery query) {
+        QueryWrapper<ProblemEntity> idWrapper = buildPublicListWrapper(query);
+        idWrapper.select("id");
+        Set<Long> filtered = new HashSet<>(problemMapper.selectObjs(idWrapper).stream()
+                .map(value -> ((Number) value).longValue())
+                .toList());
+        List<Long> ranked = query.matchedIds().stream().filter(filtered::contains).toList();
+        int offset = Math.max(0, (query.page() - 1) * query.pageSize());
+        List<Long> pageIds = offset >= ranked.size()
+                ? List.of()
+                : ranked.subList(offset, Math.min(ranked.size(), offset + query.pageSize()));
+        Map<Long, ProblemSummaryData> byId = new HashMap<>();
+        for (ProblemSummaryData data : listSummariesByIds(pageIds)) {
+            byId.put(data.id(), data);
+        }
+        List<ProblemSummaryData> items = pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageResponse<>(items, query.page(), query.pageSize(), ranked.size());
+    }
+
+    @Override
+    public ProblemCursorPage listPublicByCursor(ProblemQuery query) {
+        String sortKey = ProblemListCursor.sortKeyOf(query.sort());
+        QueryWrapper<ProblemEntity> listWrapper = buildPublicListWrapper(query);
+        listWrapper.select("id", "title", "subject", "difficulty", "status", "visibility", "published_at", "author_id",
+                "favorite_count", "comment_count");
+        listWrapper.isNotNull("published_at");
+        applySeek(listWrapper, sortKey, query.cursor());
+        if (ProblemListCursor.SORT_HOT.equals(sortKey)) {
+            listWrapper.orderByDesc("favorite_count");
+        } else if (ProblemListCursor.SORT_DIFFICULTY.equals(sortKey)) {
+            listWrapper.orderByAsc("difficulty");
+        }
+        listWrapper.orderByDesc("published_at").orderByDesc("id");
+        // 多取一行用于判断是否还有下一页。
+        listWrapper.last("limit " + (query.pageSize() + 1));
+
+        List<ProblemEntity> entities = problemMapper.selectList(listWrapper);
+        ProblemListCursor nextCursor = null;
+        if (entities.size() > query.pageSize()) {
+            entities = entities.subList(0, query.pageSize());
+            nextCursor = toCursor(sortKey, entities.get(entities.size() - 1));
+        }
+        Map<Long, List<Long>> tagIdsMap = fetchTagIdsByProblemIds(entities.stream().map(ProblemEntity::getId).toList());
+        List<ProblemSummaryData> items = entities.stream()
+                .map(entity -> toSummaryData(entity, tagIdsMap.getOrDefault(entity.getId(), List.of())))
+                .toList();
+        return new ProblemCursorPage(items, nextCursor);
+    }
+
     @Override
     public PageResponse<ProblemSummaryData> listByAuthor(long authorId, ProblemStatus status, int page, int pageSize) {
         QueryWrapper<ProblemEntity> countWrapper = new QueryWrapper<>();
@@ -150,7 +237,8 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
         if (status != null) {
             listWrapper.eq("status", status.name());
         }
-        listWrapper.select("id", "title", "subject", "difficulty", "status", "visibility", "published_at", "author_id");
+        listWrapper.select("id", "title", "subject", "difficulty", "status", "visibility", "published_at", "author_id",
+                "comment_count");
         listWrapper.orderByDesc("updated_at").orderByDesc("id");
         int offset = Math.max(0, (page - 1) * pageSize);
         listWrapper.last("limit " + offset + ", " + pageSize);
@@ -171,7 +259,8 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
         QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
         wrapper.in("id", ids)
                 .eq("deleted", 0);
-        wrapper.select("id", "title", "subject", "difficulty", "status", "visibility", "published_at", "author_id");
+        wrapper.select("id", "title", "subject", "difficulty", "status", "visibility", "published_at", "author_id",
+                "comment_count");
         List<ProblemEntity> entities = problemMapper.selectList(wrapper);
         Map<Long, List<Long>> tagIdsMap = fetchTagIdsByProblemIds(entities.stream().map(ProblemEntity::getId).toList());
         return entities.stream()
@@ -179,6 +268,28 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
                 .toList();
     }
 
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Set.of();
+        }
+        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("id")
+                .in("id", ids)
+                .eq("deleted", 0);
+        return problemMapper.selectList(wrapper).stream()
+                .map(ProblemEntity::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 更新题目并按差量同步标签。
+     * <p>
+     * 返回值直接由命令构造（命令已包含详情的全部字段），不再回查数据库。
+     *
+     * @param command 更新命令
+     * @return 更新后的题目详情
+     */
     @Override
     @Transactional(rollbackFor = Exception.class)
     public ProblemDetailData update(ProblemUpdateCommand command) {
@@ -199,14 +310,39 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
                 .set("published_at", command.publishedAt())
                 .set("last_modified_at", now)
                 .set("updated_at", now);
-        problemMapper.update(null, wrapper);
-        replaceTags(command.id(), command.tagIds(), now);
-        return findById(command.id()).orElseThrow(() -> new IllegalStateException("题目更新失败"));
+        if (problemMapper.update(null, wrapper) <= 0) {
+            throw new IllegalStateException("题目更新失败");
+        }
+        List<Long> tagIds = normalizeTagIds(command.tagIds());
+        replaceTags(command.id(), tagIds, now);
+        pageTotalCache.invalidate(PageTotalCache.NS_PROBLEM_PUBLIC);
+        // 更新不改变状态（命令中的状态取自调用方刚读到的题目），只有已发布的题目可能在更新前后出现在公开列表中；
+        // 不回查更新前的可见性，已发布题目的更新一律失效，草稿（含自动保存）不失效。
+        if (command.status() == ProblemStatus.PUBLISHED) {
+            problemListPageCache.invalidate();
+        }
+        problemDetailCache.evict(command.id());
+        return new ProblemDetailData(
+                command.id(),
+                command.authorId(),
+                command.title(),
+                command.subject(),
+                command.difficulty(),
+                command.statementFormat(),
+                command.statementContent(),
+                command.solutionFormat(),
+                command.solutionContent(),
+                command.visibility(),
+                command.shareKey(),
+                command.status(),
+                command.publishedAt(),
+                tagIds
+        );
     }
 
     @Override
     public ProblemDetailData publish(long id) {
-        ProblemDetailData existing = findById(id)
+        ProblemDetailData existing = loadById(id)
                 .orElseThrow(() -> new IllegalStateException("题目不存在"));
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime publishedAt = existing.publishedAt() == null ? now : existing.publishedAt();
@@ -217,28 +353,65 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
                 .set("last_modified_at", now)
                 .set("updated_at", now);
         problemMapper.update(null, wrapper);
-        return findById(id).orElseThrow(() -> new IllegalStateException("题目发布失败"));
+        pageTotalCache.invalidate(PageTotalCache.NS_PROBLEM_PUBLIC);
+        if (existing.visibility() == Visibility.PUBLIC) {
+            problemListPageCache.invalidate();
+        }
+        problemDetailCache.evict(id);
+        return loadById(id).orElseThrow(() -> new IllegalStateException("题目发布失败"));
     }
 
     @Override
     public ProblemDetailData disable(long id) {
         LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<ProblemEntity> wrapper = new UpdateWrapper<>();
-        wrapper.eq("id", id)
+        boolean wasListed = updateReportingListed(id, wrapper -> wrapper
                 .set("status", ProblemStatus.DISABLED.name())
-                .set("updated_at", now);
-        problemMapper.update(null, wrapper);
-        return findById(id).orElseThrow(() -> new IllegalStateException("题目下架失败"));
+                .set("updated_at", now));
+        pageTotalCache.invalidate(PageTotalCache.NS_PROBLEM_PUBLIC);
+        if (wasListed) {
+            problemListPageCache.invalidate();
+        }
+        problemDetailCache.evict(id);
+        return loadById(id).orElseThrow(() -> new IllegalStateException("题目下架失败"));
     }
 
     @Override
     public void softDelete(long id) {
         LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<ProblemEntity> wrapper = new UpdateWrapper<>();
-        wrapper.eq("id", id)
+        boolean wasListed = updateReportingListed(id, wrapper -> wrapper
                 .set("deleted", 1)
-                .set("updated_at", now);
-        problemMapper.update(null, wrapper);
+                .set("updated_at", now));
+        pageTotalCache.invalidate(PageTotalCache.NS_PROBLEM_PUBLIC);
+        if (wasListed) {
+            problemListPageCache.invalidate();
+        }
+        problemDetailCache.evict(id);
+    }
+
+    /**
+     * 执行更新，并由影响行数判断题目更新前是否出现在公开列表中（已发布、公开且未删除），不额外查询。
+     * <p>
+     * 先带「不在公开列表中」条件更新一次（草稿与非公开题目到此为止），未命中时再按主键更新；
+     * 后一条命中说明更新前在公开列表中，只有这类题目的变化需要丢弃列表响应缓存。
+     *
+     * @param id 题目ID
+     * @param setter 设置更新列
+     * @return 更新前是否在公开列表中
+     */
+    private boolean updateReportingListed(long id, Consumer<UpdateWrapper<ProblemEntity>> setter) {
+        UpdateWrapper<ProblemEntity> unlisted = new UpdateWrapper<>();
+        unlisted.eq("id", id)
+                .and(w -> w.ne("status", ProblemStatus.PUBLISHED.name())
+                        .or().ne("visibility", Visibility.PUBLIC.name())
+                        .or().ne("deleted", 0));
+        setter.accept(unlisted);
+        if (problemMapper.update(null, unlisted) > 0) {
+            return false;
+        }
+        UpdateWrapper<ProblemEntity> wrapper = new UpdateWrapper<>();
+        wrapper.eq("id", id);
+        setter.accept(wrapper);
+        return problemMapper.update(null, wrapper) > 0;
     }
 
     @Override
@@ -250,50 +423,69 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
                 .setSql("view_count = view_count + 1")
                 .set("updated_at", now);
         problemMapper.update(null, wrapper);
+        problemRankingPort.problemsChanged(List.of(id));
     }
 
     @Override
-    public void incrementFavoriteCount(long id) {
-        LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<ProblemEntity> wrapper = new UpdateWrapper<>();
-        wrapper.eq("id", id)
-                .eq("deleted", 0)
-                .setSql("favorite_count = favorite_count + 1")
-                .set("updated_at", now);
-        problemMapper.update(null, wrapper);
+    @Transactional(rollbackFor = Exception.class)
+    public void addViewCounts(Map<Long, Long> deltas) {
+        CounterColumnUpdater.addDeltas(problemMapper, "view_count", deltas, true);
+        problemRankingPort.problemsChanged(deltas.keySet());
     }
 
     @Override
-    public void decrementFavoriteCount(long id) {
-        LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<ProblemEntity> wrapper = new UpdateWrapper<>();
-        wrapper.eq("id", id)
-                .eq("deleted", 0)
-                .setSql("favorite_count = CASE WHEN favorite_count > 0 THEN favorite_count - 1 ELSE 0 END")
-                .set("updated_at", now);
-        problemMapper.update(null, wrapper);
+    @Transactional(rollbackFor = Exception.class)
+    public void addCommentCounts(Map<Long, Long> deltas) {
+        CounterColumnUpdater.addDeltas(problemMapper, "comment_count", deltas, true);
+        problemRankingPort.problemsChanged(deltas.keySet());
     }
 
     @Override
-    public void incrementLikeCount(long id) {
-        LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<ProblemEntity> wrapper = new UpdateWrapper<>();
-        wrapper.eq("id", id)
-                .eq("deleted", 0)
-                .setSql("like_count = like_count + 1")
-                .set("updated_at", now);
-        problemMapper.update(null, wrapper);
+    @Transactional(rollbackFor = Exception.class)
+    public void addFavoriteCounts(Map<Long, Long> deltas) {
+        CounterColumnUpdater.addDeltas(problemMapper, "favorite_count", deltas, true);
+        problemRankingPort.problemsChanged(deltas.keySet());
     }
 
     @Override
-    public void decrementLikeCount(long id) {
-        LocalDateTime now = LocalDateTime.now();
-        UpdateWrapper<ProblemEntity> wrapper = new UpdateWrapper<>();
+    @Transactional(rollbackFor = Exception.class)
+    public void addLikeCounts(Map<Long, Long> deltas) {
+        CounterColumnUpdater.addDeltas(problemMapper, "like_count", deltas, true);
+        problemRankingPort.problemsChanged(deltas.keySet());
+    }
+
+    /**
+     * 从数据库加载题目详情（绕过缓存）。
+     *
+     * @param id 题目ID
+     * @return 题目详情（可为空）
+     */
+    private Optional<ProblemDetailData> loadById(long id) {
+        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
         wrapper.eq("id", id)
-                .eq("deleted", 0)
-                .setSql("like_count = CASE WHEN like_count > 0 THEN like_count - 1 ELSE 0 END")
-                .set("updated_at", now);
-        problemMapper.update(null, wrapper);
+                .eq("deleted", 0);
+        return Optional.ofNullable(problemMapper.selectOne(wrapper))
+                .map(entity -> toDetailData(
+                        entity,
+                        fetchTagIds(entity.getId())
+                ));
+    }
+
+    /**
+     * 按 shareKey 从数据库加载题目详情（绕过缓存）。
+     *
+     * @param shareKey 分享 key
+     * @return 题目详情（可为空）
+     */
+    private Optional<ProblemDetailData> loadByShareKey(String shareKey) {
+        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+        wrapper.eq("share_key", shareKey)
+                .eq("deleted", 0);
+        return Optional.ofNullable(problemMapper.selectOne(wrapper))
+                .map(entity -> toDetailData(
+                        entity,
+                        fetchTagIds(entity.getId())
+                ));
     }
 
     /**
@@ -314,7 +506,8 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
                 visibility,
                 entity.getPublishedAt(),
                 entity.getAuthorId() == null ? 0L : entity.getAuthorId(),
-                tagIds == null ? List.of() : tagIds
+                tagIds == null ? List.of() : tagIds,
+                entity.getCommentCount() == null ? 0L : entity.getCommentCount()
         );
     }
 
@@ -398,40 +591,99 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
     }
 
     /**
-     * 重置题目的标签关联。
+     * 按差量同步题目的标签关联。
+     * <p>
+     * 一次查询读出该题全部关联行（含已软删除），只对差异部分写库：多余的关联软删除、
+     * 命中已删除行的标签原地恢复、其余新标签一条多行 INSERT；标签未变化时不产生写入。
      *
      * @param problemId 题目ID
-     * @param tagIds 标签ID列表
+     * @param tagIds 目标标签ID列表（已去重）
      * @param now 当前时间
      */
     private void replaceTags(long problemId, List<Long> tagIds, LocalDateTime now) {
-        softDeleteTags(problemId, now);
-        if (tagIds == null || tagIds.isEmpty()) {
+        QueryWrapper<ProblemTagEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("id", "tag_id", "deleted")
+                .eq("problem_id", problemId);
+        Set<Long> pending = new LinkedHashSet<>(tagIds);
+        List<Long> removeRowIds = new ArrayList<>();
+        List<Long> reviveRowIds = new ArrayList<>();
+        Map<Long, Long> tombstones = new HashMap<>();
+        for (ProblemTagEntity row : problemTagMapper.selectList(wrapper)) {
+            boolean live = row.getDeleted() == null || row.getDeleted() == 0;
+            if (!live) {
+                tombstones.putIfAbsent(row.getTagId(), row.getId());
+            } else if (!pending.remove(row.getTagId())) {
+                // 不在目标集合中，或同一标签的重复关联行。
+                removeRowIds.add(row.getId());
+            }
+        }
+        List<Long> toInsert = new ArrayList<>();
+        for (Long tagId : pending) {
+            Long tombstoneId = tombstones.get(tagId);
+            if (tombstoneId != null) {
+                reviveRowIds.add(tombstoneId);
+            } else {
+                toInsert.add(tagId);
+            }
+        }
+        setTagRowsDeleted(removeRowIds, 1, now);
+        setTagRowsDeleted(reviveRowIds, 0, now);
+        insertTags(problemId, toInsert, now);
+    }
+
+    /**
+     * 批量设置关联行的删除标记。
+     *
+     * @param rowIds 关联行ID
+     * @param deleted 删除标记
+     * @param now 当前时间
+     */
+    private void setTagRowsDeleted(List<Long> rowIds, int deleted, LocalDateTime now) {
+        if (rowIds.isEmpty()) {
             return;
         }
+        UpdateWrapper<ProblemTagEntity> wrapper = new UpdateWrapper<>();
+        wrapper.in("id", rowIds)
+                .set("deleted", deleted)
+                .set("updated_at", now);
+        problemTagMapper.update(null, wrapper);
+    }
+
+    /**
+     * 一条多行 INSERT 写入题目-标签关联。
+     *
+     * @param problemId 题目ID
+     * @param tagIds 标签ID列表
+     * @param now 当前时间
+     */
+    private void insertTags(long problemId, List<Long> tagIds, LocalDateTime now) {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+        List<ProblemTagEntity> rows = new ArrayList<>(tagIds.size());
         for (Long tagId : tagIds) {
             ProblemTagEntity entity = new ProblemTagEntity();
+            entity.setId(identifierGenerator.nextId(entity).longValue());
             entity.setProblemId(problemId);
             entity.setTagId(tagId);
             entity.setCreatedAt(now);
             entity.setUpdatedAt(now);
-            entity.setDeleted(0);
-            problemTagMapper.insert(entity);
+            rows.add(entity);
         }
+        problemTagMapper.insertBatch(rows);
     }
 
     /**
-     * 软删除题目-标签关联。
+     * 标签ID去重（保持顺序，忽略 null）。
      *
-     * @param problemId 题目ID
-     * @param now 当前时间
+     * @param tagIds 标签ID列表（可为空）
+     * @return 去重后的列表
      */
-    private void softDeleteTags(long problemId, LocalDateTime now) {
-        UpdateWrapper<ProblemTagEntity> wrapper = new UpdateWrapper<>();
-        wrapper.eq("problem_id", problemId)
-                .set("deleted", 1)
-                .set("updated_at", now);
-        problemTagMapper.update(null, wrapper);
+    private static List<Long> normalizeTagIds(List<Long> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return List.of();
+        }
+        return tagIds.stream().filter(Objects::nonNull).distinct().toList();
     }
 
     /**
@@ -449,6 +701,73 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
                 .toList();
     }
 
+    /**
+     * 追加 keyset 条件：只取排在游标之后的行（与排序方向一致）。
+     *
+     * @param wrapper 查询包装器
+     * @param sortKey 游标排序键
+     * @param cursor 游标（为空表示第一页）
+     */
+    private static void applySeek(QueryWrapper<ProblemEntity> wrapper, String sortKey, ProblemListCursor cursor) {
+        if (cursor == null) {
+            return;
+        }
+        LocalDateTime publishedAt = cursor.publishedAt();
+        long id = cursor.id();
+        if (ProblemListCursor.SORT_HOT.equals(sortKey)) {
+            long favoriteCount = cursor.sortValue();
+            wrapper.and(w -> w.lt("favorite_count", favoriteCount)
+                    .or(x -> x.eq("favorite_count", favoriteCount)
+                            .and(y -> y.lt("published_at", publishedAt)
+                                    .or(z -> z.eq("published_at", publishedAt).lt("id", id)))));
+        } else if (ProblemListCursor.SORT_DIFFICULTY.equals(sortKey)) {
+            long difficulty = cursor.sortValue();
+            wrapper.and(w -> w.gt("difficulty", difficulty)
+                    .or(x -> x.eq("difficulty", difficulty)
+                            .and(y -> y.lt("published_at", publishedAt)
+                                    .or(z -> z.eq("published_at", publishedAt).lt("id", id)))));
+        } else {
+            wrapper.and(w -> w.lt("published_at", publishedAt)
+                    .or(x -> x.eq("published_at", publishedAt).lt("id", id)));
+        }
+    }
+
+    /**
+     * 由当前页最后一行构造下一页游标。
+     *
+     * @param sortKey 游标排序键
+     * @param last 当前页最后一行
+     * @return 游标
+     */
+    private static ProblemListCursor toCursor(String sortKey, ProblemEntity last) {
+        Long sortValue = null;
+        if (ProblemListCursor.SORT_HOT.equals(sortKey)) {
+            sortValue = last.getFavoriteCount() == null ? 0L : last.getFavoriteCount();
+        } else if (ProblemListCursor.SORT_DIFFICULTY.equals(sortKey)) {
+            sortValue = last.getDifficulty() == null ? 0L : last.getDifficulty().longValue();
+        }
+        return new ProblemListCursor(sortKey, sortValue, last.getPublishedAt(), last.getId());
+    }
+
+    /**
+     * 构造公开列表总数缓存的 key（仅包含影响总数的筛选条件）。
+     *
+     * @param query 查询参数
+     * @return 缓存 key
+     */
+    private static String publicListCountKey(ProblemQuery query) {
+        String tagKey = query.tagIds() == null ? "" : query.tagIds().stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        String keyword = query.keyword() == null || query.keyword().isBlank() ? "" : query.keyword().trim();
+        // 全文检索与标题模糊匹配的命中集合不同，总数分开缓存。
+        String matchMode = query.matchedIds() == null ? "" : "|fts";
+        String tagMode = query.tagMode() == TagMatchMode.ALL ? "&" : "";
+        return query.subject() + "|" + tagKey + tagMode + "|" + query.difficultyMin() + "|" + query.difficultyMax() + "|" + keyword
+                + matchMode;
+    }
+
     /**
      * 构造公开列表查询条件。
      *
@@ -464,9 +783,15 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
             wrapper.eq("subject", query.subject());
         }
         if (query.tagIds() != null && !query.tagIds().isEmpty()) {
-            String inList = query.tagIds().stream().map(String::valueOf).collect(java.util.stream.Collectors.joining(","));
-            wrapper.inSql("id", "select distinct problem_id from vf_problem_tag where deleted=0 and tag_id in ("
-                    + inList + ")");
+            Set<Long> tagIds = new LinkedHashSet<>(query.tagIds());
+            String inList = tagIds.stream().map(String::valueOf).collect(java.util.stream.Collectors.joining(","));
+            if (query.tagMode() == TagMatchMode.ALL) {
+                wrapper.inSql("id", "select problem_id from vf_problem_tag where deleted=0 and tag_id in ("
+                        + inList + ") group by problem_id having count(distinct tag_id) = " + tagIds.size());
+            } else {
+                wrapper.inSql("id", "select distinct problem_id from vf_problem_tag where deleted=0 and tag_id in ("
+                        + inList + ")");
+            }
         }
         if (query.difficultyMin() != null) {
             wrapper.ge("difficulty", query.difficultyMin());
@@ -474,7 +799,13 @@ public class ProblemRepositoryAdapter implements ProblemRepositoryPort {
         if (query.difficultyMax() != null) {
             wrapper.le("difficulty", query.difficultyMax());
         }
-        if (query.keyword() != null && !query.keyword().isBlank()) {
+        if (query.matchedIds() != null) {
+            if (query.matchedIds().isEmpty()) {
+                wrapper.apply("1 = 0");
+            } else {
+                wrapper.in("id", query.matchedIds());
+            }
+        } else if (query.keyword() != null && !query.keyword().isBlank()) {
             wrapper.like("title", query.keyword().trim());
         }
         return wrapper;
@@ -0,0 +1,441 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ContentFormat;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSearchHits;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemSearchPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 题目全文检索（进程内倒排索引）：索引公开且已发布题目的标题、题干与解析，按 BM25 计算相关度。
+ * <p>
+ * 启动后在后台线程按主键分批读取 {@code vf_problem} 建立索引，建好前检索返回空、由调用方退回标题模糊匹配。
+ * 题目变化经 {@link CacheInvalidationBus} 通知各节点，节点按主键重读该题并更新索引；
+ * 建索引期间收到变化的题目以重读结果为准，批量加载时跳过。建索引失败时从失败的批次起按指数退避重试。
+ * 多个关键词按 AND 语义匹配。每个词的倒排表为按题目ID升序的原始类型数组（见 {@link PostingList}），
+ * 命中数超过 {@code maxResults} 时只返回相关度最高的部分并标记为截断。
+ */
+public class ProblemSearchIndex implements ProblemSearchPort, DisposableBean {
+
+    /**
+     * 缓存失效总线主题（负载为题目ID）。
+     */
+    public static final String TOPIC = "problem.search";
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemSearchIndex.class);
+
+    /**
+     * 标题中的词频权重。
+     */
+    private static final float TITLE_WEIGHT = 3.0f;
+
+    /**
+     * 题干中的词频权重。
+     */
+    private static final float STATEMENT_WEIGHT = 1.0f;
+
+    /**
+     * 解析中的词频权重。
+     */
+    private static final float SOLUTION_WEIGHT = 0.5f;
+
+    /**
+     * BM25 词频饱和参数。
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * BM25 文档长度归一化参数。
+     */
+    private static final double B = 0.75;
+
+    /**
+     * 建索引失败后的首次重试间隔（毫秒）。
+     */
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 1_000L;
+
+    /**
+     * 建索引失败后的最大重试间隔（毫秒）。
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000L;
+
+    /**
+     * 建索引与重读时查询的列。
+     */
+    private static final String[] COLUMNS = {
+            "id", "title", "statement_format", "statement_content", "solution_format", "solution_content",
+            "status", "visibility", "deleted"
+    };
+
+    private final ProblemMapper problemMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final boolean enabled;
+    private final int buildBatchSize;
+    private final int maxResults;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executor;
+    private double totalLength;
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    /**
+     * 构造题目全文检索；enabled 为 true 时订阅变化事件并在后台建立索引。
+     *
+     * @param problemMapper 题目 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param enabled 是否启用（关闭时检索始终返回空）
+     * @param buildBatchSize 建索引时每批读取的行数
+     * @param maxResults 单次检索最多返回的题目数
+     */
+    public ProblemSearchIndex(
+            ProblemMapper problemMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            boolean enabled,
+            int buildBatchSize,
+            int maxResults
+    ) {
+        this.problemMapper = problemMapper;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.enabled = enabled;
+        this.buildBatchSize = buildBatchSize;
+        this.maxResults = maxResults;
+        if (enabled) {
+            this.building = true;
+            cacheInvalidationBus.subscribe(TOPIC, this::onProblemChanged);
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "problem-search-build");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.execute(() -> build(0L, INITIAL_RETRY_DELAY_MILLIS));
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 索引是否已建好。
+     *
+     * @return 是否可检索
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public Optional<ProblemSearchHits> search(String keyword) {
+        if (!ready || keyword == null) {
+            return Optional.empty();
+        }
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(ProblemTextTokenizer.tokenize(keyword, null)));
+        if (terms.isEmpty()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return Optional.of(new ProblemSearchHits(List.of(), false));
+                }
+                lists.add(list);
+            }
+            // 从最短的倒排表出发求交集，其余词在各自的有序ID数组中二分查找。
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            int total = documents.size();
+            double avgLength = total == 0 ? 1.0 : Math.max(totalLength / total, 1.0);
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int df = lists.get(i).size();
+                idf[i] = Math.log(1.0 + (total - df + 0.5) / (df + 0.5));
+            }
+            Comparator<Hit> order = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::id);
+            PriorityQueue<Hit> top = new PriorityQueue<>(order);
+            PostingList shortest = lists.get(0);
+            int matchedCount = 0;
+            for (int index = 0; index < shortest.size(); index++) {
+                long id = shortest.idAt(index);
+                IndexedDocument document = documents.get(id);
+                if (document == null) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * document.length() / avgLength);
+                double score = 0;
+                boolean matched = true;
+                for (int i = 0; i < lists.size(); i++) {
+                    PostingList list = lists.get(i);
+                    int position = i == 0 ? index : list.indexOf(id);
+                    if (position < 0) {
+                        matched = false;
+                        break;
+                    }
+                    float tf = list.weightAt(position);
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+                if (!matched) {
+                    continue;
+                }
+                matchedCount++;
+                Hit hit = new Hit(id, score);
+                if (top.size() < maxResults) {
+                    top.add(hit);
+                } else if (order.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(order.reversed());
+            return Optional.of(new ProblemSearchHits(hits.stream().map(Hit::id).toList(), matchedCount > maxResults));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void problemChanged(long problemId) {
+        if (enabled) {
+            cacheInvalidationBus.publish(TOPIC, String.valueOf(problemId));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 处理题目变化事件：按主键重读并更新索引（不再公开的题目移出索引）。
+     *
+     * @param payload 题目ID
+     */
+    private void onProblemChanged(String payload) {
+        long problemId;
+        try {
+            problemId = Long.parseLong(payload);
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        if (building) {
+            changedDuringBuild.add(problemId);
+        }
+        QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+        wrapper.select(COLUMNS).eq("id", problemId);
+        ProblemEntity entity = problemMapper.selectOne(wrapper);
+        lock.writeLock().lock();
+        try {
+            if (entity != null && isSearchable(entity)) {
+                upsert(entity);
+            } else {
+                remove(problemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按主键分批读取公开题目并建立索引；失败时从失败的批次起延迟重试（间隔逐次翻倍）。
+     *
+     * @param afterId 从该ID之后开始读取（已加载的批次无需重读）
+     * @param retryDelayMillis 本次失败后的重试间隔（毫秒）
+     */
+    private void build(long afterId, long retryDelayMillis) {
+        long startedAt = System.nanoTime();
+        long lastId = afterId;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                QueryWrapper<ProblemEntity> wrapper = new QueryWrapper<>();
+                wrapper.select(COLUMNS)
+                        .eq("status", ProblemStatus.PUBLISHED.name())
+                        .eq("visibility", Visibility.PUBLIC.name())
+                        .eq("deleted", 0)
+                        .gt("id", lastId)
+                        .orderByAsc("id")
+                        .last("limit " + buildBatchSize);
+                List<ProblemEntity> rows = problemMapper.selectList(wrapper);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lock.writeLock().lock();
+                try {
+                    for (ProblemEntity row : rows) {
+                        if (!changedDuringBuild.contains(row.getId())) {
+                            upsert(row);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                lastId = rows.get(rows.size() - 1).getId();
+                if (rows.size() < buildBatchSize) {
+                    break;
+                }
+            }
+            building = false;
+            changedDuringBuild.clear();
+            int documentCount;
+            int termCount;
+            lock.writeLock().lock();
+            try {
+                postings.values().forEach(PostingList::trimToSize);
+                documentCount = documents.size();
+                termCount = postings.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("event=problem_search_index_built documents={} terms={} elapsed_ms={}",
+                    documentCount, termCount, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("event=problem_search_index_build_failed last_id={} retry_in_ms={}", lastId, retryDelayMillis, ex);
+            long resumeAfterId = lastId;
+            long nextDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+            try {
+                executor.schedule(() -> build(resumeAfterId, nextDelayMillis), retryDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                log.warn("event=problem_search_index_build_abandoned last_id={}", lastId);
+            }
+        }
+    }
+
+    /**
+     * 写入或替换一道题的索引（调用方持有写锁）。
+     *
+     * @param entity 题目实体
+     */
+    private void upsert(ProblemEntity entity) {
+        remove(entity.getId());
+        Map<String, Float> termFrequencies = new HashMap<>();
+        float length = 0;
+        length += addField(termFrequencies, entity.getTitle(), ContentFormat.MARKDOWN, TITLE_WEIGHT);
+        length += addField(termFrequencies, entity.getStatementContent(),
+                parseFormat(entity.getStatementFormat()), STATEMENT_WEIGHT);
+        length += addField(termFrequencies, entity.getSolutionContent(),
+                parseFormat(entity.getSolutionFormat()), SOLUTION_WEIGHT);
+        if (termFrequencies.isEmpty()) {
+            return;
+        }
+        long id = entity.getId();
+        for (Map.Entry<String, Float> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new PostingList()).put(id, entry.getValue());
+        }
+        documents.put(id, new IndexedDocument(termFrequencies.keySet().toArray(String[]::new), length));
+        totalLength += length;
+    }
+
+    /**
+     * 移除一道题的索引（调用方持有写锁）。
+     *
+     * @param problemId 题目ID
+     */
+    private void remove(long problemId) {
+        IndexedDocument existing = documents.remove(problemId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms()) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                list.remove(problemId);
+                if (list.size() == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length();
+    }
+
+    /**
+     * 将一个字段的词按权重累加到词频表。
+     *
+     * @param termFrequencies 词频表
+     * @param text 字段内容
+     * @param format 内容格式
+     * @param weight 字段权重
+     * @return 该字段贡献的加权长度
+     */
+    private static float addField(Map<String, Float> termFrequencies, String text, ContentFormat format, float weight) {
+        List<String> tokens = ProblemTextTokenizer.tokenize(text, format);
+        for (String token : tokens) {
+            termFrequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    /**
+     * 判断题目是否应出现在检索结果中。
+     *
+     * @param entity 题目实体
+     * @return 是否公开且已发布
+     */
+    private static boolean isSearchable(ProblemEntity entity) {
+        return ProblemStatus.PUBLISHED.name().equals(entity.getStatus())
+                && Visibility.PUBLIC.name().equals(entity.getVisibility())
+                && (entity.getDeleted() == null || entity.getDeleted() == 0);
+    }
+
+    /**
+     * 解析内容格式（无法识别时按 Markdown 处理）。
+     *
+     * @param raw 数据库中的格式值
+     * @return 内容格式
+     */
+    private static ContentFormat parseFormat(String raw) {
+        if (raw == null) {
+            return ContentFormat.MARKDOWN;
+        }
+        try {
+            return ContentFormat.valueOf(raw);
+        } catch (IllegalArgumentException ex) {
+            return ContentFormat.MARKDOWN;
+        }
+    }
+
+    /**
+     * 已索引的题目。
+     *
+     * @param terms 题目包含的词（用于移除）
+     * @param length 加权文档长度
+     */
+    private record IndexedDocument(String[] terms, float length) {
+    }
+
+    /**
+     * 检索命中。
+     *
+     * @param id 题目ID
+     * @param score 相关度
+     */
+    private record Hit(long id, double score) {
+    }
+}
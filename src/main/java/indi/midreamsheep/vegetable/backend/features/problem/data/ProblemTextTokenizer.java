@@ -0,0 +1,172 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ContentFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 题目文本分词器（全文索引与查询共用）。
+ * <p>
+ * 先按内容格式去掉标记：Markdown 的链接/图片地址与 HTML 标签、LaTeX 注释，以及两种格式中
+ * 数学公式里的排版命令（{@code \frac}、{@code \sqrt} 等运算命令保留为词）。之后中日韩文字按相邻二字切分，
+ * 其余字母数字按连续片段切分并转小写；单个字母视为公式变量丢弃，纯数字保留。
+ */
+public final class ProblemTextTokenizer {
+
+    /**
+     * Markdown 图片（保留替代文本）。
+     */
+    private static final Pattern MARKDOWN_IMAGE = Pattern.compile("!\\[([^\\]]*)]\\([^)]*\\)");
+    /**
+     * Markdown 链接（保留链接文本）。
+     */
+    private static final Pattern MARKDOWN_LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    /**
+     * HTML 标签。
+     */
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    /**
+     * 裸 URL。
+     */
+    private static final Pattern URL = Pattern.compile("https?://\\S+");
+    /**
+     * LaTeX 行注释（不含转义的 {@code \%}）。
+     */
+    private static final Pattern LATEX_COMMENT = Pattern.compile("(?<!\\\\)%[^\\n]*");
+    /**
+     * LaTeX 命令或转义符号。
+     */
+    private static final Pattern LATEX_COMMAND = Pattern.compile("\\\\([a-zA-Z]+)|\\\\.");
+
+    /**
+     * 只影响排版、不承载语义的 LaTeX 命令（去掉命令名，保留参数文本）。
+     */
+    private static final Set<String> LAYOUT_COMMANDS = Set.of(
+            "begin", "end", "left", "right", "text", "textbf", "textit", "emph", "mathrm", "mathbf", "mathit",
+            "mathbb", "mathcal", "boldsymbol", "operatorname", "displaystyle", "quad", "qquad", "hline", "label",
+            "ref", "cite", "item", "section", "subsection", "usepackage", "documentclass", "newline", "vspace",
+            "hspace", "noindent", "par", "big", "bigg", "large", "small", "centering", "limits", "dfrac", "tfrac"
+    );
+
+    /**
+     * 工具类不允许实例化。
+     */
+    private ProblemTextTokenizer() {
+    }
+
+    /**
+     * 对一段内容分词。
+     *
+     * @param text 文本（可为空）
+     * @param format 内容格式（为空按 Markdown 处理）
+     * @return 词列表（保留重复，用于计算词频）
+     */
+    public static List<String> tokenize(String text, ContentFormat format) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String cleaned = text;
+        if (format == ContentFormat.LATEX) {
+            cleaned = LATEX_COMMENT.matcher(cleaned).replaceAll(" ");
+        } else {
+            cleaned = MARKDOWN_IMAGE.matcher(cleaned).replaceAll("$1");
+            cleaned = MARKDOWN_LINK.matcher(cleaned).replaceAll("$1");
+            cleaned = HTML_TAG.matcher(cleaned).replaceAll(" ");
+        }
+        cleaned = URL.matcher(cleaned).replaceAll(" ");
+        cleaned = replaceCommands(cleaned);
+        List<String> tokens = new ArrayList<>();
+        split(cleaned, tokens);
+        return tokens;
+    }
+
+    /**
+     * 将 LaTeX 命令替换为命令名（运算类）或空白（排版类、转义符号）。
+     *
+     * @param text 文本
+     * @return 替换后的文本
+     */
+    private static String replaceCommands(String text) {
+        Matcher matcher = LATEX_COMMAND.matcher(text);
+        StringBuilder out = new StringBuilder(text.length());
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            String replacement = name == null || LAYOUT_COMMANDS.contains(name) ? " " : " " + name + " ";
+            matcher.appendReplacement(out, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    /**
+     * 按字符类别切分：中日韩文字二元切分，其余字母数字取连续片段。
+     *
+     * @param text 已去除标记的文本
+     * @param tokens 输出词列表
+     */
+    private static void split(String text, List<String> tokens) {
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            if (isCjk(cp)) {
+                int start = i;
+                while (i < length && isCjk(text.codePointAt(i))) {
+                    i += Character.charCount(text.codePointAt(i));
+                }
+                emitBigrams(text.substring(start, i), tokens);
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < length) {
+                    int next = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(next) || isCjk(next)) {
+                        break;
+                    }
+                    i += Character.charCount(next);
+                }
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (word.codePointCount(0, word.length()) >= 2 || Character.isDigit(word.codePointAt(0))) {
+                    tokens.add(word);
+                }
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+    }
+
+    /**
+     * 输出中日韩文字片段的二元切分；单字片段原样输出。
+     *
+     * @param run 连续的中日韩文字
+     * @param tokens 输出词列表
+     */
+    private static void emitBigrams(String run, List<String> tokens) {
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int k = 0; k + 1 < cps.length; k++) {
+            tokens.add(new String(cps, k, 2));
+        }
+    }
+
+    /**
+     * 判断字符是否属于中日韩文字。
+     *
+     * @param cp 码点
+     * @return 是否中日韩文字
+     */
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,70 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemViewCounterPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.counter.WriteBehindCounter;
+import indi.midreamsheep.vegetable.backend.infrastructure.counter.WriteBehindCounterProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * 题目浏览计数适配器：浏览量先在内存中聚合，再以单条批量 UPDATE 落库。
+ * <p>
+ * 关闭 {@code counter.write-behind.enabled} 时退化为每次浏览同步 +1。
+ */
+@Component
+public class ProblemViewCounterAdapter implements ProblemViewCounterPort, DisposableBean {
+
+    private final ProblemRepositoryPort problemRepositoryPort;
+    private final WriteBehindCounter counter;
+
+    /**
+     * 构造题目浏览计数适配器。
+     *
+     * @param problemRepositoryPort 题目仓储端口
+     * @param properties 写后计数器配置
+     */
+    public ProblemViewCounterAdapter(
+            ProblemRepositoryPort problemRepositoryPort,
+            WriteBehindCounterProperties properties
+    ) {
+        properties.validate();
+        this.problemRepositoryPort = problemRepositoryPort;
+        this.counter = properties.enabled()
+                ? new WriteBehindCounter(
+                        "problem-view",
+                        properties.flushIntervalMillis(),
+                        properties.maxPendingEvents(),
+                        problemRepositoryPort::addViewCounts
+                )
+                : null;
+    }
+
+    @Override
+    public void recordView(long problemId) {
+        if (counter == null) {
+            problemRepositoryPort.incrementViewCount(problemId);
+            return;
+        }
+        counter.add(problemId, 1);
+    }
+
+    /**
+     * 立即落库所有未刷盘的浏览量。
+     */
+    public void flush() {
+        if (counter != null) {
+            counter.flush();
+        }
+    }
+
+    /**
+     * 应用关闭时刷盘剩余浏览量。
+     */
+    @Override
+    public void destroy() {
+        if (counter != null) {
+            counter.close();
+        }
+    }
+}
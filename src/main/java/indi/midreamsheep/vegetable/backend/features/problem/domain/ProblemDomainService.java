@@ -4,18 +4,34 @@ import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemCreateCommand;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemUpdateCommand;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemCursorPage;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemDetailData;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemFacetCounts;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemIdPage;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSearchHits;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemFacetPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRankingPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRelatedPort;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemSearchPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemViewCounterPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemFacetFilter;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemQuery;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.TagDomainService;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.command.TagCreateCommand;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.model.TagData;
 import org.springframework.util.StringUtils;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -26,16 +42,39 @@ public class ProblemDomainService {
 
     private final ProblemRepositoryPort problemRepositoryPort;
     private final TagDomainService tagDomainService;
+    private final ProblemViewCounterPort problemViewCounterPort;
+    private final ProblemSearchPort problemSearchPort;
+    private final ProblemFacetPort problemFacetPort;
+    private final ProblemRankingPort problemRankingPort;
+    private final ProblemRelatedPort problemRelatedPort;
 
     /**
      * 构造题目领域服务。
      *
      * @param problemRepositoryPort 题目仓储端口
      * @param tagDomainService 标签领域服务
+     * @param problemViewCounterPort 题目浏览计数端口
+     * @param problemSearchPort 题目全文检索端口
+     * @param problemFacetPort 题目分面索引端口
+     * @param problemRankingPort 题目热度排行端口
+     * @param problemRelatedPort 相关题目端口
      */
-    public ProblemDomainService(ProblemRepositoryPort problemRepositoryPort, TagDomainService tagDomainService) {
+    public ProblemDomainService(
+            ProblemRepositoryPort problemRepositoryPort,
+            TagDomainService tagDomainService,
+            ProblemViewCounterPort problemViewCounterPort,
+            ProblemSearchPort problemSearchPort,
+            ProblemFacetPort problemFacetPort,
+            ProblemRankingPort problemRankingPort,
+            ProblemRelatedPort problemRelatedPort
+    ) {
         this.problemRepositoryPort = problemRepositoryPort;
         this.tagDomainService = tagDomainService;
+        this.problemViewCounterPort = problemViewCounterPort;
+        this.problemSearchPort = problemSearchPort;
+        this.problemFacetPort = problemFacetPort;
+        this.problemRankingPort = problemRankingPort;
+        this.problemRelatedPort = problemRelatedPort;
     }
 
     /**
@@ -62,7 +101,9 @@ public class ProblemDomainService {
                     command.tagIds()
             );
         }
-        return problemRepositoryPort.create(finalCommand);
+        long id = problemRepositoryPort.create(finalCommand);
+        notifyChanged(id);
+        return id;
     }
 
     /**
@@ -72,7 +113,146 @@ public class ProblemDomainService {
      * @return 分页结果
      */
     public PageResponse<ProblemSummaryData> listPublic(ProblemQuery query) {
-        return problemRepositoryPort.listPublic(query);
+        if (servedByHotRanking(query)) {
+            Optional<PageResponse<Long>> hotPage = problemRankingPort.listHot(
+                    query.subject(),
+                    query.page(),
+                    query.pageSize()
+            );
+            if (hotPage.isPresent()) {
+                long total = query.totalMode() == TotalMode.NONE ? -1L : hotPage.get().total();
+                return new PageResponse<>(loadPublicSummaries(hotPage.get().items()), query.page(), query.pageSize(),
+                        total);
+            }
+        }
+        if (!StringUtils.hasText(query.keyword())) {
+            int offset = Math.max(0, (query.page() - 1) * query.pageSize());
+            Optional<ProblemIdPage> facetPage = problemFacetPort.page(
+                    query.facetFilter(),
+                    ProblemListCursor.sortKeyOf(query.sort()),
+                    offset,
+                    query.pageSize()
+            );
+            if (facetPage.isPresent()) {
+                long total = query.totalMode() == TotalMode.NONE ? -1L : facetPage.get().total();
+                return new PageResponse<>(loadPublicSummaries(facetPage.get().ids()), query.page(), query.pageSize(),
+                        total);
+            }
+        }
+        Optional<ProblemSearchHits> hits = searchKeyword(query);
+        PageResponse<ProblemSummaryData> page = problemRepositoryPort.listPublic(
+                hits.map(found -> query.withMatchedIds(found.ids())).orElse(query));
+        if (hits.isPresent() && hits.get().truncated()) {
+            // 只有相关度最高的一部分参与分页，按候选ID统计的总数偏小，改为报告未知总数。
+            return new PageResponse<>(page.items(), page.page(), page.pageSize(), -1L);
+        }
+        return page;
+    }
+
+    /**
+     * 查询公开题目列表（游标分页）。
+     *
+     * @param query 查询条件（cursor 为空表示第一页）
+     * @return 游标分页结果
+     */
+    public ProblemCursorPage listPublicByCursor(ProblemQuery query) {
+        if (servedByHotRanking(query)) {
+            Optional<ProblemIdPage> hotPage = problemRankingPort.seekHot(
+                    query.subject(),
+                    query.cursor(),
+                    query.pageSize()
+            );
+            if (hotPage.isPresent()) {
+                return new ProblemCursorPage(loadPublicSummaries(hotPage.get().ids()), hotPage.get().nextCursor());
+            }
+        }
+        if (query.cursor() != null && query.cursor().fromRanking()) {
+            // 排行游标的 sortValue 是热度分，数据库无法按它继续翻页。
+            throw new BizException(ErrorCode.BAD_REQUEST, "cursor 已失效，请从第一页重新加载");
+        }
+        if (!StringUtils.hasText(query.keyword())) {
+            Optional<ProblemIdPage> facetPage = problemFacetPort.seek(
+                    query.facetFilter(),
+                    ProblemListCursor.sortKeyOf(query.sort()),
+                    query.cursor(),
+                    query.pageSize()
+            );
+            if (facetPage.isPresent()) {
+                return new ProblemCursorPage(loadPublicSummaries(facetPage.get().ids()), facetPage.get().nextCursor());
+            }
+        }
+        return problemRepositoryPort.listPublicByCursor(searchKeyword(query)
+                .map(found -> query.withMatchedIds(found.ids()))
+                .orElse(query));
+    }
+
+    /**
+     * 统计公开题目在当前筛选条件下各标签、各难度的命中数。
+     *
+     * @param filter 筛选条件
+     * @param tagLimit 最多返回的标签数（1-200）
+     * @return 分面统计
+     */
+    public ProblemFacetCounts countFacets(ProblemFacetFilter filter, int tagLimit) {
+        if (tagLimit < 1 || tagLimit > 200) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "tagLimit 必须在 1-200 范围内");
+        }
+        return problemFacetPort.count(filter, tagLimit)
+                .orElseThrow(() -> new BizException(ErrorCode.SERVICE_UNAVAILABLE, "筛选索引尚未就绪，请稍后重试"));
+    }
+
+    /**
+     * 获取与题目相关的公开题目（按标签、学科与难度的相似度降序，由相关题目索引预先算好）。
+     *
+     * @param id 题目ID
+     * @param requesterId 访问者ID（可为空）
+     * @param limit 最多返回的题目数（1-50）
+     * @return 相关题目摘要
+     */
+    public List<ProblemSummaryData> listRelated(long id, Long requesterId, int limit) {
+        if (limit < 1 || limit > 50) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "limit 必须在 1-50 范围内");
+        }
+        ProblemDetailData detail = problemRepositoryPort.findById(id)
+                .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题目不存在"));
+        boolean visible = detail.visibility() == Visibility.PUBLIC && detail.status() == ProblemStatus.PUBLISHED;
+        if (!visible && (requesterId == null || requesterId != detail.authorId())) {
+            throw new BizException(ErrorCode.FORBIDDEN, "无权限访问该题目");
+        }
+        List<Long> relatedIds = problemRelatedPort.related(id)
+                .orElseThrow(() -> new BizException(ErrorCode.SERVICE_UNAVAILABLE, "相关题目索引尚未就绪，请稍后重试"));
+        return loadPublicSummaries(relatedIds.size() > limit ? relatedIds.subList(0, limit) : relatedIds);
+    }
+
+    /**
+     * 按分面索引给出的顺序加载题目摘要；索引更新前已不再公开的题目不返回。
+     *
+     * @param ids 题目ID（已排序）
+     * @return 题目摘要列表
+     */
+    private List<ProblemSummaryData> loadPublicSummaries(List<Long> ids) {
+        Map<Long, ProblemSummaryData> byId = new HashMap<>();
+        for (ProblemSummaryData data : problemRepositoryPort.listSummariesByIds(ids)) {
+            byId.put(data.id(), data);
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .filter(data -> data.status() == ProblemStatus.PUBLISHED && data.visibility() == Visibility.PUBLIC)
+                .toList();
+    }
+
+    /**
+     * 关键词优先走全文索引：命中结果作为候选ID下推到列表查询；无关键词或索引不可用时返回空，保持标题模糊匹配。
+     *
+     * @param query 查询条件
+     * @return 全文检索结果
+     */
+    private Optional<ProblemSearchHits> searchKeyword(ProblemQuery query) {
+        if (!StringUtils.hasText(query.keyword())) {
+            return Optional.empty();
+        }
+        return problemSearchPort.search(query.keyword().trim());
     }
 
     /**
@@ -109,7 +289,7 @@ public class ProblemDomainService {
                 .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题目不存在"));
         if (detail.visibility() == Visibility.PUBLIC && detail.status() == ProblemStatus.PUBLISHED) {
             if (requesterId == null || requesterId != detail.authorId()) {
-                problemRepositoryPort.incrementViewCount(id);
+                problemViewCounterPort.recordView(id);
             }
             return detail;
         }
@@ -131,7 +311,7 @@ public class ProblemDomainService {
         if (detail.visibility() != Visibility.UNLISTED || detail.status() != ProblemStatus.PUBLISHED) {
             throw new BizException(ErrorCode.NOT_FOUND, "题目不存在");
         }
-        problemRepositoryPort.incrementViewCount(detail.id());
+        problemViewCounterPort.recordView(detail.id());
         return detail;
     }
 
@@ -165,7 +345,9 @@ public class ProblemDomainService {
                 existing.publishedAt(),
                 command.tagIds()
         );
-        return problemRepositoryPort.update(finalCommand);
+        ProblemDetailData updated = problemRepositoryPort.update(finalCommand);
+        notifyChanged(updated.id());
+        return updated;
     }
 
     /**
@@ -214,10 +396,13 @@ public class ProblemDomainService {
         problemRepositoryPort.update(updateCommand);
 
         if (existing.status() == ProblemStatus.PUBLISHED) {
+            notifyChanged(id);
             return problemRepositoryPort.findById(id)
                     .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题目不存在"));
         }
-        return problemRepositoryPort.publish(id);
+        ProblemDetailData published = problemRepositoryPort.publish(id);
+        notifyChanged(id);
+        return published;
     }
 
     /**
@@ -267,7 +452,9 @@ public class ProblemDomainService {
     public ProblemDetailData disable(long id) {
         problemRepositoryPort.findById(id)
                 .orElseThrow(() -> new BizException(ErrorCode.NOT_FOUND, "题目不存在"));
-        return problemRepositoryPort.disable(id);
+        ProblemDetailData disabled = problemRepositoryPort.disable(id);
+        notifyChanged(id);
+        return disabled;
     }
 
     /**
@@ -289,7 +476,9 @@ public class ProblemDomainService {
         if (existing.status() == ProblemStatus.DRAFT) {
             throw new BizException(ErrorCode.BAD_REQUEST, "草稿题目无需下架，可直接删除");
         }
-        return problemRepositoryPort.disable(id);
+        ProblemDetailData disabled = problemRepositoryPort.disable(id);
+        notifyChanged(id);
+        return disabled;
     }
 
     /**
@@ -310,6 +499,32 @@ public class ProblemDomainService {
         problemRepositoryPort.softDelete(id);
     }
 
+    /**
+     * 通知检索、筛选、排行与相关题目索引题目已变化。
+     *
+     * @param id 题目ID
+     */
+    private void notifyChanged(long id) {
+        problemSearchPort.problemChanged(id);
+        problemFacetPort.problemChanged(id);
+        problemRankingPort.problemsChanged(List.of(id));
+        problemRelatedPort.problemChanged(id);
+    }
+
+    /**
+     * 判断 HOT 列表能否由热度排行直接提供（仅按学科筛选、无关键词/标签/难度条件）。
+     *
+     * @param query 查询条件
+     * @return 是否走热度排行
+     */
+    private static boolean servedByHotRanking(ProblemQuery query) {
+        return ProblemListCursor.SORT_HOT.equals(query.sort())
+                && !StringUtils.hasText(query.keyword())
+                && (query.tagIds() == null || query.tagIds().isEmpty())
+                && query.difficultyMin() == null
+                && query.difficultyMax() == null;
+    }
+
     /**
      * 若可见性为 UNLISTED，则生成 shareKey。
      *
@@ -0,0 +1,51 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 题目热度分：{@code log10(1 + 加权互动量) + 发布时间(秒) / decaySeconds}，
+ * 加权互动量为 {@code favoriteWeight * 收藏 + likeWeight * 点赞 + commentWeight * 评论 + viewWeight * 浏览}。
+ * <p>
+ * 与评论热度分相同，时间项只与发布时间有关，分数可以预先计算并增量维护；
+ * 晚发布 decaySeconds 秒的题目只需十分之一的互动量就能排到同一位置。
+ *
+ * @param favoriteWeight 一次收藏的权重
+ * @param likeWeight 一次点赞的权重
+ * @param commentWeight 一条评论的权重
+ * @param viewWeight 一次浏览的权重
+ * @param decaySeconds 互动量每差 10 倍对应的发布时间差（秒）
+ */
+public record ProblemHotScore(
+        double favoriteWeight,
+        double likeWeight,
+        double commentWeight,
+        double viewWeight,
+        long decaySeconds
+) {
+
+    /**
+     * 时间项的起点（2026-01-01T00:00:00Z），避免分数中的时间项过大损失精度。
+     */
+    private static final long EPOCH_SECONDS = 1767225600L;
+
+    /**
+     * 计算热度分。
+     *
+     * @param favoriteCount 收藏数
+     * @param likeCount 点赞数
+     * @param commentCount 评论数
+     * @param viewCount 浏览数
+     * @param publishedAt 发布时间（为空时按时间起点计算）
+     * @return 热度分
+     */
+    public double score(long favoriteCount, long likeCount, long commentCount, long viewCount, LocalDateTime publishedAt) {
+        double engagement = 1.0
+                + favoriteWeight * Math.max(0L, favoriteCount)
+                + likeWeight * Math.max(0L, likeCount)
+                + commentWeight * Math.max(0L, commentCount)
+                + viewWeight * Math.max(0L, viewCount);
+        long seconds = publishedAt == null ? 0L : publishedAt.toEpochSecond(ZoneOffset.UTC) - EPOCH_SECONDS;
+        return Math.log10(engagement) + (double) seconds / decaySeconds;
+    }
+}
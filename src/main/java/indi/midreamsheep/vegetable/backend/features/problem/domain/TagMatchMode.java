@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain;
+
+/**
+ * 多标签筛选的匹配方式。
+ */
+public enum TagMatchMode {
+    /**
+     * 任一标签命中即可（OR，默认）。
+     */
+    ANY,
+    /**
+     * 全部标签都需命中（AND）。
+     */
+    ALL
+}
@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.model;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
+
+import java.util.List;
+
+/**
+ * 游标分页的题目摘要结果。
+ *
+ * @param items 摘要列表
+ * @param nextCursor 下一页游标（没有更多数据时为 null）
+ */
+public record ProblemCursorPage(
+        List<ProblemSummaryData> items,
+        ProblemListCursor nextCursor
+) {
+}
@@ -0,0 +1,13 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.model;
+
+/**
+ * 单个分面取值的命中数。
+ *
+ * @param value 取值（标签ID或难度）
+ * @param count 命中题目数
+ */
+public record ProblemFacetCount(
+        long value,
+        long count
+) {
+}
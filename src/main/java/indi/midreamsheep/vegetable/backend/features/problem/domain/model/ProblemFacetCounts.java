@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.model;
+
+import java.util.List;
+
+/**
+ * 当前筛选结果的分面统计。
+ *
+ * @param total 满足筛选条件的题目总数
+ * @param tags 各标签在结果中的命中数（按命中数降序，有上限）
+ * @param difficulties 各难度在结果中的命中数（按难度升序）
+ */
+public record ProblemFacetCounts(
+        long total,
+        List<ProblemFacetCount> tags,
+        List<ProblemFacetCount> difficulties
+) {
+}
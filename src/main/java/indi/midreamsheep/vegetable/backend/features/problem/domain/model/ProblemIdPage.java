@@ -0,0 +1,19 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.model;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
+
+import java.util.List;
+
+/**
+ * 按某种排序取出的一页题目ID（分面索引与热度排行共用）。
+ *
+ * @param ids 当前页题目ID（已按排序键排好）
+ * @param total 满足筛选条件的题目总数
+ * @param nextCursor 下一页游标（仅游标模式；为空表示没有更多数据）
+ */
+public record ProblemIdPage(
+        List<Long> ids,
+        long total,
+        ProblemListCursor nextCursor
+) {
+}
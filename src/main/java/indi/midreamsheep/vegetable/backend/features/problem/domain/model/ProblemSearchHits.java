@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.model;
+
+import java.util.List;
+
+/**
+ * 全文检索结果。
+ *
+ * @param ids 按相关度降序的题目ID（最多取检索上限条）
+ * @param truncated 命中数是否超过检索上限（超过时 ids 只是相关度最高的一部分）
+ */
+public record ProblemSearchHits(
+        List<Long> ids,
+        boolean truncated
+) {
+}
@@ -18,6 +18,7 @@ import java.util.List;
  * @param publishedAt 发布时间
  * @param authorId 作者ID
  * @param tagIds 标签ID列表
+ * @param commentCount 评论数（未删除，含回复）
  */
 public record ProblemSummaryData(
         long id,
@@ -28,6 +29,7 @@ public record ProblemSummaryData(
         Visibility visibility,
         LocalDateTime publishedAt,
         long authorId,
-        List<Long> tagIds
+        List<Long> tagIds,
+        long commentCount
 ) {
 }
@@ -0,0 +1,54 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.port;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemFacetCounts;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemIdPage;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemFacetFilter;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
+
+import java.util.Optional;
+
+/**
+ * 公开题目分面索引端口：按学科、标签、难度筛选并按排序键取页，统计各分面的命中数。
+ * <p>
+ * 索引尚未就绪或不支持给定排序键时返回空，调用方退回数据库查询。
+ */
+public interface ProblemFacetPort {
+
+    /**
+     * 按偏移量取一页题目ID。
+     *
+     * @param filter 筛选条件
+     * @param sortKey 排序键（见 {@link ProblemListCursor#sortKeyOf}）
+     * @param offset 偏移量
+     * @param limit 页大小
+     * @return 当前页题目ID与总数
+     */
+    Optional<ProblemIdPage> page(ProblemFacetFilter filter, String sortKey, int offset, int limit);
+
+    /**
+     * 按游标取一页题目ID。
+     *
+     * @param filter 筛选条件
+     * @param sortKey 排序键（见 {@link ProblemListCursor#sortKeyOf}）
+     * @param cursor 游标（为空表示第一页）
+     * @param limit 页大小
+     * @return 当前页题目ID、总数与下一页游标
+     */
+    Optional<ProblemIdPage> seek(ProblemFacetFilter filter, String sortKey, ProblemListCursor cursor, int limit);
+
+    /**
+     * 统计筛选结果中各标签、各难度的命中数。
+     *
+     * @param filter 筛选条件
+     * @param tagLimit 最多返回的标签数
+     * @return 分面统计
+     */
+    Optional<ProblemFacetCounts> count(ProblemFacetFilter filter, int tagLimit);
+
+    /**
+     * 通知题目的学科、难度、标签或公开状态可能发生变化。
+     *
+     * @param problemId 题目ID
+     */
+    void problemChanged(long problemId);
+}
@@ -0,0 +1,29 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.port;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemQuery;
+
+import java.util.function.Supplier;
+
+/**
+ * 公开题目列表响应缓存端口：按归一化后的查询条件缓存前几页已序列化的完整响应体。
+ */
+public interface ProblemListCachePort {
+
+    /**
+     * 查询是否走缓存（只缓存前几页、不带关键词且不按 HOT 排序的查询）。
+     *
+     * @param query 查询条件
+     * @return 是否可缓存
+     */
+    boolean cacheable(ProblemQuery query);
+
+    /**
+     * 读取响应体：未命中时由同一个请求调用 loader 构建，并发的相同查询等待其结果；
+     * 条目超过有效期但仍在陈旧窗口内时直接返回旧值，并在后台刷新。
+     *
+     * @param query 查询条件
+     * @param loader 响应体构建函数（可能在后台线程执行，不能依赖请求级状态）
+     * @return 序列化后的响应体
+     */
+    byte[] get(ProblemQuery query, Supplier<byte[]> loader);
+}
@@ -0,0 +1,44 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.port;
+
+import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemIdPage;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 公开题目热度排行端口：按学科（及全站）维护热度最高的前若干道题。
+ * <p>
+ * 排行尚未建好时返回空，调用方退回数据库排序。排行只保留前若干道题，HOT 列表只在排行范围内翻页，
+ * 不与数据库的收藏数排序拼接，以免在衔接处重复或遗漏题目。
+ */
+public interface ProblemRankingPort {
+
+    /**
+     * 按热度分页获取题目ID。
+     *
+     * @param subject 学科（为空表示全站）
+     * @param page 页码
+     * @param pageSize 每页大小
+     * @return 题目ID分页（total 为排行条数，超出排行范围的页为空）；排行未就绪时为空
+     */
+    Optional<PageResponse<Long>> listHot(String subject, int page, int pageSize);
+
+    /**
+     * 按游标获取下一页题目ID（排行签发的游标 sortValue 为排行内部的热度分）。
+     *
+     * @param subject 学科（为空表示全站）
+     * @param cursor 游标（为空表示第一页）
+     * @param limit 页大小
+     * @return 当前页题目ID与下一页游标（读到排行末尾时为空）；排行未就绪或游标不是排行签发时为空
+     */
+    Optional<ProblemIdPage> seekHot(String subject, ProblemListCursor cursor, int limit);
+
+    /**
+     * 通知题目的互动计数、学科或公开状态发生变化。
+     *
+     * @param problemIds 题目ID集合
+     */
+    void problemsChanged(Collection<Long> problemIds);
+}
@@ -0,0 +1,25 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.port;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 相关题目端口：为每道公开题目预先算好按标签、学科与难度最相似的若干道题。
+ */
+public interface ProblemRelatedPort {
+
+    /**
+     * 获取预先算好的相关题目ID。
+     *
+     * @param problemId 题目ID
+     * @return 相关题目ID（按相似度降序；索引尚未建好时返回空，题目不在索引中时为空列表）
+     */
+    Optional<List<Long>> related(long problemId);
+
+    /**
+     * 通知题目的标签、学科、难度或公开状态发生变化。
+     *
+     * @param problemId 题目ID
+     */
+    void problemChanged(long problemId);
+}
@@ -4,12 +4,16 @@ import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemCreateCommand;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemUpdateCommand;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemCursorPage;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemDetailData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemQuery;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 题目仓储端口：定义领域对持久化的依赖。
@@ -48,6 +52,16 @@ public interface ProblemRepositoryPort {
      */
     PageResponse<ProblemSummaryData> listPublic(ProblemQuery query);
 
+    /**
+     * 查询公开题目列表（游标分页，不统计总数）。
+     * <p>
+     * 以 {@link ProblemQuery#cursor()} 为起点做 keyset 查询，避免深翻页时的 offset 扫描。
+     *
+     * @param query 查询条件
+     * @return 游标分页结果
+     */
+    ProblemCursorPage listPublicByCursor(ProblemQuery query);
+
     /**
      * 查询作者的题目列表（分页）。
      *
@@ -67,6 +81,14 @@ public interface ProblemRepositoryPort {
      */
     List<ProblemSummaryData> listSummariesByIds(List<Long> ids);
 
+    /**
+     * 从一组 ID 中筛出存在（未删除）的题目ID，只查主键。
+     *
+     * @param ids 题目ID集合
+     * @return 存在的题目ID集合
+     */
+    Set<Long> findExistingIds(Collection<Long> ids);
+
     /**
      * 更新题目信息，并返回最新详情。
      *
@@ -106,31 +128,31 @@ public interface ProblemRepositoryPort {
     void incrementViewCount(long id);
 
     /**
-     * 题目收藏数 +1。
+     * 批量累加浏览量（单条 UPDATE ... CASE 语句，按批次执行）。
      *
-     * @param id 题目ID
+     * @param deltas 题目ID -> 浏览量增量
      */
-    void incrementFavoriteCount(long id);
+    void addViewCounts(Map<Long, Long> deltas);
 
     /**
-     * 题目收藏数 -1（不会减到负数）。
+     * 批量累加评论数（结果不低于 0）。
      *
-     * @param id 题目ID
+     * @param deltas 题目ID -> 评论数增量
      */
-    void decrementFavoriteCount(long id);
+    void addCommentCounts(Map<Long, Long> deltas);
 
     /**
-     * 题目点赞数 +1。
+     * 批量累加题目收藏数（结果不低于 0）。
      *
-     * @param id 题目ID
+     * @param deltas 题目ID -> 收藏数净增量
      */
-    void incrementLikeCount(long id);
+    void addFavoriteCounts(Map<Long, Long> deltas);
 
     /**
-     * 题目点赞数 -1（不会减到负数）。
+     * 批量累加题目点赞数（结果不低于 0）。
      *
-     * @param id 题目ID
+     * @param deltas 题目ID -> 点赞数净增量
      */
-    void decrementLikeCount(long id);
+    void addLikeCounts(Map<Long, Long> deltas);
 
 }
@@ -0,0 +1,27 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.port;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSearchHits;
+
+import java.util.Optional;
+
+/**
+ * 题目全文检索端口：按关键词在公开题目的标题、题干与解析中检索，并按相关度排序。
+ */
+public interface ProblemSearchPort {
+
+    /**
+     * 按关键词检索公开题目。
+     *
+     * @param keyword 关键词
+     * @return 按相关度降序的题目ID（有上限，超过上限时标记为截断）；索引尚未就绪或关键词无可检索的词时返回空，
+     *         调用方应退回标题模糊匹配
+     */
+    Optional<ProblemSearchHits> search(String keyword);
+
+    /**
+     * 通知题目的可检索内容或公开状态发生变化（创建/更新/发布/下架）。
+     *
+     * @param problemId 题目ID
+     */
+    void problemChanged(long problemId);
+}
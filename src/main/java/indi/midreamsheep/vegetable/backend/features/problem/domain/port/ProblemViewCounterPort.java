@@ -0,0 +1,14 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.port;
+
+/**
+ * 题目浏览计数端口：记录一次浏览，由实现决定同步落库还是聚合后批量落库。
+ */
+public interface ProblemViewCounterPort {
+
+    /**
+     * 记录一次题目浏览。
+     *
+     * @param problemId 题目ID
+     */
+    void recordView(long problemId);
+}
@@ -0,0 +1,23 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.query;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.TagMatchMode;
+
+import java.util.List;
+
+/**
+ * 公开题目的分面筛选条件。
+ *
+ * @param subject 学科（为空不限）
+ * @param tagIds 标签ID列表（为空不限）
+ * @param tagMode 多标签匹配方式（为空按 ANY 处理）
+ * @param difficultyMin 难度下限（为空不限）
+ * @param difficultyMax 难度上限（为空不限）
+ */
+public record ProblemFacetFilter(
+        String subject,
+        List<Long> tagIds,
+        TagMatchMode tagMode,
+        Integer difficultyMin,
+        Integer difficultyMax
+) {
+}
@@ -0,0 +1,138 @@
+package indi.midreamsheep.vegetable.backend.features.problem.domain.query;
+
+import indi.midreamsheep.vegetable.backend.common.error.BizException;
+import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 公开题目列表的游标（keyset 分页位置）。
+ * <p>
+ * 记录上一页最后一行的排序键：LATEST 为 {@code (published_at, id)}，
+ * HOT 为 {@code (favorite_count, published_at, id)}，DIFFICULTY 为 {@code (difficulty, published_at, id)}。
+ * 由内存热度排行签发的 HOT 游标，sortValue 为排行内部的热度分而非收藏数，用 source 区分，
+ * 只能回到排行继续翻页。对外以 Base64URL 编码的不透明字符串传递。
+ *
+ * @param sort 排序键（LATEST/HOT/DIFFICULTY）
+ * @param sortValue 首排序列的值（LATEST 时为 null）
+ * @param publishedAt 发布时间
+ * @param id 题目ID
+ * @param source 签发方（DB/RANKING）
+ */
+public record ProblemListCursor(
+        String sort,
+        Long sortValue,
+        LocalDateTime publishedAt,
+        long id,
+        String source
+) {
+
+    /**
+     * 最新发布排序。
+     */
+    public static final String SORT_LATEST = "LATEST";
+
+    /**
+     * 热度（收藏数）排序。
+     */
+    public static final String SORT_HOT = "HOT";
+
+    /**
+     * 难度排序。
+     */
+    public static final String SORT_DIFFICULTY = "DIFFICULTY";
+
+    /**
+     * 由数据库查询或分面索引签发（排序键与数据库列一致）。
+     */
+    public static final String SOURCE_DATABASE = "DB";
+
+    /**
+     * 由内存热度排行签发（sortValue 为排行内部的热度分）。
+     */
+    public static final String SOURCE_RANKING = "RANKING";
+
+    /**
+     * 构造由数据库查询或分面索引签发的游标。
+     *
+     * @param sort 排序键（LATEST/HOT/DIFFICULTY）
+     * @param sortValue 首排序列的值（LATEST 时为 null）
+     * @param publishedAt 发布时间
+     * @param id 题目ID
+     */
+    public ProblemListCursor(String sort, Long sortValue, LocalDateTime publishedAt, long id) {
+        this(sort, sortValue, publishedAt, id, SOURCE_DATABASE);
+    }
+
+    /**
+     * 是否由内存热度排行签发。
+     *
+     * @return 是否为排行游标
+     */
+    public boolean fromRanking() {
+        return SOURCE_RANKING.equals(source);
+    }
+
+    /**
+     * 将列表 sort 参数归一为游标排序键（PUBLISHED_AT 与空值均视为 LATEST）。
+     *
+     * @param sort 列表 sort 参数
+     * @return 游标排序键
+     */
+    public static String sortKeyOf(String sort) {
+        if (SORT_HOT.equals(sort) || SORT_DIFFICULTY.equals(sort)) {
+            return sort;
+        }
+        return SORT_LATEST;
+    }
+
+    /**
+     * 编码为不透明字符串（数据库游标保持原有四段格式，排行游标追加签发方）。
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = sort + "|" + (sortValue == null ? "" : sortValue) + "|" + publishedAt + "|" + id
+                + (fromRanking() ? "|" + SOURCE_RANKING : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标字符串；为空时返回 null（表示第一页）。
+     *
+     * @param cursor 游标字符串
+     * @param expectedSort 当前请求的排序键
+     * @return 游标（可为空）
+     */
+    public static ProblemListCursor decode(String cursor, String expectedSort) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        ProblemListCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 && !(parts.length == 5 && SOURCE_RANKING.equals(parts[4]))) {
+                throw new IllegalArgumentException("parts");
+            }
+            Long sortValue = parts[1].isEmpty() ? null : Long.parseLong(parts[1]);
+            String source = parts.length == 5 ? SOURCE_RANKING : SOURCE_DATABASE;
+            decoded = new ProblemListCursor(
+                    parts[0], sortValue, LocalDateTime.parse(parts[2]), Long.parseLong(parts[3]), source);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "cursor 不合法");
+        }
+        if (!decoded.sort().equals(expectedSort)) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "cursor 与 sort 不匹配");
+        }
+        if ((decoded.fromRanking() && !SORT_HOT.equals(decoded.sort()))
+                || (!SORT_LATEST.equals(decoded.sort()) && decoded.sortValue() == null)) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "cursor 不合法");
+        }
+        return decoded;
+    }
+}
@@ -1,27 +1,58 @@
 package indi.midreamsheep.vegetable.backend.features.problem.domain.query;
 
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.TagMatchMode;
+
 import java.util.List;
 
 /**
  * 题目列表查询参数。
  *
  * @param subject 学科
- * @param tagIds 标签ID列表（多选，OR 语义）
+ * @param tagIds 标签ID列表（多选，匹配方式见 tagMode）
+ * @param tagMode 多标签匹配方式（为空按 ANY 处理）
  * @param difficultyMin 难度下限
  * @param difficultyMax 难度上限
- * @param keyword 关键词（标题）
- * @param sort 排序字段（LATEST/PUBLISHED_AT/DIFFICULTY）
- * @param page 页码（从 1 开始）
+ * @param keyword 关键词（标题、题干与解析）
+ * @param sort 排序字段（LATEST/PUBLISHED_AT/DIFFICULTY/HOT）
+ * @param page 页码（从 1 开始，游标模式下忽略）
  * @param pageSize 每页大小
+ * @param cursor 游标（仅游标模式使用，为空表示第一页）
+ * @param totalMode 总数计算方式（仅分页模式使用，为空按 EXACT 处理）
+ * @param matchedIds 全文检索命中的题目ID（按相关度降序；为空表示未使用全文索引，按标题模糊匹配）
  */
 public record ProblemQuery(
         String subject,
         List<Long> tagIds,
+        TagMatchMode tagMode,
         Integer difficultyMin,
         Integer difficultyMax,
         String keyword,
         String sort,
         int page,
-        int pageSize
+        int pageSize,
+        ProblemListCursor cursor,
+        TotalMode totalMode,
+        List<Long> matchedIds
 ) {
+
+    /**
+     * 带上全文检索命中结果的查询参数。
+     *
+     * @param ids 按相关度降序的题目ID
+     * @return 新的查询参数
+     */
+    public ProblemQuery withMatchedIds(List<Long> ids) {
+        return new ProblemQuery(subject, tagIds, tagMode, difficultyMin, difficultyMax, keyword, sort, page, pageSize,
+                cursor, totalMode, ids);
+    }
+
+    /**
+     * 提取分面筛选条件（学科、标签、难度）。
+     *
+     * @return 分面筛选条件
+     */
+    public ProblemFacetFilter facetFilter() {
+        return new ProblemFacetFilter(subject, tagIds, tagMode, difficultyMin, difficultyMax);
+    }
 }
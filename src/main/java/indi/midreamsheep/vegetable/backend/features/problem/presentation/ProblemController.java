@@ -1,21 +1,34 @@
 package indi.midreamsheep.vegetable.backend.features.problem.presentation;
 
 import indi.midreamsheep.vegetable.backend.common.api.ApiResponse;
+import indi.midreamsheep.vegetable.backend.common.api.CursorPageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.JsonBody;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemDomainService;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.TagMatchMode;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemCreateCommand;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemUpdateCommand;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemCursorPage;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemDetailData;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemFacetCount;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemFacetCounts;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemListCachePort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemFacetFilter;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemQuery;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemCreateRequest;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemCreateResponse;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemDetailResponse;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemDifficultyFacetResponse;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemFacetResponse;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemPublishRequest;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemStatusResponse;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemTagFacetResponse;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemSummaryResponse;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemUpdateRequest;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemAuthorResponse;
@@ -24,7 +37,9 @@ import indi.midreamsheep.vegetable.backend.features.favorite.domain.FavoriteDoma
 import indi.midreamsheep.vegetable.backend.features.like.domain.LikeDomainService;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.model.TagData;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.port.TagRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserProfileData;
 import indi.midreamsheep.vegetable.backend.features.user.domain.port.UserRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.user.presentation.UserProfileBatchLoader;
 import jakarta.validation.Valid;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -39,11 +54,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -56,8 +73,11 @@ public class ProblemController {
     private final ProblemDomainService problemDomainService;
     private final FavoriteDomainService favoriteDomainService;
     private final LikeDomainService likeDomainService;
-    private final UserRepositoryPort userRepositoryPort;
+    private final UserProfileBatchLoader userProfileBatchLoader;
     private final TagRepositoryPort tagRepositoryPort;
+    private final UserRepositoryPort userRepositoryPort;
+    private final ProblemListCachePort problemListCachePort;
+    private final JsonMapper jsonMapper;
 
     /**
      * 构造题目控制器。
@@ -65,21 +85,30 @@ public class ProblemController {
      * @param problemDomainService 题目领域服务
      * @param favoriteDomainService 收藏领域服务
      * @param likeDomainService 点赞领域服务
-     * @param userRepositoryPort 用户仓储端口
+     * @param userProfileBatchLoader 用户资料批量加载器（请求级）
      * @param tagRepositoryPort 标签仓储端口
+     * @param userRepositoryPort 用户仓储端口（缓存构建可能在后台线程执行，不使用请求级加载器）
+     * @param problemListCachePort 公开题目列表响应缓存端口
+     * @param jsonMapper JSON 序列化（与 MVC 消息转换器一致）
      */
     public ProblemController(
             ProblemDomainService problemDomainService,
             FavoriteDomainService favoriteDomainService,
             LikeDomainService likeDomainService,
+            UserProfileBatchLoader userProfileBatchLoader,
+            TagRepositoryPort tagRepositoryPort,
             UserRepositoryPort userRepositoryPort,
-            TagRepositoryPort tagRepositoryPort
+            ProblemListCachePort problemListCachePort,
+            JsonMapper jsonMapper
     ) {
         this.problemDomainService = problemDomainService;
         this.favoriteDomainService = favoriteDomainService;
         this.likeDomainService = likeDomainService;
-        this.userRepositoryPort = userRepositoryPort;
+        this.userProfileBatchLoader = userProfileBatchLoader;
         this.tagRepositoryPort = tagRepositoryPort;
+        this.userRepositoryPort = userRepositoryPort;
+        this.problemListCachePort = problemListCachePort;
+        this.jsonMapper = jsonMapper;
     }
 
     /**
@@ -118,25 +147,33 @@ public class ProblemController {
 
     /**
      * 获取公开题目列表（分页）。
+     * <p>
+     * 未登录请求的前几页（不带关键词）直接返回缓存中已序列化的响应体，响应结构不变。
      *
      * @param subject 学科
+     * @param tagIds 标签ID列表
+     * @param tagMode 多标签匹配方式（ANY/ALL，默认 ANY）
      * @param difficultyMin 难度下限
      * @param difficultyMax 难度上限
-     * @param keyword 关键字（标题）
+     * @param keyword 关键字（标题、题干与解析）
+     * @param sort 排序
      * @param page 页码
      * @param pageSize 每页大小
-     * @return 统一响应体（分页结果）
+     * @param totalMode 总数计算方式（exact/estimate/none，默认 exact）
+     * @return 统一响应体（分页结果；缓存命中时为已序列化的同结构响应体）
      */
     @GetMapping
-    public ApiResponse<PageResponse<ProblemSummaryResponse>> list(
+    public JsonBody<ApiResponse<PageResponse<ProblemSummaryResponse>>> list(
             @RequestParam(value = "subject", required = false) String subject,
             @RequestParam(value = "tagIds", required = false) List<Long> tagIds,
+            @RequestParam(value = "tagMode", required = false) String tagMode,
             @RequestParam(value = "difficultyMin", required = false) Integer difficultyMin,
             @RequestParam(value = "difficultyMax", required = false) Integer difficultyMax,
             @RequestParam(value = "keyword", required = false) String keyword,
             @RequestParam(value = "sort", required = false) String sort,
             @RequestParam(value = "page", required = false, defaultValue = "1") Integer page,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize
+            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize,
+            @RequestParam(value = "totalMode", required = false) String totalMode
     ) {
         int finalPage = normalizePage(page);
         int finalPageSize = normalizePageSize(pageSize);
@@ -147,19 +184,127 @@ public class ProblemController {
         ProblemQuery query = new ProblemQuery(
                 subject,
                 finalTagIds,
+                parseTagMode(tagMode),
                 difficultyMin,
                 difficultyMax,
                 keyword,
                 normalizedSort,
                 finalPage,
-                finalPageSize
+                finalPageSize,
+                null,
+                TotalMode.parse(totalMode),
+                null
         );
-        PageResponse<ProblemSummaryData> result = problemDomainService.listPublic(query);
+        if (currentUserIdOrNull() == null && problemListCachePort.cacheable(query)) {
+            byte[] body = problemListCachePort.get(
+                    query,
+                    () -> jsonMapper.writeValueAsBytes(listPublicPage(query, this::loadAuthorsDirectly))
+            );
+            return JsonBody.serialized(body);
+        }
+        return JsonBody.of(listPublicPage(query, this::loadAuthors));
+    }
+
+    /**
+     * 获取公开题目列表（游标分页）。
+     * <p>
+     * 请求携带 {@code cursor} 参数时进入该模式：首次传空字符串，之后传上一页返回的 {@code nextCursor}；
+     * 不返回总数，{@code nextCursor} 为 null 表示没有更多数据。
+     *
+     * @param subject 学科
+     * @param tagIds 标签ID列表
+     * @param tagMode 多标签匹配方式（ANY/ALL，默认 ANY）
+     * @param difficultyMin 难度下限
+     * @param difficultyMax 难度上限
+     * @param keyword 关键字（标题、题干与解析）
+     * @param sort 排序
+     * @param cursor 游标
+     * @param pageSize 每页大小
+     * @return 统一响应体（游标分页结果）
+     */
+    @GetMapping(params = "cursor")
+    public ApiResponse<CursorPageResponse<ProblemSummaryResponse>> listByCursor(
+            @RequestParam(value = "subject", required = false) String subject,
+            @RequestParam(value = "tagIds", required = false) List<Long> tagIds,
+            @RequestParam(value = "tagMode", required = false) String tagMode,
+            @RequestParam(value = "difficultyMin", required = false) Integer difficultyMin,
+            @RequestParam(value = "difficultyMax", required = false) Integer difficultyMax,
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize
+    ) {
+        int finalPageSize = normalizePageSize(pageSize);
+        validateDifficultyRange(difficultyMin, difficultyMax);
+        List<Long> finalTagIds = normalizeOptionalIds(tagIds, "tagIds");
+        String normalizedSort = normalizeSort(sort);
+        ProblemListCursor decodedCursor = ProblemListCursor.decode(cursor, ProblemListCursor.sortKeyOf(normalizedSort));
+
+        ProblemQuery query = new ProblemQuery(
+                subject,
+                finalTagIds,
+                parseTagMode(tagMode),
+                difficultyMin,
+                difficultyMax,
+                keyword,
+                normalizedSort,
+                1,
+                finalPageSize,
+                decodedCursor,
+                TotalMode.NONE,
+                null
+        );
+        ProblemCursorPage result = problemDomainService.listPublicByCursor(query);
         Map<Long, ProblemTagResponse> tagMap = buildTagMap(result.items());
+        Map<Long, UserProfileData> authors = loadAuthors(result.items());
         List<ProblemSummaryResponse> items = result.items().stream()
-                .map(data -> toSummaryResponse(data, tagMap))
+                .map(data -> ProblemResponseMapper.toSummary(data, tagMap, authors))
                 .toList();
-        return ApiResponse.ok(new PageResponse<>(items, result.page(), result.pageSize(), result.total()));
+        String nextCursor = result.nextCursor() == null ? null : result.nextCursor().encode();
+        return ApiResponse.ok(new CursorPageResponse<>(items, finalPageSize, nextCursor));
+    }
+
+    /**
+     * 公开题目分面统计：当前筛选条件下的总数、各标签与各难度的命中数。
+     *
+     * @param subject 学科
+     * @param tagIds 标签ID列表
+     * @param tagMode 多标签匹配方式（ANY/ALL，默认 ANY）
+     * @param difficultyMin 难度下限
+     * @param difficultyMax 难度上限
+     * @param tagLimit 最多返回的标签数
+     * @return 统一响应体（分面统计）
+     */
+    @GetMapping("/facets")
+    public ApiResponse<ProblemFacetResponse> facets(
+            @RequestParam(value = "subject", required = false) String subject,
+            @RequestParam(value = "tagIds", required = false) List<Long> tagIds,
+            @RequestParam(value = "tagMode", required = false) String tagMode,
+            @RequestParam(value = "difficultyMin", required = false) Integer difficultyMin,
+            @RequestParam(value = "difficultyMax", required = false) Integer difficultyMax,
+            @RequestParam(value = "tagLimit", required = false, defaultValue = "50") Integer tagLimit
+    ) {
+        validateDifficultyRange(difficultyMin, difficultyMax);
+        ProblemFacetFilter filter = new ProblemFacetFilter(
+                subject,
+                normalizeOptionalIds(tagIds, "tagIds"),
+                parseTagMode(tagMode),
+                difficultyMin,
+                difficultyMax
+        );
+        ProblemFacetCounts counts = problemDomainService.countFacets(filter, tagLimit == null ? 50 : tagLimit);
+        List<Long> facetTagIds = counts.tags().stream().map(ProblemFacetCount::value).toList();
+        Map<Long, String> tagNames = facetTagIds.isEmpty()
+                ? Map.of()
+                : tagRepositoryPort.findByIds(facetTagIds).stream().collect(Collectors.toMap(TagData::id, TagData::name));
+        List<ProblemTagFacetResponse> tags = counts.tags().stream()
+                .filter(count -> tagNames.containsKey(count.value()))
+                .map(count -> new ProblemTagFacetResponse(count.value(), tagNames.get(count.value()), count.count()))
+                .toList();
+        List<ProblemDifficultyFacetResponse> difficulties = counts.difficulties().stream()
+                .map(count -> new ProblemDifficultyFacetResponse((int) count.value(), count.count()))
+                .toList();
+        return ApiResponse.ok(new ProblemFacetResponse(counts.total(), tags, difficulties));
     }
 
     /**
@@ -172,11 +317,38 @@ public class ProblemController {
     public ApiResponse<ProblemDetailResponse> detail(@PathVariable("id") long id) {
         Long requesterId = currentUserIdOrNull();
         ProblemDetailData detail = problemDomainService.getDetail(id, requesterId);
-        ProblemAuthorResponse author = buildAuthor(detail.authorId());
+        ProblemAuthorResponse author = ProblemResponseMapper.toAuthor(
+                detail.authorId(),
+                userProfileBatchLoader.load(detail.authorId()).orElse(null)
+        );
         List<ProblemTagResponse> tags = buildTags(detail.tagIds());
         return ApiResponse.ok(toDetailResponse(detail, author, tags));
     }
 
+    /**
+     * 获取相关题目（按标签、学科与难度的相似度降序）。
+     *
+     * @param id 题目ID
+     * @param limit 最多返回的题目数（1-50，默认 10）
+     * @return 统一响应体（相关题目列表）
+     */
+    @GetMapping("/{id}/related")
+    public ApiResponse<List<ProblemSummaryResponse>> related(
+            @PathVariable("id") long id,
+            @RequestParam(value = "limit", required = false, defaultValue = "10") Integer limit
+    ) {
+        List<ProblemSummaryData> result = problemDomainService.listRelated(
+                id,
+                currentUserIdOrNull(),
+                limit == null ? 10 : limit
+        );
+        Map<Long, ProblemTagResponse> tagMap = buildTagMap(result);
+        Map<Long, UserProfileData> authors = loadAuthors(result);
+        return ApiResponse.ok(result.stream()
+                .map(data -> ProblemResponseMapper.toSummary(data, tagMap, authors))
+                .toList());
+    }
+
     /**
      * 通过分享 key 获取题目详情。
      *
@@ -189,7 +361,10 @@ public class ProblemController {
             throw new BizException(ErrorCode.BAD_REQUEST, "shareKey 不能为空");
         }
         ProblemDetailData detail = problemDomainService.getDetailByShareKey(shareKey);
-        ProblemAuthorResponse author = buildAuthor(detail.authorId());
+        ProblemAuthorResponse author = ProblemResponseMapper.toAuthor(
+                detail.authorId(),
+                userProfileBatchLoader.load(detail.authorId()).orElse(null)
+        );
         List<ProblemTagResponse> tags = buildTags(detail.tagIds());
         return ApiResponse.ok(toDetailResponse(detail, author, tags));
     }
@@ -470,6 +645,23 @@ public class ProblemController {
         return unique.stream().sorted().toList();
     }
 
+    /**
+     * 解析多标签匹配方式（为空时为 ANY）。
+     *
+     * @param tagMode 匹配方式参数
+     * @return 匹配方式
+     */
+    private static TagMatchMode parseTagMode(String tagMode) {
+        if (!StringUtils.hasText(tagMode)) {
+            return TagMatchMode.ANY;
+        }
+        try {
+            return TagMatchMode.valueOf(tagMode.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "tagMode 不合法");
+        }
+    }
+
     /**
      * 规范化排序参数。
      *
@@ -487,33 +679,6 @@ public class ProblemController {
         };
     }
 
-    /**
-     * 将领域数据转换为摘要响应 DTO。
-     *
-     * @param data 摘要数据
-     * @return 摘要响应
-     */
-    private ProblemSummaryResponse toSummaryResponse(ProblemSummaryData data, Map<Long, ProblemTagResponse> tagMap) {
-        ProblemAuthorResponse author = buildAuthor(data.authorId());
-        List<Long> tagIds = data.tagIds();
-        List<ProblemTagResponse> tags = tagIds == null ? List.of() : tagIds.stream()
-                .map(tagMap::get)
-                .filter(Objects::nonNull)
-                .toList();
-        return new ProblemSummaryResponse(
-                data.id(),
-                data.title(),
-                data.subject(),
-                data.difficulty(),
-                data.status(),
-                data.visibility(),
-                data.publishedAt(),
-                author,
-                tagIds == null ? List.of() : tagIds,
-                tags
-        );
-    }
-
     /**
      * 将领域数据转换为详情响应 DTO。
      *
@@ -544,27 +709,56 @@ public class ProblemController {
     }
 
     /**
-     * 构造题目作者信息。
-     * <p>
-     * nickname 可能为空，displayName 为服务端兜底后的稳定可展示字段。
+     * 查询公开题目列表并组装响应（补全 author 与 tags）。
+     *
+     * @param query 查询条件
+     * @param authorLoader 作者资料加载函数
+     * @return 统一响应体（分页结果）
+     */
+    private ApiResponse<PageResponse<ProblemSummaryResponse>> listPublicPage(
+            ProblemQuery query,
+            Function<List<ProblemSummaryData>, Map<Long, UserProfileData>> authorLoader
+    ) {
+        PageResponse<ProblemSummaryData> result = problemDomainService.listPublic(query);
+        Map<Long, ProblemTagResponse> tagMap = buildTagMap(result.items());
+        Map<Long, UserProfileData> authors = authorLoader.apply(result.items());
+        List<ProblemSummaryResponse> items = result.items().stream()
+                .map(data -> ProblemResponseMapper.toSummary(data, tagMap, authors))
+                .toList();
+        return ApiResponse.ok(new PageResponse<>(items, result.page(), result.pageSize(), result.total()));
+    }
+
+    /**
+     * 不经请求级加载器、直接一次 IN 查询加载作者资料（供可能在后台线程执行的缓存构建使用）。
      *
-     * @param authorId 作者ID
-     * @return 作者信息
+     * @param items 题目摘要列表
+     * @return 作者ID -> 用户资料
      */
-    private ProblemAuthorResponse buildAuthor(long authorId) {
-        if (authorId <= 0) {
-            return new ProblemAuthorResponse(0L, "用户 0", "用户 0");
+    private Map<Long, UserProfileData> loadAuthorsDirectly(List<ProblemSummaryData> items) {
+        if (items == null || items.isEmpty()) {
+            return Map.of();
         }
-        return userRepositoryPort.findProfileById(authorId)
-                .map(profile -> {
-                    String preferredNickname = StringUtils.hasText(profile.nickname()) ? profile.nickname().trim() : null;
-                    String preferredUsername = StringUtils.hasText(profile.username()) ? profile.username().trim() : null;
-                    String displayName = StringUtils.hasText(preferredNickname)
-                            ? preferredNickname
-                            : (StringUtils.hasText(preferredUsername) ? preferredUsername : ("用户 " + authorId));
-                    return new ProblemAuthorResponse(authorId, displayName, displayName);
-                })
-                .orElseGet(() -> new ProblemAuthorResponse(authorId, "用户 " + authorId, "用户 " + authorId));
+        Set<Long> authorIds = items.stream()
+                .map(ProblemSummaryData::authorId)
+                .collect(Collectors.toSet());
+        return userRepositoryPort.findProfilesByIds(authorIds).stream()
+                .collect(Collectors.toMap(UserProfileData::id, Function.identity()));
+    }
+
+    /**
+     * 批量加载一页题目的作者资料（单次 IN 查询）。
+     *
+     * @param items 题目摘要列表
+     * @return 作者ID -> 用户资料
+     */
+    private Map<Long, UserProfileData> loadAuthors(List<ProblemSummaryData> items) {
+        if (items == null || items.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> authorIds = items.stream()
+                .map(ProblemSummaryData::authorId)
+                .collect(Collectors.toSet());
+        return userProfileBatchLoader.loadMany(authorIds);
     }
 
     /**
@@ -0,0 +1,82 @@
+package indi.midreamsheep.vegetable.backend.features.problem.presentation;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemAuthorResponse;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemSummaryResponse;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemTagResponse;
+import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserProfileData;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 题目响应组装：题目列表、我的收藏/点赞与题单等接口共用的作者与摘要转换，保证各处展示口径一致。
+ */
+public final class ProblemResponseMapper {
+
+    /**
+     * 工具类不允许实例化。
+     */
+    private ProblemResponseMapper() {
+    }
+
+    /**
+     * 构造题目作者信息。
+     * <p>
+     * nickname 可能为空，displayName 为服务端兜底后的稳定可展示字段。
+     *
+     * @param authorId 作者ID
+     * @param profile 作者资料（不存在时为 null）
+     * @return 作者信息
+     */
+    public static ProblemAuthorResponse toAuthor(long authorId, UserProfileData profile) {
+        if (authorId <= 0) {
+            return new ProblemAuthorResponse(0L, "用户 0", "用户 0");
+        }
+        if (profile == null) {
+            return new ProblemAuthorResponse(authorId, "用户 " + authorId, "用户 " + authorId);
+        }
+        String preferredNickname = StringUtils.hasText(profile.nickname()) ? profile.nickname().trim() : null;
+        String preferredUsername = StringUtils.hasText(profile.username()) ? profile.username().trim() : null;
+        String displayName = StringUtils.hasText(preferredNickname)
+                ? preferredNickname
+                : (StringUtils.hasText(preferredUsername) ? preferredUsername : ("用户 " + authorId));
+        return new ProblemAuthorResponse(authorId, displayName, displayName);
+    }
+
+    /**
+     * 将题目摘要转换为响应 DTO（作者与标签从批量加载的映射中取）。
+     *
+     * @param data 题目摘要
+     * @param tagMap 标签映射
+     * @param authors 作者资料映射
+     * @return 摘要响应
+     */
+    public static ProblemSummaryResponse toSummary(
+            ProblemSummaryData data,
+            Map<Long, ProblemTagResponse> tagMap,
+            Map<Long, UserProfileData> authors
+    ) {
+        ProblemAuthorResponse author = toAuthor(data.authorId(), authors.get(data.authorId()));
+        List<Long> tagIds = data.tagIds();
+        List<ProblemTagResponse> tags = tagIds == null ? List.of() : tagIds.stream()
+                .map(tagMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new ProblemSummaryResponse(
+                data.id(),
+                data.title(),
+                data.subject(),
+                data.difficulty(),
+                data.status(),
+                data.visibility(),
+                data.publishedAt(),
+                author,
+                tagIds == null ? List.of() : tagIds,
+                tags,
+                data.commentCount()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package indi.midreamsheep.vegetable.backend.features.problem.presentation.dto;
+
+/**
+ * 难度分面 DTO。
+ *
+ * @param difficulty 难度
+ * @param count 命中题目数
+ */
+public record ProblemDifficultyFacetResponse(
+        int difficulty,
+        long count
+) {
+}
@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.features.problem.presentation.dto;
+
+import java.util.List;
+
+/**
+ * 公开题目分面统计 DTO。
+ *
+ * @param total 满足筛选条件的题目总数
+ * @param tags 各标签命中数（按命中数降序）
+ * @param difficulties 各难度命中数（按难度升序）
+ */
+public record ProblemFacetResponse(
+        long total,
+        List<ProblemTagFacetResponse> tags,
+        List<ProblemDifficultyFacetResponse> difficulties
+) {
+}
@@ -19,6 +19,7 @@ import java.util.List;
  * @param author 作者信息
  * @param tagIds 标签ID列表
  * @param tags 标签对象列表（便于前端直接展示）
+ * @param commentCount 评论数（未删除，含回复）
  */
 public record ProblemSummaryResponse(
         long id,
@@ -30,6 +31,7 @@ public record ProblemSummaryResponse(
         LocalDateTime publishedAt,
         ProblemAuthorResponse author,
         List<Long> tagIds,
-        List<ProblemTagResponse> tags
+        List<ProblemTagResponse> tags,
+        long commentCount
 ) {
 }
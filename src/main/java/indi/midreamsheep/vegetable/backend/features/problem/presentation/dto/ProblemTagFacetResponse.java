@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.features.problem.presentation.dto;
+
+/**
+ * 标签分面 DTO。
+ *
+ * @param id 标签ID
+ * @param name 标签名称
+ * @param count 命中题目数
+ */
+public record ProblemTagFacetResponse(
+        long id,
+        String name,
+        long count
+) {
+}
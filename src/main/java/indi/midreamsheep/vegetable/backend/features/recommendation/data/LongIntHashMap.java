@@ -0,0 +1,230 @@
+package indi.midreamsheep.vegetable.backend.features.recommendation.data;
+
+import java.util.Arrays;
+
+/**
+ * long -> int 开放寻址哈希表（线性探测），键与值均为基本类型，不为每个条目分配对象。
+ * <p>
+ * 条目数不超过 maxSize：达到上限后不再接受新键，由调用方决定如何处理（如 {@link #clear} 后换一种方式重来）。
+ * 键 0 保留为空槽标记，不能作为键。非线程安全。
+ */
+final class LongIntHashMap {
+
+    /**
+     * 扩容前的最大装载因子。
+     */
+    private static final double LOAD_FACTOR = 0.6;
+
+    /**
+     * 空槽标记。
+     */
+    private static final long EMPTY = 0L;
+
+    private final int maxSize;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * 构造哈希表。
+     *
+     * @param initialSize 预期条目数
+     * @param maxSize 最大条目数
+     */
+    LongIntHashMap(int initialSize, int maxSize) {
+        this.maxSize = maxSize;
+        allocate(capacityFor(Math.min(initialSize, maxSize)));
+    }
+
+    /**
+     * 条目数。
+     *
+     * @return 条目数
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 读取键对应的值。
+     *
+     * @param key 键（非 0）
+     * @param defaultValue 键不存在时的返回值
+     * @return 值
+     */
+    int get(long key, int defaultValue) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * 写入键值。
+     *
+     * @param key 键（非 0）
+     * @param value 值
+     * @return 是否写入（新键且已满时返回 false）
+     */
+    boolean put(long key, int value) {
+        int slot = findOrInsert(key);
+        if (slot < 0) {
+            return false;
+        }
+        values[slot] = value;
+        return true;
+    }
+
+    /**
+     * 给键的值加上增量（键不存在时视为 0）。
+     *
+     * @param key 键（非 0）
+     * @param delta 增量
+     * @return 是否写入（新键且已满时返回 false）
+     */
+    boolean addTo(long key, int delta) {
+        int slot = findOrInsert(key);
+        if (slot < 0) {
+            return false;
+        }
+        values[slot] += delta;
+        return true;
+    }
+
+    /**
+     * 清空全部条目（保留已分配的容量，不重新分配数组）。
+     */
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * 遍历全部条目。
+     *
+     * @param consumer 条目处理
+     */
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * 查找键所在槽位，不存在时插入（值为 0）。
+     *
+     * @param key 键
+     * @return 槽位（新键且已满时为 -1）
+     */
+    private int findOrInsert(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("key 不能为 0");
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size >= maxSize) {
+            return -1;
+        }
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            grow();
+            return insertNew(key, 0);
+        }
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    /**
+     * 插入一个确定不存在的键。
+     *
+     * @param key 键
+     * @param value 值
+     * @return 槽位
+     */
+    private int insertNew(long key, int value) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return slot;
+    }
+
+    /**
+     * 容量翻倍并重新散列。
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insertNew(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * 分配空表。
+     *
+     * @param capacity 槽位数（2 的幂）
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    /**
+     * 计算键的起始槽位（Fibonacci 散列）。
+     *
+     * @param key 键
+     * @return 槽位
+     */
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * 计算容纳给定条目数所需的槽位数。
+     *
+     * @param entries 条目数
+     * @return 2 的幂
+     */
+    private static int capacityFor(int entries) {
+        int needed = (int) Math.ceil(Math.max(entries, 8) / LOAD_FACTOR);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    /**
+     * 条目处理函数。
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        /**
+         * 处理一个条目。
+         *
+         * @param key 键
+         * @param value 值
+         */
+        void accept(long key, int value);
+    }
+}
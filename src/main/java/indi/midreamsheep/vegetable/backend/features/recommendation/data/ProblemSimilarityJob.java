@@ -0,0 +1,638 @@
+package indi.midreamsheep.vegetable.backend.features.recommendation.data;
+
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.model.SimilarProblem;
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.port.ProblemSimilarityPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserRelationPairRow;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 题目相似度离线任务（item-item 协同过滤）：按 {@code (user_id, problem_id)} 顺序流式读取点赞表与收藏表，
+ * 逐个用户合并其互动过的题目，累加题目两两共现次数，最后按余弦相似度
+ * {@code 共现用户数 / sqrt(题目A用户数 × 题目B用户数)} 为每道题保留前若干道。
+ * <p>
+ * 堆内存有固定上限：用户不常驻内存（同一时刻只持有一个用户的题目），单个用户最多计入 maxItemsPerUser 道题；
+ * 共现计数存放在基本类型哈希表中，条目数不超过 maxPairs。第一遍扫描只统计每道题的互动用户数（支持度）：
+ * 题目对的共现数不超过其中任一题的用户数，所以第二遍只为两道题支持度都达到 minCoOccurrence 的题目对计数，
+ * 计数是精确的。共现表仍放不下时，提高支持度阈值（去掉支持度最低的约四分之一题目）后重新扫描，
+ * 结果只取决于数据本身、与读取顺序无关。任务在单节点后台线程中定期重跑，结果整体替换。
+ */
+public class ProblemSimilarityJob implements ProblemSimilarityPort, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemSimilarityJob.class);
+
+    /**
+     * 共现表放不下时，提高支持度阈值后保留的题目比例。
+     */
+    private static final double SUPPORT_KEEP_RATIO = 0.75;
+
+    private final UserRelationMapper userRelationMapper;
+    private final int chunkSize;
+    private final int maxItemsPerUser;
+    private final int maxPairs;
+    private final int neighbourCount;
+    private final int minCoOccurrence;
+    private final ScheduledExecutorService executor;
+    private volatile Model model;
+
+    /**
+     * 构造题目相似度任务；enabled 为 true 时在后台立即执行一次，之后按间隔重跑。
+     *
+     * @param userRelationMapper 用户关系 Mapper
+     * @param enabled 是否启用（关闭时始终返回空）
+     * @param chunkSize 每批读取的关系行数
+     * @param maxItemsPerUser 单个用户最多计入的题目数
+     * @param maxPairs 共现表最多保存的题目对数
+     * @param neighbourCount 每道题保留的相似题目数
+     * @param minCoOccurrence 计入相似度的最小共现用户数
+     * @param intervalSeconds 重跑间隔（秒，0 表示只在启动时执行）
+     */
+    public ProblemSimilarityJob(
+            UserRelationMapper userRelationMapper,
+            boolean enabled,
+            int chunkSize,
+            int maxItemsPerUser,
+            int maxPairs,
+            int neighbourCount,
+            int minCoOccurrence,
+            long intervalSeconds
+    ) {
+        this.userRelationMapper = userRelationMapper;
+        this.chunkSize = chunkSize;
+        this.maxItemsPerUser = maxItemsPerUser;
+        this.maxPairs = maxPairs;
+        this.neighbourCount = neighbourCount;
+        this.minCoOccurrence = minCoOccurrence;
+        if (enabled) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "problem-similarity-job");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (intervalSeconds > 0) {
+                executor.scheduleWithFixedDelay(this::rebuildQuietly, 0, intervalSeconds, TimeUnit.SECONDS);
+            } else {
+                executor.execute(this::rebuildQuietly);
+            }
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 模型是否已建好。
+     *
+     * @return 是否可查询
+     */
+    public boolean isReady() {
+        return model != null;
+    }
+
+    @Override
+    public Optional<List<SimilarProblem>> similar(long problemId) {
+        Model current = model;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.similar(problemId));
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 执行一次完整计算并替换模型。
+     */
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        LongIntHashMap ordinals = new LongIntHashMap(1024, Integer.MAX_VALUE);
+        ItemSupport support = new ItemSupport();
+        long users = scan(items -> {
+            for (long item : items) {
+                int ordinal = ordinals.get(item, -1);
+                if (ordinal < 0) {
+                    ordinal = support.add(item);
+                    ordinals.put(item, ordinal);
+                }
+                support.users[ordinal]++;
+            }
+            return true;
+        });
+        if (users < 0) {
+            return;
+        }
+        LongIntHashMap pairs = new LongIntHashMap(4096, maxPairs);
+        int threshold = minCoOccurrence;
+        int passes = 0;
+        while (true) {
+            passes++;
+            int minSupport = threshold;
+            boolean[] eligible = new boolean[support.count];
+            for (int ordinal = 0; ordinal < support.count; ordinal++) {
+                eligible[ordinal] = support.users[ordinal] >= minSupport;
+            }
+            long counted = scan(items -> countPairs(items, ordinals, eligible, pairs));
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (counted >= 0) {
+                break;
+            }
+            threshold = raiseThreshold(support, threshold);
+            pairs.clear();
+        }
+        model = buildModel(ordinals, support.ids, support.users, support.count, pairs);
+        log.info("event=problem_similarity_built users={} items={} pairs={} support_threshold={} passes={} "
+                        + "elapsed_ms={}",
+                users, support.count, pairs.size(), threshold, passes, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 后台执行一次计算，异常只记录日志。
+     */
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("event=problem_similarity_build_failed", ex);
+        }
+    }
+
+    /**
+     * 流式扫描点赞表与收藏表，按用户依次交出其互动过的题目（有序去重，最多 maxItemsPerUser 道）。
+     *
+     * @param consumer 用户题目处理（返回 false 时中止扫描）
+     * @return 扫描的用户数；被中止或线程中断时为 -1
+     */
+    private long scan(UserItemsConsumer consumer) {
+        RelationCursor likes = new RelationCursor(UserRelationTable.LIKE_PROBLEM);
+        RelationCursor favorites = new RelationCursor(UserRelationTable.FAVORITE_PROBLEM);
+        long users = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long userId = Math.min(likes.peekUser(), favorites.peekUser());
+            if (userId == Long.MAX_VALUE) {
+                return users;
+            }
+            if (!consumer.accept(union(likes.next(userId), favorites.next(userId)))) {
+                return -1;
+            }
+            users++;
+        }
+        return -1;
+    }
+
+    /**
+     * 为一个用户的题目两两累加共现次数（只计支持度达标的题目）。
+     *
+     * @param items 用户互动过的题目ID
+     * @param ordinals 题目ID -> 序号
+     * @param eligible 序号 -> 支持度是否达标
+     * @param pairs 共现表
+     * @return 是否全部计入（共现表已满时为 false）
+     */
+    private static boolean countPairs(long[] items, LongIntHashMap ordinals, boolean[] eligible, LongIntHashMap pairs) {
+        int[] itemOrdinals = new int[items.length];
+        int size = 0;
+        for (long item : items) {
+            int ordinal = ordinals.get(item, -1);
+            if (ordinal >= 0 && eligible[ordinal]) {
+                itemOrdinals[size++] = ordinal;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                if (!pairs.addTo(pairKey(itemOrdinals[i], itemOrdinals[j]), 1)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 提高支持度阈值：在当前达标的题目中只保留支持度最高的约 {@link #SUPPORT_KEEP_RATIO}（同支持度的题目同进同出）。
+     *
+     * @param support 题目支持度
+     * @param threshold 当前阈值
+     * @return 新阈值（严格大于当前阈值）
+     */
+    private static int raiseThreshold(ItemSupport support, int threshold) {
+        int[] eligible = Arrays.stream(support.users, 0, support.count)
+                .filter(users -> users >= threshold)
+                .sorted()
+                .toArray();
+        int keep = (int) (eligible.length * SUPPORT_KEEP_RATIO);
+        int next = keep == 0 ? Integer.MAX_VALUE : eligible[eligible.length - keep];
+        return Math.max(threshold + 1, next);
+    }
+
+    /**
+     * 由共现计数为每道题选出相似度最高的若干道题。
+     *
+     * @param ordinals 题目ID -> 序号
+     * @param itemIds 序号 -> 题目ID
+     * @param itemUsers 序号 -> 互动用户数
+     * @param itemCount 题目数
+     * @param pairs 共现表
+     * @return 模型
+     */
+    private Model buildModel(
+            LongIntHashMap ordinals,
+            long[] itemIds,
+            int[] itemUsers,
+            int itemCount,
+            LongIntHashMap pairs
+    ) {
+        TopNeighbours top = new TopNeighbours(itemCount, neighbourCount);
+        pairs.forEach((key, count) -> {
+            if (count < minCoOccurrence) {
+                return;
+            }
+            int left = (int) (key >>> 32);
+            int right = (int) key;
+            float score = (float) (count / Math.sqrt((double) itemUsers[left] * itemUsers[right]));
+            top.offer(left, right, score);
+            top.offer(right, left, score);
+        });
+        long[][] neighbourIds = new long[itemCount][];
+        float[][] neighbourScores = new float[itemCount][];
+        for (int ordinal = 0; ordinal < itemCount; ordinal++) {
+            int[] order = top.sorted(ordinal, itemIds);
+            if (order.length == 0) {
+                continue;
+            }
+            neighbourIds[ordinal] = new long[order.length];
+            neighbourScores[ordinal] = new float[order.length];
+            for (int i = 0; i < order.length; i++) {
+                neighbourIds[ordinal][i] = itemIds[top.ids[ordinal][order[i]]];
+                neighbourScores[ordinal][i] = top.scores[ordinal][order[i]];
+            }
+        }
+        return new Model(ordinals, neighbourIds, neighbourScores);
+    }
+
+    /**
+     * 两个序号组成的题目对键（小序号在高 32 位；较大序号至少为 1，键不为 0）。
+     *
+     * @param left 序号
+     * @param right 序号
+     * @return 键
+     */
+    private static long pairKey(int left, int right) {
+        int low = Math.min(left, right);
+        int high = Math.max(left, right);
+        return (long) low << 32 | high;
+    }
+
+    /**
+     * 合并两个有序题目ID数组（去重），并截取前 maxItemsPerUser 个。
+     *
+     * @param left 有序题目ID
+     * @param right 有序题目ID
+     * @return 有序去重后的题目ID
+     */
+    private long[] union(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length + right.length, maxItemsPerUser)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (size < result.length && (i < left.length || j < right.length)) {
+            long next;
+            if (j >= right.length || (i < left.length && left[i] < right[j])) {
+                next = left[i++];
+            } else if (i >= left.length || right[j] < left[i]) {
+                next = right[j++];
+            } else {
+                next = left[i++];
+                j++;
+            }
+            result[size++] = next;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 用户题目处理函数。
+     */
+    @FunctionalInterface
+    private interface UserItemsConsumer {
+
+        /**
+         * 处理一个用户互动过的题目。
+         *
+         * @param items 有序去重的题目ID
+         * @return 是否继续扫描
+         */
+        boolean accept(long[] items);
+    }
+
+    /**
+     * 题目序号表：序号 -> 题目ID 与互动用户数（支持度）。
+     */
+    private static final class ItemSupport {
+
+        private long[] ids = new long[1024];
+        private int[] users = new int[1024];
+        private int count;
+
+        /**
+         * 登记一道新题目。
+         *
+         * @param itemId 题目ID
+         * @return 分配的序号
+         */
+        int add(long itemId) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count << 1);
+                users = Arrays.copyOf(users, count << 1);
+            }
+            ids[count] = itemId;
+            return count++;
+        }
+    }
+
+    /**
+     * 单张关系表的流式读取游标：按 {@code (user_id, 目标ID)} keyset 分批读取，按用户依次取出。
+     */
+    private final class RelationCursor {
+
+        private final UserRelationTable table;
+        private List<UserRelationPairRow> buffer = List.of();
+        private int position;
+        private long afterUserId;
+        private long afterTargetId;
+        private boolean exhausted;
+
+        /**
+         * 构造游标。
+         *
+         * @param table 关系表
+         */
+        RelationCursor(UserRelationTable table) {
+            this.table = table;
+        }
+
+        /**
+         * 查看下一行的用户ID。
+         *
+         * @return 用户ID（读完时为 {@link Long#MAX_VALUE}）
+         */
+        long peekUser() {
+            return fill() ? buffer.get(position).getUserId() : Long.MAX_VALUE;
+        }
+
+        /**
+         * 取出某个用户的全部目标（最多 maxItemsPerUser 个，超出部分直接跳过、不再读取）。
+         *
+         * @param userId 用户ID（下一行不是该用户时返回空数组）
+         * @return 有序目标ID
+         */
+        long[] next(long userId) {
+            long[] items = new long[16];
+            int size = 0;
+            while (fill() && buffer.get(position).getUserId() == userId) {
+                if (size == maxItemsPerUser) {
+                    skipUser(userId);
+                    continue;
+                }
+                if (size == items.length) {
+                    items = Arrays.copyOf(items, size << 1);
+                }
+                items[size++] = buffer.get(position++).getTargetId();
+            }
+            return Arrays.copyOf(items, size);
+        }
+
+        /**
+         * 跳过某个用户剩余的行：丢弃缓冲，下一批从该用户之后开始读。
+         *
+         * @param userId 用户ID
+         */
+        private void skipUser(long userId) {
+            afterUserId = userId;
+            afterTargetId = Long.MAX_VALUE;
+            buffer = List.of();
+            position = 0;
+            exhausted = false;
+        }
+
+        /**
+         * 缓冲读完时读取下一批。
+         *
+         * @return 是否还有行
+         */
+        private boolean fill() {
+            if (position < buffer.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            buffer = userRelationMapper.selectActivePairsAfter(table, afterUserId, afterTargetId, chunkSize);
+            position = 0;
+            exhausted = buffer.size() < chunkSize;
+            if (buffer.isEmpty()) {
+                return false;
+            }
+            UserRelationPairRow last = buffer.get(buffer.size() - 1);
+            afterUserId = last.getUserId();
+            afterTargetId = last.getTargetId();
+            return true;
+        }
+    }
+
+    /**
+     * 每道题的前 K 个相似题（小顶堆，按相似度淘汰，同分时保留较大的序号）。
+     */
+    private static final class TopNeighbours {
+
+        private final int capacity;
+        private final int[][] ids;
+        private final float[][] scores;
+        private final int[] sizes;
+
+        /**
+         * 构造前 K 个相似题容器。
+         *
+         * @param itemCount 题目数
+         * @param capacity 每道题保留的个数
+         */
+        TopNeighbours(int itemCount, int capacity) {
+            this.capacity = capacity;
+            this.ids = new int[itemCount][];
+            this.scores = new float[itemCount][];
+            this.sizes = new int[itemCount];
+        }
+
+        /**
+         * 尝试把相似题放入某道题的堆。
+         *
+         * @param ordinal 题目序号
+         * @param neighbour 相似题序号
+         * @param score 相似度
+         */
+        void offer(int ordinal, int neighbour, float score) {
+            if (ids[ordinal] == null) {
+                ids[ordinal] = new int[capacity];
+                scores[ordinal] = new float[capacity];
+            }
+            int[] heapIds = ids[ordinal];
+            float[] heapScores = scores[ordinal];
+            int size = sizes[ordinal];
+            if (size < capacity) {
+                heapIds[size] = neighbour;
+                heapScores[size] = score;
+                sizes[ordinal] = size + 1;
+                siftUp(heapIds, heapScores, size);
+            } else if (less(heapScores[0], heapIds[0], score, neighbour)) {
+                heapIds[0] = neighbour;
+                heapScores[0] = score;
+                siftDown(heapIds, heapScores, size);
+            }
+        }
+
+        /**
+         * 按相似度降序（同分时题目ID降序）返回堆内下标。
+         *
+         * @param ordinal 题目序号
+         * @param itemIds 序号 -> 题目ID
+         * @return 堆内下标
+         */
+        int[] sorted(int ordinal, long[] itemIds) {
+            int size = sizes[ordinal];
+            if (size == 0) {
+                return new int[0];
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            float[] heapScores = scores[ordinal];
+            int[] heapIds = ids[ordinal];
+            Arrays.sort(order, (a, b) -> {
+                int compared = Float.compare(heapScores[b], heapScores[a]);
+                return compared != 0 ? compared : Long.compare(itemIds[heapIds[b]], itemIds[heapIds[a]]);
+            });
+            return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * 堆序比较：左侧是否排在右侧之前（更应被淘汰）。
+         *
+         * @param leftScore 左侧相似度
+         * @param leftId 左侧序号
+         * @param rightScore 右侧相似度
+         * @param rightId 右侧序号
+         * @return 左侧是否更小
+         */
+        private static boolean less(float leftScore, int leftId, float rightScore, int rightId) {
+            return leftScore < rightScore || (leftScore == rightScore && leftId < rightId);
+        }
+
+        /**
+         * 上浮。
+         *
+         * @param heapIds 堆内序号
+         * @param heapScores 堆内相似度
+         * @param index 起始下标
+         */
+        private static void siftUp(int[] heapIds, float[] heapScores, int index) {
+            int child = index;
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (!less(heapScores[child], heapIds[child], heapScores[parent], heapIds[parent])) {
+                    break;
+                }
+                swap(heapIds, heapScores, child, parent);
+                child = parent;
+            }
+        }
+
+        /**
+         * 下沉。
+         *
+         * @param heapIds 堆内序号
+         * @param heapScores 堆内相似度
+         * @param size 堆大小
+         */
+        private static void siftDown(int[] heapIds, float[] heapScores, int size) {
+            int parent = 0;
+            while (true) {
+                int smallest = parent;
+                int left = 2 * parent + 1;
+                int right = left + 1;
+                if (left < size && less(heapScores[left], heapIds[left], heapScores[smallest], heapIds[smallest])) {
+                    smallest = left;
+                }
+                if (right < size && less(heapScores[right], heapIds[right], heapScores[smallest], heapIds[smallest])) {
+                    smallest = right;
+                }
+                if (smallest == parent) {
+                    return;
+                }
+                swap(heapIds, heapScores, parent, smallest);
+                parent = smallest;
+            }
+        }
+
+        /**
+         * 交换堆内两个位置。
+         *
+         * @param heapIds 堆内序号
+         * @param heapScores 堆内相似度
+         * @param i 下标
+         * @param j 下标
+         */
+        private static void swap(int[] heapIds, float[] heapScores, int i, int j) {
+            int id = heapIds[i];
+            heapIds[i] = heapIds[j];
+            heapIds[j] = id;
+            float score = heapScores[i];
+            heapScores[i] = heapScores[j];
+            heapScores[j] = score;
+        }
+    }
+
+    /**
+     * 计算结果（建好后只读）。
+     *
+     * @param ordinals 题目ID -> 序号
+     * @param neighbourIds 序号 -> 相似题目ID（按相似度降序）
+     * @param neighbourScores 序号 -> 相似度
+     */
+    private record Model(LongIntHashMap ordinals, long[][] neighbourIds, float[][] neighbourScores) {
+
+        /**
+         * 获取与题目最相似的题目。
+         *
+         * @param problemId 题目ID
+         * @return 相似题目
+         */
+        List<SimilarProblem> similar(long problemId) {
+            int ordinal = ordinals.get(problemId, -1);
+            if (ordinal < 0 || neighbourIds[ordinal] == null) {
+                return List.of();
+            }
+            List<SimilarProblem> result = new ArrayList<>(neighbourIds[ordinal].length);
+            for (int i = 0; i < neighbourIds[ordinal].length; i++) {
+                result.add(new SimilarProblem(neighbourIds[ordinal][i], neighbourScores[ordinal][i]));
+            }
+            return result;
+        }
+    }
+}
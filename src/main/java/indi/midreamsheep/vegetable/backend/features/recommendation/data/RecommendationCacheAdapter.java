@@ -0,0 +1,76 @@
+package indi.midreamsheep.vegetable.backend.features.recommendation.data;
+
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.port.RecommendationCachePort;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.SharedCacheStore;
+import indi.midreamsheep.vegetable.backend.infrastructure.recommendation.ProblemRecommendationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 推荐结果缓存：在共享缓存中按用户保存推荐的题目ID列表（逗号分隔，空串表示空列表）。
+ * <p>
+ * 结果只按 TTL 过期、不主动失效：新的点赞/收藏最多延迟一个 TTL 才影响推荐排序；
+ * 缓存写入后才点赞/收藏的题目由领域服务在每次读取后按唯一键查询排除。
+ */
+public class RecommendationCacheAdapter implements RecommendationCachePort {
+
+    private final SharedCacheStore sharedCacheStore;
+    private final ProblemRecommendationProperties properties;
+
+    /**
+     * 构造推荐结果缓存。
+     *
+     * @param sharedCacheStore 共享缓存存储
+     * @param properties 推荐配置
+     */
+    public RecommendationCacheAdapter(SharedCacheStore sharedCacheStore, ProblemRecommendationProperties properties) {
+        this.sharedCacheStore = sharedCacheStore;
+        this.properties = properties;
+    }
+
+    @Override
+    public Optional<List<Long>> get(long userId) {
+        Optional<String> cached = sharedCacheStore.get(key(userId));
+        if (cached.isEmpty()) {
+            return Optional.empty();
+        }
+        String raw = cached.get();
+        List<Long> ids = new ArrayList<>();
+        if (raw.isEmpty()) {
+            return Optional.of(ids);
+        }
+        try {
+            for (String part : raw.split(",")) {
+                ids.add(Long.parseLong(part));
+            }
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+        return Optional.of(ids);
+    }
+
+    @Override
+    public void put(long userId, List<Long> problemIds) {
+        StringBuilder builder = new StringBuilder(problemIds.size() * 20);
+        for (Long id : problemIds) {
+            if (!builder.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(id);
+        }
+        sharedCacheStore.put(key(userId), builder.toString(), Duration.ofSeconds(properties.cacheTtlSeconds()));
+    }
+
+    /**
+     * 共享缓存键。
+     *
+     * @param userId 用户ID
+     * @return 键
+     */
+    private String key(long userId) {
+        return properties.keyPrefix() + userId;
+    }
+}
@@ -0,0 +1,157 @@
+package indi.midreamsheep.vegetable.backend.features.recommendation.domain;
+
+import indi.midreamsheep.vegetable.backend.common.error.BizException;
+import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
+import indi.midreamsheep.vegetable.backend.features.favorite.domain.port.FavoriteProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.like.domain.port.LikeProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.model.SimilarProblem;
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.port.ProblemSimilarityPort;
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.port.RecommendationCachePort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 题目推荐领域服务：以用户最近点赞、收藏的题目为种子，累加各种子的相似题得分，给出「猜你喜欢」。
+ * <p>
+ * 相似题由离线任务预先算好（{@link ProblemSimilarityPort}），请求时只做一次小规模的加权合并；
+ * 合并结果按用户短时间缓存；命中缓存时先排除缓存写入后才点赞、收藏的题目，返回前再过滤已不公开的题目。
+ */
+public class ProblemRecommendationDomainService {
+
+    /**
+     * 收藏种子的权重（收藏比点赞表达更强的兴趣）。
+     */
+    private static final double FAVORITE_WEIGHT = 2.0;
+
+    /**
+     * 点赞种子的权重。
+     */
+    private static final double LIKE_WEIGHT = 1.0;
+
+    private final ProblemSimilarityPort problemSimilarityPort;
+    private final LikeProblemRepositoryPort likeProblemRepositoryPort;
+    private final FavoriteProblemRepositoryPort favoriteProblemRepositoryPort;
+    private final ProblemRepositoryPort problemRepositoryPort;
+    private final RecommendationCachePort recommendationCachePort;
+    private final int recentInteractions;
+    private final int maxResults;
+
+    /**
+     * 构造题目推荐领域服务。
+     *
+     * @param problemSimilarityPort 题目相似度端口
+     * @param likeProblemRepositoryPort 题目点赞仓储端口
+     * @param favoriteProblemRepositoryPort 题目收藏仓储端口
+     * @param problemRepositoryPort 题目仓储端口
+     * @param recommendationCachePort 推荐结果缓存端口
+     * @param recentInteractions 最近点赞、收藏各取多少道题作为种子
+     * @param maxResults 每个用户缓存的推荐结果数
+     */
+    public ProblemRecommendationDomainService(
+            ProblemSimilarityPort problemSimilarityPort,
+            LikeProblemRepositoryPort likeProblemRepositoryPort,
+            FavoriteProblemRepositoryPort favoriteProblemRepositoryPort,
+            ProblemRepositoryPort problemRepositoryPort,
+            RecommendationCachePort recommendationCachePort,
+            int recentInteractions,
+            int maxResults
+    ) {
+        this.problemSimilarityPort = problemSimilarityPort;
+        this.likeProblemRepositoryPort = likeProblemRepositoryPort;
+        this.favoriteProblemRepositoryPort = favoriteProblemRepositoryPort;
+        this.problemRepositoryPort = problemRepositoryPort;
+        this.recommendationCachePort = recommendationCachePort;
+        this.recentInteractions = recentInteractions;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * 为用户推荐题目（不包含已点赞、已收藏的题目）。
+     *
+     * @param userId 用户ID
+     * @param limit 返回条数（1-50）
+     * @return 推荐题目摘要（按推荐度降序）
+     */
+    public List<ProblemSummaryData> recommendProblems(long userId, int limit) {
+        if (limit < 1 || limit > 50) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "limit 必须在 1-50 范围内");
+        }
+        List<Long> ids = recommendationCachePort.get(userId).orElse(null);
+        if (ids == null) {
+            ids = compute(userId);
+            recommendationCachePort.put(userId, ids);
+        } else if (!ids.isEmpty()) {
+            Set<Long> seen = new HashSet<>(likeProblemRepositoryPort.findLikedProblemIds(userId, ids));
+            seen.addAll(favoriteProblemRepositoryPort.findFavoritedProblemIds(userId, ids));
+            ids = ids.stream().filter(id -> !seen.contains(id)).toList();
+        }
+        Map<Long, ProblemSummaryData> byId = new HashMap<>();
+        for (ProblemSummaryData data : problemRepositoryPort.listSummariesByIds(ids)) {
+            byId.put(data.id(), data);
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .filter(data -> data.status() == ProblemStatus.PUBLISHED && data.visibility() == Visibility.PUBLIC)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 合并种子的相似题：同一道题的得分为各种子「权重 × 相似度」之和。
+     *
+     * @param userId 用户ID
+     * @return 推荐题目ID（最多 maxResults 个）
+     */
+    private List<Long> compute(long userId) {
+        Map<Long, Double> seeds = new HashMap<>();
+        for (Long id : likeProblemRepositoryPort.listProblemIds(userId, 1, recentInteractions).items()) {
+            seeds.merge(id, LIKE_WEIGHT, Double::sum);
+        }
+        for (Long id : favoriteProblemRepositoryPort.listProblemIds(userId, 1, recentInteractions).items()) {
+            seeds.merge(id, FAVORITE_WEIGHT, Double::sum);
+        }
+        if (seeds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<Long, Double> seed : seeds.entrySet()) {
+            List<SimilarProblem> similar = problemSimilarityPort.similar(seed.getKey())
+                    .orElseThrow(() -> new BizException(ErrorCode.SERVICE_UNAVAILABLE, "推荐模型尚未就绪，请稍后重试"));
+            for (SimilarProblem problem : similar) {
+                if (!seeds.containsKey(problem.problemId())) {
+                    scores.merge(problem.problemId(), seed.getValue() * problem.score(), Double::sum);
+                }
+            }
+        }
+        List<Long> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort((a, b) -> {
+            int compared = Double.compare(scores.get(b), scores.get(a));
+            return compared != 0 ? compared : Long.compare(b, a);
+        });
+        // 种子只取最近的互动，更早点赞/收藏过的题目需要再按唯一键排除一次
+        Set<Long> seen = new HashSet<>();
+        List<Long> result = new ArrayList<>(maxResults);
+        for (int from = 0; from < ranked.size() && result.size() < maxResults; from += maxResults) {
+            List<Long> chunk = ranked.subList(from, Math.min(from + maxResults, ranked.size()));
+            seen.addAll(likeProblemRepositoryPort.findLikedProblemIds(userId, chunk));
+            seen.addAll(favoriteProblemRepositoryPort.findFavoritedProblemIds(userId, chunk));
+            for (Long id : chunk) {
+                if (!seen.contains(id) && result.size() < maxResults) {
+                    result.add(id);
+                }
+            }
+        }
+        return result;
+    }
+}
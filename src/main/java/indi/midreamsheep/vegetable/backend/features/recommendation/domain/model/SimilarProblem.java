@@ -0,0 +1,13 @@
+package indi.midreamsheep.vegetable.backend.features.recommendation.domain.model;
+
+/**
+ * 相似题目：由共同点赞/收藏的用户数计算出的题目间相似度。
+ *
+ * @param problemId 题目ID
+ * @param score 相似度（余弦，0-1）
+ */
+public record SimilarProblem(
+        long problemId,
+        double score
+) {
+}
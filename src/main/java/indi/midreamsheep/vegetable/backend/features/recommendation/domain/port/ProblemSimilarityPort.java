@@ -0,0 +1,20 @@
+package indi.midreamsheep.vegetable.backend.features.recommendation.domain.port;
+
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.model.SimilarProblem;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 题目相似度端口：离线任务算好的「与某题最相似的若干道题」（item-item 协同过滤）。
+ */
+public interface ProblemSimilarityPort {
+
+    /**
+     * 获取与题目最相似的题目。
+     *
+     * @param problemId 题目ID
+     * @return 相似题目（按相似度降序；模型尚未建好时返回空，题目没有相似题时为空列表）
+     */
+    Optional<List<SimilarProblem>> similar(long problemId);
+}
@@ -0,0 +1,26 @@
+package indi.midreamsheep.vegetable.backend.features.recommendation.domain.port;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 个人推荐结果缓存端口：短时间内重复打开推荐位时不再重新组装。
+ */
+public interface RecommendationCachePort {
+
+    /**
+     * 读取用户的推荐题目ID。
+     *
+     * @param userId 用户ID
+     * @return 推荐题目ID（未命中时为空）
+     */
+    Optional<List<Long>> get(long userId);
+
+    /**
+     * 写入用户的推荐题目ID。
+     *
+     * @param userId 用户ID
+     * @param problemIds 推荐题目ID（按推荐度降序）
+     */
+    void put(long userId, List<Long> problemIds);
+}
@@ -0,0 +1,222 @@
+package indi.midreamsheep.vegetable.backend.features.tag.data;
+
+import indi.midreamsheep.vegetable.backend.features.tag.domain.command.TagCreateCommand;
+import indi.midreamsheep.vegetable.backend.features.tag.domain.model.TagData;
+import indi.midreamsheep.vegetable.backend.features.tag.domain.port.TagChangeNotifierPort;
+import indi.midreamsheep.vegetable.backend.features.tag.domain.port.TagRepositoryPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 标签仓储缓存装饰器：把整张 vf_tag 表保存在内存字典中（id -> TagData、(subject, name) -> id）。
+ * <p>
+ * 字典在首次访问时加载，收到标签变更通知（本节点或经 {@link CacheInvalidationBus} 来自其他节点）后丢弃，
+ * 下次访问再重建。字典未命中时回源数据库，因此通知延迟只会多一次查询，不会返回错误结果。
+ * 回源后仍不存在（或已删除）的ID记在当前字典上，同一字典有效期内不再回源；字典重建时一并丢弃。
+ * 标签列表接口（带关键字与排序）仍直接查询数据库。
+ */
+@Primary
+@Component
+public class CachingTagRepositoryAdapter implements TagRepositoryPort, TagChangeNotifierPort {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingTagRepositoryAdapter.class);
+
+    /**
+     * 缓存失效总线主题。
+     */
+    public static final String TOPIC = "tag";
+
+    /**
+     * 单个字典最多记住的不存在ID数，超过后清空重记。
+     */
+    private static final int MAX_MISSING_IDS = 10_000;
+
+    private final TagRepositoryAdapter delegate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Object loadLock = new Object();
+    private volatile Dictionary dictionary;
+    private volatile long generation;
+
+    /**
+     * 构造标签仓储缓存装饰器。
+     *
+     * @param delegate 数据库标签仓储适配器
+     * @param cacheInvalidationBus 缓存失效总线
+     */
+    public CachingTagRepositoryAdapter(TagRepositoryAdapter delegate, CacheInvalidationBus cacheInvalidationBus) {
+        this.delegate = delegate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.subscribe(TOPIC, payload -> invalidateLocal());
+    }
+
+    @Override
+    public long create(TagCreateCommand command) {
+        return delegate.create(command);
+    }
+
+    @Override
+    public List<TagData> list(String subject, String keyword) {
+        return delegate.list(subject, keyword);
+    }
+
+    @Override
+    public List<TagData> findByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Dictionary current = dictionary();
+        Map<Long, TagData> byId = current.byId();
+        List<TagData> result = new ArrayList<>(ids.size());
+        Set<Long> seen = new HashSet<>();
+        List<Long> missing = null;
+        for (Long id : ids) {
+            if (id == null || id <= 0 || !seen.add(id)) {
+                continue;
+            }
+            TagData tag = byId.get(id);
+            if (tag != null) {
+                result.add(tag);
+            } else if (!current.missingIds().contains(id)) {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(id);
+            }
+        }
+        if (missing != null) {
+            List<TagData> loaded = delegate.findByIds(missing);
+            current.rememberMissing(missing, loaded);
+            if (!loaded.isEmpty()) {
+                // 字典落后于数据库（例如其他节点刚新增标签），下次访问时重建。
+                invalidateLocal();
+                result.addAll(loaded);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<TagData> findBySubjectAndName(String subject, String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        String trimmed = name.trim();
+        Dictionary current = dictionary();
+        Map<String, Long> names = current.idBySubjectAndName().get(subject);
+        Long id = names == null ? null : names.get(trimmed);
+        if (id != null) {
+            return Optional.ofNullable(current.byId().get(id));
+        }
+        Optional<TagData> loaded = delegate.findBySubjectAndName(subject, trimmed);
+        if (loaded.isPresent() && !current.byId().containsKey(loaded.get().id())) {
+            invalidateLocal();
+        }
+        return loaded;
+    }
+
+    @Override
+    public void tagsChanged() {
+        cacheInvalidationBus.publish(TOPIC, "");
+    }
+
+    /**
+     * 丢弃本节点的标签字典。
+     */
+    public void invalidateLocal() {
+        synchronized (loadLock) {
+            generation++;
+            dictionary = null;
+        }
+    }
+
+    /**
+     * 获取当前字典（不存在时从数据库加载）。
+     *
+     * @return 标签字典
+     */
+    private Dictionary dictionary() {
+        Dictionary current = dictionary;
+        if (current != null) {
+            return current;
+        }
+        long startGeneration;
+        synchronized (loadLock) {
+            if (dictionary != null) {
+                return dictionary;
+            }
+            startGeneration = generation;
+        }
+        Dictionary loaded = Dictionary.of(delegate.listAll());
+        synchronized (loadLock) {
+            // 加载期间发生过失效则不发布本次结果，避免把旧数据放回缓存。
+            if (generation == startGeneration) {
+                dictionary = loaded;
+                log.debug("event=tag_dictionary_loaded size={}", loaded.byId().size());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 标签字典（标签部分不可变）。
+     *
+     * @param byId 标签ID -> 标签
+     * @param idBySubjectAndName 学科（可为 null）-> 标签名 -> 标签ID
+     * @param missingIds 本字典有效期内已确认不存在的标签ID
+     */
+    private record Dictionary(
+            Map<Long, TagData> byId,
+            Map<String, Map<String, Long>> idBySubjectAndName,
+            Set<Long> missingIds
+    ) {
+
+        /**
+         * 由标签列表构建字典。
+         *
+         * @param tags 标签列表
+         * @return 字典
+         */
+        static Dictionary of(List<TagData> tags) {
+            Map<Long, TagData> byId = new HashMap<>(Math.max(16, tags.size() * 2));
+            Map<String, Map<String, Long>> bySubject = new HashMap<>();
+            for (TagData tag : tags) {
+                byId.put(tag.id(), tag);
+                bySubject.computeIfAbsent(tag.subject(), k -> new HashMap<>()).putIfAbsent(tag.name(), tag.id());
+            }
+            return new Dictionary(byId, bySubject, ConcurrentHashMap.newKeySet());
+        }
+
+        /**
+         * 记住回源后仍未找到的ID。
+         *
+         * @param requested 回源查询的ID
+         * @param loaded 回源结果
+         */
+        void rememberMissing(List<Long> requested, List<TagData> loaded) {
+            Set<Long> found = new HashSet<>();
+            for (TagData tag : loaded) {
+                found.add(tag.id());
+            }
+            if (missingIds.size() + requested.size() > MAX_MISSING_IDS) {
+                missingIds.clear();
+            }
+            for (Long id : requested) {
+                if (!found.contains(id)) {
+                    missingIds.add(id);
+                }
+            }
+        }
+    }
+}
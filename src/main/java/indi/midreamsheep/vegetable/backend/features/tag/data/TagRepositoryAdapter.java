@@ -58,6 +58,20 @@ public class TagRepositoryAdapter implements TagRepositoryPort {
                 .toList();
     }
 
+    /**
+     * 查询全部未删除标签（用于构建内存标签字典）。
+     *
+     * @return 标签列表
+     */
+    public List<TagData> listAll() {
+        QueryWrapper<TagEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("id", "subject", "name")
+                .eq("deleted", 0);
+        return tagMapper.selectList(wrapper).stream()
+                .map(TagRepositoryAdapter::toData)
+                .toList();
+    }
+
     @Override
     public List<TagData> findByIds(List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
@@ -4,6 +4,7 @@ import indi.midreamsheep.vegetable.backend.common.error.BizException;
 import indi.midreamsheep.vegetable.backend.common.error.ErrorCode;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.command.TagCreateCommand;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.model.TagData;
+import indi.midreamsheep.vegetable.backend.features.tag.domain.port.TagChangeNotifierPort;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.port.TagRepositoryPort;
 import org.springframework.util.StringUtils;
 
@@ -15,14 +16,17 @@ import java.util.List;
 public class TagDomainService {
 
     private final TagRepositoryPort tagRepositoryPort;
+    private final TagChangeNotifierPort tagChangeNotifierPort;
 
     /**
      * 构造标签领域服务。
      *
      * @param tagRepositoryPort 标签仓储端口
+     * @param tagChangeNotifierPort 标签变更通知端口
      */
-    public TagDomainService(TagRepositoryPort tagRepositoryPort) {
+    public TagDomainService(TagRepositoryPort tagRepositoryPort, TagChangeNotifierPort tagChangeNotifierPort) {
         this.tagRepositoryPort = tagRepositoryPort;
+        this.tagChangeNotifierPort = tagChangeNotifierPort;
     }
 
     /**
@@ -44,7 +48,9 @@ public class TagDomainService {
      */
     public long create(TagCreateCommand command) {
         validate(command);
-        return tagRepositoryPort.create(command);
+        long id = tagRepositoryPort.create(command);
+        tagChangeNotifierPort.tagsChanged();
+        return id;
     }
 
     /**
@@ -59,6 +65,7 @@ public class TagDomainService {
         return tagRepositoryPort.findBySubjectAndName(command.subject(), name)
                 .orElseGet(() -> {
                     long id = tagRepositoryPort.create(new TagCreateCommand(command.subject(), name));
+                    tagChangeNotifierPort.tagsChanged();
                     return new TagData(id, command.subject(), name);
                 });
     }
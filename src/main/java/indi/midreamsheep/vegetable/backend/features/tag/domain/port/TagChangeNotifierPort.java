@@ -0,0 +1,12 @@
+package indi.midreamsheep.vegetable.backend.features.tag.domain.port;
+
+/**
+ * 标签变更通知端口：标签新增后通知各节点刷新标签字典缓存。
+ */
+public interface TagChangeNotifierPort {
+
+    /**
+     * 通知标签数据已变更。
+     */
+    void tagsChanged();
+}
@@ -12,12 +12,14 @@ import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserProfil
 import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserSummaryData;
 import indi.midreamsheep.vegetable.backend.features.user.domain.port.UserRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.user.domain.query.UserQuery;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.PageTotalCache;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserEntity;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserMapper;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,14 +30,17 @@ import java.util.Optional;
 public class UserRepositoryAdapter implements UserRepositoryPort {
 
     private final UserMapper userMapper;
+    private final PageTotalCache pageTotalCache;
 
     /**
      * 构造用户仓储适配器。
      *
      * @param userMapper 用户 Mapper
+     * @param pageTotalCache 分页总数缓存
      */
-    public UserRepositoryAdapter(UserMapper userMapper) {
+    public UserRepositoryAdapter(UserMapper userMapper, PageTotalCache pageTotalCache) {
         this.userMapper = userMapper;
+        this.pageTotalCache = pageTotalCache;
     }
 
     @Override
@@ -47,6 +52,20 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                 .map(UserRepositoryAdapter::toProfileData);
     }
 
+    @Override
+    public List<UserProfileData> findProfilesByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        QueryWrapper<UserEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("id", "username", "nickname", "avatar_file_id", "status")
+                .in("id", ids)
+                .eq("deleted", 0);
+        return userMapper.selectList(wrapper).stream()
+                .map(UserRepositoryAdapter::toProfileData)
+                .toList();
+    }
+
     @Override
     public Optional<UserAdminDetailData> findAdminDetailById(long id) {
         QueryWrapper<UserEntity> wrapper = new QueryWrapper<>();
@@ -96,6 +115,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
         entity.setUpdatedAt(now);
         entity.setDeleted(0);
         userMapper.insert(entity);
+        pageTotalCache.invalidate(PageTotalCache.NS_USER_ADMIN);
         return entity.getId();
     }
 
@@ -107,6 +127,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                 .set("status", command.status().name())
                 .set("updated_at", now);
         userMapper.update(null, wrapper);
+        pageTotalCache.invalidate(PageTotalCache.NS_USER_ADMIN);
     }
 
     @Override
@@ -118,6 +139,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                 .set("avatar_file_id", avatarFileId)
                 .set("updated_at", now);
         userMapper.update(null, wrapper);
+        pageTotalCache.invalidate(PageTotalCache.NS_USER_ADMIN);
     }
 
     @Override
@@ -139,6 +161,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
                 .set("status", UserStatus.DISABLED.name())
                 .set("updated_at", now);
         userMapper.update(null, wrapper);
+        pageTotalCache.invalidate(PageTotalCache.NS_USER_ADMIN);
     }
 
     @Override
@@ -152,9 +175,6 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
 
     @Override
     public PageResponse<UserSummaryData> list(UserQuery query) {
-        QueryWrapper<UserEntity> countWrapper = buildQueryWrapper(query);
-        long total = userMapper.selectCount(countWrapper);
-
         QueryWrapper<UserEntity> listWrapper = buildQueryWrapper(query);
         listWrapper.select("id", "username", "nickname", "status", "last_login_at", "created_at");
         listWrapper.orderByDesc("created_at");
@@ -164,6 +184,14 @@ public class UserRepositoryAdapter implements UserRepositoryPort {
         List<UserSummaryData> items = userMapper.selectList(listWrapper).stream()
                 .map(UserRepositoryAdapter::toSummaryData)
                 .toList();
+        String keyword = StringUtils.hasText(query.keyword()) ? query.keyword().trim() : "";
+        long total = pageTotalCache.resolve(
+                PageTotalCache.NS_USER_ADMIN,
+                query.status() + "|" + keyword,
+                query.totalMode(),
+                () -> userMapper.selectCount(buildQueryWrapper(query)),
+                PageTotalCache.lowerBound(offset, items.size(), query.pageSize())
+        );
         return new PageResponse<>(items, query.page(), query.pageSize(), total);
     }
 
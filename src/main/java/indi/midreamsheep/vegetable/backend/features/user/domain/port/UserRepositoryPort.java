@@ -10,6 +10,8 @@ import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserSummar
 import indi.midreamsheep.vegetable.backend.features.user.domain.query.UserQuery;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,6 +27,14 @@ public interface UserRepositoryPort {
      */
     Optional<UserProfileData> findProfileById(long id);
 
+    /**
+     * 根据 ID 集合批量获取用户资料（单次 IN 查询，不保证顺序，不存在的 ID 被忽略）。
+     *
+     * @param ids 用户ID集合
+     * @return 用户资料列表
+     */
+    List<UserProfileData> findProfilesByIds(Collection<Long> ids);
+
     /**
      * 管理端获取用户详情。
      *
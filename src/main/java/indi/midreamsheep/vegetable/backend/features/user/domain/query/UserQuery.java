@@ -1,5 +1,6 @@
 package indi.midreamsheep.vegetable.backend.features.user.domain.query;
 
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.features.user.domain.UserStatus;
 
 /**
@@ -9,11 +10,13 @@ import indi.midreamsheep.vegetable.backend.features.user.domain.UserStatus;
  * @param status 状态
  * @param page 页码
  * @param pageSize 每页大小
+ * @param totalMode 总数计算方式（为空按 EXACT 处理）
  */
 public record UserQuery(
         String keyword,
         UserStatus status,
         int page,
-        int pageSize
+        int pageSize,
+        TotalMode totalMode
 ) {
 }
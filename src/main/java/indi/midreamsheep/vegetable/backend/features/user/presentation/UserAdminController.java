@@ -2,6 +2,7 @@ package indi.midreamsheep.vegetable.backend.features.user.presentation;
 
 import indi.midreamsheep.vegetable.backend.common.api.ApiResponse;
 import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
 import indi.midreamsheep.vegetable.backend.features.user.domain.UserDomainService;
 import indi.midreamsheep.vegetable.backend.features.user.domain.UserStatus;
 import indi.midreamsheep.vegetable.backend.features.user.domain.command.UserPasswordResetCommand;
@@ -62,6 +63,7 @@ public class UserAdminController {
      * @param status 状态
      * @param page 页码
      * @param pageSize 每页大小
+     * @param totalMode 总数计算方式（exact/estimate/none，默认 exact）
      * @return 分页结果
      */
     @GetMapping
@@ -69,12 +71,13 @@ public class UserAdminController {
             @RequestParam(value = "keyword", required = false) String keyword,
             @RequestParam(value = "status", required = false) UserStatus status,
             @RequestParam(value = "page", required = false, defaultValue = "1") Integer page,
-            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize
+            @RequestParam(value = "pageSize", required = false, defaultValue = "20") Integer pageSize,
+            @RequestParam(value = "totalMode", required = false) String totalMode
     ) {
         adminAuthorizationService.requireAdmin();
         int finalPage = normalizePage(page);
         int finalPageSize = normalizePageSize(pageSize);
-        UserQuery query = new UserQuery(keyword, status, finalPage, finalPageSize);
+        UserQuery query = new UserQuery(keyword, status, finalPage, finalPageSize, TotalMode.parse(totalMode));
         PageResponse<UserSummaryData> result = userDomainService.list(query);
         List<UserSummaryResponse> items = result.items().stream()
                 .map(UserAdminController::toSummaryResponse)
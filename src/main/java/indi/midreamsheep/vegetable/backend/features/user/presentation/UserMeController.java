@@ -14,23 +14,25 @@ import indi.midreamsheep.vegetable.backend.features.like.domain.LikeCommentDomai
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemDomainService;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemSummaryData;
-import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemAuthorResponse;
+import indi.midreamsheep.vegetable.backend.features.problem.presentation.ProblemResponseMapper;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemTagResponse;
 import indi.midreamsheep.vegetable.backend.features.problem.presentation.dto.ProblemSummaryResponse;
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.ProblemRecommendationDomainService;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.model.TagData;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.port.TagRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentData;
 import indi.midreamsheep.vegetable.backend.features.comment.presentation.dto.ProblemCommentResponse;
-import indi.midreamsheep.vegetable.backend.features.user.domain.port.UserRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserProfileData;
+import indi.midreamsheep.vegetable.backend.features.user.presentation.dto.ProblemInteractionResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,12 +46,18 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v1/users/me")
 public class UserMeController {
 
+    /**
+     * 单次互动状态查询允许的最大题目数。
+     */
+    private static final int MAX_INTERACTION_IDS = 100;
+
     private final ProblemDomainService problemDomainService;
     private final CollectionDomainService collectionDomainService;
     private final FavoriteDomainService favoriteDomainService;
     private final LikeDomainService likeDomainService;
     private final LikeCommentDomainService likeCommentDomainService;
-    private final UserRepositoryPort userRepositoryPort;
+    private final ProblemRecommendationDomainService problemRecommendationDomainService;
+    private final UserProfileBatchLoader userProfileBatchLoader;
     private final TagRepositoryPort tagRepositoryPort;
 
     /**
@@ -60,7 +68,8 @@ public class UserMeController {
      * @param favoriteDomainService 收藏领域服务
      * @param likeDomainService 点赞领域服务
      * @param likeCommentDomainService 评论点赞领域服务
-     * @param userRepositoryPort 用户仓储端口
+     * @param problemRecommendationDomainService 题目推荐领域服务
+     * @param userProfileBatchLoader 用户资料批量加载器（请求级）
      * @param tagRepositoryPort 标签仓储端口
      */
     public UserMeController(
@@ -69,7 +78,8 @@ public class UserMeController {
             FavoriteDomainService favoriteDomainService,
             LikeDomainService likeDomainService,
             LikeCommentDomainService likeCommentDomainService,
-            UserRepositoryPort userRepositoryPort,
+            ProblemRecommendationDomainService problemRecommendationDomainService,
+            UserProfileBatchLoader userProfileBatchLoader,
             TagRepositoryPort tagRepositoryPort
     ) {
         this.problemDomainService = problemDomainService;
@@ -77,7 +87,8 @@ public class UserMeController {
         this.favoriteDomainService = favoriteDomainService;
         this.likeDomainService = likeDomainService;
         this.likeCommentDomainService = likeCommentDomainService;
-        this.userRepositoryPort = userRepositoryPort;
+        this.problemRecommendationDomainService = problemRecommendationDomainService;
+        this.userProfileBatchLoader = userProfileBatchLoader;
         this.tagRepositoryPort = tagRepositoryPort;
     }
 
@@ -182,6 +193,40 @@ public class UserMeController {
         return ApiResponse.ok(new PageResponse<>(items, result.page(), result.pageSize(), result.total()));
     }
 
+    /**
+     * 批量查询当前用户对一组题目的互动状态（点赞/收藏），供列表页一次性渲染。
+     * <p>
+     * 按请求顺序返回，重复ID只保留首次出现；不存在或不可见的题目同样返回 false。
+     */
+    @GetMapping("/interactions")
+    public ApiResponse<List<ProblemInteractionResponse>> myInteractions(
+            @RequestParam(value = "problemIds", required = false) List<Long> problemIds
+    ) {
+        long userId = requireCurrentUserId();
+        List<Long> ids = normalizeProblemIds(problemIds);
+        Set<Long> liked = likeDomainService.findLikedProblemIds(userId, ids);
+        Set<Long> favorited = favoriteDomainService.findFavoritedProblemIds(userId, ids);
+        List<ProblemInteractionResponse> items = ids.stream()
+                .map(id -> new ProblemInteractionResponse(id, liked.contains(id), favorited.contains(id)))
+                .toList();
+        return ApiResponse.ok(items);
+    }
+
+    /**
+     * 为我推荐的题目（根据最近点赞、收藏的题目，按相似用户的共同偏好推荐；不包含已点赞、已收藏的题目）。
+     */
+    @GetMapping("/recommendations/problems")
+    public ApiResponse<List<ProblemSummaryResponse>> myRecommendedProblems(
+            @RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit
+    ) {
+        long userId = requireCurrentUserId();
+        List<ProblemSummaryData> result = problemRecommendationDomainService.recommendProblems(
+                userId,
+                limit == null ? 20 : limit
+        );
+        return ApiResponse.ok(mapProblemSummaries(result));
+    }
+
     /**
      * 将题目摘要分页结果映射为响应分页（补全 author 与 tags）。
      *
@@ -189,39 +234,25 @@ public class UserMeController {
      * @return 响应分页
      */
     private PageResponse<ProblemSummaryResponse> mapProblemSummaryPage(PageResponse<ProblemSummaryData> result) {
-        Map<Long, ProblemTagResponse> tagMap = buildTagMap(result.items());
-        List<ProblemSummaryResponse> items = result.items().stream()
-                .map(data -> toProblemSummaryResponse(data, tagMap))
-                .toList();
+        List<ProblemSummaryResponse> items = mapProblemSummaries(result.items());
         return new PageResponse<>(items, result.page(), result.pageSize(), result.total());
     }
 
     /**
-     * 将题目摘要转换为响应 DTO。
+     * 将题目摘要列表映射为响应列表（批量补全 author 与 tags）。
      *
-     * @param data 题目摘要
-     * @param tagMap 标签映射
-     * @return 响应 DTO
+     * @param items 题目摘要列表
+     * @return 响应列表
      */
-    private ProblemSummaryResponse toProblemSummaryResponse(ProblemSummaryData data, Map<Long, ProblemTagResponse> tagMap) {
-        ProblemAuthorResponse author = buildAuthor(data.authorId());
-        List<Long> tagIds = data.tagIds();
-        List<ProblemTagResponse> tags = tagIds == null ? List.of() : tagIds.stream()
-                .map(tagMap::get)
-                .filter(Objects::nonNull)
+    private List<ProblemSummaryResponse> mapProblemSummaries(List<ProblemSummaryData> items) {
+        Map<Long, ProblemTagResponse> tagMap = buildTagMap(items);
+        Set<Long> authorIds = items.stream()
+                .map(ProblemSummaryData::authorId)
+                .collect(Collectors.toSet());
+        Map<Long, UserProfileData> authors = userProfileBatchLoader.loadMany(authorIds);
+        return items.stream()
+                .map(data -> ProblemResponseMapper.toSummary(data, tagMap, authors))
                 .toList();
-        return new ProblemSummaryResponse(
-                data.id(),
-                data.title(),
-                data.subject(),
-                data.difficulty(),
-                data.status(),
-                data.visibility(),
-                data.publishedAt(),
-                author,
-                tagIds == null ? List.of() : tagIds,
-                tags
-        );
     }
 
     /**
@@ -245,28 +276,6 @@ public class UserMeController {
         return tags.stream().collect(Collectors.toMap(TagData::id, t -> new ProblemTagResponse(t.id(), t.name())));
     }
 
-    /**
-     * 构造题目作者信息（稳定可展示）。
-     *
-     * @param authorId 作者ID
-     * @return 作者信息
-     */
-    private ProblemAuthorResponse buildAuthor(long authorId) {
-        if (authorId <= 0) {
-            return new ProblemAuthorResponse(0L, "用户 0", "用户 0");
-        }
-        return userRepositoryPort.findProfileById(authorId)
-                .map(profile -> {
-                    String preferredNickname = StringUtils.hasText(profile.nickname()) ? profile.nickname().trim() : null;
-                    String preferredUsername = StringUtils.hasText(profile.username()) ? profile.username().trim() : null;
-                    String displayName = StringUtils.hasText(preferredNickname)
-                            ? preferredNickname
-                            : (StringUtils.hasText(preferredUsername) ? preferredUsername : ("用户 " + authorId));
-                    return new ProblemAuthorResponse(authorId, displayName, displayName);
-                })
-                .orElseGet(() -> new ProblemAuthorResponse(authorId, "用户 " + authorId, "用户 " + authorId));
-    }
-
     /**
      * 将题单摘要转换为响应 DTO。
      *
@@ -300,6 +309,7 @@ public class UserMeController {
                 data.replyToCommentId(),
                 data.content(),
                 data.likeCount(),
+                data.replyCount(),
                 data.deleted(),
                 data.createdAt()
         );
@@ -334,6 +344,29 @@ public class UserMeController {
         return pageSize;
     }
 
+    /**
+     * 规范化互动状态查询的题目ID列表（去重保序，最多 100 个）。
+     *
+     * @param problemIds 题目ID列表
+     * @return 题目ID列表
+     */
+    private static List<Long> normalizeProblemIds(List<Long> problemIds) {
+        if (problemIds == null || problemIds.isEmpty()) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "problemIds 不能为空");
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : problemIds) {
+            if (id == null || id <= 0) {
+                throw new BizException(ErrorCode.BAD_REQUEST, "problemIds 不合法");
+            }
+            ids.add(id);
+        }
+        if (ids.size() > MAX_INTERACTION_IDS) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "problemIds 最多 " + MAX_INTERACTION_IDS + " 个");
+        }
+        return List.copyOf(ids);
+    }
+
     /**
      * 获取当前用户 ID。
      *
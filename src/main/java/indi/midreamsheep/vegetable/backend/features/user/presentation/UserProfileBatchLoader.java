@@ -0,0 +1,89 @@
+package indi.midreamsheep.vegetable.backend.features.user.presentation;
+
+import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserProfileData;
+import indi.midreamsheep.vegetable.backend.features.user.domain.port.UserRepositoryPort;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 请求级用户资料批量加载器（DataLoader 风格）。
+ * <p>
+ * 列表组装时先按页收集作者ID，再通过 {@link UserRepositoryPort#findProfilesByIds} 一次 IN 查询取回；
+ * 同一请求内已加载的 ID（包括不存在的 ID）会被记住，不会重复查询。
+ */
+@Component
+@RequestScope
+public class UserProfileBatchLoader {
+
+    private final UserRepositoryPort userRepositoryPort;
+    private final Map<Long, UserProfileData> loaded = new HashMap<>();
+    private final Set<Long> resolvedIds = new HashSet<>();
+
+    /**
+     * 构造用户资料批量加载器。
+     *
+     * @param userRepositoryPort 用户仓储端口
+     */
+    public UserProfileBatchLoader(UserRepositoryPort userRepositoryPort) {
+        this.userRepositoryPort = userRepositoryPort;
+    }
+
+    /**
+     * 批量加载用户资料：仅对本请求内尚未解析过的 ID 发起一次查询。
+     *
+     * @param ids 用户ID集合（忽略 null 与非正数）
+     * @return 用户ID -> 用户资料（不存在的 ID 不在结果中）
+     */
+    public Map<Long, UserProfileData> loadMany(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> wanted = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null && id > 0) {
+                wanted.add(id);
+            }
+        }
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : wanted) {
+            if (!resolvedIds.contains(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (UserProfileData profile : userRepositoryPort.findProfilesByIds(missing)) {
+                loaded.put(profile.id(), profile);
+            }
+            resolvedIds.addAll(missing);
+        }
+        Map<Long, UserProfileData> result = new HashMap<>();
+        for (Long id : wanted) {
+            UserProfileData profile = loaded.get(id);
+            if (profile != null) {
+                result.put(id, profile);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 加载单个用户资料（复用请求内缓存）。
+     *
+     * @param id 用户ID
+     * @return 用户资料
+     */
+    public Optional<UserProfileData> load(long id) {
+        if (id <= 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(loadMany(Set.of(id)).get(id));
+    }
+}
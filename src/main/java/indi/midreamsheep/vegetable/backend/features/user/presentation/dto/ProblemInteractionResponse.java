@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.features.user.presentation.dto;
+
+/**
+ * 当前用户对单个题目的互动状态响应 DTO。
+ *
+ * @param problemId 题目ID
+ * @param liked 是否已点赞
+ * @param favorited 是否已收藏
+ */
+public record ProblemInteractionResponse(
+        long problemId,
+        boolean liked,
+        boolean favorited
+) {
+}
@@ -0,0 +1,27 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 缓存失效消息总线：本地缓存通过它在多节点之间同步失效事件。
+ * <p>
+ * 默认实现仅在本进程内分发；启用 {@code cache.redis-sync.enabled=true} 后通过 Redis pub/sub 广播到其他节点。
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * 发布失效事件：本节点订阅者同步收到，其他节点异步收到。
+     *
+     * @param topic 主题（例如 tag、problem.detail）
+     * @param payload 负载（可为空字符串，例如表示「全部失效」）
+     */
+    void publish(String topic, String payload);
+
+    /**
+     * 订阅某个主题的失效事件。
+     *
+     * @param topic 主题
+     * @param listener 监听器（入参为 payload）
+     */
+    void subscribe(String topic, Consumer<String> listener);
+}
@@ -0,0 +1,67 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 缓存失效总线装配：默认进程内分发，按需启用 Redis pub/sub。
+ */
+@Configuration
+@EnableConfigurationProperties(CacheSyncProperties.class)
+public class CacheSyncConfig {
+
+    /**
+     * 进程内缓存失效总线（未启用 Redis 同步时生效）。
+     *
+     * @return 缓存失效总线
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.redis-sync", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public CacheInvalidationBus localCacheInvalidationBus() {
+        return new LocalCacheInvalidationBus();
+    }
+
+    /**
+     * Redis 缓存失效总线（仅在启用 Redis 同步时生效）。
+     *
+     * @param properties 同步配置
+     * @param redisTemplate Redis 模板
+     * @return 缓存失效总线
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.redis-sync", name = "enabled", havingValue = "true")
+    public RedisCacheInvalidationBus redisCacheInvalidationBus(
+            CacheSyncProperties properties,
+            StringRedisTemplate redisTemplate
+    ) {
+        properties.validateWhenEnabled();
+        return new RedisCacheInvalidationBus(redisTemplate, properties.channel());
+    }
+
+    /**
+     * 订阅缓存失效频道的监听容器（仅在启用 Redis 同步时生效）。
+     *
+     * @param properties 同步配置
+     * @param connectionFactory Redis 连接工厂
+     * @param bus Redis 缓存失效总线
+     * @return 监听容器
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.redis-sync", name = "enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            CacheSyncProperties properties,
+            RedisConnectionFactory connectionFactory,
+            RedisCacheInvalidationBus bus
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(bus, new ChannelTopic(properties.channel()));
+        return container;
+    }
+}
@@ -0,0 +1,27 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.StringUtils;
+
+/**
+ * 本地缓存跨节点同步配置项。
+ *
+ * @param enabled 是否启用 Redis pub/sub 同步（默认关闭，仅单节点内生效）
+ * @param channel Redis 频道名
+ */
+@ConfigurationProperties(prefix = "cache.redis-sync")
+public record CacheSyncProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("vf:cache:invalidate") String channel
+) {
+
+    /**
+     * 当启用 Redis 同步时，校验配置是否齐全。
+     */
+    public void validateWhenEnabled() {
+        if (enabled && !StringUtils.hasText(channel)) {
+            throw new IllegalStateException("Redis 缓存同步已启用，但 cache.redis-sync.channel 为空");
+        }
+    }
+}
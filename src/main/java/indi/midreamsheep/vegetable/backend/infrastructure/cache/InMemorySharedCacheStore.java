@@ -0,0 +1,50 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内共享缓存存储：语义与 Redis 实现一致（带过期时间的字符串键值），
+ * 用于测试或无 Redis 的单节点部署。
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<String> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        entries.put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void delete(Collection<String> keys) {
+        for (String key : keys) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * 缓存条目。
+     *
+     * @param value 值
+     * @param expiresAtNanos 过期时间（{@link System#nanoTime()}）
+     */
+    private record Entry(String value, long expiresAtNanos) {
+    }
+}
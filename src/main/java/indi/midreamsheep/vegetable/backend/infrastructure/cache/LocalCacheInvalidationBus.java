@@ -0,0 +1,50 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 进程内缓存失效总线（单节点部署或未启用 Redis 同步时使用）。
+ */
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalCacheInvalidationBus.class);
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String topic, String payload) {
+        dispatchLocal(topic, payload);
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+        listeners.computeIfAbsent(topic, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * 分发给本进程内的订阅者；单个监听器异常不影响其他监听器。
+     *
+     * @param topic 主题
+     * @param payload 负载
+     */
+    protected void dispatchLocal(String topic, String payload) {
+        List<Consumer<String>> subscribers = listeners.get(topic);
+        if (subscribers == null) {
+            return;
+        }
+        for (Consumer<String> listener : subscribers) {
+            try {
+                listener.accept(payload);
+            } catch (RuntimeException ex) {
+                log.warn("event=cache_invalidation_listener_failed topic={}", topic, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 未配置共享缓存时使用的空实现：读取总是未命中，写入与删除直接忽略。
+ */
+public class NoopSharedCacheStore implements SharedCacheStore {
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        // 无共享存储，忽略写入。
+    }
+
+    @Override
+    public void delete(Collection<String> keys) {
+        // 无共享存储，忽略删除。
+    }
+
+    @Override
+    public boolean isNoop() {
+        return true;
+    }
+}
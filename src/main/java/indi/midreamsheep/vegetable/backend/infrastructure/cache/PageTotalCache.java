@@ -0,0 +1,170 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 分页总数缓存：按「命名空间 + 归一化查询条件」缓存 count 结果，避免每次翻页都重复 count。
+ * <p>
+ * 写操作按命名空间整体失效（例如题目发布/下架/删除使 {@link #NS_PROBLEM_PUBLIC} 失效），
+ * 失效经 {@link CacheInvalidationBus} 广播到所有节点。
+ * 每个命名空间维护一个版本号：count 开始前记录版本，写回时若版本已变化则丢弃结果，
+ * 避免「count 期间发生写入」导致旧值被写回缓存。
+ */
+public class PageTotalCache {
+
+    /**
+     * 公开题目列表。
+     */
+    public static final String NS_PROBLEM_PUBLIC = "problem.public";
+
+    /**
+     * 公开题单列表。
+     */
+    public static final String NS_COLLECTION_PUBLIC = "collection.public";
+
+    /**
+     * 题目评论列表。
+     */
+    public static final String NS_PROBLEM_COMMENT = "problem.comment";
+
+    /**
+     * 管理端用户列表。
+     */
+    public static final String NS_USER_ADMIN = "user.admin";
+
+    /**
+     * 缓存失效总线主题（负载为命名空间）。
+     */
+    public static final String TOPIC = "page.total";
+
+    private final PageTotalCacheProperties properties;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Map<String, Namespace> namespaces = new ConcurrentHashMap<>();
+
+    /**
+     * 构造分页总数缓存。
+     *
+     * @param properties 缓存配置
+     * @param cacheInvalidationBus 缓存失效总线
+     */
+    public PageTotalCache(PageTotalCacheProperties properties, CacheInvalidationBus cacheInvalidationBus) {
+        this.properties = properties;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.subscribe(TOPIC, this::bumpVersion);
+    }
+
+    /**
+     * 按总数模式解析分页总数。
+     *
+     * @param namespace 命名空间
+     * @param key 归一化后的查询条件
+     * @param mode 总数模式（为空按 EXACT 处理）
+     * @param counter 精确 count 查询
+     * @param lowerBound 估算模式下无缓存时使用的下界
+     * @return 总数（NONE 模式返回 -1）
+     */
+    public long resolve(String namespace, String key, TotalMode mode, LongSupplier counter, long lowerBound) {
+        TotalMode finalMode = mode == null ? TotalMode.EXACT : mode;
+        if (finalMode == TotalMode.NONE) {
+            return -1L;
+        }
+        if (!properties.enabled()) {
+            return finalMode == TotalMode.ESTIMATE ? lowerBound : counter.getAsLong();
+        }
+        Namespace ns = namespaces.computeIfAbsent(namespace, k -> new Namespace());
+        long now = System.nanoTime();
+        Entry cached = ns.entries.get(key);
+        if (finalMode == TotalMode.ESTIMATE) {
+            if (cached != null && now - cached.storedAtNanos() <= properties.maxStaleSeconds() * 1_000_000_000L) {
+                return cached.total();
+            }
+            return lowerBound;
+        }
+        if (cached != null && cached.version() == ns.version
+                && now - cached.storedAtNanos() <= properties.ttlSeconds() * 1_000_000_000L) {
+            return cached.total();
+        }
+        long versionBefore = ns.version;
+        long total = counter.getAsLong();
+        if (ns.version == versionBefore) {
+            if (ns.entries.size() >= properties.maxEntriesPerNamespace() && !ns.entries.containsKey(key)) {
+                ns.entries.clear();
+            }
+            ns.entries.put(key, new Entry(total, versionBefore, System.nanoTime()));
+        }
+        return total;
+    }
+
+    /**
+     * 使命名空间下的精确缓存全部失效（所有节点；估算模式仍可在陈旧窗口内使用旧值）。
+     * <p>
+     * 在事务内调用时，提交后会再失效一次，防止并发请求在提交前 count 到旧数据并写回。
+     *
+     * @param namespace 命名空间
+     */
+    public void invalidate(String namespace) {
+        cacheInvalidationBus.publish(TOPIC, namespace);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheInvalidationBus.publish(TOPIC, namespace);
+                }
+            });
+        }
+    }
+
+    /**
+     * 递增命名空间版本号（处理本节点与其他节点发布的失效消息）。
+     *
+     * @param namespace 命名空间
+     */
+    private void bumpVersion(String namespace) {
+        Namespace ns = namespaces.get(namespace);
+        if (ns != null) {
+            synchronized (ns) {
+                ns.version++;
+            }
+        }
+    }
+
+    /**
+     * 根据当前页推算总数下界：页未取满时即为精确值，取满时至少还有一条。
+     *
+     * @param offset 偏移量
+     * @param fetched 当前页条数
+     * @param pageSize 每页大小
+     * @return 总数下界
+     */
+    public static long lowerBound(long offset, int fetched, int pageSize) {
+        if (fetched == 0) {
+            return offset;
+        }
+        return offset + fetched + (fetched >= pageSize ? 1 : 0);
+    }
+
+    /**
+     * 缓存条目。
+     *
+     * @param total 总数
+     * @param version 写入时的命名空间版本
+     * @param storedAtNanos 写入时间（{@link System#nanoTime()}）
+     */
+    private record Entry(long total, long version, long storedAtNanos) {
+    }
+
+    /**
+     * 命名空间：条目表与失效版本号。
+     */
+    private static final class Namespace {
+
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private volatile long version;
+    }
+}
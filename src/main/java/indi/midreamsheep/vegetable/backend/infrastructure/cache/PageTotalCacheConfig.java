@@ -0,0 +1,29 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 分页总数缓存装配。
+ */
+@Configuration
+@EnableConfigurationProperties(PageTotalCacheProperties.class)
+public class PageTotalCacheConfig {
+
+    /**
+     * 构造分页总数缓存。
+     *
+     * @param properties 缓存配置
+     * @param cacheInvalidationBus 缓存失效总线
+     * @return 分页总数缓存
+     */
+    @Bean
+    public PageTotalCache pageTotalCache(
+            PageTotalCacheProperties properties,
+            CacheInvalidationBus cacheInvalidationBus
+    ) {
+        properties.validate();
+        return new PageTotalCache(properties, cacheInvalidationBus);
+    }
+}
@@ -0,0 +1,36 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 分页总数缓存配置项。
+ *
+ * @param enabled 是否启用（关闭后 EXACT 模式每次都执行 count）
+ * @param ttlSeconds 精确模式下缓存值的有效期（秒）
+ * @param maxStaleSeconds 估算模式下可接受的最大陈旧时间（秒）
+ * @param maxEntriesPerNamespace 每个命名空间最多缓存的查询条件数
+ */
+@ConfigurationProperties(prefix = "cache.page-total")
+public record PageTotalCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30") long ttlSeconds,
+        @DefaultValue("600") long maxStaleSeconds,
+        @DefaultValue("1000") int maxEntriesPerNamespace
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (ttlSeconds < 0) {
+            throw new IllegalStateException("cache.page-total.ttl-seconds 不能为负数");
+        }
+        if (maxStaleSeconds < ttlSeconds) {
+            throw new IllegalStateException("cache.page-total.max-stale-seconds 不能小于 ttl-seconds");
+        }
+        if (maxEntriesPerNamespace < 1) {
+            throw new IllegalStateException("cache.page-total.max-entries-per-namespace 必须大于 0");
+        }
+    }
+}
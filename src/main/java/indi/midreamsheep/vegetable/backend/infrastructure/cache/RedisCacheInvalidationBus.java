@@ -0,0 +1,56 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 基于 Redis pub/sub 的缓存失效总线。
+ * <p>
+ * 消息格式：{@code nodeId|topic|payload}；收到自己发出的消息时忽略（本节点已同步分发过）。
+ * Redis 不可用时仅记录日志，本节点缓存仍会失效，其他节点依赖各自的 TTL/回源兜底。
+ */
+public class RedisCacheInvalidationBus extends LocalCacheInvalidationBus implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheInvalidationBus.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 构造 Redis 缓存失效总线。
+     *
+     * @param redisTemplate Redis 模板
+     * @param channel 频道名
+     */
+    public RedisCacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(String topic, String payload) {
+        dispatchLocal(topic, payload);
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "|" + topic + "|" + (payload == null ? "" : payload));
+        } catch (RuntimeException ex) {
+            log.warn("event=cache_invalidation_publish_failed topic={} channel={}", topic, channel, ex);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        dispatchLocal(parts[1], parts[2]);
+    }
+}
@@ -0,0 +1,61 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 基于 Redis 的共享缓存存储。
+ * <p>
+ * Redis 不可用时仅记录日志并按未命中处理，请求回源数据库而不是失败。
+ */
+public class RedisSharedCacheStore implements SharedCacheStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisSharedCacheStore.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 构造 Redis 共享缓存存储。
+     *
+     * @param redisTemplate Redis 模板
+     */
+    public RedisSharedCacheStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+        } catch (RuntimeException ex) {
+            log.warn("event=shared_cache_get_failed key={}", key, ex);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (RuntimeException ex) {
+            log.warn("event=shared_cache_put_failed key={}", key, ex);
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(keys);
+        } catch (RuntimeException ex) {
+            log.warn("event=shared_cache_delete_failed keys={}", keys, ex);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 共享缓存存储（二级缓存）：多个节点共用的字符串键值存储。
+ * <p>
+ * 实现需自行吞掉存储故障（记录日志并按未命中处理），调用方总能回源数据库。
+ */
+public interface SharedCacheStore {
+
+    /**
+     * 读取缓存值。
+     *
+     * @param key 键
+     * @return 值（未命中或存储不可用时为空）
+     */
+    Optional<String> get(String key);
+
+    /**
+     * 写入缓存值。
+     *
+     * @param key 键
+     * @param value 值
+     * @param ttl 有效期
+     */
+    void put(String key, String value, Duration ttl);
+
+    /**
+     * 删除一组键。
+     *
+     * @param keys 键集合
+     */
+    void delete(Collection<String> keys);
+
+    /**
+     * 是否为空实现（未配置共享存储）。
+     *
+     * @return 空实现返回 true
+     */
+    default boolean isNoop() {
+        return false;
+    }
+}
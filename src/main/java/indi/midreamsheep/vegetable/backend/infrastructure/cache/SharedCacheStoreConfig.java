@@ -0,0 +1,49 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 共享缓存存储装配：默认不启用，按 {@code cache.shared-store.type} 选择 Redis 或进程内实现。
+ */
+@Configuration
+@EnableConfigurationProperties(SharedCacheStoreProperties.class)
+public class SharedCacheStoreConfig {
+
+    /**
+     * 空实现（未配置共享存储时生效）。
+     *
+     * @return 共享缓存存储
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.shared-store", name = "type", havingValue = "none", matchIfMissing = true)
+    public SharedCacheStore noopSharedCacheStore() {
+        return new NoopSharedCacheStore();
+    }
+
+    /**
+     * 进程内实现（测试或单节点使用）。
+     *
+     * @return 共享缓存存储
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.shared-store", name = "type", havingValue = "memory")
+    public SharedCacheStore inMemorySharedCacheStore() {
+        return new InMemorySharedCacheStore();
+    }
+
+    /**
+     * Redis 实现。
+     *
+     * @param redisTemplate Redis 模板
+     * @return 共享缓存存储
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.shared-store", name = "type", havingValue = "redis")
+    public SharedCacheStore redisSharedCacheStore(StringRedisTemplate redisTemplate) {
+        return new RedisSharedCacheStore(redisTemplate);
+    }
+}
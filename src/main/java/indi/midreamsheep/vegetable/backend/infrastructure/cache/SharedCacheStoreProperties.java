@@ -0,0 +1,15 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 共享缓存存储（二级缓存）配置项。
+ *
+ * @param type 存储类型：{@code none}（默认，仅本地缓存）、{@code memory}（进程内，测试用）、{@code redis}
+ */
+@ConfigurationProperties(prefix = "cache.shared-store")
+public record SharedCacheStoreProperties(
+        @DefaultValue("none") String type
+) {
+}
@@ -0,0 +1,33 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.UserRelationSetCache;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户关系集合缓存装配。
+ */
+@Configuration
+@EnableConfigurationProperties(UserRelationCacheProperties.class)
+public class UserRelationCacheConfig {
+
+    /**
+     * 构造用户关系集合缓存。
+     *
+     * @param userRelationMapper 用户关系 Mapper
+     * @param sharedCacheStore 共享缓存存储
+     * @param properties 缓存配置
+     * @return 用户关系集合缓存
+     */
+    @Bean
+    public UserRelationSetCache userRelationSetCache(
+            UserRelationMapper userRelationMapper,
+            SharedCacheStore sharedCacheStore,
+            UserRelationCacheProperties properties
+    ) {
+        properties.validate();
+        return new UserRelationSetCache(userRelationMapper, sharedCacheStore, properties);
+    }
+}
@@ -0,0 +1,37 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.StringUtils;
+
+/**
+ * 用户关系（点赞/收藏）集合缓存配置项。仅在配置了共享缓存（{@code cache.shared-store.type}）时生效。
+ *
+ * @param enabled 是否启用
+ * @param ttlSeconds 集合有效期（秒）
+ * @param maxSetSize 单个用户可缓存的最大关系数（超过则直接查询数据库）
+ * @param keyPrefix 共享缓存键前缀
+ */
+@ConfigurationProperties(prefix = "cache.user-relation")
+public record UserRelationCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("600") long ttlSeconds,
+        @DefaultValue("2000") int maxSetSize,
+        @DefaultValue("vf:relation:") String keyPrefix
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (ttlSeconds < 1) {
+            throw new IllegalStateException("cache.user-relation.ttl-seconds 必须大于 0");
+        }
+        if (maxSetSize < 1) {
+            throw new IllegalStateException("cache.user-relation.max-set-size 必须大于 0");
+        }
+        if (!StringUtils.hasText(keyPrefix)) {
+            throw new IllegalStateException("cache.user-relation.key-prefix 不能为空");
+        }
+    }
+}
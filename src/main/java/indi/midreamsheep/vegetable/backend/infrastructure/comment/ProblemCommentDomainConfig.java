@@ -1,8 +1,15 @@
 package indi.midreamsheep.vegetable.backend.infrastructure.comment;
 
+import indi.midreamsheep.vegetable.backend.features.comment.data.ProblemCommentHotRanking;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.CommentHotScore;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.ProblemCommentDomainService;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentCounterPort;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRankingPort;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemCommentMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,6 +17,7 @@ import org.springframework.context.annotation.Configuration;
  * 评论领域服务装配。
  */
 @Configuration
+@EnableConfigurationProperties(ProblemCommentHotRankingProperties.class)
 public class ProblemCommentDomainConfig {
 
     /**
@@ -17,14 +25,47 @@ public class ProblemCommentDomainConfig {
      *
      * @param problemCommentRepositoryPort 评论仓储端口
      * @param problemRepositoryPort 题目仓储端口
+     * @param problemCommentCounterPort 评论计数端口
+     * @param problemCommentRankingPort 评论热度排行端口
      * @return 评论领域服务
      */
     @Bean
     public ProblemCommentDomainService problemCommentDomainService(
             ProblemCommentRepositoryPort problemCommentRepositoryPort,
-            ProblemRepositoryPort problemRepositoryPort
+            ProblemRepositoryPort problemRepositoryPort,
+            ProblemCommentCounterPort problemCommentCounterPort,
+            ProblemCommentRankingPort problemCommentRankingPort
     ) {
-        return new ProblemCommentDomainService(problemCommentRepositoryPort, problemRepositoryPort);
+        return new ProblemCommentDomainService(
+                problemCommentRepositoryPort,
+                problemRepositoryPort,
+                problemCommentCounterPort,
+                problemCommentRankingPort
+        );
     }
-}
 
+    /**
+     * 构造评论热度排行（进程内，多节点经缓存失效总线同步更新）。
+     *
+     * @param problemCommentMapper 评论 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param properties 热度排行配置
+     * @return 评论热度排行
+     */
+    @Bean
+    public ProblemCommentHotRanking problemCommentHotRanking(
+            ProblemCommentMapper problemCommentMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            ProblemCommentHotRankingProperties properties
+    ) {
+        properties.validate();
+        return new ProblemCommentHotRanking(
+                problemCommentMapper,
+                cacheInvalidationBus,
+                new CommentHotScore(properties.replyWeight(), properties.decaySeconds()),
+                properties.maxProblems(),
+                properties.maxEntriesPerProblem(),
+                properties.rebuildIntervalSeconds()
+        );
+    }
+}
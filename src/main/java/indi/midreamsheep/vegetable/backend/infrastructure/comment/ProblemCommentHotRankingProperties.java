@@ -0,0 +1,38 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.comment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 评论热度排行配置项。
+ *
+ * @param maxProblems 最多同时缓存排行的题目数（超出按最近最少使用淘汰）
+ * @param maxEntriesPerProblem 每道题最多保留的排行条数（HOT 排序只提供这么多条）
+ * @param rebuildIntervalSeconds 单题排行的最长使用时间（秒），到期后从数据库重建，用于吸收延迟落库的回复数
+ * @param replyWeight 一条回复折算的点赞数
+ * @param decaySeconds 互动量每差 10 倍对应的发表时间差（秒）
+ */
+@ConfigurationProperties(prefix = "cache.comment-hot")
+public record ProblemCommentHotRankingProperties(
+        @DefaultValue("1000") int maxProblems,
+        @DefaultValue("500") int maxEntriesPerProblem,
+        @DefaultValue("300") long rebuildIntervalSeconds,
+        @DefaultValue("2.0") double replyWeight,
+        @DefaultValue("45000") long decaySeconds
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (maxProblems < 1 || maxEntriesPerProblem < 1) {
+            throw new IllegalStateException("cache.comment-hot.max-problems 与 max-entries-per-problem 必须大于 0");
+        }
+        if (rebuildIntervalSeconds < 1) {
+            throw new IllegalStateException("cache.comment-hot.rebuild-interval-seconds 必须大于 0");
+        }
+        if (replyWeight < 0 || decaySeconds < 1) {
+            throw new IllegalStateException("cache.comment-hot.reply-weight 不能为负数，decay-seconds 必须大于 0");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.counter;
+
+import indi.midreamsheep.vegetable.backend.features.comment.data.ProblemCommentCounterAdapter;
+import indi.midreamsheep.vegetable.backend.features.counter.data.CounterReconciler;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.CounterReconcileDomainService;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.port.CounterReconcilePort;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.CounterReconcileMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 冗余计数对账装配。
+ */
+@Configuration
+@EnableConfigurationProperties(CounterReconcileProperties.class)
+public class CounterDomainConfig {
+
+    /**
+     * 构造计数对账领域服务。
+     *
+     * @param counterReconcilePort 计数对账端口
+     * @return 计数对账领域服务
+     */
+    @Bean
+    public CounterReconcileDomainService counterReconcileDomainService(CounterReconcilePort counterReconcilePort) {
+        return new CounterReconcileDomainService(counterReconcilePort);
+    }
+
+    /**
+     * 构造计数对账器（关闭定时对账时仍可手动发起）。
+     *
+     * @param counterReconcileMapper 计数对账 Mapper
+     * @param commentCounterAdapter 评论计数适配器（对账前刷盘写后计数）
+     * @param properties 对账配置
+     * @return 计数对账器
+     */
+    @Bean
+    public CounterReconciler counterReconciler(
+            CounterReconcileMapper counterReconcileMapper,
+            ProblemCommentCounterAdapter commentCounterAdapter,
+            CounterReconcileProperties properties
+    ) {
+        properties.validate();
+        return new CounterReconciler(
+                counterReconcileMapper,
+                List.of(commentCounterAdapter::flush),
+                properties.chunkSize(),
+                properties.chunkPauseMillis(),
+                properties.enabled() ? properties.intervalSeconds() : 0L
+        );
+    }
+}
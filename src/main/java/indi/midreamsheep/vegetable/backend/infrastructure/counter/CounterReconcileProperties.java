@@ -0,0 +1,36 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.counter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 冗余计数对账配置项。
+ *
+ * @param enabled 是否启用定时对账（关闭时仍可通过管理端接口手动发起）
+ * @param intervalSeconds 对账间隔（秒，首次在启动后一个间隔执行）
+ * @param chunkSize 每批核对的目标行数
+ * @param chunkPauseMillis 批与批之间的停顿（毫秒）
+ */
+@ConfigurationProperties(prefix = "counter.reconcile")
+public record CounterReconcileProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3600") long intervalSeconds,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("10") long chunkPauseMillis
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (intervalSeconds < 60) {
+            throw new IllegalStateException("counter.reconcile.interval-seconds 不能小于 60");
+        }
+        if (chunkSize < 1 || chunkSize > 5000) {
+            throw new IllegalStateException("counter.reconcile.chunk-size 必须在 1-5000 范围内");
+        }
+        if (chunkPauseMillis < 0 || chunkPauseMillis > 10000) {
+            throw new IllegalStateException("counter.reconcile.chunk-pause-millis 必须在 0-10000 范围内");
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.counter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 写后（write-behind）计数器：在内存中按 ID 累加增量，定期或累计到一定事件数后批量落库。
+ * <p>
+ * 每个 ID 对应一个 {@link LongAdder}（内部分段，热点 ID 的并发累加不会争用同一个变量）。
+ * 刷盘时读取 {@code sum - 已落库值} 作为增量交给 sink；sink 成功后才推进已落库值，失败则下次重试。
+ * 连续多轮无增量的 ID 会被移出内存：槽先标记为关闭再移出，{@link #add} 遇到关闭的槽会改用新槽；
+ * 在标记前已通过检查的并发累加仍可能落到旧槽上，因此旧槽每轮把残留增量转入新槽，直到确认没有这样的累加为止。
+ * 确认方式：{@link #add} 进出时在线程固定对应的写入分段上各计一次数（分段按缓存行隔开，热点 ID 的累加不会争用），
+ * 关闭旧槽之后每个分段都被观察到过一次“进入数等于退出数”，说明关闭前进入的累加都已结束，此后进入的都会看到关闭标记；
+ * 这时再转一次残留即可丢弃旧槽，增量不会丢失或重复。
+ */
+public class WriteBehindCounter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindCounter.class);
+
+    /**
+     * 连续多少轮无增量后移出内存。
+     */
+    private static final int IDLE_ROUNDS_BEFORE_EVICT = 2;
+
+    /**
+     * 写入分段数（2 的幂，约为 CPU 数的 2 倍）。
+     */
+    private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+
+    /**
+     * 每个写入分段在 {@link #writerMarks} 中占的 long 个数（进入数与退出数各占一条 64 字节缓存行）。
+     */
+    private static final int STRIPE_WIDTH = 16;
+
+    /**
+     * 退出数相对进入数的偏移。
+     */
+    private static final int EXITED_OFFSET = 8;
+
+    private final String name;
+    private final long maxPendingEvents;
+    private final Consumer<Map<Long, Long>> sink;
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final List<RetiredBatch> retired = new ArrayList<>();
+    private final AtomicLongArray writerMarks = new AtomicLongArray(STRIPES * STRIPE_WIDTH);
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService executor;
+
+    /**
+     * 构造写后计数器并启动定时刷盘。
+     *
+     * @param name 计数器名称（用于日志与线程名）
+     * @param flushIntervalMillis 定时刷盘间隔（毫秒）
+     * @param maxPendingEvents 累计事件数达到该值时立即触发一次异步刷盘
+     * @param sink 落库回调（入参为 ID -> 增量，非空）
+     */
+    public WriteBehindCounter(
+            String name,
+            long flushIntervalMillis,
+            long maxPendingEvents,
+            Consumer<Map<Long, Long>> sink
+    ) {
+        this.name = name;
+        this.maxPendingEvents = maxPendingEvents;
+        this.sink = sink;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录一个增量。
+     *
+     * @param id 业务ID
+     * @param delta 增量（可为负数）
+     */
+    public void add(long id, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        int stripe = (int) (Thread.currentThread().threadId() & (STRIPES - 1)) * STRIPE_WIDTH;
+        writerMarks.incrementAndGet(stripe);
+        try {
+            while (true) {
+                Slot slot = slots.computeIfAbsent(id, Slot::new);
+                if (!slot.closed) {
+                    slot.adder.add(delta);
+                    break;
+                }
+                slots.remove(id, slot);
+            }
+        } finally {
+            writerMarks.incrementAndGet(stripe + EXITED_OFFSET);
+        }
+        if (pendingEvents.incrementAndGet() >= maxPendingEvents && flushRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flushQuietly);
+            } catch (RuntimeException ex) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * 立即把所有未落库的增量交给 sink（同一时刻只有一个刷盘在执行）。
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            pendingEvents.set(0);
+            retired.removeIf(this::drainRetired);
+            Map<Long, Long> deltas = new HashMap<>();
+            Map<Long, Long> totals = new HashMap<>();
+            for (Map.Entry<Long, Slot> entry : slots.entrySet()) {
+                Slot slot = entry.getValue();
+                long total = slot.adder.sum();
+                long delta = total - slot.flushed;
+                if (delta != 0) {
+                    deltas.put(entry.getKey(), delta);
+                    totals.put(entry.getKey(), total);
+                }
+            }
+            if (!deltas.isEmpty()) {
+                sink.accept(deltas);
+            }
+            List<Slot> closing = new ArrayList<>();
+            for (Map.Entry<Long, Slot> entry : slots.entrySet()) {
+                Slot slot = entry.getValue();
+                Long total = totals.get(entry.getKey());
+                if (total != null) {
+                    slot.flushed = total;
+                    slot.idleRounds = 0;
+                } else if (++slot.idleRounds >= IDLE_ROUNDS_BEFORE_EVICT) {
+                    slot.closed = true;
+                    if (slots.remove(entry.getKey(), slot)) {
+                        closing.add(slot);
+                    }
+                }
+            }
+            if (!closing.isEmpty()) {
+                BitSet busyStripes = new BitSet(STRIPES);
+                busyStripes.set(0, STRIPES);
+                retired.add(new RetiredBatch(closing, busyStripes));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 处理一批已移出的槽：先确认写入分段是否都已空闲过，再把残留增量转入新槽。
+     *
+     * @param batch 已移出的槽
+     * @return 是否可以丢弃（确认之后转过残留，不会再有累加落到这些槽上）
+     */
+    private boolean drainRetired(RetiredBatch batch) {
+        BitSet busy = batch.busyStripes();
+        for (int i = busy.nextSetBit(0); i >= 0; i = busy.nextSetBit(i + 1)) {
+            // 先读退出数再读进入数：两者相等说明读退出数的时刻该分段没有进行中的累加。
+            long exited = writerMarks.get(i * STRIPE_WIDTH + EXITED_OFFSET);
+            if (writerMarks.get(i * STRIPE_WIDTH) == exited) {
+                busy.clear(i);
+            }
+        }
+        boolean quiescent = busy.isEmpty();
+        for (Slot slot : batch.slots()) {
+            slot.drainInto(this);
+        }
+        return quiescent;
+    }
+
+    /**
+     * 刷盘（异常只记录日志，增量保留到下次重试）。
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("event=write_behind_flush_failed counter={} pending_ids={}", name, slots.size(), ex);
+        }
+    }
+
+    /**
+     * 停止定时任务并做最后一次刷盘。
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        log.info("event=write_behind_closed counter={} pending_ids={}", name, slots.size());
+    }
+
+    /**
+     * 单个 ID 的累加槽。
+     */
+    private static final class Slot {
+
+        private final long id;
+        private final LongAdder adder = new LongAdder();
+        private volatile boolean closed;
+        private long flushed;
+        private int idleRounds;
+
+        /**
+         * 构造累加槽。
+         *
+         * @param id 业务ID
+         */
+        private Slot(long id) {
+            this.id = id;
+        }
+
+        /**
+         * 把已移出槽上的残留增量转入计数器的新槽。
+         *
+         * @param counter 所属计数器
+         */
+        private void drainInto(WriteBehindCounter counter) {
+            long residual = adder.sum() - flushed;
+            if (residual != 0) {
+                flushed += residual;
+                counter.add(id, residual);
+            }
+        }
+    }
+
+    /**
+     * 同一轮移出的槽。
+     *
+     * @param slots 已关闭并移出的槽
+     * @param busyStripes 关闭之后尚未观察到空闲的写入分段
+     */
+    private record RetiredBatch(List<Slot> slots, BitSet busyStripes) {
+    }
+}
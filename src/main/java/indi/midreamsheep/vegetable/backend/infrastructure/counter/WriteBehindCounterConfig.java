@@ -0,0 +1,12 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.counter;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 写后计数器配置装配。
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindCounterProperties.class)
+public class WriteBehindCounterConfig {
+}
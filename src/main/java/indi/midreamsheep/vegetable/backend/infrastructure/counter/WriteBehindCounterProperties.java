@@ -0,0 +1,31 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.counter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 写后计数器配置项。
+ *
+ * @param enabled 是否启用（关闭后每次事件同步更新数据库）
+ * @param flushIntervalMillis 定时刷盘间隔（毫秒）
+ * @param maxPendingEvents 累计事件数达到该值时提前刷盘
+ */
+@ConfigurationProperties(prefix = "counter.write-behind")
+public record WriteBehindCounterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5000") long flushIntervalMillis,
+        @DefaultValue("1000") long maxPendingEvents
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (flushIntervalMillis < 100) {
+            throw new IllegalStateException("counter.write-behind.flush-interval-millis 不能小于 100");
+        }
+        if (maxPendingEvents < 1) {
+            throw new IllegalStateException("counter.write-behind.max-pending-events 必须大于 0");
+        }
+    }
+}
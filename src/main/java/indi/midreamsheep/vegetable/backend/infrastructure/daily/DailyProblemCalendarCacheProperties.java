@@ -0,0 +1,33 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.daily;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 每日一题日历缓存配置项。
+ *
+ * @param enabled 是否启用（关闭后每次都查询数据库）
+ * @param pastDays 缓存今天之前的天数（覆盖日历页的滚动月窗口）
+ * @param aheadDays 缓存今天之后的天数（已排期的未来每日一题）
+ * @param refreshIntervalSeconds 兜底重建间隔（秒）
+ */
+@ConfigurationProperties(prefix = "cache.daily-calendar")
+public record DailyProblemCalendarCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("31") int pastDays,
+        @DefaultValue("7") int aheadDays,
+        @DefaultValue("300") long refreshIntervalSeconds
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (pastDays < 0 || aheadDays < 1) {
+            throw new IllegalStateException("cache.daily-calendar.past-days 不能为负数，ahead-days 必须大于 0");
+        }
+        if (refreshIntervalSeconds < 1) {
+            throw new IllegalStateException("cache.daily-calendar.refresh-interval-seconds 必须大于 0");
+        }
+    }
+}
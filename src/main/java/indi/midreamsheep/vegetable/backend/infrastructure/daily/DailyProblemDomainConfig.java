@@ -1,8 +1,12 @@
 package indi.midreamsheep.vegetable.backend.infrastructure.daily;
 
+import indi.midreamsheep.vegetable.backend.features.daily.data.DailyProblemCalendarRefresher;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.DailyProblemCalendarCache;
 import indi.midreamsheep.vegetable.backend.features.daily.domain.DailyProblemDomainService;
 import indi.midreamsheep.vegetable.backend.features.daily.domain.port.DailyProblemRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,20 +14,71 @@ import org.springframework.context.annotation.Configuration;
  * 每日一题领域服务装配。
  */
 @Configuration
+@EnableConfigurationProperties(DailyProblemCalendarCacheProperties.class)
 public class DailyProblemDomainConfig {
 
+    /**
+     * 构造每日一题日历缓存。
+     *
+     * @param dailyProblemRepositoryPort 每日一题仓储端口
+     * @param problemRepositoryPort 题目仓储端口
+     * @param properties 缓存配置
+     * @return 每日一题日历缓存
+     */
+    @Bean
+    public DailyProblemCalendarCache dailyProblemCalendarCache(
+            DailyProblemRepositoryPort dailyProblemRepositoryPort,
+            ProblemRepositoryPort problemRepositoryPort,
+            DailyProblemCalendarCacheProperties properties
+    ) {
+        properties.validate();
+        return new DailyProblemCalendarCache(
+                dailyProblemRepositoryPort,
+                problemRepositoryPort,
+                properties.enabled(),
+                properties.pastDays(),
+                properties.aheadDays()
+        );
+    }
+
+    /**
+     * 构造每日一题日历缓存刷新器。
+     *
+     * @param calendarCache 每日一题日历缓存
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param properties 缓存配置
+     * @return 刷新器
+     */
+    @Bean
+    public DailyProblemCalendarRefresher dailyProblemCalendarRefresher(
+            DailyProblemCalendarCache calendarCache,
+            CacheInvalidationBus cacheInvalidationBus,
+            DailyProblemCalendarCacheProperties properties
+    ) {
+        return new DailyProblemCalendarRefresher(calendarCache, cacheInvalidationBus, properties.refreshIntervalSeconds());
+    }
+
     /**
      * 构造每日一题领域服务。
      *
      * @param dailyProblemRepositoryPort 每日一题仓储端口
      * @param problemRepositoryPort 题目仓储端口
+     * @param calendarCache 每日一题日历缓存
+     * @param calendarRefresher 每日一题变更通知（日历缓存刷新器）
      * @return 每日一题领域服务
      */
     @Bean
     public DailyProblemDomainService dailyProblemDomainService(
             DailyProblemRepositoryPort dailyProblemRepositoryPort,
-            ProblemRepositoryPort problemRepositoryPort
+            ProblemRepositoryPort problemRepositoryPort,
+            DailyProblemCalendarCache calendarCache,
+            DailyProblemCalendarRefresher calendarRefresher
     ) {
-        return new DailyProblemDomainService(dailyProblemRepositoryPort, problemRepositoryPort);
+        return new DailyProblemDomainService(
+                dailyProblemRepositoryPort,
+                problemRepositoryPort,
+                calendarCache,
+                calendarRefresher
+        );
     }
 }
@@ -0,0 +1,30 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity;
+
+import lombok.Data;
+
+/**
+ * 计数对账的一行快照：同一条语句读出，三个值来自同一个一致性视图。
+ */
+@Data
+public class CounterReconcileRow {
+
+    /**
+     * 目标行ID。
+     */
+    private Long id;
+
+    /**
+     * 计数列当前值。
+     */
+    private Long storedValue;
+
+    /**
+     * 来源表中的未删除行数。
+     */
+    private Long actualValue;
+
+    /**
+     * 发件箱中尚未投影的增量之和。
+     */
+    private Long pendingDelta;
+}
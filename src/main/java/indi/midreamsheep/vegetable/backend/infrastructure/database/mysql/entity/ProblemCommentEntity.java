@@ -56,6 +56,12 @@ public class ProblemCommentEntity {
     @TableField("like_count")
     private Long likeCount;
 
+    /**
+     * 未删除回复数（仅顶层评论维护）。
+     */
+    @TableField("reply_count")
+    private Long replyCount;
+
     /**
      * 创建时间。
      */
@@ -0,0 +1,46 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 题目计数发件箱实体（vf_problem_counter_outbox）：与点赞/收藏关系变更同事务写入，投影后物理删除。
+ */
+@Data
+@TableName("vf_problem_counter_outbox")
+public class ProblemCounterOutboxEntity {
+
+    /**
+     * 主键（雪花 ID，按写入先后递增）。
+     */
+    @TableId(type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 题目ID。
+     */
+    @TableField("problem_id")
+    private Long problemId;
+
+    /**
+     * 计数类型：LIKE/FAVORITE。
+     */
+    @TableField("counter_type")
+    private String counterType;
+
+    /**
+     * 增量（+1/-1）。
+     */
+    private Integer delta;
+
+    /**
+     * 创建时间。
+     */
+    @TableField("created_at")
+    private LocalDateTime createdAt;
+}
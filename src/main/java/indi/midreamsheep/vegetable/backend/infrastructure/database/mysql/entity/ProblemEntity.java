@@ -130,6 +130,12 @@ public class ProblemEntity {
     @TableField("like_count")
     private Long likeCount;
 
+    /**
+     * 未删除评论数（含回复）。
+     */
+    @TableField("comment_count")
+    private Long commentCount;
+
     /**
      * 创建时间。
      */
@@ -0,0 +1,20 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity;
+
+import lombok.Data;
+
+/**
+ * 用户关系表（点赞/收藏）中的一条有效关系：用户与目标。
+ */
+@Data
+public class UserRelationPairRow {
+
+    /**
+     * 用户ID。
+     */
+    private Long userId;
+
+    /**
+     * 目标ID（题目/评论/题单）。
+     */
+    private Long targetId;
+}
@@ -0,0 +1,19 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户关系表（点赞/收藏）待插入行。
+ *
+ * @param id 行ID（雪花 ID）
+ * @param userId 用户ID
+ * @param targetId 目标ID（题目/评论/题单）
+ * @param createdAt 创建时间
+ */
+public record UserRelationRow(
+        long id,
+        long userId,
+        long targetId,
+        LocalDateTime createdAt
+) {
+}
@@ -2,11 +2,31 @@ package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.CollectionItemEntity;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 题单条目表 Mapper（MySQL）。
  */
 @Mapper
 public interface CollectionItemMapper extends BaseMapper<CollectionItemEntity> {
+
+    /**
+     * 多行插入题单条目（ID 由调用方预先分配）。
+     *
+     * @param rows 待插入的条目
+     * @return 插入的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT INTO vf_collection_item (id, collection_id, problem_id, sort_order, added_at, created_at, updated_at, deleted) VALUES",
+            "<foreach collection='rows' item='row' separator=','>",
+            "(#{row.id}, #{row.collectionId}, #{row.problemId}, #{row.sortOrder}, #{row.addedAt}, #{row.createdAt}, #{row.updatedAt}, 0)",
+            "</foreach>",
+            "</script>"
+    })
+    int insertBatch(@Param("rows") List<CollectionItemEntity> rows);
 }
@@ -0,0 +1,80 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper;
+
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.CounterReconcileRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 计数对账 Mapper（MySQL）。
+ * <p>
+ * 表名与列名来自 {@link ReconciledCounter} 枚举常量，不接受外部输入。
+ */
+@Mapper
+public interface CounterReconcileMapper {
+
+    /**
+     * 按主键顺序读取一批目标行的计数快照。
+     * <p>
+     * 一条语句内用关联子查询统计来源表（走来源表关联列上的索引），只做一致性读，不加锁；
+     * 每批只扫描 limit 个目标行，与来源表总行数无关。
+     *
+     * @param counter 计数定义
+     * @param lastId 上一批最后一个目标行ID
+     * @param limit 本批行数
+     * @return 计数快照
+     */
+    @Select({
+            "<script>",
+            "SELECT t.id AS id, COALESCE(t.${counter.targetColumn}, 0) AS stored_value,",
+            "(SELECT COUNT(*) FROM ${counter.sourceTable} s WHERE s.${counter.sourceColumn} = t.id AND s.deleted = 0)",
+            "AS actual_value,",
+            "<choose>",
+            "<when test='counter.outboxType != null'>",
+            "(SELECT COALESCE(SUM(o.delta), 0) FROM vf_problem_counter_outbox o",
+            "WHERE o.problem_id = t.id AND o.counter_type = #{counter.outboxType})",
+            "</when>",
+            "<otherwise>0</otherwise>",
+            "</choose>",
+            "AS pending_delta",
+            "FROM ${counter.targetTable} t",
+            "WHERE t.id &gt; #{lastId} AND t.${counter.targetFilter}",
+            "ORDER BY t.id LIMIT #{limit}",
+            "</script>"
+    })
+    List<CounterReconcileRow> selectChunk(
+            @Param("counter") ReconciledCounter counter,
+            @Param("lastId") long lastId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 按增量修正一批计数（结果不低于 0）。
+     * <p>
+     * 修正量由同一快照算出，快照之后发生的变更各自累加，不会被本次修正覆盖。
+     *
+     * @param counter 计数定义
+     * @param corrections 目标行ID -> 修正量
+     * @param now 当前时间
+     * @return 更新的行数
+     */
+    @Update({
+            "<script>",
+            "UPDATE ${counter.targetTable} SET ${counter.targetColumn} = GREATEST(COALESCE(${counter.targetColumn}, 0) + CASE id",
+            "<foreach collection='corrections' index='id' item='delta'> WHEN #{id} THEN #{delta}</foreach>",
+            "ELSE 0 END, 0), updated_at = #{now}",
+            "WHERE id IN",
+            "<foreach collection='corrections' index='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"
+    })
+    int addCorrections(
+            @Param("counter") ReconciledCounter counter,
+            @Param("corrections") Map<Long, Long> corrections,
+            @Param("now") LocalDateTime now
+    );
+}
@@ -3,11 +3,41 @@ package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemCommentEntity;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 题目评论 Mapper（MySQL）。
  */
 @Mapper
 public interface ProblemCommentMapper extends BaseMapper<ProblemCommentEntity> {
-}
 
+    /**
+     * 一次查询取回多个父评论下的前 limit 条回复（按时间正序，仅未删除）。
+     * <p>
+     * 每个父评论一条带 LIMIT 的子查询，各走一次
+     * {@code idx_problem_comment_parent (parent_id, deleted, created_at, id)} 的范围扫描，最多读取 limit 行，
+     * 再以 UNION ALL 合并；结果不保证顺序，由调用方按父评论分组排序。
+     *
+     * @param parentIds 父评论ID集合（不能为空）
+     * @param limit 每个父评论取回的回复数
+     * @return 回复行
+     */
+    @Select({
+            "<script>",
+            "<foreach collection='parentIds' item='parentId' separator=' UNION ALL '>",
+            "(SELECT id, problem_id, user_id, parent_id, reply_to_comment_id, content, like_count, reply_count,",
+            "created_at, updated_at, deleted FROM vf_problem_comment",
+            "WHERE parent_id = #{parentId} AND deleted = 0",
+            "ORDER BY created_at, id LIMIT #{limit})",
+            "</foreach>",
+            "</script>"
+    })
+    List<ProblemCommentEntity> selectFirstReplies(
+            @Param("parentIds") Collection<Long> parentIds,
+            @Param("limit") int limit
+    );
+}
@@ -0,0 +1,12 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemCounterOutboxEntity;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 题目计数发件箱表 Mapper（MySQL）。
+ */
+@Mapper
+public interface ProblemCounterOutboxMapper extends BaseMapper<ProblemCounterOutboxEntity> {
+}
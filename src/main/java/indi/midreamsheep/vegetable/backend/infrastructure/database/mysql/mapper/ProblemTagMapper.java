@@ -2,11 +2,31 @@ package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemTagEntity;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 题目-标签关联表 Mapper（MySQL）。
  */
 @Mapper
 public interface ProblemTagMapper extends BaseMapper<ProblemTagEntity> {
+
+    /**
+     * 多行插入题目-标签关联（ID 由调用方预先分配）。
+     *
+     * @param rows 待插入的关联
+     * @return 插入的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT INTO vf_problem_tag (id, problem_id, tag_id, created_at, updated_at, deleted) VALUES",
+            "<foreach collection='rows' item='row' separator=','>",
+            "(#{row.id}, #{row.problemId}, #{row.tagId}, #{row.createdAt}, #{row.updatedAt}, 0)",
+            "</foreach>",
+            "</script>"
+    })
+    int insertBatch(@Param("rows") List<ProblemTagEntity> rows);
 }
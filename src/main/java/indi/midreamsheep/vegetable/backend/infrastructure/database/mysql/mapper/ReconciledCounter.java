@@ -0,0 +1,129 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper;
+
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.ProblemCounterType;
+
+/**
+ * 参与对账的冗余计数列：目标表上的计数列 = 来源表中按关联列统计的未删除行数（减去发件箱中尚未投影的增量）。
+ * <p>
+ * 表名、列名与过滤条件均为常量，供 {@link CounterReconcileMapper} 拼入 SQL，不接受外部输入。
+ */
+public enum ReconciledCounter {
+
+    /**
+     * 题目点赞数。
+     */
+    PROBLEM_LIKE("vf_problem", "like_count", "deleted = 0", "vf_user_like_problem", "problem_id", ProblemCounterType.LIKE),
+
+    /**
+     * 题目收藏数。
+     */
+    PROBLEM_FAVORITE("vf_problem", "favorite_count", "deleted = 0", "vf_user_favorite_problem", "problem_id",
+            ProblemCounterType.FAVORITE),
+
+    /**
+     * 题目评论数（含回复）。
+     */
+    PROBLEM_COMMENT("vf_problem", "comment_count", "deleted = 0", "vf_problem_comment", "problem_id", null),
+
+    /**
+     * 顶层评论的回复数。
+     */
+    COMMENT_REPLY("vf_problem_comment", "reply_count", "parent_id IS NULL", "vf_problem_comment", "parent_id", null),
+
+    /**
+     * 评论点赞数。
+     */
+    COMMENT_LIKE("vf_problem_comment", "like_count", "deleted = 0", "vf_user_like_comment", "comment_id", null),
+
+    /**
+     * 题单条目数。
+     */
+    COLLECTION_ITEM("vf_collection", "item_count", "deleted = 0", "vf_collection_item", "collection_id", null);
+
+    private final String targetTable;
+    private final String targetColumn;
+    private final String targetFilter;
+    private final String sourceTable;
+    private final String sourceColumn;
+    private final ProblemCounterType outboxType;
+
+    /**
+     * 构造对账计数定义。
+     *
+     * @param targetTable 计数列所在表
+     * @param targetColumn 计数列
+     * @param targetFilter 参与对账的目标行条件（以目标表列名开头，拼接时加表别名）
+     * @param sourceTable 来源表
+     * @param sourceColumn 来源表中指向目标行的列
+     * @param outboxType 经发件箱异步投影时的计数类型（否则为 null）
+     */
+    ReconciledCounter(
+            String targetTable,
+            String targetColumn,
+            String targetFilter,
+            String sourceTable,
+            String sourceColumn,
+            ProblemCounterType outboxType
+    ) {
+        this.targetTable = targetTable;
+        this.targetColumn = targetColumn;
+        this.targetFilter = targetFilter;
+        this.sourceTable = sourceTable;
+        this.sourceColumn = sourceColumn;
+        this.outboxType = outboxType;
+    }
+
+    /**
+     * 计数列所在表。
+     *
+     * @return 表名
+     */
+    public String getTargetTable() {
+        return targetTable;
+    }
+
+    /**
+     * 计数列。
+     *
+     * @return 列名
+     */
+    public String getTargetColumn() {
+        return targetColumn;
+    }
+
+    /**
+     * 参与对账的目标行条件。
+     *
+     * @return SQL 条件
+     */
+    public String getTargetFilter() {
+        return targetFilter;
+    }
+
+    /**
+     * 来源表。
+     *
+     * @return 表名
+     */
+    public String getSourceTable() {
+        return sourceTable;
+    }
+
+    /**
+     * 来源表中指向目标行的列。
+     *
+     * @return 列名
+     */
+    public String getSourceColumn() {
+        return sourceColumn;
+    }
+
+    /**
+     * 经发件箱异步投影时的计数类型。
+     *
+     * @return 计数类型（不经发件箱时为 null）
+     */
+    public ProblemCounterType getOutboxType() {
+        return outboxType;
+    }
+}
@@ -0,0 +1,185 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper;
+
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserRelationPairRow;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserRelationRow;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户关系表（点赞/收藏）通用写入 Mapper（MySQL）。
+ * <p>
+ * 表名与列名来自 {@link UserRelationTable} 枚举常量，不接受外部输入。
+ */
+@Mapper
+public interface UserRelationMapper {
+
+    /**
+     * 批量插入关系行，唯一键冲突的行被忽略。
+     *
+     * @param table 关系表
+     * @param rows 待插入的行
+     * @return 实际插入的行数
+     */
+    @Insert({
+            "<script>",
+            "INSERT IGNORE INTO ${table.tableName} (id, user_id, ${table.targetColumn}, created_at, updated_at, deleted) VALUES",
+            "<foreach collection='rows' item='row' separator=','>",
+            "(#{row.id}, #{row.userId}, #{row.targetId}, #{row.createdAt}, #{row.createdAt}, 0)",
+            "</foreach>",
+            "</script>"
+    })
+    int insertIgnore(@Param("table") UserRelationTable table, @Param("rows") List<UserRelationRow> rows);
+
+    /**
+     * 恢复已取消的关系（仅当 deleted = 1 时生效）。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param targetIds 目标ID集合
+     * @param now 当前时间
+     * @return 实际恢复的行数
+     */
+    @Update({
+            "<script>",
+            "UPDATE ${table.tableName} SET deleted = 0, created_at = #{now}, updated_at = #{now}",
+            "WHERE user_id = #{userId} AND deleted = 1 AND ${table.targetColumn} IN",
+            "<foreach collection='targetIds' item='targetId' open='(' separator=',' close=')'>#{targetId}</foreach>",
+            "</script>"
+    })
+    int revive(
+            @Param("table") UserRelationTable table,
+            @Param("userId") long userId,
+            @Param("targetIds") Collection<Long> targetIds,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 取消关系（仅当 deleted = 0 时生效）。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param targetId 目标ID
+     * @param now 当前时间
+     * @return 实际取消的行数
+     */
+    @Update({
+            "<script>",
+            "UPDATE ${table.tableName} SET deleted = 1, updated_at = #{now}",
+            "WHERE user_id = #{userId} AND ${table.targetColumn} = #{targetId} AND deleted = 0",
+            "</script>"
+    })
+    int markDeleted(
+            @Param("table") UserRelationTable table,
+            @Param("userId") long userId,
+            @Param("targetId") long targetId,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 查询用户在一组目标上仍有效的关系（走 {@code (user_id, 目标ID)} 唯一键）。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param targetIds 目标ID集合
+     * @return 目标ID列表
+     */
+    @Select({
+            "<script>",
+            "SELECT ${table.targetColumn} FROM ${table.tableName}",
+            "WHERE user_id = #{userId} AND deleted = 0 AND ${table.targetColumn} IN",
+            "<foreach collection='targetIds' item='targetId' open='(' separator=',' close=')'>#{targetId}</foreach>",
+            "</script>"
+    })
+    List<Long> selectActiveTargetIds(
+            @Param("table") UserRelationTable table,
+            @Param("userId") long userId,
+            @Param("targetIds") Collection<Long> targetIds
+    );
+
+    /**
+     * 查询用户全部有效关系的目标ID（最多 limit 条）。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param limit 最大条数
+     * @return 目标ID列表
+     */
+    @Select({
+            "<script>",
+            "SELECT ${table.targetColumn} FROM ${table.tableName}",
+            "WHERE user_id = #{userId} AND deleted = 0 LIMIT #{limit}",
+            "</script>"
+    })
+    List<Long> selectAllActiveTargetIds(
+            @Param("table") UserRelationTable table,
+            @Param("userId") long userId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 按行ID查询目标ID（用于确认批量插入中哪些行由本次写入）。
+     *
+     * @param table 关系表
+     * @param ids 行ID集合
+     * @return 目标ID列表
+     */
+    @Select({
+            "<script>",
+            "SELECT ${table.targetColumn} FROM ${table.tableName} WHERE id IN",
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>",
+            "</script>"
+    })
+    List<Long> selectTargetIdsByIds(@Param("table") UserRelationTable table, @Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询用户在一组目标上已取消（deleted = 1）的关系。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param targetIds 目标ID集合
+     * @return 目标ID列表
+     */
+    @Select({
+            "<script>",
+            "SELECT ${table.targetColumn} FROM ${table.tableName}",
+            "WHERE user_id = #{userId} AND deleted = 1 AND ${table.targetColumn} IN",
+            "<foreach collection='targetIds' item='targetId' open='(' separator=',' close=')'>#{targetId}</foreach>",
+            "</script>"
+    })
+    List<Long> selectDeletedTargetIds(
+            @Param("table") UserRelationTable table,
+            @Param("userId") long userId,
+            @Param("targetIds") Collection<Long> targetIds
+    );
+
+    /**
+     * 按 {@code (user_id, 目标ID)} 顺序读取一批有效关系（走唯一键做 keyset 分页，供离线任务全表流式读取）。
+     *
+     * @param table 关系表
+     * @param afterUserId 上一批最后一行的用户ID
+     * @param afterTargetId 上一批最后一行的目标ID
+     * @param limit 本批行数
+     * @return 有效关系
+     */
+    @Select({
+            "<script>",
+            "SELECT user_id, ${table.targetColumn} AS target_id FROM ${table.tableName}",
+            "WHERE deleted = 0 AND (user_id &gt; #{afterUserId}",
+            "OR (user_id = #{afterUserId} AND ${table.targetColumn} &gt; #{afterTargetId}))",
+            "ORDER BY user_id, ${table.targetColumn} LIMIT #{limit}",
+            "</script>"
+    })
+    List<UserRelationPairRow> selectActivePairsAfter(
+            @Param("table") UserRelationTable table,
+            @Param("afterUserId") long afterUserId,
+            @Param("afterTargetId") long afterTargetId,
+            @Param("limit") int limit
+    );
+}
@@ -0,0 +1,60 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper;
+
+/**
+ * 用户关系表（点赞/收藏）：结构均为 {@code (id, user_id, <目标ID>, created_at, updated_at, deleted)}，
+ * 并在 {@code (user_id, <目标ID>)} 上有唯一键。
+ */
+public enum UserRelationTable {
+
+    /**
+     * 用户点赞题目。
+     */
+    LIKE_PROBLEM("vf_user_like_problem", "problem_id"),
+
+    /**
+     * 用户点赞评论。
+     */
+    LIKE_COMMENT("vf_user_like_comment", "comment_id"),
+
+    /**
+     * 用户收藏题目。
+     */
+    FAVORITE_PROBLEM("vf_user_favorite_problem", "problem_id"),
+
+    /**
+     * 用户收藏题单。
+     */
+    FAVORITE_COLLECTION("vf_user_favorite_collection", "collection_id");
+
+    private final String tableName;
+    private final String targetColumn;
+
+    /**
+     * 构造用户关系表枚举。
+     *
+     * @param tableName 表名
+     * @param targetColumn 目标ID列名
+     */
+    UserRelationTable(String tableName, String targetColumn) {
+        this.tableName = tableName;
+        this.targetColumn = targetColumn;
+    }
+
+    /**
+     * 获取表名（供 SQL 模板引用）。
+     *
+     * @return 表名
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * 获取目标ID列名（供 SQL 模板引用）。
+     *
+     * @return 列名
+     */
+    public String getTargetColumn() {
+        return targetColumn;
+    }
+}
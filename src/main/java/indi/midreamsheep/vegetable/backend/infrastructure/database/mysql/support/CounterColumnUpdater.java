@@ -0,0 +1,114 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support;
+
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 计数列批量更新：一批 ID 合成一条 {@code UPDATE ... CASE id ... END} 语句。
+ * <p>
+ * 增量更新供写后计数器的落库回调使用，覆盖更新供对账任务回写正确值；
+ * ID 与数值均为 long，直接拼入 SQL 不存在注入风险。
+ */
+public final class CounterColumnUpdater {
+
+    /**
+     * 单条 UPDATE 最多携带的 ID 数。
+     */
+    public static final int BATCH_SIZE = 500;
+
+    /**
+     * 工具类不允许实例化。
+     */
+    private CounterColumnUpdater() {
+    }
+
+    /**
+     * 按批次累加计数列（结果不低于 0）。
+     * <p>
+     * 增量会被写后计数器在失败后整体重试，调用方需在同一事务内执行，避免部分批次已提交后被重复累加。
+     *
+     * @param mapper 实体 Mapper
+     * @param column 计数列名
+     * @param deltas ID -> 增量
+     * @param liveRowsOnly 是否只更新未删除的行
+     * @param <T> 实体类型
+     */
+    public static <T> void addDeltas(BaseMapper<T> mapper, String column, Map<Long, Long> deltas, boolean liveRowsOnly) {
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<Long, Long>> entries = List.copyOf(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<Map.Entry<Long, Long>> batch = entries.subList(from, Math.min(entries.size(), from + BATCH_SIZE));
+            String sql = column + " = GREATEST(" + column + " + " + caseExpression(batch, "0") + ", 0)";
+            update(mapper, batch, sql, liveRowsOnly, now);
+        }
+    }
+
+    /**
+     * 按批次把计数列覆盖为给定值。
+     *
+     * @param mapper 实体 Mapper
+     * @param column 计数列名
+     * @param values ID -> 正确值
+     * @param <T> 实体类型
+     */
+    public static <T> void assign(BaseMapper<T> mapper, String column, Map<Long, Long> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<Long, Long>> entries = List.copyOf(values.entrySet());
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<Map.Entry<Long, Long>> batch = entries.subList(from, Math.min(entries.size(), from + BATCH_SIZE));
+            update(mapper, batch, column + " = " + caseExpression(batch, column), false, now);
+        }
+    }
+
+    /**
+     * 构造 {@code CASE id WHEN ... THEN ... ELSE fallback END} 表达式。
+     *
+     * @param batch ID -> 数值
+     * @param fallback 未命中时的取值表达式
+     * @return 表达式
+     */
+    private static String caseExpression(List<Map.Entry<Long, Long>> batch, String fallback) {
+        StringBuilder cases = new StringBuilder("CASE id");
+        for (Map.Entry<Long, Long> entry : batch) {
+            cases.append(" WHEN ").append(entry.getKey().longValue())
+                    .append(" THEN ").append(entry.getValue().longValue());
+        }
+        return cases.append(" ELSE ").append(fallback).append(" END").toString();
+    }
+
+    /**
+     * 执行一批更新。
+     *
+     * @param mapper 实体 Mapper
+     * @param batch 本批 ID -> 数值
+     * @param setSql SET 子句
+     * @param liveRowsOnly 是否只更新未删除的行
+     * @param now 当前时间
+     * @param <T> 实体类型
+     */
+    private static <T> void update(
+            BaseMapper<T> mapper,
+            List<Map.Entry<Long, Long>> batch,
+            String setSql,
+            boolean liveRowsOnly,
+            LocalDateTime now
+    ) {
+        UpdateWrapper<T> wrapper = new UpdateWrapper<>();
+        wrapper.in("id", batch.stream().map(Map.Entry::getKey).toList());
+        if (liveRowsOnly) {
+            wrapper.eq("deleted", 0);
+        }
+        wrapper.setSql(setSql).set("updated_at", now);
+        mapper.update(null, wrapper);
+    }
+}
@@ -0,0 +1,99 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemCounterOutboxEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemCounterOutboxMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 题目计数发件箱（transactional outbox）。
+ * <p>
+ * 点赞/收藏关系发生变化时，在同一事务内追加一条 {@code (problem_id, counter_type, delta)} 事件，
+ * 请求本身只写用户关系行与发件箱行，不再更新热点的 {@code vf_problem} 行。
+ * 投影任务按主键顺序取出一批事件，在一个事务内先删除再把按题目合并后的净增量交给 sink；
+ * 删除行数少于取出行数说明其他节点已领取其中部分事件，本批回滚、下次重取，保证每条事件只被应用一次。
+ */
+@Component
+public class ProblemCounterOutbox {
+
+    private final ProblemCounterOutboxMapper outboxMapper;
+
+    /**
+     * 构造题目计数发件箱。
+     *
+     * @param outboxMapper 发件箱 Mapper
+     */
+    public ProblemCounterOutbox(ProblemCounterOutboxMapper outboxMapper) {
+        this.outboxMapper = outboxMapper;
+    }
+
+    /**
+     * 追加一条计数事件（必须在关系变更所在的事务内调用）。
+     *
+     * @param type 计数类型
+     * @param problemId 题目ID
+     * @param delta 增量（+1/-1）
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ProblemCounterType type, long problemId, int delta) {
+        ProblemCounterOutboxEntity entity = new ProblemCounterOutboxEntity();
+        entity.setProblemId(problemId);
+        entity.setCounterType(type.name());
+        entity.setDelta(delta);
+        entity.setCreatedAt(LocalDateTime.now());
+        outboxMapper.insert(entity);
+    }
+
+    /**
+     * 领取并应用一批最早的事件。
+     *
+     * @param limit 本批最多领取的事件数
+     * @param sink 计数类型 -> (题目ID -> 净增量) 的应用回调（与删除事件在同一事务内执行，抛异常则整批回滚）
+     * @return 本批应用的事件数（0 表示没有事件或本批被其他节点抢先领取）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int drain(int limit, BiConsumer<ProblemCounterType, Map<Long, Long>> sink) {
+        QueryWrapper<ProblemCounterOutboxEntity> wrapper = new QueryWrapper<>();
+        wrapper.select("id", "problem_id", "counter_type", "delta")
+                .orderByAsc("id")
+                .last("limit " + limit);
+        List<ProblemCounterOutboxEntity> events = outboxMapper.selectList(wrapper);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        int deleted = outboxMapper.deleteByIds(events.stream().map(ProblemCounterOutboxEntity::getId).toList());
+        if (deleted < events.size()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return 0;
+        }
+        Map<ProblemCounterType, Map<Long, Long>> deltas = new EnumMap<>(ProblemCounterType.class);
+        for (ProblemCounterOutboxEntity event : events) {
+            ProblemCounterType type;
+            try {
+                type = ProblemCounterType.valueOf(event.getCounterType());
+            } catch (IllegalArgumentException | NullPointerException ex) {
+                continue;
+            }
+            long delta = event.getDelta() == null ? 0L : event.getDelta();
+            deltas.computeIfAbsent(type, key -> new HashMap<>()).merge(event.getProblemId(), delta, Long::sum);
+        }
+        for (Map.Entry<ProblemCounterType, Map<Long, Long>> entry : deltas.entrySet()) {
+            Map<Long, Long> net = new HashMap<>(entry.getValue());
+            net.values().removeIf(delta -> delta == 0L);
+            if (!net.isEmpty()) {
+                sink.accept(entry.getKey(), net);
+            }
+        }
+        return events.size();
+    }
+}
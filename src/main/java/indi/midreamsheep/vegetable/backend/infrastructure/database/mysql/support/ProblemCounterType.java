@@ -0,0 +1,17 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support;
+
+/**
+ * 经发件箱异步投影的题目计数类型。
+ */
+public enum ProblemCounterType {
+
+    /**
+     * 点赞数（vf_problem.like_count）。
+     */
+    LIKE,
+
+    /**
+     * 收藏数（vf_problem.favorite_count）。
+     */
+    FAVORITE
+}
@@ -0,0 +1,178 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support;
+
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.SharedCacheStore;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.UserRelationCacheProperties;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationTable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 用户关系集合缓存：在共享缓存（Redis）中按「关系表 + 用户」保存该用户全部有效关系的目标ID集合，
+ * 用于批量判断「我是否点赞/收藏过」。
+ * <p>
+ * 集合超过 {@code max-set-size} 的用户、或未配置共享缓存时，直接按 {@code (user_id, 目标ID)} 唯一键做一次 IN 查询。
+ * 关系变化时由 {@link UserRelationWriter} 删除对应集合，下次读取时重建；
+ * 与写入并发的重建可能写回旧集合，最长在 TTL 内自愈。
+ */
+public class UserRelationSetCache {
+
+    /**
+     * 集合过大时写入的占位值：表示该用户不缓存，直接查询数据库。
+     */
+    private static final String TOO_LARGE = "*";
+
+    private final UserRelationMapper userRelationMapper;
+    private final SharedCacheStore sharedCacheStore;
+    private final UserRelationCacheProperties properties;
+
+    /**
+     * 构造用户关系集合缓存。
+     *
+     * @param userRelationMapper 用户关系 Mapper
+     * @param sharedCacheStore 共享缓存存储
+     * @param properties 缓存配置
+     */
+    public UserRelationSetCache(
+            UserRelationMapper userRelationMapper,
+            SharedCacheStore sharedCacheStore,
+            UserRelationCacheProperties properties
+    ) {
+        this.userRelationMapper = userRelationMapper;
+        this.sharedCacheStore = sharedCacheStore;
+        this.properties = properties;
+    }
+
+    /**
+     * 返回给定目标中用户仍有效的关系。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param targetIds 目标ID集合
+     * @return 有效关系的目标ID
+     */
+    public Set<Long> findActive(UserRelationTable table, long userId, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return Set.of();
+        }
+        if (!properties.enabled() || sharedCacheStore.isNoop()) {
+            return new HashSet<>(userRelationMapper.selectActiveTargetIds(table, userId, targetIds));
+        }
+        Optional<Set<Long>> all = loadAll(table, userId);
+        if (all.isEmpty()) {
+            return new HashSet<>(userRelationMapper.selectActiveTargetIds(table, userId, targetIds));
+        }
+        Set<Long> result = new HashSet<>();
+        for (Long targetId : targetIds) {
+            if (all.get().contains(targetId)) {
+                result.add(targetId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 删除用户在某关系表上的集合缓存（处于事务中时提交后再删除一次，避免提交前被并发读取回填旧集合）。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     */
+    public void evict(UserRelationTable table, long userId) {
+        if (!properties.enabled() || sharedCacheStore.isNoop()) {
+            return;
+        }
+        String key = key(table, userId);
+        sharedCacheStore.delete(List.of(key));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sharedCacheStore.delete(List.of(key));
+                }
+            });
+        }
+    }
+
+    /**
+     * 读取（或重建）用户的完整关系集合。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @return 完整集合（集合过大时为空）
+     */
+    private Optional<Set<Long>> loadAll(UserRelationTable table, long userId) {
+        String key = key(table, userId);
+        Optional<String> cached = sharedCacheStore.get(key);
+        if (cached.isPresent()) {
+            return decode(cached.get());
+        }
+        int maxSetSize = properties.maxSetSize();
+        List<Long> ids = userRelationMapper.selectAllActiveTargetIds(table, userId, maxSetSize + 1);
+        Duration ttl = Duration.ofSeconds(properties.ttlSeconds());
+        if (ids.size() > maxSetSize) {
+            sharedCacheStore.put(key, TOO_LARGE, ttl);
+            return Optional.empty();
+        }
+        sharedCacheStore.put(key, encode(ids), ttl);
+        return Optional.of(new HashSet<>(ids));
+    }
+
+    /**
+     * 编码集合为逗号分隔字符串。
+     *
+     * @param ids 目标ID列表
+     * @return 编码结果
+     */
+    private static String encode(List<Long> ids) {
+        StringBuilder builder = new StringBuilder(ids.size() * 20);
+        for (Long id : ids) {
+            if (!builder.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(id);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 解码缓存值（占位值或格式错误时返回空）。
+     *
+     * @param raw 缓存值
+     * @return 集合
+     */
+    private static Optional<Set<Long>> decode(String raw) {
+        if (TOO_LARGE.equals(raw)) {
+            return Optional.empty();
+        }
+        Set<Long> ids = new HashSet<>();
+        if (raw.isEmpty()) {
+            return Optional.of(ids);
+        }
+        try {
+            for (String part : raw.split(",")) {
+                ids.add(Long.parseLong(part));
+            }
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+        return Optional.of(ids);
+    }
+
+    /**
+     * 共享缓存键。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @return 键
+     */
+    private String key(UserRelationTable table, long userId) {
+        return properties.keyPrefix() + table.name().toLowerCase() + ":" + userId;
+    }
+}
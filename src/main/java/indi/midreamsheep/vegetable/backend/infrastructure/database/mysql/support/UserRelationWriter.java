@@ -0,0 +1,145 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support;
+
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.UserRelationRow;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationTable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户关系（点赞/收藏）幂等写入：不先查询，直接依赖唯一键完成「新增或恢复」，并准确返回状态是否变化。
+ * <p>
+ * 单条写入为 {@code INSERT IGNORE}（新增即变化），未插入时再执行带 {@code deleted = 1} 条件的恢复语句
+ * （恢复即变化，已是有效状态则影响 0 行）。两条语句都在唯一键上原子完成，并发重复点击只会有一个请求返回 true，
+ * 调用方据此增减计数即可保证只调整一次。
+ * <p>
+ * 未使用 {@code INSERT ... ON DUPLICATE KEY UPDATE}：MySQL 驱动默认开启 CLIENT_FOUND_ROWS，
+ * 「已存在且无变化」与「新插入」都返回 1，无法区分状态是否变化。
+ * <p>
+ * 状态发生变化时同时删除 {@link UserRelationSetCache} 中该用户的集合缓存。
+ */
+@Component
+public class UserRelationWriter {
+
+    private final UserRelationMapper userRelationMapper;
+    private final IdentifierGenerator identifierGenerator;
+    private final UserRelationSetCache userRelationSetCache;
+
+    /**
+     * 构造用户关系写入器。
+     *
+     * @param userRelationMapper 用户关系 Mapper
+     * @param identifierGenerator ID 生成器
+     * @param userRelationSetCache 用户关系集合缓存
+     */
+    public UserRelationWriter(
+            UserRelationMapper userRelationMapper,
+            IdentifierGenerator identifierGenerator,
+            UserRelationSetCache userRelationSetCache
+    ) {
+        this.userRelationMapper = userRelationMapper;
+        this.identifierGenerator = identifierGenerator;
+        this.userRelationSetCache = userRelationSetCache;
+    }
+
+    /**
+     * 新增或恢复一条关系（幂等）。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param targetId 目标ID
+     * @return 是否发生状态变更
+     */
+    public boolean add(UserRelationTable table, long userId, long targetId) {
+        LocalDateTime now = LocalDateTime.now();
+        UserRelationRow row = new UserRelationRow(nextId(), userId, targetId, now);
+        boolean changed = userRelationMapper.insertIgnore(table, List.of(row)) > 0
+                || userRelationMapper.revive(table, userId, List.of(targetId), now) > 0;
+        if (changed) {
+            userRelationSetCache.evict(table, userId);
+        }
+        return changed;
+    }
+
+    /**
+     * 取消一条关系（幂等）。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param targetId 目标ID
+     * @return 是否发生状态变更
+     */
+    public boolean remove(UserRelationTable table, long userId, long targetId) {
+        boolean changed = userRelationMapper.markDeleted(table, userId, targetId, LocalDateTime.now()) > 0;
+        if (changed) {
+            userRelationSetCache.evict(table, userId);
+        }
+        return changed;
+    }
+
+    /**
+     * 批量新增或恢复关系（幂等）。
+     * <p>
+     * 全部为新关系时只执行一条多行 {@code INSERT IGNORE}；存在冲突时按本次生成的行ID确认插入成功的目标，
+     * 其余目标中已取消的逐条恢复，保证返回结果准确。
+     *
+     * @param table 关系表
+     * @param userId 用户ID
+     * @param targetIds 目标ID集合（忽略 null、非正数与重复值）
+     * @return 发生状态变更的目标ID（保持入参顺序）
+     */
+    public List<Long> addAll(UserRelationTable table, long userId, List<Long> targetIds) {
+        Set<Long> wanted = new LinkedHashSet<>();
+        if (targetIds != null) {
+            for (Long targetId : targetIds) {
+                if (targetId != null && targetId > 0) {
+                    wanted.add(targetId);
+                }
+            }
+        }
+        if (wanted.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<UserRelationRow> rows = new ArrayList<>(wanted.size());
+        for (Long targetId : wanted) {
+            rows.add(new UserRelationRow(nextId(), userId, targetId, now));
+        }
+        int inserted = userRelationMapper.insertIgnore(table, rows);
+        if (inserted == rows.size()) {
+            userRelationSetCache.evict(table, userId);
+            return List.copyOf(wanted);
+        }
+        Set<Long> changed = new HashSet<>();
+        if (inserted > 0) {
+            List<Long> rowIds = rows.stream().map(UserRelationRow::id).toList();
+            changed.addAll(userRelationMapper.selectTargetIdsByIds(table, rowIds));
+        }
+        List<Long> remaining = wanted.stream().filter(id -> !changed.contains(id)).toList();
+        for (Long targetId : userRelationMapper.selectDeletedTargetIds(table, userId, remaining)) {
+            if (userRelationMapper.revive(table, userId, List.of(targetId), now) > 0) {
+                changed.add(targetId);
+            }
+        }
+        if (!changed.isEmpty()) {
+            userRelationSetCache.evict(table, userId);
+        }
+        return wanted.stream().filter(changed::contains).toList();
+    }
+
+    /**
+     * 生成行ID。
+     *
+     * @return 雪花 ID
+     */
+    private long nextId() {
+        return identifierGenerator.nextId(null).longValue();
+    }
+}
@@ -0,0 +1,35 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.jackson;
+
+import indi.midreamsheep.vegetable.backend.common.api.JsonBody;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * {@link JsonBody} 响应配置：注册消息转换器，并让 OpenAPI 按其类型参数生成响应文档。
+ */
+@Configuration
+public class JsonBodyConfig implements WebMvcConfigurer {
+
+    static {
+        SpringDocUtils.getConfig().addResponseWrapperToIgnore(JsonBody.class);
+    }
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * 构造 JsonBody 响应配置。
+     *
+     * @param jsonMapper JSON 序列化（与 MVC 消息转换器一致）
+     */
+    public JsonBodyConfig(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(new JsonBodyHttpMessageConverter(jsonMapper));
+    }
+}
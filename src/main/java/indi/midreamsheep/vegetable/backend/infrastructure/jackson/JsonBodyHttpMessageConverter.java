@@ -0,0 +1,56 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.jackson;
+
+import indi.midreamsheep.vegetable.backend.common.api.JsonBody;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+
+/**
+ * {@link JsonBody} 消息转换器：已序列化的响应体原样写出，否则用与 MVC 一致的 {@link JsonMapper} 序列化。
+ * 只用于写响应，不参与请求体读取。
+ */
+public class JsonBodyHttpMessageConverter extends AbstractHttpMessageConverter<JsonBody<?>> {
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * 构造 JsonBody 消息转换器。
+     *
+     * @param jsonMapper JSON 序列化
+     */
+    public JsonBodyHttpMessageConverter(JsonMapper jsonMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonBody<?> readInternal(Class<? extends JsonBody<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("JsonBody 不支持读取", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonBody<?> body, MediaType contentType) {
+        return body.serialized() == null ? null : (long) body.serialized().length;
+    }
+
+    @Override
+    protected void writeInternal(JsonBody<?> body, HttpOutputMessage outputMessage) throws IOException {
+        byte[] json = body.serialized() != null ? body.serialized() : jsonMapper.writeValueAsBytes(body.value());
+        outputMessage.getBody().write(json);
+    }
+}
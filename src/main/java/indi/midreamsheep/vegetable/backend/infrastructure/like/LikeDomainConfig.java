@@ -4,6 +4,7 @@ import indi.midreamsheep.vegetable.backend.features.like.domain.LikeDomainServic
 import indi.midreamsheep.vegetable.backend.features.like.domain.LikeCommentDomainService;
 import indi.midreamsheep.vegetable.backend.features.like.domain.port.LikeCommentRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.like.domain.port.LikeProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRankingPort;
 import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRepositoryPort;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
 import org.springframework.context.annotation.Bean;
@@ -36,18 +37,21 @@ public class LikeDomainConfig {
      * @param likeCommentRepositoryPort 评论点赞仓储端口
      * @param problemCommentRepositoryPort 评论仓储端口
      * @param problemRepositoryPort 题目仓储端口
+     * @param problemCommentRankingPort 评论热度排行端口
      * @return 评论点赞领域服务
      */
     @Bean
     public LikeCommentDomainService likeCommentDomainService(
             LikeCommentRepositoryPort likeCommentRepositoryPort,
             ProblemCommentRepositoryPort problemCommentRepositoryPort,
-            ProblemRepositoryPort problemRepositoryPort
+            ProblemRepositoryPort problemRepositoryPort,
+            ProblemCommentRankingPort problemCommentRankingPort
     ) {
         return new LikeCommentDomainService(
                 likeCommentRepositoryPort,
                 problemCommentRepositoryPort,
-                problemRepositoryPort
+                problemRepositoryPort,
+                problemCommentRankingPort
         );
     }
 }
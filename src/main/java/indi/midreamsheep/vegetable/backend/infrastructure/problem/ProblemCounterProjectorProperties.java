@@ -0,0 +1,29 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 题目点赞/收藏计数投影配置项。
+ *
+ * @param intervalMillis 投影间隔（毫秒，即计数最长延迟）
+ * @param batchSize 每批从发件箱领取的事件数
+ */
+@ConfigurationProperties(prefix = "counter.problem-outbox")
+public record ProblemCounterProjectorProperties(
+        @DefaultValue("1000") long intervalMillis,
+        @DefaultValue("500") int batchSize
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (intervalMillis < 100) {
+            throw new IllegalStateException("counter.problem-outbox.interval-millis 不能小于 100");
+        }
+        if (batchSize < 1 || batchSize > 5000) {
+            throw new IllegalStateException("counter.problem-outbox.batch-size 必须在 1-5000 范围内");
+        }
+    }
+}
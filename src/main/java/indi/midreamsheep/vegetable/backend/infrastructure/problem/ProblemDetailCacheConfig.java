@@ -0,0 +1,37 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemDetailCache;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.SharedCacheStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 题目详情缓存装配。
+ */
+@Configuration
+@EnableConfigurationProperties(ProblemDetailCacheProperties.class)
+public class ProblemDetailCacheConfig {
+
+    /**
+     * 构造题目详情缓存。
+     *
+     * @param properties 缓存配置
+     * @param sharedCacheStore 共享缓存存储
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param jsonMapper JSON 序列化
+     * @return 题目详情缓存
+     */
+    @Bean
+    public ProblemDetailCache problemDetailCache(
+            ProblemDetailCacheProperties properties,
+            SharedCacheStore sharedCacheStore,
+            CacheInvalidationBus cacheInvalidationBus,
+            JsonMapper jsonMapper
+    ) {
+        properties.validate();
+        return new ProblemDetailCache(properties, sharedCacheStore, cacheInvalidationBus, jsonMapper);
+    }
+}
@@ -0,0 +1,39 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.StringUtils;
+
+/**
+ * 题目详情缓存配置项。
+ *
+ * @param enabled 是否启用（关闭后每次都查询数据库）
+ * @param localTtlSeconds 本地缓存有效期（秒）
+ * @param localMaxEntries 本地缓存最多保存的题目数
+ * @param sharedTtlSeconds 共享缓存（二级缓存）有效期（秒）
+ * @param keyPrefix 共享缓存键前缀
+ */
+@ConfigurationProperties(prefix = "cache.problem-detail")
+public record ProblemDetailCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("60") long localTtlSeconds,
+        @DefaultValue("2000") int localMaxEntries,
+        @DefaultValue("600") long sharedTtlSeconds,
+        @DefaultValue("vf:problem:detail:") String keyPrefix
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (localTtlSeconds < 1 || sharedTtlSeconds < 1) {
+            throw new IllegalStateException("cache.problem-detail 的 ttl-seconds 必须大于 0");
+        }
+        if (localMaxEntries < 1) {
+            throw new IllegalStateException("cache.problem-detail.local-max-entries 必须大于 0");
+        }
+        if (!StringUtils.hasText(keyPrefix)) {
+            throw new IllegalStateException("cache.problem-detail.key-prefix 不能为空");
+        }
+    }
+}
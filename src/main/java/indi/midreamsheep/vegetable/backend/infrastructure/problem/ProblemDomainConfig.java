@@ -1,8 +1,24 @@
 package indi.midreamsheep.vegetable.backend.infrastructure.problem;
 
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemCounterProjector;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemFacetIndex;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemHotRanking;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemRelatedIndex;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemSearchIndex;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemDomainService;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemHotScore;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemFacetPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRankingPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRelatedPort;
 import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemSearchPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemViewCounterPort;
 import indi.midreamsheep.vegetable.backend.features.tag.domain.TagDomainService;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemTagMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support.ProblemCounterOutbox;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,6 +26,13 @@ import org.springframework.context.annotation.Configuration;
  * 题目领域服务装配。
  */
 @Configuration
+@EnableConfigurationProperties({
+        ProblemSearchProperties.class,
+        ProblemFacetProperties.class,
+        ProblemHotRankingProperties.class,
+        ProblemRelatedProperties.class,
+        ProblemCounterProjectorProperties.class
+})
 public class ProblemDomainConfig {
 
     /**
@@ -17,13 +40,167 @@ public class ProblemDomainConfig {
      *
      * @param problemRepositoryPort 题目仓储端口
      * @param tagDomainService 标签领域服务
+     * @param problemViewCounterPort 题目浏览计数端口
+     * @param problemSearchPort 题目全文检索端口
+     * @param problemFacetPort 题目分面索引端口
+     * @param problemRankingPort 题目热度排行端口
+     * @param problemRelatedPort 相关题目端口
      * @return 题目领域服务
      */
     @Bean
     public ProblemDomainService problemDomainService(
             ProblemRepositoryPort problemRepositoryPort,
-            TagDomainService tagDomainService
+            TagDomainService tagDomainService,
+            ProblemViewCounterPort problemViewCounterPort,
+            ProblemSearchPort problemSearchPort,
+            ProblemFacetPort problemFacetPort,
+            ProblemRankingPort problemRankingPort,
+            ProblemRelatedPort problemRelatedPort
     ) {
-        return new ProblemDomainService(problemRepositoryPort, tagDomainService);
+        return new ProblemDomainService(
+                problemRepositoryPort,
+                tagDomainService,
+                problemViewCounterPort,
+                problemSearchPort,
+                problemFacetPort,
+                problemRankingPort,
+                problemRelatedPort
+        );
+    }
+
+    /**
+     * 构造题目全文检索（进程内倒排索引，多节点经缓存失效总线同步更新）。
+     *
+     * @param problemMapper 题目 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param properties 全文检索配置
+     * @return 题目全文检索
+     */
+    @Bean
+    public ProblemSearchIndex problemSearchIndex(
+            ProblemMapper problemMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            ProblemSearchProperties properties
+    ) {
+        properties.validate();
+        return new ProblemSearchIndex(
+                problemMapper,
+                cacheInvalidationBus,
+                properties.enabled(),
+                properties.buildBatchSize(),
+                properties.maxResults()
+        );
+    }
+
+    /**
+     * 构造公开题目分面索引（进程内压缩位图，多节点经缓存失效总线同步更新）。
+     *
+     * @param problemMapper 题目 Mapper
+     * @param problemTagMapper 题目标签关联 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param properties 分面索引配置
+     * @return 公开题目分面索引
+     */
+    @Bean
+    public ProblemFacetIndex problemFacetIndex(
+            ProblemMapper problemMapper,
+            ProblemTagMapper problemTagMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            ProblemFacetProperties properties
+    ) {
+        properties.validate();
+        return new ProblemFacetIndex(
+                problemMapper,
+                problemTagMapper,
+                cacheInvalidationBus,
+                properties.enabled(),
+                properties.buildBatchSize()
+        );
+    }
+
+    /**
+     * 构造相关题目索引（进程内 MinHash 签名与 LSH 分桶，多节点经缓存失效总线同步更新）。
+     *
+     * @param problemMapper 题目 Mapper
+     * @param problemTagMapper 题目标签关联 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param properties 相关题目配置
+     * @return 相关题目索引
+     */
+    @Bean
+    public ProblemRelatedIndex problemRelatedIndex(
+            ProblemMapper problemMapper,
+            ProblemTagMapper problemTagMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            ProblemRelatedProperties properties
+    ) {
+        properties.validate();
+        return new ProblemRelatedIndex(
+                problemMapper,
+                problemTagMapper,
+                cacheInvalidationBus,
+                properties.enabled(),
+                properties.neighbourCount(),
+                properties.signatureSize(),
+                properties.bands(),
+                properties.maxCandidates(),
+                properties.buildBatchSize(),
+                properties.rebuildIntervalSeconds()
+        );
+    }
+
+    /**
+     * 构造题目热度排行（进程内按学科维护的有界有序集合，多节点经缓存失效总线同步更新）。
+     *
+     * @param problemMapper 题目 Mapper
+     * @param cacheInvalidationBus 缓存失效总线
+     * @param properties 热度排行配置
+     * @return 题目热度排行
+     */
+    @Bean
+    public ProblemHotRanking problemHotRanking(
+            ProblemMapper problemMapper,
+            CacheInvalidationBus cacheInvalidationBus,
+            ProblemHotRankingProperties properties
+    ) {
+        properties.validate();
+        return new ProblemHotRanking(
+                problemMapper,
+                cacheInvalidationBus,
+                new ProblemHotScore(
+                        properties.favoriteWeight(),
+                        properties.likeWeight(),
+                        properties.commentWeight(),
+                        properties.viewWeight(),
+                        properties.decaySeconds()
+                ),
+                properties.enabled(),
+                properties.maxEntriesPerSubject(),
+                properties.buildBatchSize(),
+                properties.rebuildIntervalSeconds()
+        );
+    }
+
+    /**
+     * 构造题目点赞/收藏计数投影（从发件箱批量合并增量后写回题目表）。
+     *
+     * @param problemCounterOutbox 题目计数发件箱
+     * @param problemRepositoryPort 题目仓储端口
+     * @param properties 计数投影配置
+     * @return 题目计数投影
+     */
+    @Bean
+    public ProblemCounterProjector problemCounterProjector(
+            ProblemCounterOutbox problemCounterOutbox,
+            ProblemRepositoryPort problemRepositoryPort,
+            ProblemCounterProjectorProperties properties
+    ) {
+        properties.validate();
+        return new ProblemCounterProjector(
+                problemCounterOutbox,
+                problemRepositoryPort,
+                properties.batchSize(),
+                properties.intervalMillis()
+        );
     }
 }
@@ -0,0 +1,26 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 公开题目分面索引配置项。
+ *
+ * @param enabled 是否启用进程内分面索引（关闭时列表筛选与分面统计走数据库）
+ * @param buildBatchSize 启动建索引时每批读取的题目数
+ */
+@ConfigurationProperties(prefix = "search.problem-facet")
+public record ProblemFacetProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int buildBatchSize
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (buildBatchSize < 1 || buildBatchSize > 10000) {
+            throw new IllegalStateException("search.problem-facet.build-batch-size 必须在 1-10000 范围内");
+        }
+    }
+}
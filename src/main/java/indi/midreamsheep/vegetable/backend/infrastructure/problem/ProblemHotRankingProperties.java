@@ -0,0 +1,52 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 题目热度排行配置项。
+ *
+ * @param enabled 是否启用进程内热度排行（关闭时 HOT 列表按收藏数走数据库排序）
+ * @param maxEntriesPerSubject 全站与每个学科的排行各自保留的题目数（超出部分的 HOT 分页返回空）
+ * @param rebuildIntervalSeconds 整体重建间隔（秒）
+ * @param buildBatchSize 重建时每批读取的题目数
+ * @param favoriteWeight 一次收藏的权重
+ * @param likeWeight 一次点赞的权重
+ * @param commentWeight 一条评论的权重
+ * @param viewWeight 一次浏览的权重
+ * @param decaySeconds 互动量每差 10 倍对应的发布时间差（秒）
+ */
+@ConfigurationProperties(prefix = "cache.problem-hot")
+public record ProblemHotRankingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxEntriesPerSubject,
+        @DefaultValue("600") long rebuildIntervalSeconds,
+        @DefaultValue("1000") int buildBatchSize,
+        @DefaultValue("3.0") double favoriteWeight,
+        @DefaultValue("1.0") double likeWeight,
+        @DefaultValue("2.0") double commentWeight,
+        @DefaultValue("0.05") double viewWeight,
+        @DefaultValue("86400") long decaySeconds
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (maxEntriesPerSubject < 1 || maxEntriesPerSubject > 100000) {
+            throw new IllegalStateException("cache.problem-hot.max-entries-per-subject 必须在 1-100000 范围内");
+        }
+        if (rebuildIntervalSeconds < 10) {
+            throw new IllegalStateException("cache.problem-hot.rebuild-interval-seconds 不能小于 10");
+        }
+        if (buildBatchSize < 1 || buildBatchSize > 10000) {
+            throw new IllegalStateException("cache.problem-hot.build-batch-size 必须在 1-10000 范围内");
+        }
+        if (favoriteWeight < 0 || likeWeight < 0 || commentWeight < 0 || viewWeight < 0) {
+            throw new IllegalStateException("cache.problem-hot 的各项权重不能为负数");
+        }
+        if (decaySeconds < 1) {
+            throw new IllegalStateException("cache.problem-hot.decay-seconds 必须大于 0");
+        }
+    }
+}
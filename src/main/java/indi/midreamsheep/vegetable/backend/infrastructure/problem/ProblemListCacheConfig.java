@@ -0,0 +1,31 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemListPageCache;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.CacheInvalidationBus;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 公开题目列表响应缓存装配。
+ */
+@Configuration
+@EnableConfigurationProperties(ProblemListCacheProperties.class)
+public class ProblemListCacheConfig {
+
+    /**
+     * 构造公开题目列表响应缓存。
+     *
+     * @param properties 缓存配置
+     * @param cacheInvalidationBus 缓存失效总线
+     * @return 公开题目列表响应缓存
+     */
+    @Bean
+    public ProblemListPageCache problemListPageCache(
+            ProblemListCacheProperties properties,
+            CacheInvalidationBus cacheInvalidationBus
+    ) {
+        properties.validate();
+        return new ProblemListPageCache(properties, cacheInvalidationBus);
+    }
+}
@@ -0,0 +1,41 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 公开题目列表响应缓存配置项。
+ *
+ * @param enabled 是否启用
+ * @param maxPage 只缓存前几页
+ * @param ttlSeconds 条目有效期（秒），超过后返回旧值并在后台刷新
+ * @param maxStaleSeconds 最大陈旧时间（秒），超过后同步重建
+ * @param maxEntries 最多缓存的查询条件数
+ */
+@ConfigurationProperties(prefix = "cache.problem-list")
+public record ProblemListCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int maxPage,
+        @DefaultValue("30") long ttlSeconds,
+        @DefaultValue("300") long maxStaleSeconds,
+        @DefaultValue("500") int maxEntries
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (maxPage < 1 || maxPage > 20) {
+            throw new IllegalStateException("cache.problem-list.max-page 必须在 1-20 范围内");
+        }
+        if (ttlSeconds < 1) {
+            throw new IllegalStateException("cache.problem-list.ttl-seconds 必须为正数");
+        }
+        if (maxStaleSeconds < ttlSeconds) {
+            throw new IllegalStateException("cache.problem-list.max-stale-seconds 不能小于 ttl-seconds");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalStateException("cache.problem-list.max-entries 必须大于 0");
+        }
+    }
+}
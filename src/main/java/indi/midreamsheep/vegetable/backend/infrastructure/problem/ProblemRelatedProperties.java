@@ -0,0 +1,51 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 相关题目索引配置项。
+ *
+ * @param enabled 是否启用相关题目索引（关闭时相关题目接口返回 503）
+ * @param neighbourCount 每道题保留的相关题目数
+ * @param signatureSize MinHash 签名长度
+ * @param bands LSH 分段数（须整除签名长度；段数越多召回越高、候选越多）
+ * @param maxCandidates 每道题最多比较的候选题数
+ * @param buildBatchSize 建索引时每批读取的题目数
+ * @param rebuildIntervalSeconds 整体重建间隔（秒，0 表示只在启动时建立）
+ */
+@ConfigurationProperties(prefix = "search.problem-related")
+public record ProblemRelatedProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int neighbourCount,
+        @DefaultValue("64") int signatureSize,
+        @DefaultValue("16") int bands,
+        @DefaultValue("500") int maxCandidates,
+        @DefaultValue("1000") int buildBatchSize,
+        @DefaultValue("3600") long rebuildIntervalSeconds
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (neighbourCount < 1 || neighbourCount > 50) {
+            throw new IllegalStateException("search.problem-related.neighbour-count 必须在 1-50 范围内");
+        }
+        if (signatureSize < 8 || signatureSize > 256) {
+            throw new IllegalStateException("search.problem-related.signature-size 必须在 8-256 范围内");
+        }
+        if (bands < 1 || signatureSize % bands != 0) {
+            throw new IllegalStateException("search.problem-related.bands 必须为正数且整除 signature-size");
+        }
+        if (maxCandidates < 10 || maxCandidates > 10000) {
+            throw new IllegalStateException("search.problem-related.max-candidates 必须在 10-10000 范围内");
+        }
+        if (buildBatchSize < 1 || buildBatchSize > 10000) {
+            throw new IllegalStateException("search.problem-related.build-batch-size 必须在 1-10000 范围内");
+        }
+        if (rebuildIntervalSeconds != 0 && rebuildIntervalSeconds < 60) {
+            throw new IllegalStateException("search.problem-related.rebuild-interval-seconds 必须为 0 或不小于 60");
+        }
+    }
+}
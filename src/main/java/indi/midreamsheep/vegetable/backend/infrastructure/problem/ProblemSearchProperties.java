@@ -0,0 +1,31 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.problem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 题目全文检索配置项。
+ *
+ * @param enabled 是否启用进程内全文索引（关闭时关键词退回标题模糊匹配）
+ * @param buildBatchSize 启动建索引时每批读取的题目数
+ * @param maxResults 单次检索最多命中的题目数（按相关度截断）
+ */
+@ConfigurationProperties(prefix = "search.problem")
+public record ProblemSearchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("500") int buildBatchSize,
+        @DefaultValue("1000") int maxResults
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (buildBatchSize < 1 || buildBatchSize > 10000) {
+            throw new IllegalStateException("search.problem.build-batch-size 必须在 1-10000 范围内");
+        }
+        if (maxResults < 1) {
+            throw new IllegalStateException("search.problem.max-results 必须大于 0");
+        }
+    }
+}
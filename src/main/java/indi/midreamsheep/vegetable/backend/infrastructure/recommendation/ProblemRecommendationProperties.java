@@ -0,0 +1,72 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.recommendation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.StringUtils;
+
+/**
+ * 题目推荐配置项。
+ *
+ * @param enabled 是否启用相似度离线任务（关闭时推荐接口返回 503）
+ * @param intervalSeconds 相似度任务重跑间隔（秒，0 表示只在启动时执行）
+ * @param chunkSize 离线任务每批读取的点赞/收藏行数
+ * @param maxItemsPerUser 单个用户最多计入的题目数（超出部分忽略，限制重度用户带来的平方级题目对）
+ * @param maxPairs 共现表最多保存的题目对数（决定离线任务的堆内存上限）
+ * @param neighbourCount 每道题保留的相似题目数
+ * @param minCoOccurrence 计入相似度的最小共现用户数
+ * @param recentInteractions 推荐时取最近点赞、收藏各多少道题作为种子
+ * @param maxResults 每个用户缓存的推荐结果数
+ * @param cacheTtlSeconds 推荐结果在共享缓存中的 TTL（秒）
+ * @param keyPrefix 共享缓存键前缀
+ */
+@ConfigurationProperties(prefix = "recommendation.problem")
+public record ProblemRecommendationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("86400") long intervalSeconds,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("200") int maxItemsPerUser,
+        @DefaultValue("2000000") int maxPairs,
+        @DefaultValue("20") int neighbourCount,
+        @DefaultValue("2") int minCoOccurrence,
+        @DefaultValue("50") int recentInteractions,
+        @DefaultValue("50") int maxResults,
+        @DefaultValue("300") long cacheTtlSeconds,
+        @DefaultValue("vf:recommend:problem:") String keyPrefix
+) {
+
+    /**
+     * 校验配置范围。
+     */
+    public void validate() {
+        if (intervalSeconds != 0 && intervalSeconds < 600) {
+            throw new IllegalStateException("recommendation.problem.interval-seconds 必须为 0 或不小于 600");
+        }
+        if (chunkSize < 1 || chunkSize > 10000) {
+            throw new IllegalStateException("recommendation.problem.chunk-size 必须在 1-10000 范围内");
+        }
+        if (maxItemsPerUser < 2 || maxItemsPerUser > 2000) {
+            throw new IllegalStateException("recommendation.problem.max-items-per-user 必须在 2-2000 范围内");
+        }
+        if (maxPairs < 1000 || maxPairs > 50_000_000) {
+            throw new IllegalStateException("recommendation.problem.max-pairs 必须在 1000-50000000 范围内");
+        }
+        if (neighbourCount < 1 || neighbourCount > 100) {
+            throw new IllegalStateException("recommendation.problem.neighbour-count 必须在 1-100 范围内");
+        }
+        if (minCoOccurrence < 1) {
+            throw new IllegalStateException("recommendation.problem.min-co-occurrence 必须为正数");
+        }
+        if (recentInteractions < 1 || recentInteractions > 200) {
+            throw new IllegalStateException("recommendation.problem.recent-interactions 必须在 1-200 范围内");
+        }
+        if (maxResults < 1 || maxResults > 200) {
+            throw new IllegalStateException("recommendation.problem.max-results 必须在 1-200 范围内");
+        }
+        if (cacheTtlSeconds < 1) {
+            throw new IllegalStateException("recommendation.problem.cache-ttl-seconds 必须为正数");
+        }
+        if (!StringUtils.hasText(keyPrefix)) {
+            throw new IllegalStateException("recommendation.problem.key-prefix 不能为空");
+        }
+    }
+}
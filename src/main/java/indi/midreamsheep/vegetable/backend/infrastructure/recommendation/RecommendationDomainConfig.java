@@ -0,0 +1,77 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.recommendation;
+
+import indi.midreamsheep.vegetable.backend.features.favorite.domain.port.FavoriteProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.like.domain.port.LikeProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.recommendation.data.ProblemSimilarityJob;
+import indi.midreamsheep.vegetable.backend.features.recommendation.data.RecommendationCacheAdapter;
+import indi.midreamsheep.vegetable.backend.features.recommendation.domain.ProblemRecommendationDomainService;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.SharedCacheStore;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 题目推荐装配。
+ */
+@Configuration
+@EnableConfigurationProperties(ProblemRecommendationProperties.class)
+public class RecommendationDomainConfig {
+
+    /**
+     * 构造题目相似度离线任务（单节点进程内计算，结果只在本节点生效）。
+     *
+     * @param userRelationMapper 用户关系 Mapper
+     * @param properties 推荐配置
+     * @return 题目相似度任务
+     */
+    @Bean
+    public ProblemSimilarityJob problemSimilarityJob(
+            UserRelationMapper userRelationMapper,
+            ProblemRecommendationProperties properties
+    ) {
+        properties.validate();
+        return new ProblemSimilarityJob(
+                userRelationMapper,
+                properties.enabled(),
+                properties.chunkSize(),
+                properties.maxItemsPerUser(),
+                properties.maxPairs(),
+                properties.neighbourCount(),
+                properties.minCoOccurrence(),
+                properties.intervalSeconds()
+        );
+    }
+
+    /**
+     * 构造题目推荐领域服务。
+     *
+     * @param problemSimilarityJob 题目相似度任务
+     * @param likeProblemRepositoryPort 题目点赞仓储端口
+     * @param favoriteProblemRepositoryPort 题目收藏仓储端口
+     * @param problemRepositoryPort 题目仓储端口
+     * @param sharedCacheStore 共享缓存存储
+     * @param properties 推荐配置
+     * @return 题目推荐领域服务
+     */
+    @Bean
+    public ProblemRecommendationDomainService problemRecommendationDomainService(
+            ProblemSimilarityJob problemSimilarityJob,
+            LikeProblemRepositoryPort likeProblemRepositoryPort,
+            FavoriteProblemRepositoryPort favoriteProblemRepositoryPort,
+            ProblemRepositoryPort problemRepositoryPort,
+            SharedCacheStore sharedCacheStore,
+            ProblemRecommendationProperties properties
+    ) {
+        return new ProblemRecommendationDomainService(
+                problemSimilarityJob,
+                likeProblemRepositoryPort,
+                favoriteProblemRepositoryPort,
+                problemRepositoryPort,
+                new RecommendationCacheAdapter(sharedCacheStore, properties),
+                properties.recentInteractions(),
+                properties.maxResults()
+        );
+    }
+}
@@ -128,6 +128,8 @@ public class SecurityConfig {
                                 "/api/v1/problems",
                                 "/api/v1/problems/*",
                                 "/api/v1/problems/*/comments",
+                                "/api/v1/problems/*/comments/threads",
+                                "/api/v1/problems/*/related",
                                 "/api/v1/problems/share/*",
                                 "/api/v1/files/share/*",
                                 "/api/v1/categories",
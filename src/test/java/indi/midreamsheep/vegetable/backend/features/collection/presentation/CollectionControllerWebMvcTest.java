@@ -0,0 +1,182 @@
+package indi.midreamsheep.vegetable.backend.features.collection.presentation;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * 题单接口测试：验证题单详情的条目游标分页与题目摘要补全。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CollectionControllerWebMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * 详情按 (sortOrder, id) 游标翻页并附带题目摘要；访问者无权查看的题目只保留条目位置。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void detail_pages_items_and_hydrates_problems() throws Exception {
+        long first = createProblem("题单题目一", true);
+        long second = createProblem("题单题目二", true);
+        long draft = createProblem("题单草稿", false);
+        long collectionId = createCollection();
+        addItem(collectionId, draft, 30);
+        addItem(collectionId, second, 20);
+        addItem(collectionId, first, 10);
+
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/collections/{id}", collectionId).param("pageSize", "2"))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.itemCount").value(3))
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].problemId").value(first))
+                .andExpect(jsonPath("$.data.items[0].problem.title").value("题单题目一"))
+                .andExpect(jsonPath("$.data.items[0].problem.author.id").value(1))
+                .andExpect(jsonPath("$.data.items[1].problemId").value(second))
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.data.nextCursor");
+
+        mockMvc.perform(get("/api/v1/collections/{id}", collectionId)
+                        .param("pageSize", "2")
+                        .param("cursor", cursor))
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].problemId").value(draft))
+                .andExpect(jsonPath("$.data.items[0].problem").doesNotExist())
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/collections/{id}", collectionId)
+                        .with(user("1"))
+                        .param("pageSize", "2")
+                        .param("cursor", cursor))
+                .andExpect(jsonPath("$.data.items[0].problem.title").value("题单草稿"));
+
+        mockMvc.perform(get("/api/v1/collections/{id}", collectionId).param("cursor", "not-a-cursor"))
+                .andExpect(jsonPath("$.code").value(40000));
+    }
+
+    /**
+     * 批量编辑在一次请求内完成移除、添加与排序，并维护条目数；重复添加整体拒绝。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void batch_items_add_remove_and_reorder_in_one_request() throws Exception {
+        long first = createProblem("批量题目一", true);
+        long second = createProblem("批量题目二", true);
+        long third = createProblem("批量题目三", true);
+        long collectionId = createCollection();
+        addItem(collectionId, first, 0);
+
+        mockMvc.perform(post("/api/v1/collections/{id}/items/batch", collectionId)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "add": [{"problemId": %d, "sortOrder": 5}, {"problemId": %d, "sortOrder": 6}],
+                                  "remove": [%d],
+                                  "reorder": [{"problemId": %d, "sortOrder": 1}, {"problemId": %d, "sortOrder": 2}]
+                                }
+                                """.formatted(second, third, first, third, second)))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.added").value(2))
+                .andExpect(jsonPath("$.data.removed").value(1))
+                .andExpect(jsonPath("$.data.reordered").value(2));
+
+        mockMvc.perform(get("/api/v1/collections/{id}", collectionId))
+                .andExpect(jsonPath("$.data.itemCount").value(2))
+                .andExpect(jsonPath("$.data.items[0].problemId").value(third))
+                .andExpect(jsonPath("$.data.items[1].problemId").value(second));
+
+        mockMvc.perform(post("/api/v1/collections/{id}/items/batch", collectionId)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"add\": [{\"problemId\": %d, \"sortOrder\": 0}]}".formatted(second)))
+                .andExpect(jsonPath("$.code").value(40000));
+        mockMvc.perform(post("/api/v1/collections/{id}/items/batch", collectionId)
+                        .with(user("2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"remove\": [%d]}".formatted(second)))
+                .andExpect(jsonPath("$.code").value(40300));
+        mockMvc.perform(get("/api/v1/collections/{id}", collectionId))
+                .andExpect(jsonPath("$.data.itemCount").value(2));
+    }
+
+    /**
+     * 创建题目（可选发布）。
+     *
+     * @param title 标题
+     * @param publish 是否发布
+     * @return 题目ID
+     * @throws Exception 测试异常
+     */
+    private long createProblem(String title, boolean publish) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/problems")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "%s",
+                                  "subject": "MATH",
+                                  "difficulty": 2,
+                                  "statementFormat": "MARKDOWN",
+                                  "statement": "题干",
+                                  "visibility": "PUBLIC"
+                                }
+                                """.formatted(title)))
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.data.id");
+        if (publish) {
+            mockMvc.perform(post("/api/v1/problems/{id}/publish", id.longValue()).with(user("1")))
+                    .andExpect(jsonPath("$.code").value(0));
+        }
+        return id.longValue();
+    }
+
+    /**
+     * 创建公开题单。
+     *
+     * @return 题单ID
+     * @throws Exception 测试异常
+     */
+    private long createCollection() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/collections")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"分页题单\", \"visibility\": \"PUBLIC\"}"))
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.data.id");
+        return id.longValue();
+    }
+
+    /**
+     * 向题单添加题目。
+     *
+     * @param collectionId 题单ID
+     * @param problemId 题目ID
+     * @param sortOrder 排序
+     * @throws Exception 测试异常
+     */
+    private void addItem(long collectionId, long problemId, int sortOrder) throws Exception {
+        mockMvc.perform(post("/api/v1/collections/{id}/items", collectionId)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"problemId\": %d, \"sortOrder\": %d}".formatted(problemId, sortOrder)))
+                .andExpect(jsonPath("$.code").value(0));
+    }
+}
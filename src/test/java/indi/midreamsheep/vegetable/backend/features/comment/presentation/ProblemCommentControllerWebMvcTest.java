@@ -0,0 +1,231 @@
+package indi.midreamsheep.vegetable.backend.features.comment.presentation;
+
+import com.jayway.jsonpath.JsonPath;
+import indi.midreamsheep.vegetable.backend.features.comment.data.ProblemCommentCounterAdapter;
+import indi.midreamsheep.vegetable.backend.features.counter.data.CounterReconciler;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterDrift;
+import indi.midreamsheep.vegetable.backend.features.counter.domain.model.CounterDriftReport;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * 评论接口测试：验证评论楼游标分页、回复预取与评论计数维护。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProblemCommentControllerWebMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProblemCommentCounterAdapter counterAdapter;
+
+    @Autowired
+    private CounterReconciler counterReconciler;
+
+    @Autowired
+    private ProblemMapper problemMapper;
+
+    /**
+     * 评论楼按游标翻页，每楼附带前 replyLimit 条回复与（计数落库后的）回复总数；已删除回复不计入。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void threads_page_by_cursor_with_reply_prefetch() throws Exception {
+        long problemId = createPublishedProblem();
+        long first = createComment(problemId, null, "一楼");
+        long second = createComment(problemId, null, "二楼");
+        createComment(problemId, null, "三楼");
+        createComment(problemId, first, "回复一");
+        long deletedReply = createComment(problemId, first, "回复二");
+        createComment(problemId, first, "回复三");
+        createComment(problemId, first, "回复四");
+        mockMvc.perform(delete("/api/v1/problems/{problemId}/comments/{commentId}", problemId, deletedReply)
+                        .with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        counterAdapter.flush();
+
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/problems/{problemId}/comments/threads", problemId)
+                        .param("pageSize", "2")
+                        .param("replyLimit", "2"))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].comment.id").value(first))
+                .andExpect(jsonPath("$.data.items[0].replyCount").value(3))
+                .andExpect(jsonPath("$.data.items[0].replies.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].replies[0].content").value("回复一"))
+                .andExpect(jsonPath("$.data.items[0].replies[1].content").value("回复三"))
+                .andExpect(jsonPath("$.data.items[1].comment.id").value(second))
+                .andExpect(jsonPath("$.data.items[1].replyCount").value(0))
+                .andExpect(jsonPath("$.data.nextCursor").isString())
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.data.nextCursor");
+
+        mockMvc.perform(get("/api/v1/problems/{problemId}/comments/threads", problemId)
+                        .param("pageSize", "2")
+                        .param("cursor", cursor))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].comment.content").value("三楼"))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/problems/{problemId}/comments/threads", problemId)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(jsonPath("$.code").value(40000));
+    }
+
+    /**
+     * 评论数与回复数随创建/删除增量维护；对账先只报告偏差，再修正被篡改的计数。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void comment_and_reply_counts_follow_create_delete_and_reconcile() throws Exception {
+        long problemId = createPublishedProblem();
+        long root = createComment(problemId, null, "楼主");
+        createComment(problemId, root, "回复一");
+        long reply = createComment(problemId, root, "回复二");
+        mockMvc.perform(delete("/api/v1/problems/{problemId}/comments/{commentId}", problemId, reply)
+                        .with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(delete("/api/v1/problems/{problemId}/comments/{commentId}", problemId, reply)
+                        .with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        counterAdapter.flush();
+
+        mockMvc.perform(get("/api/v1/problems/{problemId}/comments", problemId))
+                .andExpect(jsonPath("$.data.items[0].id").value(root))
+                .andExpect(jsonPath("$.data.items[0].replyCount").value(1));
+        mockMvc.perform(get("/api/v1/users/me/problems").with(user("1")).param("pageSize", "100"))
+                .andExpect(jsonPath("$.data.items[?(@.id == " + problemId + ")].commentCount").value(2));
+
+        ProblemEntity corrupted = new ProblemEntity();
+        corrupted.setId(problemId);
+        corrupted.setCommentCount(99L);
+        problemMapper.updateById(corrupted);
+        assertTrue(commentDrift(counterReconciler.reconcile(true)) >= 1);
+        mockMvc.perform(get("/api/v1/users/me/problems").with(user("1")).param("pageSize", "100"))
+                .andExpect(jsonPath("$.data.items[?(@.id == " + problemId + ")].commentCount").value(99));
+        assertTrue(commentDrift(counterReconciler.reconcile(false)) >= 1);
+        mockMvc.perform(get("/api/v1/users/me/problems").with(user("1")).param("pageSize", "100"))
+                .andExpect(jsonPath("$.data.items[?(@.id == " + problemId + ")].commentCount").value(2));
+    }
+
+    /**
+     * 热度排序：点赞使旧评论升到首位，取消点赞后回落；HOT 不支持回复列表。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void hot_sort_follows_comment_likes() throws Exception {
+        long problemId = createPublishedProblem();
+        long oldest = createComment(problemId, null, "第一条");
+        createComment(problemId, null, "第二条");
+        long newest = createComment(problemId, null, "第三条");
+
+        mockMvc.perform(get("/api/v1/problems/{problemId}/comments", problemId).param("sort", "HOT"))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.items[0].id").value(newest))
+                .andExpect(jsonPath("$.data.items[2].id").value(oldest));
+
+        mockMvc.perform(post("/api/v1/problems/{problemId}/comments/{commentId}/like", problemId, oldest)
+                        .with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/{problemId}/comments", problemId).param("sort", "HOT"))
+                .andExpect(jsonPath("$.data.items[0].id").value(oldest))
+                .andExpect(jsonPath("$.data.items[0].likeCount").value(1));
+
+        mockMvc.perform(delete("/api/v1/problems/{problemId}/comments/{commentId}/like", problemId, oldest)
+                        .with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/{problemId}/comments", problemId).param("sort", "HOT"))
+                .andExpect(jsonPath("$.data.items[0].id").value(newest))
+                .andExpect(jsonPath("$.data.items[2].id").value(oldest));
+
+        mockMvc.perform(get("/api/v1/problems/{problemId}/comments", problemId)
+                        .param("sort", "HOT")
+                        .param("parentId", String.valueOf(oldest)))
+                .andExpect(jsonPath("$.code").value(40000));
+    }
+
+    /**
+     * 创建并发布一道公开题目。
+     *
+     * @return 题目ID
+     * @throws Exception 测试异常
+     */
+    private long createPublishedProblem() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/problems")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "评论楼测试",
+                                  "subject": "MATH",
+                                  "difficulty": 2,
+                                  "statementFormat": "MARKDOWN",
+                                  "statement": "题干",
+                                  "visibility": "PUBLIC"
+                                }
+                                """))
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.data.id");
+        mockMvc.perform(post("/api/v1/problems/{id}/publish", id.longValue()).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        return id.longValue();
+    }
+
+    /**
+     * 发表评论。
+     *
+     * @param problemId 题目ID
+     * @param parentId 父评论ID（为空表示顶层）
+     * @param content 内容
+     * @return 评论ID
+     * @throws Exception 测试异常
+     */
+    private long createComment(long problemId, Long parentId, String content) throws Exception {
+        String body = parentId == null
+                ? "{\"content\": \"%s\"}".formatted(content)
+                : "{\"parentId\": %d, \"content\": \"%s\"}".formatted(parentId, content);
+        MvcResult result = mockMvc.perform(post("/api/v1/problems/{problemId}/comments", problemId)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.data");
+        return id.longValue();
+    }
+
+    /**
+     * 取对账报告中题目评论数的偏差行数。
+     *
+     * @param report 对账报告
+     * @return 偏差行数
+     */
+    private static long commentDrift(CounterDriftReport report) {
+        return report.counters().stream()
+                .filter(drift -> "PROBLEM_COMMENT".equals(drift.counter()))
+                .mapToLong(CounterDrift::driftedRows)
+                .sum();
+    }
+}
@@ -0,0 +1,141 @@
+package indi.midreamsheep.vegetable.backend.features.daily.domain;
+
+import indi.midreamsheep.vegetable.backend.common.error.BizException;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.command.DailyProblemPublishCommand;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.model.DailyProblemView;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.port.DailyProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ContentFormat;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemCreateCommand;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 每日一题日历缓存测试：验证窗口内读取走快照不查库，发布/撤回后重建快照，窗口外回退数据库。
+ */
+@SpringBootTest
+class DailyProblemCalendarCacheTest {
+
+    @Autowired
+    private DailyProblemRepositoryPort dailyProblemRepositoryPort;
+
+    @Autowired
+    private ProblemRepositoryPort problemRepositoryPort;
+
+    /**
+     * 快照构建后，窗口内的按日与范围查询（含无数据的日期）都不再访问数据库；超出窗口的范围回退数据库分页查询。
+     */
+    @Test
+    void reads_inside_window_are_served_from_snapshot() {
+        long first = createPublishedProblem("日历快照一");
+        long second = createPublishedProblem("日历快照二");
+        LocalDate day = LocalDate.now().plusDays(40);
+        List<String> calls = new ArrayList<>();
+        DailyProblemDomainService service = newService(calls, 45);
+        service.publish(new DailyProblemPublishCommand(day, first, null, 1L));
+        service.publish(new DailyProblemPublishCommand(day.plusDays(1), second, null, 1L));
+        calls.clear();
+
+        assertEquals("日历快照一", service.getByDay(day).get(0).problem().title());
+        assertEquals(List.of(day.plusDays(1), day),
+                service.list(day.minusDays(1), day.plusDays(1), 1, 20).items().stream()
+                        .map(DailyProblemView::day).toList());
+        assertEquals(1, service.list(day.minusDays(1), day.plusDays(1), 2, 1).items().size());
+        assertThrows(BizException.class, () -> service.getByDay(day.plusDays(2)));
+        assertEquals(List.of(), calls);
+
+        assertEquals(2, service.list(day, day.plusDays(8), 1, 20).total());
+        assertEquals(List.of("list", "listSummariesByIds"), calls);
+    }
+
+    /**
+     * 发布、按日期撤回与按ID撤回后各重建一次快照，随后的读取立即反映变更。
+     */
+    @Test
+    void publish_and_revoke_rebuild_snapshot() {
+        long first = createPublishedProblem("日历重建一");
+        long second = createPublishedProblem("日历重建二");
+        LocalDate day = LocalDate.now().plusDays(50);
+        List<String> calls = new ArrayList<>();
+        DailyProblemDomainService service = newService(calls, 55);
+        assertThrows(BizException.class, () -> service.getByDay(day));
+        calls.clear();
+
+        service.publish(new DailyProblemPublishCommand(day, first, "上线", 1L));
+        assertEquals("上线", service.getByDay(day).get(0).copywriting());
+        long secondItemId = service.publish(new DailyProblemPublishCommand(day.plusDays(1), second, null, 1L)).id();
+        assertEquals("日历重建二", service.getByDay(day.plusDays(1)).get(0).problem().title());
+
+        service.revoke(day, 1L);
+        assertThrows(BizException.class, () -> service.getByDay(day));
+        service.revokeById(secondItemId, 1L);
+        assertThrows(BizException.class, () -> service.getByDay(day.plusDays(1)));
+        assertEquals(0, service.list(day, day.plusDays(1), 1, 20).total());
+
+        assertEquals(4, calls.stream().filter("listPublishedBetween"::equals).count());
+        assertEquals(0, calls.stream().filter(call -> call.equals("findByDay") || call.equals("list")).count());
+    }
+
+    /**
+     * 构造启用日历缓存的领域服务：变更通知直接同步重建快照，仓储调用记录到给定列表。
+     *
+     * @param calls 仓储调用记录
+     * @param aheadDays 缓存今天之后的天数
+     * @return 领域服务
+     */
+    private DailyProblemDomainService newService(List<String> calls, int aheadDays) {
+        DailyProblemRepositoryPort dailyPort = recording(DailyProblemRepositoryPort.class, dailyProblemRepositoryPort, calls);
+        ProblemRepositoryPort problemPort = recording(ProblemRepositoryPort.class, problemRepositoryPort, calls);
+        DailyProblemCalendarCache calendarCache = new DailyProblemCalendarCache(dailyPort, problemPort, true, 1, aheadDays);
+        return new DailyProblemDomainService(dailyPort, problemPort, calendarCache, calendarCache::refresh);
+    }
+
+    /**
+     * 创建并发布公开题目。
+     *
+     * @param title 标题
+     * @return 题目ID
+     */
+    private long createPublishedProblem(String title) {
+        long id = problemRepositoryPort.create(new ProblemCreateCommand(
+                1L, title, "DAILY_TEST", 2, ContentFormat.MARKDOWN, "题干",
+                null, null, Visibility.PUBLIC, null, List.of()));
+        problemRepositoryPort.publish(id);
+        return id;
+    }
+
+    /**
+     * 包装真实的仓储端口，按方法名记录读取调用（写操作与题目存在性校验不记录）。
+     *
+     * @param type 端口类型
+     * @param target 真实端口
+     * @param calls 调用记录
+     * @param <T> 端口类型
+     * @return 记录调用的端口
+     */
+    private static <T> T recording(Class<T> type, T target, List<String> calls) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+            String name = method.getName();
+            if ((name.startsWith("find") && !name.equals("findById")) || name.startsWith("list")) {
+                calls.add(name);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        });
+        return type.cast(proxy);
+    }
+}
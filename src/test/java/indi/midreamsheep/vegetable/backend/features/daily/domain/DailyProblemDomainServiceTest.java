@@ -0,0 +1,131 @@
+package indi.midreamsheep.vegetable.backend.features.daily.domain;
+
+import indi.midreamsheep.vegetable.backend.common.api.PageResponse;
+import indi.midreamsheep.vegetable.backend.common.error.BizException;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.command.DailyProblemPublishCommand;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.model.DailyProblemView;
+import indi.midreamsheep.vegetable.backend.features.daily.domain.port.DailyProblemRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ContentFormat;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.command.ProblemCreateCommand;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.port.ProblemRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 每日一题领域服务测试：关闭日历缓存直接读库，验证展示数据中的题目摘要按页批量加载。
+ */
+@SpringBootTest
+class DailyProblemDomainServiceTest {
+
+    @Autowired
+    private DailyProblemRepositoryPort dailyProblemRepositoryPort;
+
+    @Autowired
+    private ProblemRepositoryPort problemRepositoryPort;
+
+    /**
+     * 一页每日一题只发起一次题目摘要批量查询（题目ID去重），且不再逐条读取题目详情。
+     */
+    @Test
+    void list_loads_problem_summaries_in_one_batch() {
+        long algebra = createPublishedProblem("每日批量一");
+        long geometry = createPublishedProblem("每日批量二");
+        LocalDate day = LocalDate.of(2001, 3, 10);
+        List<String> calls = new ArrayList<>();
+        DailyProblemDomainService service = newService(calls);
+        service.publish(new DailyProblemPublishCommand(day, algebra, "第一天", 1L));
+        service.publish(new DailyProblemPublishCommand(day.plusDays(1), geometry, "第二天", 1L));
+        service.publish(new DailyProblemPublishCommand(day.plusDays(2), algebra, "第三天", 1L));
+        calls.clear();
+
+        PageResponse<DailyProblemView> page = service.list(day, day.plusDays(2), 1, 20);
+
+        assertEquals(List.of("listSummariesByIds[" + algebra + ", " + geometry + "]"), calls);
+        assertEquals(3, page.total());
+        assertEquals(List.of(day.plusDays(2), day.plusDays(1), day),
+                page.items().stream().map(DailyProblemView::day).toList());
+        assertEquals(List.of("每日批量一", "每日批量二", "每日批量一"),
+                page.items().stream().map(view -> view.problem().title()).toList());
+
+        calls.clear();
+        List<DailyProblemView> views = service.getByDay(day.plusDays(1));
+        assertEquals(List.of("listSummariesByIds[" + geometry + "]"), calls);
+        assertEquals("第二天", views.get(0).copywriting());
+    }
+
+    /**
+     * 引用的题目不可公开访问时，批量组装的展示数据同样视为不存在。
+     */
+    @Test
+    void hidden_problem_is_reported_as_not_found() {
+        long problemId = createPublishedProblem("每日隐藏");
+        LocalDate day = LocalDate.of(2001, 4, 1);
+        DailyProblemDomainService service = newService(new ArrayList<>());
+        service.publish(new DailyProblemPublishCommand(day, problemId, null, 1L));
+        problemRepositoryPort.disable(problemId);
+
+        assertThrows(BizException.class, () -> service.getByDay(day));
+    }
+
+    /**
+     * 构造关闭日历缓存的领域服务，题目仓储调用记录到给定列表。
+     *
+     * @param calls 题目仓储调用记录
+     * @return 领域服务
+     */
+    private DailyProblemDomainService newService(List<String> calls) {
+        DailyProblemCalendarCache calendarCache =
+                new DailyProblemCalendarCache(dailyProblemRepositoryPort, problemRepositoryPort, false, 0, 0);
+        return new DailyProblemDomainService(dailyProblemRepositoryPort, recordingPort(calls), calendarCache, () -> {
+        });
+    }
+
+    /**
+     * 创建并发布公开题目。
+     *
+     * @param title 标题
+     * @return 题目ID
+     */
+    private long createPublishedProblem(String title) {
+        long id = problemRepositoryPort.create(new ProblemCreateCommand(
+                1L, title, "DAILY_TEST", 2, ContentFormat.MARKDOWN, "题干",
+                null, null, Visibility.PUBLIC, null, List.of()));
+        problemRepositoryPort.publish(id);
+        return id;
+    }
+
+    /**
+     * 包装真实的题目仓储端口，记录读取题目数据的调用。
+     *
+     * @param calls 调用记录
+     * @return 记录调用的题目仓储端口
+     */
+    private ProblemRepositoryPort recordingPort(List<String> calls) {
+        return (ProblemRepositoryPort) Proxy.newProxyInstance(
+                ProblemRepositoryPort.class.getClassLoader(),
+                new Class<?>[] {ProblemRepositoryPort.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("listSummariesByIds")) {
+                        calls.add("listSummariesByIds" + args[0]);
+                    } else if (method.getName().equals("findById")) {
+                        calls.add("findById");
+                    }
+                    try {
+                        return method.invoke(problemRepositoryPort, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
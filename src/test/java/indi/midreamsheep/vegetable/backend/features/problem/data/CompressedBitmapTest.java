@@ -0,0 +1,163 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 压缩位图测试：验证数组块与位图块的互相转换、跨块元素，以及与 {@link BitSet} 的并、交、交集计数结果。
+ */
+class CompressedBitmapTest {
+
+    /**
+     * 空位图：并集为空，求交后目标位集被清空。
+     */
+    @Test
+    void empty_bitmap_ors_nothing_and_clears_target_on_and() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet target = bitSetOf(1, 70000);
+
+        BitSet union = new BitSet();
+        bitmap.orInto(union);
+        assertTrue(union.isEmpty());
+        assertEquals(0, bitmap.intersectionCount(target));
+
+        bitmap.andInto(target);
+        assertTrue(bitmap.isEmpty());
+        assertTrue(target.isEmpty());
+    }
+
+    /**
+     * 重复加入与移除不存在的元素不改变元素个数。
+     */
+    @Test
+    void duplicate_add_and_missing_remove_keep_cardinality() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(5);
+        bitmap.add(5);
+        bitmap.remove(6);
+        bitmap.remove(65536 + 5);
+        assertEquals(1, bitmap.cardinality());
+
+        bitmap.remove(5);
+        bitmap.remove(5);
+        assertEquals(0, bitmap.cardinality());
+        assertTrue(bitmap.isEmpty());
+    }
+
+    /**
+     * 跨块边界的元素展开、求交与计数正确。
+     */
+    @Test
+    void values_across_chunk_boundaries_round_trip() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet expected = bitSetOf(0, 65535, 65536, 65537, 3 * 65536 + 1);
+        expected.stream().forEach(bitmap::add);
+
+        assertEquals(expected, union(bitmap));
+        assertEquals(2, bitmap.intersectionCount(bitSetOf(65535, 65536, 200)));
+
+        BitSet target = bitSetOf(1, 65536, 2 * 65536, 3 * 65536 + 1);
+        bitmap.andInto(target);
+        assertEquals(bitSetOf(65536, 3 * 65536 + 1), target);
+    }
+
+    /**
+     * 块内元素超过阈值转为位图块、删减后转回数组块，元素不丢失。
+     */
+    @Test
+    void dense_chunk_converts_to_bitmap_and_back_without_losing_values() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 5000; i++) {
+            bitmap.add(i * 3);
+            expected.set(i * 3);
+        }
+        assertEquals(5000, bitmap.cardinality());
+        assertEquals(expected, union(bitmap));
+
+        BitSet target = new BitSet();
+        target.set(0, 6000);
+        assertEquals(2000, bitmap.intersectionCount(target));
+        BitSet anded = (BitSet) target.clone();
+        bitmap.andInto(anded);
+        target.and(expected);
+        assertEquals(target, anded);
+
+        for (int i = 0; i < 3500; i++) {
+            bitmap.remove(i * 3);
+            expected.clear(i * 3);
+        }
+        assertEquals(1500, bitmap.cardinality());
+        assertEquals(expected, union(bitmap));
+
+        bitmap.add(1);
+        expected.set(1);
+        assertEquals(expected, union(bitmap));
+        assertEquals(expected.cardinality(), bitmap.intersectionCount(expected));
+    }
+
+    /**
+     * 随机增删后，并、交与交集计数与 BitSet 一致。
+     */
+    @Test
+    void random_operations_match_bitset() {
+        Random random = new Random(20261018L);
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet expected = new BitSet();
+        for (int step = 0; step < 50_000; step++) {
+            // 前两个块稠密（会转为位图块），第三个块稀疏（保持数组块）。
+            int value = random.nextInt(10) < 8 ? random.nextInt(2 * 65536) : 2 * 65536 + random.nextInt(65536);
+            if (random.nextInt(4) == 0) {
+                bitmap.remove(value);
+                expected.clear(value);
+            } else {
+                bitmap.add(value);
+                expected.set(value);
+            }
+        }
+        assertEquals(expected.cardinality(), bitmap.cardinality());
+        assertEquals(expected, union(bitmap));
+
+        BitSet target = new BitSet();
+        for (int i = 0; i < 20_000; i++) {
+            target.set(random.nextInt(3 * 65536 + 100));
+        }
+        BitSet intersection = (BitSet) target.clone();
+        intersection.and(expected);
+        assertEquals(intersection.cardinality(), bitmap.intersectionCount(target));
+
+        bitmap.andInto(target);
+        assertEquals(intersection, target);
+    }
+
+    /**
+     * 把位图展开为位集。
+     *
+     * @param bitmap 压缩位图
+     * @return 位集
+     */
+    private static BitSet union(CompressedBitmap bitmap) {
+        BitSet result = new BitSet();
+        bitmap.orInto(result);
+        return result;
+    }
+
+    /**
+     * 构造位集。
+     *
+     * @param values 元素
+     * @return 位集
+     */
+    private static BitSet bitSetOf(int... values) {
+        BitSet result = new BitSet();
+        for (int value : values) {
+            result.set(value);
+        }
+        return result;
+    }
+}
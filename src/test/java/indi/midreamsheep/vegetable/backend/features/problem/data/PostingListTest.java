@@ -0,0 +1,69 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 倒排表测试：验证追加、乱序插入、覆盖与移除后ID保持升序，查找与词频正确。
+ */
+class PostingListTest {
+
+    /**
+     * 乱序写入、覆盖与移除不存在的ID后，条目按ID升序且词频为最后一次写入的值。
+     */
+    @Test
+    void out_of_order_put_keeps_ids_sorted_and_overwrites_weight() {
+        PostingList list = new PostingList();
+        list.put(30L, 1.0f);
+        list.put(10L, 2.0f);
+        list.put(20L, 3.0f);
+        list.put(10L, 4.0f);
+        list.remove(99L);
+
+        assertEquals(3, list.size());
+        assertEquals(10L, list.idAt(0));
+        assertEquals(4.0f, list.weightAt(0));
+        assertEquals(20L, list.idAt(1));
+        assertEquals(30L, list.idAt(2));
+        assertTrue(list.indexOf(15L) < 0);
+    }
+
+    /**
+     * 随机增删并释放多余容量后，内容与有序映射一致。
+     */
+    @Test
+    void random_operations_match_sorted_map() {
+        Random random = new Random(20261018L);
+        PostingList list = new PostingList();
+        TreeMap<Long, Float> expected = new TreeMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            long id = 1 + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                list.remove(id);
+                expected.remove(id);
+            } else {
+                float weight = random.nextInt(10) + 0.5f;
+                list.put(id, weight);
+                expected.put(id, weight);
+            }
+            if (step % 5000 == 0) {
+                list.trimToSize();
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        int index = 0;
+        for (Map.Entry<Long, Float> entry : expected.entrySet()) {
+            assertEquals(entry.getKey(), list.idAt(index));
+            assertEquals(entry.getValue(), list.weightAt(index));
+            assertEquals(index, list.indexOf(entry.getKey()));
+            index++;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package indi.midreamsheep.vegetable.backend.features.problem.data;
+
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ContentFormat;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.ProblemStatus;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.Visibility;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.model.ProblemDetailData;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.InMemorySharedCacheStore;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.LocalCacheInvalidationBus;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.SharedCacheStore;
+import indi.midreamsheep.vegetable.backend.infrastructure.problem.ProblemDetailCacheProperties;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 题目详情缓存测试：用共享同一存储、各自独立失效总线的两个实例模拟两个节点。
+ */
+class ProblemDetailCacheTest {
+
+    /**
+     * 测试用缓存配置。
+     */
+    private static final ProblemDetailCacheProperties PROPERTIES =
+            new ProblemDetailCacheProperties(true, 60, 2000, 600, "vf:test:detail:");
+
+    /**
+     * 节点 A 的慢加载跨过节点 B 的失效后写回的旧详情不会被节点 B 读到。
+     */
+    @Test
+    void slow_load_on_one_node_does_not_overwrite_eviction_on_another() {
+        SharedCacheStore store = new InMemorySharedCacheStore();
+        ProblemDetailCache nodeA = newCache(store);
+        ProblemDetailCache nodeB = newCache(store);
+
+        Optional<ProblemDetailData> stale = nodeA.getById(1L, id -> {
+            nodeB.evict(id);
+            return Optional.of(detail(id, "旧标题"));
+        });
+        assertEquals("旧标题", stale.orElseThrow().title());
+
+        AtomicInteger loads = new AtomicInteger();
+        Optional<ProblemDetailData> fresh = nodeB.getById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(detail(id, "新标题"));
+        });
+        assertEquals("新标题", fresh.orElseThrow().title());
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * 一个节点回源写入的详情可由另一个节点从共享缓存读到（经 JSON 往返后相等）。
+     */
+    @Test
+    void detail_written_by_one_node_is_served_to_another_from_shared_cache() {
+        SharedCacheStore store = new InMemorySharedCacheStore();
+        ProblemDetailCache nodeA = newCache(store);
+        ProblemDetailCache nodeB = newCache(store);
+        ProblemDetailData data = detail(2L, "标题");
+
+        nodeA.getById(2L, id -> Optional.of(data));
+
+        Optional<ProblemDetailData> shared = nodeB.getById(2L, id -> {
+            throw new AssertionError("不应回源");
+        });
+        assertEquals(data, shared.orElseThrow());
+    }
+
+    /**
+     * 构造一个节点上的缓存。
+     *
+     * @param store 共享缓存存储
+     * @return 题目详情缓存
+     */
+    private static ProblemDetailCache newCache(SharedCacheStore store) {
+        return new ProblemDetailCache(PROPERTIES, store, new LocalCacheInvalidationBus(), JsonMapper.builder().build());
+    }
+
+    /**
+     * 构造题目详情。
+     *
+     * @param id 题目ID
+     * @param title 标题
+     * @return 题目详情
+     */
+    private static ProblemDetailData detail(long id, String title) {
+        return new ProblemDetailData(id, 10L, title, "math", 3, ContentFormat.MARKDOWN, "题干",
+                ContentFormat.MARKDOWN, "解析", Visibility.PUBLIC, null, ProblemStatus.PUBLISHED,
+                LocalDateTime.of(2026, 10, 18, 8, 0), List.of(1L, 2L));
+    }
+}
@@ -1,19 +1,41 @@
 package indi.midreamsheep.vegetable.backend.features.problem.presentation;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.jayway.jsonpath.JsonPath;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemCounterProjector;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemFacetIndex;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemHotRanking;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemRelatedIndex;
+import indi.midreamsheep.vegetable.backend.features.problem.data.ProblemSearchIndex;
+import indi.midreamsheep.vegetable.backend.features.problem.domain.query.ProblemListCursor;
+import indi.midreamsheep.vegetable.backend.features.recommendation.data.ProblemSimilarityJob;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.entity.ProblemTagEntity;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.ProblemTagMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
- * 题目接口测试：验证 Markdown/LaTeX 提交格式。
+ * 题目接口测试：验证 Markdown/LaTeX 提交格式、公开列表游标分页、关键词全文检索、分面筛选、HOT 热度排行、详情缓存失效、标签差量同步与批量互动状态。
  */
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -22,6 +44,30 @@ class ProblemControllerWebMvcTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ProblemTagMapper problemTagMapper;
+
+    @Autowired
+    private ProblemSearchIndex problemSearchIndex;
+
+    @Autowired
+    private ProblemFacetIndex problemFacetIndex;
+
+    @Autowired
+    private ProblemHotRanking problemHotRanking;
+
+    @Autowired
+    private ProblemRelatedIndex problemRelatedIndex;
+
+    @Autowired
+    private ProblemCounterProjector problemCounterProjector;
+
+    @Autowired
+    private ProblemSimilarityJob problemSimilarityJob;
+
+    @Autowired
+    private ProblemMapper problemMapper;
+
     /**
      * 提交 Markdown 题目成功。
      *
@@ -79,4 +125,564 @@ class ProblemControllerWebMvcTest {
                 .andExpect(jsonPath("$.data.visibility").value("UNLISTED"))
                 .andExpect(jsonPath("$.data.shareKey").isString());
     }
+
+    /**
+     * 游标分页：按 nextCursor 逐页翻完，且不重复、不遗漏。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void list_by_cursor_walks_all_pages() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            long id = createProblem("游标分页题 " + i, "CURSOR_TEST");
+            mockMvc.perform(post("/api/v1/problems/" + id + "/publish").with(user("1")))
+                    .andExpect(jsonPath("$.code").value(0))
+                    .andExpect(jsonPath("$.data.status").value("PUBLISHED"));
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "CURSOR_TEST")
+                        .param("cursor", "")
+                        .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.nextCursor").isString())
+                .andReturn();
+        String nextCursor = JsonPath.read(first.getResponse().getContentAsString(), "$.data.nextCursor");
+
+        mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "CURSOR_TEST")
+                        .param("cursor", nextCursor)
+                        .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "CURSOR_TEST")
+                        .param("sort", "HOT")
+                        .param("cursor", nextCursor))
+                .andExpect(jsonPath("$.code").value(40000));
+    }
+
+    /**
+     * 关键词全文检索：可按题干中的中文与 LaTeX 命令命中，多个词为 AND 语义，下架后不再命中。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void keyword_searches_statement_after_publish_and_drops_after_disable() throws Exception {
+        for (int i = 0; i < 100 && !problemSearchIndex.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(true, problemSearchIndex.isReady());
+        MvcResult created = mockMvc.perform(post("/api/v1/problems")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "圆锥曲线综合",
+                                  "subject": "FTS_TEST",
+                                  "difficulty": 3,
+                                  "statementFormat": "LATEX",
+                                  "statement": "已知椭圆 $\\\\frac{x^2}{a^2}+y^2=1$ 的离心率为 $\\\\sqrt{3}/2$ % 出题人备注",
+                                  "visibility": "PUBLIC"
+                                }
+                                """))
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn();
+        long id = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.data.id")).longValue();
+
+        mockMvc.perform(get("/api/v1/problems").param("subject", "FTS_TEST").param("keyword", "离心率"))
+                .andExpect(jsonPath("$.data.total").value(0));
+
+        mockMvc.perform(post("/api/v1/problems/" + id + "/publish").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+
+        mockMvc.perform(get("/api/v1/problems").param("subject", "FTS_TEST").param("keyword", "椭圆 离心率"))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(id));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "FTS_TEST").param("keyword", "sqrt 圆锥"))
+                .andExpect(jsonPath("$.data.items[0].id").value(id));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "FTS_TEST").param("keyword", "椭圆 双曲线"))
+                .andExpect(jsonPath("$.data.total").value(0));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "FTS_TEST").param("keyword", "备注"))
+                .andExpect(jsonPath("$.data.total").value(0));
+
+        mockMvc.perform(post("/api/v1/problems/" + id + "/disable").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "FTS_TEST").param("keyword", "离心率"))
+                .andExpect(jsonPath("$.data.total").value(0));
+    }
+
+    /**
+     * 分面筛选：标签 ANY/ALL 语义、分面统计与游标翻页均由分面索引提供，下架后同步移出。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void facet_index_filters_tags_and_counts_facets() throws Exception {
+        for (int i = 0; i < 100 && !problemFacetIndex.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(true, problemFacetIndex.isReady());
+        long first = createProblem("分面题一", "FACET_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + first + "/publish")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"newTags\": [\"分面甲\", \"分面乙\"]}"))
+                .andExpect(jsonPath("$.code").value(0));
+        MvcResult detail = mockMvc.perform(get("/api/v1/problems/" + first)).andReturn();
+        List<Number> tagA = JsonPath.read(detail.getResponse().getContentAsString(),
+                "$.data.tags[?(@.name == '分面甲')].id");
+        List<Number> tagB = JsonPath.read(detail.getResponse().getContentAsString(),
+                "$.data.tags[?(@.name == '分面乙')].id");
+        String a = String.valueOf(tagA.get(0).longValue());
+        String b = String.valueOf(tagB.get(0).longValue());
+        long second = createProblem("分面题二", "FACET_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + second + "/publish")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tagIds\": [" + a + "]}"))
+                .andExpect(jsonPath("$.code").value(0));
+
+        mockMvc.perform(get("/api/v1/problems").param("subject", "FACET_TEST").param("tagIds", a, b))
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.items[0].id").value(second));
+        mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "FACET_TEST")
+                        .param("tagIds", a, b)
+                        .param("tagMode", "ALL"))
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(first));
+        mockMvc.perform(get("/api/v1/problems/facets").param("subject", "FACET_TEST"))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.tags[0].name").value("分面甲"))
+                .andExpect(jsonPath("$.data.tags[0].count").value(2))
+                .andExpect(jsonPath("$.data.tags[1].count").value(1))
+                .andExpect(jsonPath("$.data.difficulties[0].difficulty").value(2))
+                .andExpect(jsonPath("$.data.difficulties[0].count").value(2));
+
+        MvcResult page = mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "FACET_TEST")
+                        .param("cursor", "")
+                        .param("pageSize", "1"))
+                .andExpect(jsonPath("$.data.items[0].id").value(second))
+                .andReturn();
+        String nextCursor = JsonPath.read(page.getResponse().getContentAsString(), "$.data.nextCursor");
+        mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "FACET_TEST")
+                        .param("cursor", nextCursor)
+                        .param("pageSize", "1"))
+                .andExpect(jsonPath("$.data.items[0].id").value(first))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+
+        mockMvc.perform(post("/api/v1/problems/" + first + "/disable").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/facets").param("subject", "FACET_TEST").param("tagIds", b))
+                .andExpect(jsonPath("$.data.total").value(0))
+                .andExpect(jsonPath("$.data.tags.length()").value(0));
+    }
+
+    /**
+     * HOT 排序：由热度排行返回且只在排行范围内翻页，点赞后较早发布的题目排到前面，下架后移出排行；
+     * 排行签发的游标带有签发方，数据库签发的 HOT 游标仍按收藏数由数据库继续翻页。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void hot_ranking_orders_by_decayed_score_and_drops_disabled() throws Exception {
+        for (int i = 0; i < 100 && !problemHotRanking.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(true, problemHotRanking.isReady());
+        long older = createProblem("热度题一", "HOT_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + older + "/publish").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        long newer = createProblem("热度题二", "HOT_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + newer + "/publish").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "HOT_TEST").param("sort", "HOT"))
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.items[0].id").value(newer));
+        mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "HOT_TEST")
+                        .param("sort", "HOT")
+                        .param("page", "2")
+                        .param("pageSize", "2"))
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.items.length()").value(0));
+
+        mockMvc.perform(post("/api/v1/problems/{id}/like", older).with(user("2")))
+                .andExpect(jsonPath("$.code").value(0));
+        problemCounterProjector.project();
+        mockMvc.perform(get("/api/v1/problems").param("subject", "HOT_TEST").param("sort", "HOT"))
+                .andExpect(jsonPath("$.data.items[0].id").value(older))
+                .andExpect(jsonPath("$.data.items[1].id").value(newer));
+        MvcResult page = mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "HOT_TEST")
+                        .param("sort", "HOT")
+                        .param("cursor", "")
+                        .param("pageSize", "1"))
+                .andExpect(jsonPath("$.data.items[0].id").value(older))
+                .andReturn();
+        String nextCursor = JsonPath.read(page.getResponse().getContentAsString(), "$.data.nextCursor");
+        mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "HOT_TEST")
+                        .param("sort", "HOT")
+                        .param("cursor", nextCursor)
+                        .param("pageSize", "1"))
+                .andExpect(jsonPath("$.data.items[0].id").value(newer))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+        assertEquals(true, ProblemListCursor.decode(nextCursor, ProblemListCursor.SORT_HOT).fromRanking());
+
+        // 数据库游标（收藏数均为 0）：按发布时间倒序，较新的题之后是较早的题。
+        String databaseCursor = new ProblemListCursor(
+                ProblemListCursor.SORT_HOT, 0L, problemMapper.selectById(newer).getPublishedAt(), newer).encode();
+        mockMvc.perform(get("/api/v1/problems")
+                        .param("subject", "HOT_TEST")
+                        .param("sort", "HOT")
+                        .param("cursor", databaseCursor)
+                        .param("pageSize", "1"))
+                .andExpect(jsonPath("$.data.items[0].id").value(older));
+
+        mockMvc.perform(post("/api/v1/problems/" + older + "/disable").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "HOT_TEST").param("sort", "HOT"))
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(newer));
+    }
+
+    /**
+     * 相关题目：标签相同的题目排在前面，改标签后增量进入列表，下架后移出。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void related_problems_follow_tag_changes_and_drop_disabled() throws Exception {
+        for (int i = 0; i < 100 && !problemRelatedIndex.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(true, problemRelatedIndex.isReady());
+        long source = createProblem("相关题一", "RELATED_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + source + "/publish")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"newTags\": [\"相关甲\", \"相关乙\", \"相关丙\"]}"))
+                .andExpect(jsonPath("$.code").value(0));
+        MvcResult detail = mockMvc.perform(get("/api/v1/problems/" + source)).andReturn();
+        List<Number> tagIds = JsonPath.read(detail.getResponse().getContentAsString(), "$.data.tags[*].id");
+        String tagIdsJson = tagIds.stream().map(id -> String.valueOf(id.longValue()))
+                .collect(Collectors.joining(",", "[", "]"));
+        long sameTags = createProblem("相关题二", "RELATED_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + sameTags + "/publish")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tagIds\": " + tagIdsJson + "}"))
+                .andExpect(jsonPath("$.code").value(0));
+        long retagged = createProblem("相关题三", "RELATED_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + retagged + "/publish").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/{id}/related", source))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data[0].id").value(sameTags));
+
+        mockMvc.perform(put("/api/v1/problems/" + retagged)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "相关题三",
+                                  "subject": "RELATED_TEST",
+                                  "difficulty": 2,
+                                  "statementFormat": "MARKDOWN",
+                                  "statement": "题干",
+                                  "visibility": "PUBLIC",
+                                  "tagIds": %s
+                                }
+                                """.formatted(tagIdsJson)))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/{id}/related", source).param("limit", "2"))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(retagged))
+                .andExpect(jsonPath("$.data[1].id").value(sameTags));
+
+        mockMvc.perform(post("/api/v1/problems/" + sameTags + "/disable").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/{id}/related", source))
+                .andExpect(jsonPath("$.data[0].id").value(retagged))
+                .andExpect(jsonPath("$.data[?(@.id == " + sameTags + ")]").isEmpty());
+        mockMvc.perform(get("/api/v1/problems/{id}/related", source).param("limit", "51"))
+                .andExpect(jsonPath("$.code").value(40000));
+    }
+
+    /**
+     * 列表响应缓存：匿名请求的前几页命中缓存（绕过仓储直接改库不可见），草稿的编辑与删除不失效，
+     * 发布与下架后缓存失效；登录请求不走缓存。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void anonymous_list_pages_are_cached_until_publish_or_disable() throws Exception {
+        long first = createProblem("列表缓存题一", "LIST_CACHE_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + first + "/publish").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "LIST_CACHE_TEST"))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.items[0].title").value("列表缓存题一"));
+
+        ProblemEntity row = problemMapper.selectById(first);
+        row.setTitle("列表缓存题一（改）");
+        problemMapper.updateById(row);
+        mockMvc.perform(get("/api/v1/problems").param("subject", "LIST_CACHE_TEST"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.items[0].title").value("列表缓存题一"));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "LIST_CACHE_TEST").with(user("2")))
+                .andExpect(jsonPath("$.data.items[0].title").value("列表缓存题一（改）"));
+
+        long draft = createProblem("列表缓存草稿", "LIST_CACHE_TEST");
+        mockMvc.perform(put("/api/v1/problems/" + draft)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "列表缓存草稿（改）",
+                                  "subject": "LIST_CACHE_TEST",
+                                  "difficulty": 2,
+                                  "statementFormat": "MARKDOWN",
+                                  "statement": "题干",
+                                  "visibility": "PUBLIC"
+                                }
+                                """))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(delete("/api/v1/problems/" + draft).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "LIST_CACHE_TEST"))
+                .andExpect(jsonPath("$.data.items[0].title").value("列表缓存题一"));
+
+        long second = createProblem("列表缓存题二", "LIST_CACHE_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + second + "/publish").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "LIST_CACHE_TEST"))
+                .andExpect(jsonPath("$.data.total").value(2))
+                .andExpect(jsonPath("$.data.items[?(@.id == " + first + ")].title").value("列表缓存题一（改）"));
+
+        mockMvc.perform(post("/api/v1/problems/" + second + "/disable").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems").param("subject", "LIST_CACHE_TEST"))
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(first));
+    }
+
+    /**
+     * 个人推荐：按共同点赞/收藏推荐题目，低于最小共现数的组合与已互动的题目不出现（推荐结果缓存后才点赞的题目同样排除），
+     * 无互动的用户返回空列表。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void recommendations_follow_co_occurring_likes_and_favorites() throws Exception {
+        long first = createProblem("推荐题一", "RECOMMEND_TEST");
+        long second = createProblem("推荐题二", "RECOMMEND_TEST");
+        long third = createProblem("推荐题三", "RECOMMEND_TEST");
+        for (long id : List.of(first, second, third)) {
+            mockMvc.perform(post("/api/v1/problems/" + id + "/publish").with(user("1")))
+                    .andExpect(jsonPath("$.code").value(0));
+        }
+        mockMvc.perform(post("/api/v1/problems/{id}/like", first).with(user("11")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(post("/api/v1/problems/{id}/favorite", second).with(user("11")))
+                .andExpect(jsonPath("$.code").value(0));
+        for (long id : List.of(first, second, third)) {
+            mockMvc.perform(post("/api/v1/problems/{id}/like", id).with(user("12")))
+                    .andExpect(jsonPath("$.code").value(0));
+        }
+        mockMvc.perform(post("/api/v1/problems/{id}/favorite", first).with(user("13")))
+                .andExpect(jsonPath("$.code").value(0));
+
+        problemSimilarityJob.rebuild();
+        mockMvc.perform(get("/api/v1/users/me/recommendations/problems").with(user("13")))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(second));
+        mockMvc.perform(post("/api/v1/problems/{id}/like", second).with(user("13")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/users/me/recommendations/problems").with(user("13")))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.length()").value(0));
+        mockMvc.perform(get("/api/v1/users/me/recommendations/problems").with(user("14")))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.length()").value(0));
+        mockMvc.perform(get("/api/v1/users/me/recommendations/problems").with(user("14")).param("limit", "0"))
+                .andExpect(jsonPath("$.code").value(40000));
+    }
+
+    /**
+     * 详情缓存：更新与下架后再次读取详情，不会返回缓存中的旧数据。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void detail_cache_is_evicted_on_update_and_disable() throws Exception {
+        long id = createProblem("缓存前标题", "CACHE_TEST");
+        mockMvc.perform(post("/api/v1/problems/" + id + "/publish").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/" + id))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.title").value("缓存前标题"));
+
+        mockMvc.perform(put("/api/v1/problems/" + id)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "缓存后标题",
+                                  "subject": "CACHE_TEST",
+                                  "difficulty": 2,
+                                  "statementFormat": "MARKDOWN",
+                                  "statement": "题干",
+                                  "visibility": "PUBLIC"
+                                }
+                                """))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/" + id))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.title").value("缓存后标题"));
+
+        mockMvc.perform(post("/api/v1/problems/" + id + "/disable").with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/problems/" + id).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.status").value("DISABLED"));
+    }
+
+    /**
+     * 标签按差量同步：反复保存不会留下新的墓碑行，移除后再加回的标签复用原关联行。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void update_syncs_tags_by_diff_without_tombstone_growth() throws Exception {
+        long id = createProblem("标签差量", "TAG_DIFF");
+        updateTags(id, "[9001, 9002]");
+        updateTags(id, "[9002, 9003]");
+        updateTags(id, "[9001, 9002]");
+        updateTags(id, "[9001, 9002]");
+
+        QueryWrapper<ProblemTagEntity> all = new QueryWrapper<>();
+        all.eq("problem_id", id);
+        assertEquals(3L, problemTagMapper.selectCount(all));
+        QueryWrapper<ProblemTagEntity> live = new QueryWrapper<>();
+        live.eq("problem_id", id).eq("deleted", 0);
+        assertEquals(2L, problemTagMapper.selectCount(live));
+        mockMvc.perform(get("/api/v1/problems/" + id).with(user("1")))
+                .andExpect(jsonPath("$.data.tagIds.length()").value(2))
+                .andExpect(jsonPath("$.data.tagIds[?(@ == 9003)]").isEmpty());
+    }
+
+    /**
+     * 点赞/收藏后可批量查询互动状态，取消点赞后状态随之更新；题目计数经发件箱投影后按净增量落库。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void batch_interactions_reflect_like_and_favorite() throws Exception {
+        long first = createProblem("互动状态一", "MATH");
+        long second = createProblem("互动状态二", "MATH");
+        String ids = first + "," + second;
+
+        mockMvc.perform(get("/api/v1/users/me/interactions").param("problemIds", ids).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data[0].liked").value(false))
+                .andExpect(jsonPath("$.data[1].favorited").value(false));
+
+        mockMvc.perform(post("/api/v1/problems/{id}/like", first).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(post("/api/v1/problems/{id}/favorite", second).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+
+        mockMvc.perform(get("/api/v1/users/me/interactions").param("problemIds", ids).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data[0].problemId").value(first))
+                .andExpect(jsonPath("$.data[0].liked").value(true))
+                .andExpect(jsonPath("$.data[0].favorited").value(false))
+                .andExpect(jsonPath("$.data[1].problemId").value(second))
+                .andExpect(jsonPath("$.data[1].liked").value(false))
+                .andExpect(jsonPath("$.data[1].favorited").value(true));
+
+        mockMvc.perform(delete("/api/v1/problems/{id}/like", first).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+
+        mockMvc.perform(get("/api/v1/users/me/interactions").param("problemIds", ids).with(user("1")))
+                .andExpect(jsonPath("$.data[0].liked").value(false))
+                .andExpect(jsonPath("$.data[1].favorited").value(true));
+
+        mockMvc.perform(post("/api/v1/problems/{id}/like", first).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        problemCounterProjector.project();
+        ProblemEntity firstRow = problemMapper.selectById(first);
+        ProblemEntity secondRow = problemMapper.selectById(second);
+        assertEquals(1L, firstRow.getLikeCount());
+        assertEquals(0L, firstRow.getFavoriteCount());
+        assertEquals(0L, secondRow.getLikeCount());
+        assertEquals(1L, secondRow.getFavoriteCount());
+    }
+
+    /**
+     * 创建一道公开的 Markdown 草稿题目。
+     *
+     * @param title 标题
+     * @param subject 学科
+     * @return 题目ID
+     * @throws Exception 测试异常
+     */
+    private long createProblem(String title, String subject) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/problems")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "%s",
+                                  "subject": "%s",
+                                  "difficulty": 2,
+                                  "statementFormat": "MARKDOWN",
+                                  "statement": "题干",
+                                  "visibility": "PUBLIC"
+                                }
+                                """.formatted(title, subject)))
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.data.id");
+        return id.longValue();
+    }
+
+    /**
+     * 以给定标签保存题目（其余字段不变）。
+     *
+     * @param id 题目ID
+     * @param tagIdsJson 标签ID数组 JSON
+     * @throws Exception 测试异常
+     */
+    private void updateTags(long id, String tagIdsJson) throws Exception {
+        mockMvc.perform(put("/api/v1/problems/" + id)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "标签差量",
+                                  "subject": "TAG_DIFF",
+                                  "difficulty": 2,
+                                  "statementFormat": "MARKDOWN",
+                                  "statement": "题干",
+                                  "visibility": "PUBLIC",
+                                  "tagIds": %s
+                                }
+                                """.formatted(tagIdsJson)))
+                .andExpect(jsonPath("$.code").value(0));
+    }
 }
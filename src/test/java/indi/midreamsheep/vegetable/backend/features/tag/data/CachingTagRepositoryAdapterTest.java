@@ -0,0 +1,112 @@
+package indi.midreamsheep.vegetable.backend.features.tag.data;
+
+import indi.midreamsheep.vegetable.backend.features.tag.domain.model.TagData;
+import indi.midreamsheep.vegetable.backend.infrastructure.cache.LocalCacheInvalidationBus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 标签字典缓存测试：用记录调用次数的内存仓储代替数据库，验证字典命中、回源与不存在ID的记忆。
+ */
+class CachingTagRepositoryAdapterTest {
+
+    /**
+     * 字典内的标签不回源；重复ID、空值与非正数被忽略。
+     */
+    @Test
+    void dictionary_hits_do_not_query_database() {
+        CountingTagRepository database = new CountingTagRepository();
+        database.tags.put(1L, new TagData(1L, "math", "代数"));
+        database.tags.put(2L, new TagData(2L, "math", "几何"));
+        CachingTagRepositoryAdapter cache = new CachingTagRepositoryAdapter(database, new LocalCacheInvalidationBus());
+
+        List<TagData> found = cache.findByIds(Arrays.asList(2L, 1L, 2L, null, 0L));
+
+        assertEquals(List.of(new TagData(2L, "math", "几何"), new TagData(1L, "math", "代数")), found);
+        assertEquals(Optional.of(new TagData(1L, "math", "代数")), cache.findBySubjectAndName("math", " 代数 "));
+        assertEquals(1, database.listAllCalls);
+        assertEquals(0, database.findByIdsCalls);
+    }
+
+    /**
+     * 不存在或已删除的ID回源一次后被记住，同一字典内不再回源；标签变更通知后重新回源。
+     */
+    @Test
+    void missing_ids_are_remembered_until_tags_change() {
+        CountingTagRepository database = new CountingTagRepository();
+        database.tags.put(1L, new TagData(1L, "math", "代数"));
+        CachingTagRepositoryAdapter cache = new CachingTagRepositoryAdapter(database, new LocalCacheInvalidationBus());
+
+        assertEquals(List.of(new TagData(1L, "math", "代数")), cache.findByIds(List.of(1L, 99L)));
+        assertEquals(List.of(new TagData(1L, "math", "代数")), cache.findByIds(List.of(1L, 99L)));
+        assertEquals(1, database.findByIdsCalls);
+
+        database.tags.put(99L, new TagData(99L, "math", "数列"));
+        cache.tagsChanged();
+
+        assertEquals(List.of(new TagData(99L, "math", "数列")), cache.findByIds(List.of(99L)));
+        assertEquals(2, database.listAllCalls);
+        assertEquals(1, database.findByIdsCalls);
+    }
+
+    /**
+     * 其他节点新增的标签不在字典中：回源命中后丢弃字典，下次访问重建。
+     */
+    @Test
+    void tag_found_only_in_database_rebuilds_dictionary() {
+        CountingTagRepository database = new CountingTagRepository();
+        CachingTagRepositoryAdapter cache = new CachingTagRepositoryAdapter(database, new LocalCacheInvalidationBus());
+        assertEquals(List.of(), cache.findByIds(List.of(5L)));
+
+        database.tags.put(6L, new TagData(6L, null, "综合"));
+        assertEquals(List.of(new TagData(6L, null, "综合")), cache.findByIds(List.of(6L)));
+        assertEquals(List.of(new TagData(6L, null, "综合")), cache.findByIds(List.of(6L)));
+
+        assertEquals(2, database.listAllCalls);
+        assertEquals(2, database.findByIdsCalls);
+    }
+
+    /**
+     * 记录调用次数的内存标签仓储。
+     */
+    private static final class CountingTagRepository extends TagRepositoryAdapter {
+
+        private final Map<Long, TagData> tags = new ConcurrentHashMap<>();
+        private int listAllCalls;
+        private int findByIdsCalls;
+
+        /**
+         * 构造内存标签仓储（不使用 Mapper）。
+         */
+        private CountingTagRepository() {
+            super(null);
+        }
+
+        @Override
+        public List<TagData> listAll() {
+            listAllCalls++;
+            return List.copyOf(tags.values());
+        }
+
+        @Override
+        public List<TagData> findByIds(List<Long> ids) {
+            findByIdsCalls++;
+            List<TagData> result = new ArrayList<>();
+            for (Long id : ids) {
+                TagData tag = tags.get(id);
+                if (tag != null) {
+                    result.add(tag);
+                }
+            }
+            return result;
+        }
+    }
+}
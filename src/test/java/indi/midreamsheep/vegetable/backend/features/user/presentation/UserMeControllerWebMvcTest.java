@@ -0,0 +1,161 @@
+package indi.midreamsheep.vegetable.backend.features.user.presentation;
+
+import com.jayway.jsonpath.JsonPath;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.model.ProblemCommentData;
+import indi.midreamsheep.vegetable.backend.features.comment.domain.port.ProblemCommentRepositoryPort;
+import indi.midreamsheep.vegetable.backend.features.user.domain.UserStatus;
+import indi.midreamsheep.vegetable.backend.features.user.domain.command.UserCreateCommand;
+import indi.midreamsheep.vegetable.backend.features.user.domain.port.UserRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * 当前用户接口测试：验证我点赞的评论按点赞时间倒序批量加载，且批量查询保持调用方给定的顺序。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserMeControllerWebMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepositoryPort userRepositoryPort;
+
+    @Autowired
+    private ProblemCommentRepositoryPort problemCommentRepositoryPort;
+
+    /**
+     * 我点赞的评论按点赞先后倒序返回（与评论ID顺序无关）并支持分页；已删除的评论被跳过。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void liked_comments_follow_like_order() throws Exception {
+        String liker = String.valueOf(userRepositoryPort.create(
+                new UserCreateCommand("liked_comments_reader", "hash", null, null, UserStatus.ACTIVE)));
+        long problemId = createPublishedProblem();
+        long first = createComment(problemId, "赞一");
+        long second = createComment(problemId, "赞二");
+        long third = createComment(problemId, "赞三");
+        like(problemId, third, liker);
+        like(problemId, first, liker);
+        like(problemId, second, liker);
+
+        mockMvc.perform(get("/api/v1/users/me/likes/comments").with(user(liker)))
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.items.length()").value(3))
+                .andExpect(jsonPath("$.data.items[0].id").value(second))
+                .andExpect(jsonPath("$.data.items[1].id").value(first))
+                .andExpect(jsonPath("$.data.items[1].content").value("赞一"))
+                .andExpect(jsonPath("$.data.items[2].id").value(third));
+        mockMvc.perform(get("/api/v1/users/me/likes/comments").with(user(liker))
+                        .param("page", "2")
+                        .param("pageSize", "2"))
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(third));
+
+        mockMvc.perform(delete("/api/v1/problems/{problemId}/comments/{commentId}", problemId, first)
+                        .with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/v1/users/me/likes/comments").with(user(liker)))
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].id").value(second))
+                .andExpect(jsonPath("$.data.items[1].id").value(third));
+    }
+
+    /**
+     * 批量获取评论按入参顺序返回，重复ID只保留一条，不存在的ID被跳过。
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    void find_comments_by_ids_keeps_caller_order() throws Exception {
+        long problemId = createPublishedProblem();
+        long first = createComment(problemId, "批量一");
+        long second = createComment(problemId, "批量二");
+        long third = createComment(problemId, "批量三");
+
+        List<ProblemCommentData> found =
+                problemCommentRepositoryPort.findByIds(List.of(third, 9_999_999L, first, third, second));
+
+        assertEquals(List.of(third, first, second), found.stream().map(ProblemCommentData::id).toList());
+        assertEquals(List.of(), problemCommentRepositoryPort.findByIds(List.of()));
+    }
+
+    /**
+     * 创建并发布一道公开题目。
+     *
+     * @return 题目ID
+     * @throws Exception 测试异常
+     */
+    private long createPublishedProblem() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/problems")
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "title": "点赞评论测试",
+                                  "subject": "MATH",
+                                  "difficulty": 2,
+                                  "statementFormat": "MARKDOWN",
+                                  "statement": "题干",
+                                  "visibility": "PUBLIC"
+                                }
+                                """))
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.data.id");
+        mockMvc.perform(post("/api/v1/problems/{id}/publish", id.longValue()).with(user("1")))
+                .andExpect(jsonPath("$.code").value(0));
+        return id.longValue();
+    }
+
+    /**
+     * 发表顶层评论。
+     *
+     * @param problemId 题目ID
+     * @param content 内容
+     * @return 评论ID
+     * @throws Exception 测试异常
+     */
+    private long createComment(long problemId, String content) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/problems/{problemId}/comments", problemId)
+                        .with(user("1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\": \"%s\"}".formatted(content)))
+                .andExpect(jsonPath("$.code").value(0))
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.data");
+        return id.longValue();
+    }
+
+    /**
+     * 点赞评论。
+     *
+     * @param problemId 题目ID
+     * @param commentId 评论ID
+     * @param userId 点赞用户ID
+     * @throws Exception 测试异常
+     */
+    private void like(long problemId, long commentId, String userId) throws Exception {
+        mockMvc.perform(post("/api/v1/problems/{problemId}/comments/{commentId}/like", problemId, commentId)
+                        .with(user(userId)))
+                .andExpect(jsonPath("$.code").value(0));
+    }
+}
@@ -0,0 +1,99 @@
+package indi.midreamsheep.vegetable.backend.features.user.presentation;
+
+import indi.midreamsheep.vegetable.backend.features.user.domain.UserStatus;
+import indi.midreamsheep.vegetable.backend.features.user.domain.command.UserCreateCommand;
+import indi.midreamsheep.vegetable.backend.features.user.domain.model.UserProfileData;
+import indi.midreamsheep.vegetable.backend.features.user.domain.port.UserRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 用户资料批量加载器测试：验证一页作者只发起一次 IN 查询，且同一请求内已解析的ID（含不存在的ID）不再重复查询。
+ */
+@SpringBootTest
+class UserProfileBatchLoaderTest {
+
+    @Autowired
+    private UserRepositoryPort userRepositoryPort;
+
+    /**
+     * 去重并忽略非法ID后一次查询；再次加载已解析的ID（含不存在的）不再查询，新ID只查新增部分。
+     */
+    @Test
+    void resolves_each_id_once_per_request() {
+        long alice = createUser("batch_loader_alice", "Alice");
+        long bob = createUser("batch_loader_bob", null);
+        long carol = createUser("batch_loader_carol", "Carol");
+        long missing = 9_999_999L;
+        List<Set<Long>> queries = new ArrayList<>();
+        UserProfileBatchLoader loader = new UserProfileBatchLoader(countingPort(queries));
+
+        Map<Long, UserProfileData> first = loader.loadMany(Arrays.asList(alice, bob, alice, null, -3L, missing));
+
+        assertEquals(List.of(Set.of(alice, bob, missing)), queries);
+        assertEquals(Set.of(alice, bob), first.keySet());
+        assertEquals("Alice", first.get(alice).nickname());
+        assertEquals("batch_loader_bob", first.get(bob).username());
+
+        assertEquals(Set.of(bob), loader.loadMany(List.of(bob, missing)).keySet());
+        assertEquals(Optional.empty(), loader.load(missing));
+        assertEquals(1, queries.size());
+
+        assertEquals("Carol", loader.load(carol).orElseThrow().nickname());
+        assertEquals(List.of(Set.of(alice, bob, missing), Set.of(carol)), queries);
+        assertTrue(loader.loadMany(List.of()).isEmpty());
+        assertEquals(2, queries.size());
+    }
+
+    /**
+     * 创建测试用户。
+     *
+     * @param username 用户名
+     * @param nickname 昵称（可为空）
+     * @return 用户ID
+     */
+    private long createUser(String username, String nickname) {
+        return userRepositoryPort.create(new UserCreateCommand(username, "hash", nickname, null, UserStatus.ACTIVE));
+    }
+
+    /**
+     * 包装真实的用户仓储端口，记录每次批量查询的ID集合。
+     *
+     * @param queries 批量查询记录
+     * @return 记录调用的用户仓储端口
+     */
+    private UserRepositoryPort countingPort(List<Set<Long>> queries) {
+        return (UserRepositoryPort) Proxy.newProxyInstance(
+                UserRepositoryPort.class.getClassLoader(),
+                new Class<?>[] {UserRepositoryPort.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findProfilesByIds")) {
+                        Set<Long> ids = new HashSet<>();
+                        for (Object id : (Collection<?>) args[0]) {
+                            ids.add((Long) id);
+                        }
+                        queries.add(ids);
+                    }
+                    try {
+                        return method.invoke(userRepositoryPort, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+}
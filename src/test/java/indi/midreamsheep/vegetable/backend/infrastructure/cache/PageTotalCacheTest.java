@@ -0,0 +1,103 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.cache;
+
+import indi.midreamsheep.vegetable.backend.common.api.TotalMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 分页总数缓存测试：验证三种总数模式、按命名空间失效，以及计数期间发生失效时不写回旧值。
+ */
+class PageTotalCacheTest {
+
+    /**
+     * NONE 固定返回 -1 且不计数；EXACT 命中缓存后不再计数，失效后重新计数，其他命名空间不受影响。
+     */
+    @Test
+    void exact_totals_are_cached_until_namespace_is_invalidated() {
+        PageTotalCache cache = newCache();
+        AtomicInteger counts = new AtomicInteger();
+
+        assertEquals(-1L, cache.resolve("a", "q", TotalMode.NONE, () -> counted(counts, 7), 0));
+        assertEquals(0, counts.get());
+
+        assertEquals(7L, cache.resolve("a", "q", TotalMode.EXACT, () -> counted(counts, 7), 0));
+        assertEquals(7L, cache.resolve("a", "q", null, () -> counted(counts, 8), 0));
+        assertEquals(5L, cache.resolve("b", "q", TotalMode.EXACT, () -> counted(counts, 5), 0));
+        assertEquals(2, counts.get());
+
+        cache.invalidate("a");
+        assertEquals(8L, cache.resolve("a", "q", TotalMode.EXACT, () -> counted(counts, 8), 0));
+        assertEquals(5L, cache.resolve("b", "q", TotalMode.EXACT, () -> counted(counts, 6), 0));
+        assertEquals(3, counts.get());
+    }
+
+    /**
+     * ESTIMATE 不执行计数：无缓存时返回当前页推算的下界，有缓存时即使已失效也返回旧值。
+     */
+    @Test
+    void estimate_uses_stale_total_or_lower_bound_without_counting() {
+        PageTotalCache cache = newCache();
+        AtomicInteger counts = new AtomicInteger();
+
+        assertEquals(21L, cache.resolve("a", "q", TotalMode.ESTIMATE, () -> counted(counts, 99), 21));
+        assertEquals(0, counts.get());
+
+        cache.resolve("a", "q", TotalMode.EXACT, () -> counted(counts, 40), 0);
+        cache.invalidate("a");
+        assertEquals(40L, cache.resolve("a", "q", TotalMode.ESTIMATE, () -> counted(counts, 99), 21));
+        assertEquals(1, counts.get());
+    }
+
+    /**
+     * 计数期间收到失效时返回本次结果但不写入缓存，下次重新计数。
+     */
+    @Test
+    void total_counted_across_invalidation_is_not_cached() {
+        PageTotalCache cache = newCache();
+        AtomicInteger counts = new AtomicInteger();
+        cache.resolve("a", "warm", TotalMode.EXACT, () -> counted(counts, 1), 0);
+
+        long racing = cache.resolve("a", "q", TotalMode.EXACT, () -> {
+            cache.invalidate("a");
+            return counted(counts, 3);
+        }, 0);
+
+        assertEquals(3L, racing);
+        assertEquals(4L, cache.resolve("a", "q", TotalMode.EXACT, () -> counted(counts, 4), 0));
+        assertEquals(3, counts.get());
+    }
+
+    /**
+     * 下界推算：空页为偏移量，满页多算一条表示还有后续。
+     */
+    @Test
+    void lower_bound_counts_one_more_for_full_pages() {
+        assertEquals(40L, PageTotalCache.lowerBound(40, 0, 20));
+        assertEquals(47L, PageTotalCache.lowerBound(40, 7, 20));
+        assertEquals(61L, PageTotalCache.lowerBound(40, 20, 20));
+    }
+
+    /**
+     * 构造使用本地失效总线的总数缓存。
+     *
+     * @return 总数缓存
+     */
+    private static PageTotalCache newCache() {
+        return new PageTotalCache(new PageTotalCacheProperties(true, 30, 600, 1000), new LocalCacheInvalidationBus());
+    }
+
+    /**
+     * 记一次计数并返回给定总数。
+     *
+     * @param counts 计数次数
+     * @param total 总数
+     * @return 总数
+     */
+    private static long counted(AtomicInteger counts, long total) {
+        counts.incrementAndGet();
+        return total;
+    }
+}
@@ -0,0 +1,120 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.counter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 写后计数器测试：验证并发累加与刷盘、槽移出与 sink 失败重试时增量不丢失、不重复。
+ */
+class WriteBehindCounterTest {
+
+    /**
+     * 多个线程持续累加（热点ID与大量会被移出的冷ID）的同时另一个线程反复刷盘，最终落库总和与累加总和一致。
+     */
+    @Test
+    void concurrent_adds_and_flushes_lose_no_increment() throws Exception {
+        Map<Long, Long> stored = new ConcurrentHashMap<>();
+        int writers = 8;
+        int addsPerWriter = 50_000;
+        List<Map<Long, Long>> expectedByWriter = new ArrayList<>();
+        try (WriteBehindCounter counter = new WriteBehindCounter("test-concurrent", 5, 1_000,
+                deltas -> deltas.forEach((id, delta) -> stored.merge(id, delta, Long::sum)))) {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicBoolean writing = new AtomicBoolean(true);
+            List<Thread> threads = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                Map<Long, Long> expected = new HashMap<>();
+                expectedByWriter.add(expected);
+                threads.add(new Thread(() -> {
+                    await(start);
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < addsPerWriter; i++) {
+                        // 一半落在 3 个热点ID上，其余分散到 2000 个冷ID，冷ID会在空闲几轮后被移出再重新创建。
+                        long id = random.nextBoolean() ? random.nextInt(3) : 100 + random.nextInt(2000);
+                        long delta = random.nextInt(5) == 0 ? -1 : 1;
+                        counter.add(id, delta);
+                        expected.merge(id, delta, Long::sum);
+                    }
+                }));
+            }
+            Thread flusher = new Thread(() -> {
+                await(start);
+                while (writing.get()) {
+                    counter.flush();
+                }
+            });
+            threads.forEach(Thread::start);
+            flusher.start();
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            writing.set(false);
+            flusher.join();
+            // 移出的槽上可能还有迟到的残留，要再经过几轮刷盘才会转入新槽并落库。
+            for (int round = 0; round < 4; round++) {
+                counter.flush();
+            }
+        }
+
+        Map<Long, Long> expected = new HashMap<>();
+        for (Map<Long, Long> byWriter : expectedByWriter) {
+            byWriter.forEach((id, delta) -> expected.merge(id, delta, Long::sum));
+        }
+        expected.values().removeIf(value -> value == 0);
+        stored.values().removeIf(value -> value == 0);
+        assertEquals(expected, stored);
+    }
+
+    /**
+     * sink 失败时增量保留，下次刷盘连同新增量一起落库，且不会重复提交已成功的部分。
+     */
+    @Test
+    void failed_sink_keeps_increments_for_next_flush() {
+        Map<Long, Long> stored = new HashMap<>();
+        AtomicInteger calls = new AtomicInteger();
+        try (WriteBehindCounter counter = new WriteBehindCounter("test-retry", 3_600_000, Long.MAX_VALUE, deltas -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("数据库暂不可用");
+            }
+            deltas.forEach((id, delta) -> stored.merge(id, delta, Long::sum));
+        })) {
+            counter.add(1L, 2);
+            counter.flush();
+            counter.add(1L, 3);
+            counter.add(2L, 1);
+            assertThrows(IllegalStateException.class, counter::flush);
+            assertEquals(Map.of(1L, 2L), stored);
+            counter.add(2L, 1);
+            counter.flush();
+        }
+
+        assertEquals(Map.of(1L, 5L, 2L, 2L), stored);
+        assertEquals(3, calls.get());
+    }
+
+    /**
+     * 等待开始信号。
+     *
+     * @param start 开始信号
+     */
+    private static void await(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
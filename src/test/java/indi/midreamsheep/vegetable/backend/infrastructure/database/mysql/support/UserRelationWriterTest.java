@@ -0,0 +1,76 @@
+package indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.support;
+
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationMapper;
+import indi.midreamsheep.vegetable.backend.infrastructure.database.mysql.mapper.UserRelationTable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 用户关系幂等写入测试：验证单条与批量写入只在状态真正变化时返回变化。
+ */
+@SpringBootTest
+class UserRelationWriterTest {
+
+    @Autowired
+    private UserRelationWriter userRelationWriter;
+
+    @Autowired
+    private UserRelationMapper userRelationMapper;
+
+    /**
+     * 单条新增、重复新增、取消与恢复：只有状态变化的调用返回 true。
+     */
+    @Test
+    void single_add_and_remove_report_state_changes_once() {
+        long userId = 910_001L;
+        UserRelationTable table = UserRelationTable.LIKE_PROBLEM;
+
+        assertTrue(userRelationWriter.add(table, userId, 1L));
+        assertFalse(userRelationWriter.add(table, userId, 1L));
+        assertTrue(userRelationWriter.remove(table, userId, 1L));
+        assertFalse(userRelationWriter.remove(table, userId, 1L));
+        assertTrue(userRelationWriter.add(table, userId, 1L));
+        assertEquals(List.of(1L), userRelationMapper.selectActiveTargetIds(table, userId, List.of(1L)));
+    }
+
+    /**
+     * 同一批里同时有已有效的关系、已取消的关系、新关系与重复ID：只返回新增与恢复的目标，且全部变为有效。
+     */
+    @Test
+    void batch_add_reports_only_inserted_and_revived_targets() {
+        long userId = 910_002L;
+        UserRelationTable table = UserRelationTable.FAVORITE_PROBLEM;
+        assertTrue(userRelationWriter.add(table, userId, 11L));
+        assertTrue(userRelationWriter.add(table, userId, 12L));
+        assertTrue(userRelationWriter.remove(table, userId, 12L));
+
+        List<Long> changed = userRelationWriter.addAll(table, userId, Arrays.asList(11L, 12L, 13L, 13L, null, -1L));
+
+        assertEquals(List.of(12L, 13L), changed);
+        Set<Long> active = new HashSet<>(userRelationMapper.selectActiveTargetIds(table, userId, List.of(11L, 12L, 13L)));
+        assertEquals(Set.of(11L, 12L, 13L), active);
+        assertEquals(List.of(), userRelationWriter.addAll(table, userId, List.of(11L, 12L, 13L)));
+    }
+
+    /**
+     * 整批都是新关系时一次插入全部返回。
+     */
+    @Test
+    void batch_add_of_new_targets_returns_all_in_input_order() {
+        long userId = 910_003L;
+        UserRelationTable table = UserRelationTable.LIKE_COMMENT;
+
+        assertEquals(List.of(23L, 21L, 22L), userRelationWriter.addAll(table, userId, List.of(23L, 21L, 22L)));
+        assertEquals(List.of(), userRelationWriter.addAll(table, userId, List.of()));
+    }
+}
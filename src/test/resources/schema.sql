@@ -19,6 +19,7 @@ CREATE TABLE IF NOT EXISTS vf_problem (
   view_count BIGINT DEFAULT 0,
   favorite_count BIGINT DEFAULT 0,
   like_count BIGINT DEFAULT 0,
+  comment_count BIGINT DEFAULT 0,
   created_at TIMESTAMP,
   updated_at TIMESTAMP,
   deleted TINYINT DEFAULT 0,
@@ -206,6 +207,14 @@ CREATE TABLE IF NOT EXISTS vf_user_like_problem (
   CONSTRAINT uk_user_like_problem UNIQUE (user_id, problem_id)
 );
 
+CREATE TABLE IF NOT EXISTS vf_problem_counter_outbox (
+  id BIGINT PRIMARY KEY,
+  problem_id BIGINT NOT NULL,
+  counter_type VARCHAR(16) NOT NULL,
+  delta INT NOT NULL,
+  created_at TIMESTAMP
+);
+
 CREATE TABLE IF NOT EXISTS vf_problem_comment (
   id BIGINT PRIMARY KEY,
   problem_id BIGINT NOT NULL,
@@ -214,6 +223,7 @@ CREATE TABLE IF NOT EXISTS vf_problem_comment (
   reply_to_comment_id BIGINT,
   content VARCHAR(2000) NOT NULL,
   like_count BIGINT DEFAULT 0,
+  reply_count BIGINT DEFAULT 0,
   created_at TIMESTAMP,
   updated_at TIMESTAMP,
   deleted TINYINT DEFAULT 0